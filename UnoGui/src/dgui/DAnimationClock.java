@@ -0,0 +1,229 @@
+package dgui;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Shared animation clock for the DGUI layer.
+ * A single Swing timer ticks at a fixed frame rate, advances every active
+ * {@link DTween} in one pass and then repaints each dirty component once.
+ * The timer only runs while at least one tween is active.
+ * <p>
+ * Tweens interpolate from {@link System#nanoTime()}, so when the EDT is busy
+ * the clock skips the frames it missed instead of slowing the animation down.
+ * Skipped frames are counted and can be read with {@link #getDroppedFrameCount()}.
+ */
+public class DAnimationClock {
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    private static DAnimationClock instance;
+
+    private final Timer timer;
+    private final List<DTween> activeTweens = new ArrayList<>();
+    private final List<DTween> pendingTweens = new ArrayList<>();
+    private final Set<Component> dirtyComponents = new LinkedHashSet<>();
+    private int frameRate = DEFAULT_FRAME_RATE;
+    private boolean ticking = false;
+
+    // Frame statistics
+    private long lastTickNanos = 0;
+    private long frameCount = 0;
+    private long droppedFrameCount = 0;
+
+    /**
+     * Private constructor (singleton)
+     */
+    private DAnimationClock() {
+        timer = new Timer(1000 / frameRate, e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Get the shared clock instance
+     */
+    public static synchronized DAnimationClock getInstance() {
+        if (instance == null) {
+            instance = new DAnimationClock();
+        }
+        return instance;
+    }
+
+    /**
+     * Set the frame rate of the clock
+     *
+     * @param frameRate frames per second (clamped to 1..240)
+     */
+    public void setFrameRate(int frameRate) {
+        this.frameRate = Math.max(1, Math.min(240, frameRate));
+        timer.setDelay(1000 / this.frameRate);
+    }
+
+    /**
+     * Get the frame rate of the clock
+     */
+    public int getFrameRate() {
+        return frameRate;
+    }
+
+    /**
+     * Start a tween on the shared clock.
+     * May be called from any thread; the tween is registered on the EDT.
+     *
+     * @param tween the tween to start
+     * @return the same tween, for chaining and cancellation
+     */
+    public DTween start(DTween tween) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            register(tween);
+        } else {
+            SwingUtilities.invokeLater(() -> register(tween));
+        }
+        return tween;
+    }
+
+    /**
+     * Create and start a tween that does nothing for the given delay
+     *
+     * @param delayMs the delay in milliseconds
+     * @return the delay tween; its completion fires after the delay
+     */
+    public DTween delay(int delayMs) {
+        return start(new DTween(delayMs, null));
+    }
+
+    /**
+     * Request a repaint of a component at the end of the current frame
+     */
+    public void markDirty(Component component) {
+        if (component != null) {
+            dirtyComponents.add(component);
+        }
+    }
+
+    /**
+     * Get the number of tweens currently running
+     */
+    public int getActiveCount() {
+        return activeTweens.size() + pendingTweens.size();
+    }
+
+    /**
+     * Cancel every running tween
+     */
+    public void cancelAll() {
+        for (DTween tween : new ArrayList<>(activeTweens)) {
+            tween.cancel();
+        }
+        for (DTween tween : new ArrayList<>(pendingTweens)) {
+            tween.cancel();
+        }
+    }
+
+    /**
+     * Get the number of frames the clock has ticked
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Get the number of frames skipped because a tick arrived late
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    /**
+     * Reset the frame statistics
+     */
+    public void resetStatistics() {
+        frameCount = 0;
+        droppedFrameCount = 0;
+    }
+
+    /**
+     * Update the frame statistics for a tick at the given time
+     */
+    private void recordFrame(long now) {
+        frameCount++;
+        if (lastTickNanos != 0) {
+            long frameNanos = 1_000_000_000L / frameRate;
+            long elapsed = now - lastTickNanos;
+            // A tick more than half a frame late means at least one frame was skipped
+            long missed = (elapsed + frameNanos / 2) / frameNanos - 1;
+            if (missed > 0) {
+                droppedFrameCount += missed;
+            }
+        }
+        lastTickNanos = now;
+    }
+
+    /**
+     * Add a tween to the active set, deferring it while a tick is in progress
+     */
+    private void register(DTween tween) {
+        if (tween.isDone()) {
+            return;
+        }
+        tween.start(System.nanoTime());
+        if (ticking) {
+            pendingTweens.add(tween);
+        } else {
+            activeTweens.add(tween);
+        }
+        if (!timer.isRunning()) {
+            lastTickNanos = 0;
+            timer.start();
+        }
+    }
+
+    /**
+     * Advance all tweens by one frame and flush the coalesced repaints
+     */
+    private void tick() {
+        long tickStart = DPerformanceMonitor.begin();
+        long now = System.nanoTime();
+        recordFrame(now);
+
+        ticking = true;
+        try {
+            for (int i = activeTweens.size() - 1; i >= 0; i--) {
+                DTween tween = activeTweens.get(i);
+                boolean finished;
+                try {
+                    finished = tween.advance(now);
+                } catch (RuntimeException e) {
+                    System.err.println("Error in animation: " + e.getMessage());
+                    tween.getCompletion().completeExceptionally(e);
+                    finished = true;
+                }
+                markDirty(tween.getRepaintTarget());
+                if (finished) {
+                    activeTweens.remove(i);
+                }
+            }
+        } finally {
+            ticking = false;
+        }
+
+        // Tweens started from completion callbacks join on the next frame
+        activeTweens.addAll(pendingTweens);
+        pendingTweens.clear();
+
+        // One repaint per dirty component; the RepaintManager merges them into a single paint pass
+        for (Component component : dirtyComponents) {
+            component.repaint();
+        }
+        dirtyComponents.clear();
+
+        if (activeTweens.isEmpty()) {
+            timer.stop();
+        }
+        DPerformanceMonitor.end(DPerformanceMonitor.Section.ANIMATION_TICK, tickStart);
+    }
+}
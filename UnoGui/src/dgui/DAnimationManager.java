@@ -1,6 +1,5 @@
 package dgui;
 
-import javax.swing.Timer;
 import java.awt.Component;
 import java.awt.Point;
 import java.util.concurrent.CompletableFuture;
@@ -8,6 +7,8 @@ import java.util.function.Consumer;
 
 /**
  * A utility class for managing animations of components.
+ * All animations run on the shared {@link DAnimationClock}; cancelling a
+ * returned future stops the corresponding animation.
  */
 public class DAnimationManager {
     /**
@@ -37,28 +38,13 @@ public class DAnimationManager {
             int durationMs,
             AnimationType type) {
         
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        
         int startX = component.getX();
         int startY = component.getY();
         int deltaX = targetX - startX;
         int deltaY = targetY - startY;
         
-        // Calculate time per frame (assuming 60 FPS)
-        int frameMs = 16; // ~60 FPS
-        int frameCount = durationMs / frameMs;
-        
-        // Animation frame counter
-        int[] currentFrame = {0};
-        
-        // Create and start the timer
-        Timer timer = new Timer(frameMs, e -> {
-            // Increment the frame counter
-            currentFrame[0]++;
-            
-            // Calculate the progress (0.0 to 1.0)
-            float progress = (float) currentFrame[0] / frameCount;
-            
+        // Advance on the shared clock instead of a dedicated timer
+        DTween tween = new DTween(durationMs, progress -> {
             // Apply easing function based on animation type
             float easedProgress = applyEasing(progress, type);
             
@@ -68,19 +54,9 @@ public class DAnimationManager {
             
             // Update the component position
             component.setLocation(newX, newY);
-            
-            // Check if the animation is complete
-            if (currentFrame[0] >= frameCount) {
-                ((Timer) e.getSource()).stop();
-                component.setLocation(targetX, targetY);
-                future.complete(null);
-            }
         });
         
-        // Start the timer
-        timer.start();
-        
-        return future;
+        return DAnimationClock.getInstance().start(tween).getCompletion();
     }
     
     /**
@@ -98,23 +74,7 @@ public class DAnimationManager {
             int durationMs,
             AnimationType type) {
         
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        
-        // Calculate time per frame (assuming 60 FPS)
-        int frameMs = 16; // ~60 FPS
-        int frameCount = durationMs / frameMs;
-        
-        // Animation frame counter
-        int[] currentFrame = {0};
-        
-        // Create and start the timer
-        Timer timer = new Timer(frameMs, e -> {
-            // Increment the frame counter
-            currentFrame[0]++;
-            
-            // Calculate the progress (0.0 to 1.0)
-            float progress = (float) currentFrame[0] / frameCount;
-            
+        DTween tween = new DTween(durationMs, progress -> {
             // Apply easing function based on animation type
             float easedProgress = applyEasing(progress, type);
             
@@ -123,20 +83,9 @@ public class DAnimationManager {
             
             // Update the component position
             component.setLocation(newPosition.x, newPosition.y);
-            
-            // Check if the animation is complete
-            if (currentFrame[0] >= frameCount) {
-                ((Timer) e.getSource()).stop();
-                Point finalPosition = pathFunction.apply(1.0f);
-                component.setLocation(finalPosition.x, finalPosition.y);
-                future.complete(null);
-            }
         });
         
-        // Start the timer
-        timer.start();
-        
-        return future;
+        return DAnimationClock.getInstance().start(tween).getCompletion();
     }
     
     /**
@@ -159,46 +108,17 @@ public class DAnimationManager {
             int durationMs,
             AnimationType type) {
         
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        
         float deltaValue = endValue - startValue;
         
-        // Calculate time per frame (assuming 60 FPS)
-        int frameMs = 16; // ~60 FPS
-        int frameCount = durationMs / frameMs;
-        
-        // Animation frame counter
-        int[] currentFrame = {0};
-        
-        // Create and start the timer
-        Timer timer = new Timer(frameMs, e -> {
-            // Increment the frame counter
-            currentFrame[0]++;
-            
-            // Calculate the progress (0.0 to 1.0)
-            float progress = (float) currentFrame[0] / frameCount;
-            
+        DTween tween = new DTween(durationMs, progress -> {
             // Apply easing function based on animation type
             float easedProgress = applyEasing(progress, type);
             
-            // Calculate the new value
-            float newValue = startValue + deltaValue * easedProgress;
-            
             // Update the property
-            setter.accept(newValue);
-            
-            // Check if the animation is complete
-            if (currentFrame[0] >= frameCount) {
-                ((Timer) e.getSource()).stop();
-                setter.accept(endValue);
-                future.complete(null);
-            }
+            setter.accept(startValue + deltaValue * easedProgress);
         });
         
-        // Start the timer
-        timer.start();
-        
-        return future;
+        return DAnimationClock.getInstance().start(tween).getCompletion();
     }
     
     /**
@@ -208,7 +128,7 @@ public class DAnimationManager {
      * @param type the animation type
      * @return the eased progress value
      */
-    private static float applyEasing(float progress, AnimationType type) {
+    static float applyEasing(float progress, AnimationType type) {
         switch (type) {
             case LINEAR:
                 return progress;
@@ -1,11 +1,7 @@
 package dgui;
 
 import java.awt.Point;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.function.Consumer;
-import java.awt.geom.Point2D;
-import javax.swing.Timer;
 
 /**
  * Gestionnaire d'animations pour les composants DGui
@@ -29,40 +25,20 @@ public class DAnimator {
      */
     public static void animateMove(DComponent component, Point startPoint, Point endPoint, 
                                  int duration, Consumer<Boolean> onComplete) {
-        final int steps = Math.max(10, duration / 15); // ~60fps
-        final int delay = duration / steps;
-        final int[] currentStep = {0};
-        
         // Position initiale
         component.setPosition(startPoint.x, startPoint.y);
         
-        Timer timer = new Timer(delay, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                currentStep[0]++;
-                float progress = (float) currentStep[0] / steps;
-                
-                // Fonction d'interpolation pour un mouvement plus naturel (easeInOutQuad)
-                float easedProgress = progress < 0.5f ? 
-                        2 * progress * progress : 
-                        1 - (float)Math.pow(-2 * progress + 2, 2) / 2;
-                
-                int x = startPoint.x + (int)(easedProgress * (endPoint.x - startPoint.x));
-                int y = startPoint.y + (int)(easedProgress * (endPoint.y - startPoint.y));
-                
-                component.setPosition(x, y);
-                
-                if (currentStep[0] >= steps) {
-                    ((Timer)e.getSource()).stop();
-                    component.setPosition(endPoint.x, endPoint.y);
-                    if (onComplete != null) {
-                        onComplete.accept(true);
-                    }
-                }
-            }
+        DTween tween = new DTween(duration, progress -> {
+            // Fonction d'interpolation pour un mouvement plus naturel (easeInOutQuad)
+            float easedProgress = DAnimationManager.applyEasing(progress, DAnimationManager.AnimationType.EASE_IN_OUT);
+            
+            int x = startPoint.x + (int)(easedProgress * (endPoint.x - startPoint.x));
+            int y = startPoint.y + (int)(easedProgress * (endPoint.y - startPoint.y));
+            
+            component.setPosition(x, y);
         });
         
-        timer.start();
+        run(tween, onComplete);
     }
     
     /**
@@ -70,34 +46,15 @@ public class DAnimator {
      */
     public static void animateFade(DComponent component, float startAlpha, float endAlpha, 
                                  int duration, Consumer<Boolean> onComplete) {
-        final int steps = Math.max(10, duration / 15);
-        final int delay = duration / steps;
-        final int[] currentStep = {0};
-        
         // Alpha initial
         component.setAlpha(startAlpha);
         
-        Timer timer = new Timer(delay, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                currentStep[0]++;
-                float progress = (float) currentStep[0] / steps;
-                
-                // Fonction d'interpolation linéaire
-                float currentAlpha = startAlpha + (endAlpha - startAlpha) * progress;
-                component.setAlpha(currentAlpha);
-                
-                if (currentStep[0] >= steps) {
-                    ((Timer)e.getSource()).stop();
-                    component.setAlpha(endAlpha);
-                    if (onComplete != null) {
-                        onComplete.accept(true);
-                    }
-                }
-            }
+        DTween tween = new DTween(duration, progress -> {
+            // Fonction d'interpolation linéaire
+            component.setAlpha(startAlpha + (endAlpha - startAlpha) * progress);
         });
         
-        timer.start();
+        run(tween, onComplete);
     }
     
     /**
@@ -105,42 +62,19 @@ public class DAnimator {
      */
     public static void animateScale(DComponent component, float startScale, float endScale, 
                                   int duration, Consumer<Boolean> onComplete) {
-        final int steps = Math.max(10, duration / 15);
-        final int delay = duration / steps;
-        final int[] currentStep = {0};
-        
         // Taille originale
         final int originalWidth = component.getWidth();
         final int originalHeight = component.getHeight();
         
-        Timer timer = new Timer(delay, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                currentStep[0]++;
-                float progress = (float) currentStep[0] / steps;
-                
-                // Fonction d'interpolation (easeInOutQuad)
-                float easedProgress = progress < 0.5f ? 
-                        2 * progress * progress : 
-                        1 - (float)Math.pow(-2 * progress + 2, 2) / 2;
-                
-                float currentScale = startScale + (endScale - startScale) * easedProgress;
-                int newWidth = (int)(originalWidth * currentScale);
-                int newHeight = (int)(originalHeight * currentScale);
-                
-                component.setSize(newWidth, newHeight);
-                
-                if (currentStep[0] >= steps) {
-                    ((Timer)e.getSource()).stop();
-                    component.setSize((int)(originalWidth * endScale), (int)(originalHeight * endScale));
-                    if (onComplete != null) {
-                        onComplete.accept(true);
-                    }
-                }
-            }
+        DTween tween = new DTween(duration, progress -> {
+            // Fonction d'interpolation (easeInOutQuad)
+            float easedProgress = DAnimationManager.applyEasing(progress, DAnimationManager.AnimationType.EASE_IN_OUT);
+            
+            float currentScale = startScale + (endScale - startScale) * easedProgress;
+            component.setSize((int)(originalWidth * currentScale), (int)(originalHeight * currentScale));
         });
         
-        timer.start();
+        run(tween, onComplete);
     }
     
     /**
@@ -149,50 +83,33 @@ public class DAnimator {
      */
     public static void animateFlip(DComponent component, boolean toFaceUp, 
                                  int duration, Consumer<Boolean> onComplete) {
-        final int steps = Math.max(10, duration / 15);
-        final int delay = duration / steps;
-        final int[] currentStep = {0};
-        
         // Largeur originale
         final int originalWidth = component.getWidth();
+        final boolean[] flipped = {false};
         
-        Timer timer = new Timer(delay, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                currentStep[0]++;
-                float progress = (float) currentStep[0] / steps;
-                
+        DTween tween = new DTween(duration, progress -> {
+            if (progress <= 0.5f) {
                 // Phase 1: rétrécir horizontalement jusqu'à zéro
-                if (progress <= 0.5f) {
-                    float phase1Progress = progress * 2; // 0->1 pendant la première moitié
-                    int currentWidth = (int)(originalWidth * (1 - phase1Progress));
-                    component.setSize(Math.max(1, currentWidth), component.getHeight());
-                } 
-                // Phase 2: Retourner et élargir
-                else if (currentStep[0] == steps / 2 + 1) {
-                    // Au milieu de l'animation, retournez la carte
+                float phase1Progress = progress * 2; // 0->1 pendant la première moitié
+                int currentWidth = (int)(originalWidth * (1 - phase1Progress));
+                component.setSize(Math.max(1, currentWidth), component.getHeight());
+            } else {
+                // Phase 2: au milieu de l'animation, retourner la carte
+                if (!flipped[0]) {
+                    flipped[0] = true;
                     if (component instanceof uno.gui.DUnoCard) {
                         ((uno.gui.DUnoCard) component).setFaceUp(toFaceUp);
                     }
-                } 
-                // Phase 3: agrandir horizontalement jusqu'à la taille originale
-                else {
-                    float phase2Progress = (progress - 0.5f) * 2; // 0->1 pendant la seconde moitié
-                    int currentWidth = (int)(originalWidth * phase2Progress);
-                    component.setSize(Math.max(1, currentWidth), component.getHeight());
                 }
                 
-                if (currentStep[0] >= steps) {
-                    ((Timer)e.getSource()).stop();
-                    component.setSize(originalWidth, component.getHeight());
-                    if (onComplete != null) {
-                        onComplete.accept(true);
-                    }
-                }
+                // Phase 3: agrandir horizontalement jusqu'à la taille originale
+                float phase2Progress = (progress - 0.5f) * 2; // 0->1 pendant la seconde moitié
+                int currentWidth = (int)(originalWidth * phase2Progress);
+                component.setSize(Math.max(1, currentWidth), component.getHeight());
             }
         });
         
-        timer.start();
+        run(tween, onComplete);
     }
     
     /**
@@ -204,19 +121,21 @@ public class DAnimator {
         // Exécuter la première animation
         animations[0].run();
         
-        // Si c'est la seule, on s'arrête là
-        if (animations.length == 1) return;
-        
-        // Sinon, on programme les animations suivantes avec un délai
+        // Les animations suivantes sont lancées après un délai sur l'horloge partagée
         for (int i = 1; i < animations.length; i++) {
             final int index = i;
-            new Timer(500, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    animations[index].run();
-                    ((Timer)e.getSource()).stop();
-                }
-            }).start();
+            DAnimationClock.getInstance().delay(500).getCompletion().thenRun(animations[index]);
         }
     }
+    
+    /**
+     * Démarre une animation sur l'horloge partagée et notifie la fin
+     */
+    private static void run(DTween tween, Consumer<Boolean> onComplete) {
+        DAnimationClock.getInstance().start(tween).getCompletion().whenComplete((result, error) -> {
+            if (onComplete != null) {
+                onComplete.accept(error == null);
+            }
+        });
+    }
 }
\ No newline at end of file
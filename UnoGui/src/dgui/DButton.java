@@ -6,7 +6,6 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Rectangle2D;
-import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
 
 import javax.swing.AbstractButton;
@@ -24,10 +23,14 @@ public class DButton extends DComponent {
     private int cornerRadius = 10;
     private boolean isHovered = false;
     private boolean isPressed = false;
-    private Color normalColor;
-    private Color hoverColor;
-    private Color pressedColor;
-    private Color textColor;
+    
+    // État du contexte reçu, restauré après le rendu plutôt que de dessiner sur une copie
+    private final DGraphicsState paintState = new DGraphicsState();
+    
+    // Dimensions exactes du dernier texte mis en forme, mesurées une fois par texte, police et contexte
+    private DTextCache.Text measuredLabel;
+    private double labelWidth;
+    private double labelHeight;
     
     /**
      * Crée un nouveau bouton avec le texte spécifié
@@ -42,22 +45,7 @@ public class DButton extends DComponent {
      * Crée un JButton personnalisé avec un rendu avancé
      */
     private static JButton createCustomButton() {
-        JButton button = new JButton() {
-            private DButton parent;
-            
-            @Override
-            protected void paintComponent(Graphics g) {
-                if (parent != null) {
-                    parent.paintButton(g, getWidth(), getHeight());
-                } else {
-                    super.paintComponent(g);
-                }
-            }
-            
-            public void setParent(DButton parent) {
-                this.parent = parent;
-            }
-        };
+        JButton button = new ButtonView();
         
         // Désactiver le rendu par défaut pour utiliser notre propre rendu
         button.setContentAreaFilled(false);
@@ -105,35 +93,36 @@ public class DButton extends DComponent {
         });
         
         // Attache this comme parent au JButton personnalisé
-        try {
-            ((JButton)component).getClass().getMethod("setParent", DButton.class).invoke(component, this);
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'initialisation du bouton: " + e.getMessage());
-        }
+        ((ButtonView) component).setParent(this);
     }
     
     /**
      * Dessine le bouton avec des effets visuels avancés
      */
     public void paintButton(Graphics g, int width, int height) {
-        Graphics2D g2d = (Graphics2D) g.create();
+        Graphics2D g2d = (Graphics2D) g;
+        paintState.save(g2d);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         
+        // Les couleurs sont lues dans le thème à chaque rendu pour suivre les changements de thème
+        DTheme theme = getTheme();
+        
         // Déterminer la couleur de fond en fonction de l'état du bouton
         Color bgColor;
         if (isPressed) {
-            bgColor = pressedColor;
+            bgColor = theme.getColor("button.pressed");
         } else if (isHovered) {
-            bgColor = hoverColor;
+            bgColor = theme.getButtonHoverColor();
         } else {
-            bgColor = normalColor;
+            bgColor = theme.getButtonColor();
         }
         
         // Dessiner le fond du bouton
         if (useCustomBackground && backgroundImage != null) {
-            // Utiliser l'image de fond si elle existe
+            // Utiliser l'image de fond si elle existe ; la découpe est rétablie juste après
+            Shape clip = g2d.getClip();
             if (isRounded) {
-                g2d.setClip(new RoundRectangle2D.Float(0, 0, width, height, cornerRadius, cornerRadius));
+                g2d.clip(DGraphicsCache.roundRect(0, 0, width, height, cornerRadius));
             }
             g2d.drawImage(backgroundImage, 0, 0, width, height, null);
             
@@ -141,66 +130,64 @@ public class DButton extends DComponent {
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
             g2d.setColor(bgColor);
             if (isRounded) {
-                g2d.fill(new RoundRectangle2D.Float(0, 0, width, height, cornerRadius, cornerRadius));
+                g2d.fill(DGraphicsCache.roundRect(0, 0, width, height, cornerRadius));
             } else {
                 g2d.fillRect(0, 0, width, height);
             }
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+            g2d.setClip(clip);
         } else {
             // Dessiner un fond uni
             g2d.setColor(bgColor);
             if (isRounded) {
-                g2d.fill(new RoundRectangle2D.Float(0, 0, width, height, cornerRadius, cornerRadius));
+                g2d.fill(DGraphicsCache.roundRect(0, 0, width, height, cornerRadius));
             } else {
                 g2d.fillRect(0, 0, width, height);
             }
         }
         
         // Dessiner une bordure
-        g2d.setColor(new Color(0, 0, 0, 50));
+        g2d.setColor(theme.getColor("button.border"));
         if (isRounded) {
-            g2d.draw(new RoundRectangle2D.Float(0, 0, width - 1, height - 1, cornerRadius, cornerRadius));
+            g2d.draw(DGraphicsCache.roundRect(0, 0, width - 1, height - 1, cornerRadius));
         } else {
             g2d.drawRect(0, 0, width - 1, height - 1);
         }
         
         // Dessiner l'ombre intérieure lorsque le bouton est enfoncé
         if (isPressed) {
-            g2d.setColor(new Color(0, 0, 0, 30));
+            g2d.setColor(theme.getColor("button.inset"));
             g2d.drawLine(0, 0, width, 0);
             g2d.drawLine(0, 0, 0, height);
         }
         
-        // Dessiner le texte
-        FontMetrics fm = g2d.getFontMetrics();
-        Rectangle2D textBounds = fm.getStringBounds(text, g2d);
+        // Dessiner le texte, mis en forme une seule fois
+        DTextCache.Text label = DTextCache.get(g2d, g2d.getFont(), text);
+        if (label != measuredLabel) {
+            Rectangle2D textBounds = g2d.getFontMetrics().getStringBounds(text, g2d);
+            measuredLabel = label;
+            labelWidth = textBounds.getWidth();
+            labelHeight = textBounds.getHeight();
+        }
         
-        int textX = (int) (width - textBounds.getWidth()) / 2;
-        int textY = (int) (height - textBounds.getHeight()) / 2 + fm.getAscent();
+        int textX = (int) (width - labelWidth) / 2;
+        int textY = (int) (height - labelHeight) / 2 + label.getAscent();
         
         // Ajouter un effet d'ombre légère au texte
-        g2d.setColor(new Color(0, 0, 0, 50));
-        g2d.drawString(text, textX + 1, textY + 1);
+        g2d.setColor(theme.getColor("button.text.shadow"));
+        label.draw(g2d, textX + 1, textY + 1);
         
         // Dessiner le texte principal
-        g2d.setColor(textColor);
-        g2d.drawString(text, textX, textY);
+        g2d.setColor(theme.getButtonTextColor());
+        label.draw(g2d, textX, textY);
         
-        g2d.dispose();
+        paintState.restore(g2d);
     }
     
     @Override
     protected void applyTheme() {
         if (component != null) {
-            normalColor = theme.getButtonColor();
-            hoverColor = theme.getButtonHoverColor();
-            pressedColor = new Color(
-                Math.max(0, theme.getButtonColor().getRed() - 30),
-                Math.max(0, theme.getButtonColor().getGreen() - 30),
-                Math.max(0, theme.getButtonColor().getBlue() - 30)
-            );
-            textColor = theme.getButtonTextColor();
-            component.setFont(theme.getButtonFont());
+            component.setFont(getTheme().getButtonFont());
             component.repaint();
         }
     }
@@ -256,4 +243,27 @@ public class DButton extends DComponent {
     public JButton getButton() {
         return (JButton)component;
     }
-}
\ No newline at end of file
+    
+    /**
+     * JButton personnalisé dont le rendu est délégué à son DButton
+     */
+    private static class ButtonView extends JButton implements DParentAware<DButton> {
+        private static final long serialVersionUID = 1L;
+        
+        private DButton parent;
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (parent != null) {
+                parent.paintButton(g, getWidth(), getHeight());
+            } else {
+                super.paintComponent(g);
+            }
+        }
+        
+        @Override
+        public void setParent(DButton parent) {
+            this.parent = parent;
+        }
+    }
+}
@@ -3,12 +3,11 @@ package dgui;
 import javax.swing.JPanel;
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.awt.BasicStroke;
-import java.awt.geom.RoundRectangle2D;
+
+import dgui.themes.DTheme;
 
 /**
  * Custom component for displaying a UNO card.
@@ -24,6 +23,9 @@ public class DCard extends DComponent {
     private static final int DEFAULT_HEIGHT = 150;
     private static final int ARC_SIZE = 20;
     
+    // Duration of the card movement animations in milliseconds
+    private static final int CARD_ANIMATION_DURATION = 400;
+    
     /**
      * Create a new DCard with the specified color and value
      */
@@ -114,32 +116,17 @@ public class DCard extends DComponent {
         final int startY = component.getY();
         final int distanceX = destX - startX;
         final int distanceY = destY - startY;
-        final int steps = 20;
-        
-        // Create a timer to update the card position
-        final javax.swing.Timer timer = new javax.swing.Timer(20, null);
-        final int[] step = {0}; // Using array to have a mutable integer
         
-        timer.addActionListener(e -> {
-            if (step[0] >= steps) {
-                // Animation complete
-                timer.stop();
-                component.setLocation(destX, destY);
-            } else {
-                // Calculate new position using easing function for smoother movement
-                float progress = (float)step[0] / steps;
-                // Ease out function: progress = 1 - (1 - progress)^2
-                float easedProgress = 1 - (1 - progress) * (1 - progress);
-                
-                int newX = startX + (int)(distanceX * easedProgress);
-                int newY = startY + (int)(distanceY * easedProgress);
-                
-                component.setLocation(newX, newY);
-                step[0]++;
-            }
-        });
-        
-        timer.start();
+        // Update the card position on the shared animation clock
+        DAnimationClock.getInstance().start(new DTween(CARD_ANIMATION_DURATION, progress -> {
+            // Ease out function: progress = 1 - (1 - progress)^2
+            float easedProgress = DAnimationManager.applyEasing(progress, DAnimationManager.AnimationType.EASE_OUT);
+            
+            int newX = startX + (int)(distanceX * easedProgress);
+            int newY = startY + (int)(distanceY * easedProgress);
+            
+            component.setLocation(newX, newY);
+        }));
     }
     
     /**
@@ -153,49 +140,25 @@ public class DCard extends DComponent {
         final int startX = component.getX();
         final int startY = component.getY();
         final int moveUpY = startY - 30;
+        final int phaseDuration = CARD_ANIMATION_DURATION * 3 / 4;
         
-        // Create a timer to update the card position
-        final javax.swing.Timer timer = new javax.swing.Timer(20, null);
-        final int[] phase = {0}; // 0 = move up, 1 = move to destination
-        final int[] step = {0};
-        final int steps = 15;
-        
-        timer.addActionListener(e -> {
-            if (phase[0] == 0) {
-                // Phase 1: Move up
-                if (step[0] >= steps) {
-                    // Phase 1 complete, start phase 2
-                    phase[0] = 1;
-                    step[0] = 0;
-                } else {
-                    float progress = (float)step[0] / steps;
-                    int newY = startY - (int)(30 * progress);
-                    component.setLocation(startX, newY);
-                    step[0]++;
-                }
-            } else {
-                // Phase 2: Move to destination
-                if (step[0] >= steps) {
-                    // Animation complete
-                    timer.stop();
-                    component.setLocation(destX, destY);
-                } else {
-                    float progress = (float)step[0] / steps;
-                    int newX = startX + (int)((destX - startX) * progress);
-                    int newY = moveUpY + (int)((destY - moveUpY) * progress);
-                    component.setLocation(newX, newY);
-                    step[0]++;
-                }
-            }
-        });
+        // Phase 1: Move up, then phase 2: move to destination
+        DTween moveUp = new DTween(phaseDuration, progress -> 
+            component.setLocation(startX, startY - (int)(30 * progress)));
         
-        timer.start();
+        DAnimationClock.getInstance().start(moveUp).then(() -> new DTween(phaseDuration, progress -> {
+            int newX = startX + (int)((destX - startX) * progress);
+            int newY = moveUpY + (int)((destY - moveUpY) * progress);
+            component.setLocation(newX, newY);
+        }));
     }
     
     /**
      * Custom panel for drawing a UNO card
      */
-    private static class CardPanel extends JPanel {
+    private static class CardPanel extends JPanel implements DSelectable {
+        private static final long serialVersionUID = 1L;
+        
         private DCard card;
         
         public CardPanel() {
@@ -206,6 +169,11 @@ public class DCard extends DComponent {
             this.card = card;
         }
         
+        @Override
+        public boolean isSelected() {
+            return card != null && card.isSelected();
+        }
+        
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
@@ -215,51 +183,45 @@ public class DCard extends DComponent {
             
             int width = getWidth();
             int height = getHeight();
+            DTheme theme = card.getTheme();
             
             // Draw card back if face down
             if (!card.isFaceUp()) {
-                drawCardBack(g2d, width, height);
+                drawCardBack(g2d, theme, width, height);
                 g2d.dispose();
                 return;
             }
             
             // Draw card outline
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.draw(new RoundRectangle2D.Float(1, 1, width - 3, height - 3, ARC_SIZE, ARC_SIZE));
+            g2d.setColor(theme.getCardBorderColor());
+            g2d.setStroke(theme.getStroke("card.border"));
+            g2d.draw(DGraphicsCache.roundRect(1, 1, width - 3, height - 3, ARC_SIZE));
             
             // Draw card background
             g2d.setColor(card.getCardColor());
-            g2d.fill(new RoundRectangle2D.Float(2, 2, width - 4, height - 4, ARC_SIZE, ARC_SIZE));
+            g2d.fill(DGraphicsCache.roundRect(2, 2, width - 4, height - 4, ARC_SIZE));
             
             // Draw white oval in the center
-            g2d.setColor(Color.WHITE);
+            g2d.setColor(theme.getCardBackgroundColor());
             g2d.fillOval(width / 6, height / 6, width * 2 / 3, height * 2 / 3);
             
             // Draw card value or special symbol
             g2d.setColor(card.getCardColor());
-            g2d.setFont(new Font("Arial", Font.BOLD, 24));
             
             String value = card.getCardValue();
-            // Calculate the center position
-            int textX = width / 2 - g2d.getFontMetrics().stringWidth(value) / 2;
-            int textY = height / 2 + g2d.getFontMetrics().getHeight() / 4;
             
             // For special cards, draw distinctive symbols
             if (value.equals("SKIP")) {
                 // Draw a circle with a diagonal line (prohibition symbol)
-                g2d.setStroke(new BasicStroke(3));
+                g2d.setStroke(theme.getStroke("card.symbol"));
                 g2d.drawOval(width/4, height/3, width/2, width/2);
                 g2d.drawLine(width/4, height/3 + width/2, width/4 + width/2, height/3);
                 
                 // Draw smaller text below
-                g2d.setFont(new Font("Arial", Font.BOLD, 14));
-                String skipText = "SKIP";
-                int skipX = width / 2 - g2d.getFontMetrics().stringWidth(skipText) / 2;
-                g2d.drawString(skipText, skipX, height * 3/4);
+                DTextCache.drawCentered(g2d, theme.getFont("card.caption"), "SKIP", width / 2, height * 3/4);
             } else if (value.equals("REVERSE")) {
                 // Draw circular arrows
-                g2d.setStroke(new BasicStroke(3));
+                g2d.setStroke(theme.getStroke("card.symbol"));
                 // Top arrow
                 g2d.drawArc(width/4, height/3, width/2, width/3, 0, 180);
                 g2d.drawLine(width/4, height/3 + width/6, width/4 - 5, height/3 + width/6 - 5);
@@ -271,14 +233,10 @@ public class DCard extends DComponent {
                 g2d.drawLine(width*3/4, height/3 + width/6 + width/12, width*3/4 + 5, height/3 + width/6 + width/12 + 5);
                 
                 // Draw smaller text below
-                g2d.setFont(new Font("Arial", Font.BOLD, 12));
-                String reverseText = "REVERSE";
-                int revX = width / 2 - g2d.getFontMetrics().stringWidth(reverseText) / 2;
-                g2d.drawString(reverseText, revX, height * 3/4);
+                DTextCache.drawCentered(g2d, theme.getFont("card.label"), "REVERSE", width / 2, height * 3/4);
             } else if (value.equals("DRAW2")) {
                 // Draw +2 symbol
-                g2d.setFont(new Font("Arial", Font.BOLD, 28));
-                g2d.drawString("+2", width/2 - g2d.getFontMetrics().stringWidth("+2")/2, height/2);
+                DTextCache.drawCentered(g2d, theme.getFont("card.logo"), "+2", width / 2, height / 2);
             } else if (value.equals("WILD")) {
                 // Draw four colored quadrants for wild card
                 g2d.setColor(Color.RED);
@@ -292,19 +250,15 @@ public class DCard extends DComponent {
                 
                 // Draw border around the color wheel
                 g2d.setColor(Color.BLACK);
-                g2d.setStroke(new BasicStroke(1));
+                g2d.setStroke(theme.getStroke("card.thin"));
                 g2d.drawOval(width/3, height/3, width/3, width/3);
                 
                 // Draw text below
                 g2d.setColor(card.getCardColor());
-                g2d.setFont(new Font("Arial", Font.BOLD, 14));
-                String wildText = "WILD";
-                int wildX = width / 2 - g2d.getFontMetrics().stringWidth(wildText) / 2;
-                g2d.drawString(wildText, wildX, height * 3/4);
+                DTextCache.drawCentered(g2d, theme.getFont("card.caption"), "WILD", width / 2, height * 3/4);
             } else if (value.equals("WILD4")) {
                 // Draw +4 symbol
-                g2d.setFont(new Font("Arial", Font.BOLD, 28));
-                g2d.drawString("+4", width/2 - g2d.getFontMetrics().stringWidth("+4")/2, height/2 - 10);
+                DTextCache.drawCentered(g2d, theme.getFont("card.logo"), "+4", width / 2, height / 2 - 10);
                 
                 // Draw four colored small rectangles for wild card
                 int rectSize = width/10;
@@ -317,45 +271,44 @@ public class DCard extends DComponent {
                 g2d.setColor(Color.YELLOW);
                 g2d.fillRect(width/2 + rectSize, height/2 + 10, rectSize, rectSize);
             } else {
-                // For number cards, just draw the value
-                g2d.drawString(value, textX, textY);
+                // For number cards, just draw the value in the center
+                DTextCache.Text text = DTextCache.get(g2d, theme.getFont("card.value"), value);
+                text.drawCentered(g2d, width / 2, height / 2 + text.getHeight() / 4);
             }
             
             // Draw card value in upper left and lower right corners
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
-            g2d.drawString(card.getCardValue(), 5, 15);
-            g2d.drawString(card.getCardValue(), width - 15, height - 5);
+            DTextCache.Text corner = DTextCache.get(g2d, theme.getFont("card.label"), value);
+            corner.draw(g2d, 5, 15);
+            corner.draw(g2d, width - 15, height - 5);
             
             // Draw selection highlight
             if (card.isSelected()) {
-                g2d.setColor(new Color(255, 255, 0, 100)); // Semi-transparent yellow
-                g2d.setStroke(new BasicStroke(3));
-                g2d.draw(new RoundRectangle2D.Float(0, 0, width - 1, height - 1, ARC_SIZE, ARC_SIZE));
+                g2d.setColor(theme.getColor("card.highlight")); // Semi-transparent yellow
+                g2d.setStroke(theme.getStroke("card.symbol"));
+                g2d.draw(DGraphicsCache.roundRect(0, 0, width - 1, height - 1, ARC_SIZE));
             }
             
             g2d.dispose();
         }
         
-        private void drawCardBack(Graphics2D g2d, int width, int height) {
+        private void drawCardBack(Graphics2D g2d, DTheme theme, int width, int height) {
             // Draw card outline
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.draw(new RoundRectangle2D.Float(1, 1, width - 3, height - 3, ARC_SIZE, ARC_SIZE));
+            g2d.setColor(theme.getCardBorderColor());
+            g2d.setStroke(theme.getStroke("card.border"));
+            g2d.draw(DGraphicsCache.roundRect(1, 1, width - 3, height - 3, ARC_SIZE));
             
             // Draw card back (dark blue background)
-            g2d.setColor(new Color(0, 0, 128));
-            g2d.fill(new RoundRectangle2D.Float(2, 2, width - 4, height - 4, ARC_SIZE, ARC_SIZE));
+            g2d.setColor(theme.getColor("dcard.back"));
+            g2d.fill(DGraphicsCache.roundRect(2, 2, width - 4, height - 4, ARC_SIZE));
             
             // Draw UNO logo
-            g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 28));
-            int textX = width / 2 - g2d.getFontMetrics().stringWidth("UNO") / 2;
-            int textY = height / 2 + g2d.getFontMetrics().getHeight() / 4;
-            g2d.drawString("UNO", textX, textY);
+            g2d.setColor(theme.getColor("card.logo"));
+            DTextCache.Text logo = DTextCache.get(g2d, theme.getFont("card.logo"), "UNO");
+            logo.drawCentered(g2d, width / 2, height / 2 + logo.getHeight() / 4);
             
             // Draw diagonal lines pattern
-            g2d.setColor(new Color(0, 0, 180));
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(theme.getColor("dcard.back.pattern"));
+            g2d.setStroke(theme.getStroke("card.border"));
             for (int i = -height; i < width + height; i += 20) {
                 g2d.drawLine(i, 0, i + height, height);
             }
@@ -5,8 +5,8 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Image;
-import java.awt.image.BufferedImage;
 import dgui.themes.DTheme;
+import dgui.themes.DThemeRegistry;
 
 /**
  * Base component class for the custom GUI layer.
@@ -14,8 +14,9 @@ import dgui.themes.DTheme;
  */
 public class DComponent {
     protected JComponent component;
-    protected DTheme theme = DTheme.DEFAULT;
-    protected BufferedImage backgroundImage;
+    // Thème propre du composant ; null pour suivre le thème courant du registre
+    protected DTheme theme;
+    protected Image backgroundImage;
     protected boolean useCustomBackground = false;
     
     public DComponent() {
@@ -34,11 +35,19 @@ public class DComponent {
         applyTheme();
     }
     
+    /**
+     * Récupère le thème du composant : son thème propre, sinon le thème courant
+     */
+    public DTheme getTheme() {
+        return theme != null ? theme : DThemeRegistry.getCurrent();
+    }
+    
     /**
      * Applique le thème au composant
      */
     protected void applyTheme() {
         if (component != null) {
+            DTheme theme = getTheme();
             component.setBackground(theme.getBackgroundColor());
             component.setForeground(theme.getTextColor());
             component.setFont(theme.getBodyFont());
@@ -48,7 +57,7 @@ public class DComponent {
     /**
      * Définit une image de fond personnalisée
      */
-    public void setBackgroundImage(BufferedImage image) {
+    public void setBackgroundImage(Image image) {
         this.backgroundImage = image;
         this.useCustomBackground = (image != null);
         if (component != null) {
@@ -64,7 +73,7 @@ public class DComponent {
         if (component != null) {
             int width = Math.max(100, component.getWidth());
             int height = Math.max(100, component.getHeight());
-            BufferedImage woodTexture = imageManager.createWoodTexture(width, height, baseColor);
+            DScaledImage woodTexture = imageManager.createScaledWoodTexture(width, height, baseColor);
             setBackgroundImage(woodTexture);
         }
     }
@@ -146,7 +146,7 @@ public class DDiscardPilePanel extends DPanel {
         if (cards.isEmpty()) {
             Graphics g = ((JPanel) component).getGraphics();
             if (g != null) {
-                g.setColor(new Color(220, 220, 220));
+                g.setColor(DGraphicsCache.color(220, 220, 220));
                 g.fillRoundRect(10, 10, 100, 150, 20, 20);
                 g.setColor(Color.GRAY);
                 g.drawRoundRect(10, 10, 100, 150, 20, 20);
@@ -1,16 +1,27 @@
 package dgui;
 
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
+import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
+import javax.swing.KeyStroke;
 import javax.swing.WindowConstants;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
 
 /**
  * Custom frame component wrapping JFrame.
+ * F3 toggles an overlay with the rendering measurements of the
+ * {@link DPerformanceMonitor}, which is also available through JMX.
  */
 public class DFrame extends DComponent {
+    private static final String TOGGLE_HUD_ACTION = "dgui.togglePerformanceHud";
+
     private JFrame frame;
+    private DPerformanceHud performanceHud;
     
     /**
      * Create a new DFrame with default title
@@ -28,6 +39,45 @@ public class DFrame extends DComponent {
         frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         super.component = new JPanel(); // Create a component for the parent class
         frame.add((JPanel) super.component, BorderLayout.CENTER);
+
+        // Register the JMX bean so the measurements can be switched on remotely
+        DPerformanceMonitor.getInstance();
+        frame.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), TOGGLE_HUD_ACTION);
+        frame.getRootPane().getActionMap().put(TOGGLE_HUD_ACTION, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                setPerformanceHudVisible(!isPerformanceHudVisible());
+            }
+        });
+    }
+    
+    /**
+     * Show or hide the performance overlay in the top-left corner of the frame.
+     * Measurements only run while an overlay is shown (or when enabled through JMX).
+     */
+    public void setPerformanceHudVisible(boolean visible) {
+        if (visible == isPerformanceHudVisible()) {
+            return;
+        }
+        JLayeredPane layeredPane = frame.getLayeredPane();
+        if (visible) {
+            performanceHud = new DPerformanceHud();
+            Dimension size = performanceHud.getPreferredSize();
+            performanceHud.setBounds(10, 10, size.width, size.height);
+            layeredPane.add(performanceHud, JLayeredPane.PALETTE_LAYER);
+        } else {
+            layeredPane.remove(performanceHud);
+            layeredPane.repaint(performanceHud.getBounds());
+            performanceHud = null;
+        }
+    }
+    
+    /**
+     * Check if the performance overlay is shown
+     */
+    public boolean isPerformanceHudVisible() {
+        return performanceHud != null;
     }
     
     /**
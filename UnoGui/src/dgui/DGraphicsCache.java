@@ -0,0 +1,209 @@
+package dgui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.RoundRectangle2D;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache partagé des ressources graphiques immuables utilisées au rendu.
+ *
+ * Les polices, couleurs, traits et formes sont créés une fois puis réutilisés,
+ * si bien qu'un rendu répété n'alloue plus rien. Les clés sont des entiers
+ * packés, sans objet intermédiaire. Les formes renvoyées sont partagées et
+ * ne doivent jamais être modifiées par l'appelant.
+ */
+public final class DGraphicsCache {
+    // Au-delà, une table est vidée : cela borne la mémoire lors des redimensionnements
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final LongTable<Color> COLORS = new LongTable<>();
+    private static final LongTable<BasicStroke> STROKES = new LongTable<>();
+    private static final LongTable<RoundRectangle2D> ROUND_RECTANGLES = new LongTable<>();
+    private static final LongTable<Ellipse2D> ELLIPSES = new LongTable<>();
+    private static final Map<String, LongTable<Font>> FONTS = new HashMap<>();
+
+    private DGraphicsCache() {
+    }
+
+    /**
+     * Couleur opaque
+     */
+    public static Color color(int red, int green, int blue) {
+        return color(red, green, blue, 255);
+    }
+
+    /**
+     * Couleur avec transparence
+     */
+    public static Color color(int red, int green, int blue, int alpha) {
+        int argb = (alpha & 0xFF) << 24 | (red & 0xFF) << 16 | (green & 0xFF) << 8 | (blue & 0xFF);
+        synchronized (COLORS) {
+            Color color = COLORS.get(argb);
+            if (color == null) {
+                color = new Color(red, green, blue, alpha);
+                COLORS.put(argb, color);
+            }
+            return color;
+        }
+    }
+
+    /**
+     * Version partagée d'une couleur existante
+     */
+    public static Color color(Color color) {
+        return color(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+    }
+
+    /**
+     * Police par famille, style et taille
+     */
+    public static Font font(String family, int style, int size) {
+        long key = (long) style << 32 | size;
+        synchronized (FONTS) {
+            LongTable<Font> sizes = FONTS.get(family);
+            if (sizes == null) {
+                sizes = new LongTable<>();
+                FONTS.put(family, sizes);
+            }
+            Font font = sizes.get(key);
+            if (font == null) {
+                font = new Font(family, style, size);
+                sizes.put(key, font);
+            }
+            return font;
+        }
+    }
+
+    /**
+     * Version partagée d'une police existante
+     */
+    public static Font font(Font font) {
+        return font(font.getName(), font.getStyle(), font.getSize());
+    }
+
+    /**
+     * Trait continu d'une épaisseur donnée
+     */
+    public static BasicStroke stroke(float width) {
+        long key = Float.floatToIntBits(width);
+        synchronized (STROKES) {
+            BasicStroke stroke = STROKES.get(key);
+            if (stroke == null) {
+                stroke = new BasicStroke(width);
+                STROKES.put(key, stroke);
+            }
+            return stroke;
+        }
+    }
+
+    /**
+     * Rectangle arrondi partagé (à ne pas modifier).
+     * Les formes hors des bornes des clés (position -128..127, taille 0..65535,
+     * arrondi 0..255) ne sont pas mises en cache.
+     */
+    public static RoundRectangle2D roundRect(int x, int y, int width, int height, int arc) {
+        if (!fits(x, y, width, height) || arc < 0 || arc > 0xFF) {
+            return new RoundRectangle2D.Float(x, y, width, height, arc, arc);
+        }
+        long key = pack(x, y, width, height) << 8 | (arc & 0xFF);
+        synchronized (ROUND_RECTANGLES) {
+            RoundRectangle2D shape = ROUND_RECTANGLES.get(key);
+            if (shape == null) {
+                shape = new RoundRectangle2D.Float(x, y, width, height, arc, arc);
+                ROUND_RECTANGLES.put(key, shape);
+            }
+            return shape;
+        }
+    }
+
+    /**
+     * Ellipse partagée (à ne pas modifier)
+     */
+    public static Ellipse2D ellipse(int x, int y, int width, int height) {
+        if (!fits(x, y, width, height)) {
+            return new Ellipse2D.Float(x, y, width, height);
+        }
+        long key = pack(x, y, width, height);
+        synchronized (ELLIPSES) {
+            Ellipse2D shape = ELLIPSES.get(key);
+            if (shape == null) {
+                shape = new Ellipse2D.Float(x, y, width, height);
+                ELLIPSES.put(key, shape);
+            }
+            return shape;
+        }
+    }
+
+    private static boolean fits(int x, int y, int width, int height) {
+        return x >= Byte.MIN_VALUE && x <= Byte.MAX_VALUE && y >= Byte.MIN_VALUE && y <= Byte.MAX_VALUE
+                && width >= 0 && width <= 0xFFFF && height >= 0 && height <= 0xFFFF;
+    }
+
+    private static long pack(int x, int y, int width, int height) {
+        return ((long) (x & 0xFF) << 48) | ((long) (y & 0xFF) << 40)
+                | ((long) (width & 0xFFFF) << 24) | ((long) (height & 0xFFFF) << 8);
+    }
+
+    /**
+     * Table à adressage ouvert indexée par des clés long, sans boxing
+     */
+    private static final class LongTable<V> {
+        private long[] keys = new long[64];
+        private Object[] values = new Object[64];
+        private int size = 0;
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(long key, V value) {
+            if (size >= MAX_ENTRIES) {
+                keys = new long[64];
+                values = new Object[64];
+                size = 0;
+            } else if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            insert(key, value);
+            size++;
+        }
+
+        private void insert(long key, Object value) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int index(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
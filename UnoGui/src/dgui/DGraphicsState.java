@@ -0,0 +1,61 @@
+package dgui;
+
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+
+/**
+ * État d'un Graphics2D sauvegardé avant un rendu puis restauré après.
+ *
+ * Graphics.create() copie tout le contexte de rendu à chaque appel. Un
+ * composant qui ne change que la peinture, le trait, la composition, la
+ * police et les indications d'anticrénelage et de qualité dessine
+ * directement dans le contexte reçu et le remet en état ensuite, sans rien
+ * allouer. La zone de découpe et la transformation ne sont pas sauvegardées :
+ * le rendu ne doit pas les modifier. Un état n'est utilisé que par un rendu
+ * à la fois.
+ */
+public final class DGraphicsState {
+    private Paint paint;
+    private Stroke stroke;
+    private Composite composite;
+    private Font font;
+    private Object antialiasing;
+    private Object rendering;
+
+    /**
+     * Sauvegarde l'état du contexte
+     */
+    public void save(Graphics2D g2d) {
+        paint = g2d.getPaint();
+        stroke = g2d.getStroke();
+        composite = g2d.getComposite();
+        font = g2d.getFont();
+        antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        rendering = g2d.getRenderingHint(RenderingHints.KEY_RENDERING);
+    }
+
+    /**
+     * Remet le contexte dans l'état sauvegardé
+     */
+    public void restore(Graphics2D g2d) {
+        g2d.setPaint(paint);
+        g2d.setStroke(stroke);
+        g2d.setComposite(composite);
+        g2d.setFont(font);
+        if (antialiasing != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        }
+        if (rendering != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, rendering);
+        }
+        // Ne retient pas le contexte ni ses objets entre deux rendus
+        paint = null;
+        stroke = null;
+        composite = null;
+        font = null;
+    }
+}
@@ -3,10 +3,8 @@ package dgui;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
-import java.awt.Point;
 import java.awt.Insets;
-import java.util.ArrayList;
-import java.util.List;
+import javax.swing.JComponent;
 
 /**
  * Custom layout manager for arranging cards in a hand.
@@ -15,6 +13,15 @@ public class DHandLayout extends DLayoutManager {
     private int cardOverlap = 30; // How much cards overlap
     private int verticalOffset = 0; // How much selected cards are raised
     
+    // Card positions from the last pass, reused while the geometry is unchanged
+    private int[] cachedX;
+    private int[] cachedY;
+    private int cachedCount;
+    private int cachedParentWidth;
+    private int cachedOverlap;
+    private Insets cachedInsets;
+    private Dimension cachedCardSize;
+    
     /**
      * Create a new DHandLayout with default settings
      */
@@ -123,93 +130,116 @@ public class DHandLayout extends DLayoutManager {
             if (n == 0) {
                 return;
             }
-            
-            // Get components for easier manipulation
-            List<Component> components = new ArrayList<>();
-            for (int i = 0; i < n; i++) {
-                components.add(parent.getComponent(i));
-            }
+            long layoutStart = DPerformanceMonitor.begin();
             
             // Calculate the size of each card (assume all cards are the same size)
-            Dimension cardSize = components.get(0).getPreferredSize();
-            
-            // Get available width for layout
-            int availableWidth = parent.getWidth() - insets.left - insets.right;
-            
-            // Calculate the actual overlap to use based on available space
-            int effectiveOverlap = cardOverlap;
+            Dimension cardSize = parent.getComponent(0).getPreferredSize();
             
-            // Calculate total width needed for all cards with current overlap
-            int totalWidth = cardSize.width + (n - 1) * (cardSize.width - effectiveOverlap);
-            
-            // If the total width exceeds available width, increase the overlap
-            if (totalWidth > availableWidth && n > 1) {
-                // Calculate the minimum required overlap
-                int minRequiredOverlap = cardSize.width - (availableWidth - cardSize.width) / (n - 1);
-                
-                // Ensure overlap is at least 10 pixels (to show card edges)
-                effectiveOverlap = Math.min(cardSize.width - 10, Math.max(minRequiredOverlap, cardOverlap));
-                
-                // Recalculate total width with new overlap
-                totalWidth = cardSize.width + (n - 1) * (cardSize.width - effectiveOverlap);
+            // Card positions only depend on the geometry, not on the cards themselves
+            if (!isCacheValid(n, parent.getWidth(), insets, cardSize)) {
+                computePositions(n, parent.getWidth(), insets, cardSize);
             }
             
-            // Calculate the fan angle (for visual effect)
-            double fanAngleRange = 5.0; // degrees
-            
-            // Calculate starting X position to center the hand
-            int startX = insets.left + (availableWidth - totalWidth) / 2;
-            if (startX < insets.left) startX = insets.left; // Ensure it doesn't go past the left edge
-            
-            // Position each card
+            // Position each card; only the selection state is read on every pass
             for (int i = 0; i < n; i++) {
-                Component card = components.get(i);
+                Component card = parent.getComponent(i);
                 
-                // Calculate the X position for this card
-                int x = startX + i * (cardSize.width - effectiveOverlap);
-                
-                // Check if the card is selected
-                boolean isSelected = false;
-                if (card instanceof javax.swing.JComponent) {
-                    Object selected = ((javax.swing.JComponent) card).getClientProperty("selected");
-                    isSelected = (selected != null && (Boolean) selected);
-                    
-                    // For our custom DCard component - using reflection to check isSelected
-                    try {
-                        java.lang.reflect.Method method = card.getClass().getMethod("isSelected");
-                        Object result = method.invoke(card);
-                        if (result instanceof Boolean) {
-                            isSelected = (Boolean) result;
-                        }
-                    } catch (Exception e) {
-                        // No isSelected method or error calling it
-                    }
-                }
-                
-                // Calculate the Y position, adjusting for selected cards and slight fan effect
-                int y = insets.top;
-                
-                // Apply a slight fan angle
-                double fanAngle = 0;
-                if (n > 1) { // Avoid division by zero when there's only one card
-                    fanAngle = -fanAngleRange/2 + (fanAngleRange * i / (n-1));
-                }
-                int fanOffset = (int)(cardSize.height * Math.sin(Math.toRadians(fanAngle)) * 0.1);
-                
-                // Add fan offset and selection offset if applicable
-                y += fanOffset;
-                if (isSelected && verticalOffset > 0) {
+                int y = cachedY[i];
+                if (verticalOffset > 0 && isSelected(card)) {
                     y -= verticalOffset;
                 }
                 
-                // Ensure card is not positioned off the container
-                if (x + cardSize.width > parent.getWidth() - insets.right) {
-                    x = parent.getWidth() - insets.right - cardSize.width;
-                }
-                
-                // Set the component's bounds
-                card.setBounds(x, y, cardSize.width, cardSize.height);
+                card.setBounds(cachedX[i], y, cardSize.width, cardSize.height);
+            }
+            DPerformanceMonitor.end(DPerformanceMonitor.Section.HAND_LAYOUT, layoutStart);
+        }
+    }
+    
+    /**
+     * Check if the cached positions were computed for the same geometry
+     */
+    private boolean isCacheValid(int n, int parentWidth, Insets insets, Dimension cardSize) {
+        return cachedX != null
+                && cachedCount == n
+                && cachedParentWidth == parentWidth
+                && insets.equals(cachedInsets)
+                && cardSize.equals(cachedCardSize)
+                && cachedOverlap == cardOverlap;
+    }
+    
+    /**
+     * Compute the position of every card for the given geometry
+     */
+    private void computePositions(int n, int parentWidth, Insets insets, Dimension cardSize) {
+        // Get available width for layout
+        int availableWidth = parentWidth - insets.left - insets.right;
+        
+        // Calculate the actual overlap to use based on available space
+        int effectiveOverlap = cardOverlap;
+        
+        // Calculate total width needed for all cards with current overlap
+        int totalWidth = cardSize.width + (n - 1) * (cardSize.width - effectiveOverlap);
+        
+        // If the total width exceeds available width, increase the overlap
+        if (totalWidth > availableWidth && n > 1) {
+            // Calculate the minimum required overlap
+            int minRequiredOverlap = cardSize.width - (availableWidth - cardSize.width) / (n - 1);
+            
+            // Ensure overlap is at least 10 pixels (to show card edges)
+            effectiveOverlap = Math.min(cardSize.width - 10, Math.max(minRequiredOverlap, cardOverlap));
+            
+            // Recalculate total width with new overlap
+            totalWidth = cardSize.width + (n - 1) * (cardSize.width - effectiveOverlap);
+        }
+        
+        // Calculate the fan angle (for visual effect)
+        double fanAngleRange = 5.0; // degrees
+        
+        // Calculate starting X position to center the hand
+        int startX = insets.left + (availableWidth - totalWidth) / 2;
+        if (startX < insets.left) startX = insets.left; // Ensure it doesn't go past the left edge
+        
+        cachedX = new int[n];
+        cachedY = new int[n];
+        for (int i = 0; i < n; i++) {
+            // Calculate the X position for this card
+            int x = startX + i * (cardSize.width - effectiveOverlap);
+            
+            // Apply a slight fan angle
+            double fanAngle = 0;
+            if (n > 1) { // Avoid division by zero when there's only one card
+                fanAngle = -fanAngleRange/2 + (fanAngleRange * i / (n-1));
+            }
+            int fanOffset = (int)(cardSize.height * Math.sin(Math.toRadians(fanAngle)) * 0.1);
+            
+            // Ensure card is not positioned off the container
+            if (x + cardSize.width > parentWidth - insets.right) {
+                x = parentWidth - insets.right - cardSize.width;
             }
+            
+            cachedX[i] = x;
+            cachedY[i] = insets.top + fanOffset;
+        }
+        
+        cachedCount = n;
+        cachedParentWidth = parentWidth;
+        cachedInsets = (Insets) insets.clone();
+        cachedCardSize = new Dimension(cardSize);
+        cachedOverlap = cardOverlap;
+    }
+    
+    /**
+     * Check if a card component is selected
+     */
+    private static boolean isSelected(Component card) {
+        if (card instanceof DSelectable) {
+            return ((DSelectable) card).isSelected();
+        }
+        if (card instanceof JComponent) {
+            // Plain Swing components can flag their selection with a client property
+            Object selected = ((JComponent) card).getClientProperty("selected");
+            return selected instanceof Boolean && (Boolean) selected;
         }
+        return false;
     }
 }
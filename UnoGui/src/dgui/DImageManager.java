@@ -7,19 +7,39 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.WeakHashMap;
 import javax.imageio.ImageIO;
 
 /**
  * Gestionnaire d'images pour la couche DGUI
  * Permet de charger, créer et manipuler des images
+ *
+ * Les images dessinées en vectoriel (cartes, textures) sont fournies sous
+ * forme de DScaledImage : une variante par échelle d'écran, dessinée à la
+ * première utilisation, pour rester nette en HiDPI.
  */
 public class DImageManager {
+    // Au-delà, les images d'un propriétaire sont oubliées : cela borne la mémoire
+    private static final int MAX_SCALED_IMAGES = 256;
+
     private static DImageManager instance;
     private Map<String, BufferedImage> imageCache = new HashMap<>();
     private Random random = new Random();
+
+    // Images multi-résolution par propriétaire (un thème, par exemple) puis par clé
+    private final Map<Object, Map<String, DScaledImage>> scaledImages = new WeakHashMap<>();
+    
+    /**
+     * Dessine une image partagée avec les ressources de son propriétaire,
+     * reçu au moment du rendu : le painter ne doit pas le garder lui-même
+     */
+    public interface OwnedPainter<T> {
+        void paint(Graphics2D g2d, T owner, int width, int height);
+    }
     
     /**
      * Constructeur privé (singleton)
@@ -76,14 +96,65 @@ public class DImageManager {
         return errorImage;
     }
     
+    /**
+     * Récupère une image multi-résolution partagée, créée au premier appel.
+     * Les images sont rattachées à un propriétaire (un thème, par exemple) et
+     * disparaissent avec lui ; la clé doit décrire tout ce que dessine le painter.
+     * L'image ne garde qu'une référence faible vers son propriétaire, qu'elle
+     * passe au painter à chaque rendu.
+     */
+    public synchronized <T> DScaledImage getScaledImage(T owner, String key, int width, int height,
+                                                        OwnedPainter<? super T> painter) {
+        Map<String, DScaledImage> images = scaledImages.get(owner);
+        if (images == null) {
+            images = new HashMap<>();
+            scaledImages.put(owner, images);
+        }
+        DScaledImage image = images.get(key);
+        if (image == null) {
+            if (images.size() >= MAX_SCALED_IMAGES) {
+                images.clear();
+            }
+            WeakReference<T> ownerReference = new WeakReference<>(owner);
+            image = new DScaledImage(width, height, (g2d, w, h) -> {
+                T imageOwner = ownerReference.get();
+                if (imageOwner != null) {
+                    painter.paint(g2d, imageOwner, w, h);
+                }
+            });
+            images.put(key, image);
+        }
+        return image;
+    }
+    
     /**
      * Crée une texture de bois
      */
     public BufferedImage createWoodTexture(int width, int height, Color baseColor) {
+        long textureStart = DPerformanceMonitor.begin();
         BufferedImage texture = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = texture.createGraphics();
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
+        paintWoodTexture(g2d, width, height, baseColor, random);
+        g2d.dispose();
+        DPerformanceMonitor.end(DPerformanceMonitor.Section.TEXTURE, textureStart);
+        return texture;
+    }
+    
+    /**
+     * Crée une texture de bois multi-résolution ; toutes ses variantes
+     * montrent les mêmes veines et les mêmes nœuds
+     */
+    public DScaledImage createScaledWoodTexture(int width, int height, Color baseColor) {
+        long seed = random.nextLong();
+        return new DScaledImage(width, height,
+                (g2d, w, h) -> paintWoodTexture(g2d, w, h, baseColor, new Random(seed)));
+    }
+    
+    /**
+     * Dessine une texture de bois en coordonnées logiques
+     */
+    private void paintWoodTexture(Graphics2D g2d, int width, int height, Color baseColor, Random random) {
         // Fond de base
         g2d.setColor(baseColor);
         g2d.fill(new Rectangle2D.Float(0, 0, width, height));
@@ -96,7 +167,7 @@ public class DImageManager {
             int veinWidth = 1 + random.nextInt(3);
             
             // Variation de couleur pour la veine
-            Color veinColor = varyColor(baseColor, 0.15f);
+            Color veinColor = varyColor(baseColor, 0.15f, random);
             g2d.setColor(veinColor);
             
             // Forme ondulée
@@ -121,19 +192,16 @@ public class DImageManager {
             
             // Cercles autour du nœud
             for (int r = knotSize/2 + 2; r < knotSize * 2; r += 2) {
-                g2d.setColor(varyColor(baseColor, 0.1f));
+                g2d.setColor(varyColor(baseColor, 0.1f, random));
                 g2d.drawOval(knotX - r, knotY - r, r*2, r*2);
             }
         }
-        
-        g2d.dispose();
-        return texture;
     }
     
     /**
      * Modifie légèrement une couleur
      */
-    private Color varyColor(Color base, float amount) {
+    private Color varyColor(Color base, float amount, Random random) {
         float[] hsb = Color.RGBtoHSB(base.getRed(), base.getGreen(), base.getBlue(), null);
         hsb[1] *= (1.0f + (random.nextFloat() * amount * 2 - amount));
         hsb[2] *= (1.0f + (random.nextFloat() * amount * 2 - amount));
@@ -5,9 +5,9 @@ import javax.swing.border.Border;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.LayoutManager;
 import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
 import dgui.themes.DTheme;
 
 /**
@@ -35,32 +35,13 @@ public class DPanel extends DComponent {
      * Crée un JPanel personnalisé qui peut afficher des images de fond
      */
     private static JPanel createCustomPanel(LayoutManager layout) {
-        JPanel panel = new JPanel(layout) {
-            private DPanel parent;
-            
-            @Override
-            protected void paintComponent(Graphics g) {
-                if (parent != null && parent.useCustomBackground && parent.backgroundImage != null) {
-                    // Dessiner l'image de fond personnalisée
-                    Graphics2D g2d = (Graphics2D) g;
-                    g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                    g2d.drawImage(parent.backgroundImage, 0, 0, getWidth(), getHeight(), null);
-                } else {
-                    // Dessiner le fond standard
-                    super.paintComponent(g);
-                }
-            }
-            
-            public void setParent(DPanel parent) {
-                this.parent = parent;
-            }
-        };
+        JPanel panel = new BackgroundPanel(layout);
         
         return panel;
     }
     
     @Override
-    public void setBackgroundImage(BufferedImage image) {
+    public void setBackgroundImage(Image image) {
         super.setBackgroundImage(image);
         ((JPanel)component).setOpaque(!useCustomBackground);
     }
@@ -71,11 +52,7 @@ public class DPanel extends DComponent {
     private void initPanel() {
         ((JPanel)component).setOpaque(true);
         // Attache this comme parent au JPanel personnalisé
-        try {
-            ((JPanel)component).getClass().getMethod("setParent", DPanel.class).invoke(component, this);
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'initialisation du panel: " + e.getMessage());
-        }
+        ((BackgroundPanel) component).setParent(this);
     }
     
     /**
@@ -189,4 +166,35 @@ public class DPanel extends DComponent {
     public JPanel getPanel() {
         return (JPanel) component;
     }
+    
+    /**
+     * JPanel personnalisé qui peut afficher l'image de fond de son DPanel
+     */
+    private static class BackgroundPanel extends JPanel implements DParentAware<DPanel> {
+        private static final long serialVersionUID = 1L;
+        
+        private DPanel parent;
+        
+        BackgroundPanel(LayoutManager layout) {
+            super(layout);
+        }
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (parent != null && parent.useCustomBackground && parent.backgroundImage != null) {
+                // Dessiner l'image de fond personnalisée
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.drawImage(parent.backgroundImage, 0, 0, getWidth(), getHeight(), null);
+            } else {
+                // Dessiner le fond standard
+                super.paintComponent(g);
+            }
+        }
+        
+        @Override
+        public void setParent(DPanel parent) {
+            this.parent = parent;
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package dgui;
+
+/**
+ * Implemented by the Swing components that back a DComponent and delegate
+ * their painting to it.
+ *
+ * @param <T> the type of the owning DComponent
+ */
+public interface DParentAware<T extends DComponent> {
+
+    /**
+     * Attach the DComponent that owns this Swing component
+     *
+     * @param parent the owning component
+     */
+    void setParent(T parent);
+}
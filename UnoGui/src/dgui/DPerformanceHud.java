@@ -0,0 +1,105 @@
+package dgui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+import dgui.DPerformanceMonitor.Section;
+
+/**
+ * Overlay showing the measurements of the {@link DPerformanceMonitor}.
+ * The monitor runs while at least one overlay is displayed, and the overlay
+ * refreshes twice per second from the last published window.
+ */
+class DPerformanceHud extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private static final int REFRESH_MS = 500;
+    private static final int PADDING = 8;
+    private static final int LINE_COUNT = 3 + Section.values().length;
+    private static final int LINE_LENGTH = 48;
+
+    private static final Font FONT = DGraphicsCache.font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = DGraphicsCache.color(0, 0, 0, 180);
+    private static final Color TEXT = DGraphicsCache.color(220, 255, 220);
+    private static final Color WARNING = DGraphicsCache.color(255, 200, 60);
+
+    // Frame budget above which values are highlighted
+    private static final double FRAME_BUDGET_MS = 1000.0 / DAnimationClock.DEFAULT_FRAME_RATE;
+
+    private final Timer refreshTimer = new Timer(REFRESH_MS, e -> repaint());
+
+    DPerformanceHud() {
+        setOpaque(false);
+        setFocusable(false);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics metrics = getFontMetrics(FONT);
+        return new Dimension(LINE_LENGTH * metrics.charWidth('0') + 2 * PADDING,
+                LINE_COUNT * metrics.getHeight() + 2 * PADDING);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        DPerformanceMonitor.getInstance().addOverlay();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        DPerformanceMonitor.getInstance().removeOverlay();
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(BACKGROUND);
+            g2d.fill(DGraphicsCache.roundRect(0, 0, getWidth(), getHeight(), 10));
+
+            DPerformanceMonitor.Snapshot s = DPerformanceMonitor.getInstance().getSnapshot();
+            g2d.setFont(FONT);
+            int lineHeight = g2d.getFontMetrics().getHeight();
+            int y = PADDING + g2d.getFontMetrics().getAscent();
+
+            line(g2d, String.format("FPS %5.1f  frame %5.2f ms  max %6.2f ms",
+                    s.getFramesPerSecond(), s.getAverageFrameTimeMillis(), s.getMaxFrameTimeMillis()),
+                    s.getMaxFrameTimeMillis() > FRAME_BUDGET_MS, y);
+            y += lineHeight;
+            line(g2d, String.format("repaints %5d/s  EDT lag %5.2f ms  max %6.2f",
+                    s.getRepaintRequestsPerSecond(), s.getAverageEdtLatencyMillis(), s.getMaxEdtLatencyMillis()),
+                    s.getMaxEdtLatencyMillis() > FRAME_BUDGET_MS, y);
+            y += lineHeight;
+            long allocation = s.getEdtAllocationBytesPerSecond();
+            line(g2d, allocation >= 0
+                    ? String.format("EDT alloc %8.1f KB/s", allocation / 1024.0)
+                    : "EDT alloc n/a", false, y);
+            for (Section section : Section.values()) {
+                y += lineHeight;
+                line(g2d, String.format("%-14s %6.2f ms/s %5dx  max %6.2f",
+                        section.getLabel(), s.getMillisPerSecond(section), s.getCalls(section),
+                        s.getMaxMillis(section)),
+                        s.getMaxMillis(section) > FRAME_BUDGET_MS, y);
+            }
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private void line(Graphics2D g2d, String text, boolean warning, int y) {
+        g2d.setColor(warning ? WARNING : TEXT);
+        g2d.drawString(text, PADDING, y);
+    }
+}
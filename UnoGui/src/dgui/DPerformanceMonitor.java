@@ -0,0 +1,513 @@
+package dgui;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Rendering instrumentation for the DGUI layer.
+ * <p>
+ * While enabled, the monitor measures:
+ * <ul>
+ * <li>frames: every paint pass of the Swing RepaintManager, with its duration
+ * and the number of repaint requests;</li>
+ * <li>sections: time spent in instrumented code such as card painting, hand
+ * layout, texture creation and animation ticks;</li>
+ * <li>EDT latency: how long a task posted every 100 ms waits in the event queue;</li>
+ * <li>the allocation rate of the EDT.</li>
+ * </ul>
+ * Results are aggregated over one-second windows. They are published as a
+ * {@link Snapshot}, as the JMX bean {@code dgui:type=PerformanceMonitor}, and as
+ * JFR events in the "DGUI" category when a recording is running.
+ * <p>
+ * Instrumented code brackets its work with {@link #begin()} and
+ * {@link #end(Section, long)}. While the monitor is off, these only read a
+ * volatile flag.
+ */
+public class DPerformanceMonitor implements DPerformanceMonitorMBean {
+    public static final String OBJECT_NAME = "dgui:type=PerformanceMonitor";
+
+    private static final long PROBE_PERIOD_MS = 100;
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    /**
+     * Instrumented code sections
+     */
+    public enum Section {
+        CARD_PAINT("card paint"),
+        HAND_LAYOUT("hand layout"),
+        TEXTURE("texture"),
+        IMAGE_RENDER("image render"),
+        ANIMATION_TICK("animation tick");
+
+        private final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static volatile boolean enabled = false;
+    private static volatile DPerformanceMonitor instance;
+
+    // Sections, updated from any thread
+    private final int sectionCount = Section.values().length;
+    private final AtomicLongArray sectionNanos = new AtomicLongArray(sectionCount);
+    private final AtomicLongArray sectionCounts = new AtomicLongArray(sectionCount);
+    private final AtomicLongArray sectionMaxNanos = new AtomicLongArray(sectionCount);
+    private final LongAdder repaintRequests = new LongAdder();
+
+    // Frames, EDT latency and allocations, only touched on the EDT
+    private long frameCount;
+    private long frameNanos;
+    private long frameMaxNanos;
+    private long latencyCount;
+    private long latencyNanos;
+    private long latencyMaxNanos;
+    private long windowStart;
+    private long windowAllocatedBytes = -1;
+
+    // Reasons to run, only touched on the EDT: setEnabled, and the overlays displayed
+    private boolean requested;
+    private int overlays;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private RepaintManager previousRepaintManager;
+    private ScheduledExecutorService probeExecutor;
+    private ScheduledFuture<?> probe;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Private constructor (singleton)
+     */
+    private DPerformanceMonitor() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            System.err.println("Performance monitor not available through JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the shared monitor, registering its JMX bean on first use
+     */
+    public static synchronized DPerformanceMonitor getInstance() {
+        if (instance == null) {
+            instance = new DPerformanceMonitor();
+        }
+        return instance;
+    }
+
+    /**
+     * Start timing a section
+     *
+     * @return the start time to pass to {@link #end}, or 0 while the monitor is off
+     */
+    public static long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finish timing a section started with {@link #begin()}
+     */
+    public static void end(Section section, long start) {
+        if (start == 0 || !enabled) {
+            return;
+        }
+        long end = System.nanoTime();
+        DPerformanceMonitor monitor = instance;
+        if (monitor != null) {
+            monitor.recordSection(section, start, end);
+        }
+    }
+
+    /**
+     * Tell whether measurements are running, requested through setEnabled or
+     * for an overlay
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the measurements on or off. May be called from any thread.
+     * They keep running while an overlay is displayed.
+     */
+    @Override
+    public void setEnabled(boolean enable) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> setEnabled(enable));
+            return;
+        }
+        requested = enable;
+        update();
+    }
+
+    /**
+     * Keep the measurements running while an overlay is displayed. Must be
+     * called on the EDT, once per overlay shown, and matched by removeOverlay.
+     */
+    void addOverlay() {
+        overlays++;
+        update();
+    }
+
+    void removeOverlay() {
+        overlays--;
+        update();
+    }
+
+    private void update() {
+        boolean enable = requested || overlays > 0;
+        if (enabled == enable) {
+            return;
+        }
+        if (enable) {
+            resetWindow(System.nanoTime());
+            windowAllocatedBytes = getEdtAllocatedBytes();
+            repaintRequests.reset();
+            for (int i = 0; i < sectionCount; i++) {
+                sectionNanos.set(i, 0);
+                sectionCounts.set(i, 0);
+                sectionMaxNanos.set(i, 0);
+            }
+            previousRepaintManager = RepaintManager.currentManager(null);
+            RepaintManager.setCurrentManager(new TimingRepaintManager());
+            probeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "dgui-performance-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+            probe = probeExecutor.scheduleAtFixedRate(this::postProbe, PROBE_PERIOD_MS, PROBE_PERIOD_MS,
+                    TimeUnit.MILLISECONDS);
+            enabled = true;
+        } else {
+            enabled = false;
+            probe.cancel(false);
+            probeExecutor.shutdown();
+            probe = null;
+            probeExecutor = null;
+            RepaintManager.setCurrentManager(previousRepaintManager);
+            previousRepaintManager = null;
+            snapshot = Snapshot.EMPTY;
+        }
+    }
+
+    /**
+     * Get the measurements of the last complete window
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Add the duration of a section to the current window
+     */
+    private void recordSection(Section section, long start, long end) {
+        int index = section.ordinal();
+        long nanos = end - start;
+        sectionNanos.addAndGet(index, nanos);
+        sectionCounts.incrementAndGet(index);
+        sectionMaxNanos.accumulateAndGet(index, nanos, Math::max);
+
+        SectionEvent event = new SectionEvent();
+        if (event.isEnabled()) {
+            event.section = section.getLabel();
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Record one paint pass of the RepaintManager
+     */
+    private void recordFrame(long start, long end, long requests) {
+        long nanos = end - start;
+        frameCount++;
+        frameNanos += nanos;
+        frameMaxNanos = Math.max(frameMaxNanos, nanos);
+
+        FrameEvent event = new FrameEvent();
+        if (event.isEnabled()) {
+            event.elapsed = nanos;
+            event.repaintRequests = requests;
+            event.commit();
+        }
+    }
+
+    /**
+     * Post a timestamped task to the EDT (probe thread)
+     */
+    private void postProbe() {
+        long posted = System.nanoTime();
+        SwingUtilities.invokeLater(() -> runProbe(posted));
+    }
+
+    /**
+     * Measure the queue latency of a probe, and close the window once it is complete (EDT)
+     */
+    private void runProbe(long posted) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        long latency = now - posted;
+        latencyCount++;
+        latencyNanos += latency;
+        latencyMaxNanos = Math.max(latencyMaxNanos, latency);
+
+        if (now - windowStart >= WINDOW_NANOS) {
+            closeWindow(now);
+        }
+    }
+
+    /**
+     * Publish the statistics of the current window and start a new one (EDT)
+     */
+    private void closeWindow(long now) {
+        double seconds = (now - windowStart) / 1e9;
+        long allocated = getEdtAllocatedBytes();
+
+        double[] sectionMillis = new double[sectionCount];
+        long[] sectionCalls = new long[sectionCount];
+        double[] sectionMaxMillis = new double[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            sectionMillis[i] = sectionNanos.getAndSet(i, 0) / 1e6 / seconds;
+            sectionCalls[i] = sectionCounts.getAndSet(i, 0);
+            sectionMaxMillis[i] = sectionMaxNanos.getAndSet(i, 0) / 1e6;
+        }
+
+        Snapshot published = new Snapshot(
+                frameCount / seconds,
+                frameCount > 0 ? frameNanos / 1e6 / frameCount : 0,
+                frameMaxNanos / 1e6,
+                Math.round(repaintRequests.sumThenReset() / seconds),
+                latencyCount > 0 ? latencyNanos / 1e6 / latencyCount : 0,
+                latencyMaxNanos / 1e6,
+                allocated >= 0 && windowAllocatedBytes >= 0
+                        ? Math.round((allocated - windowAllocatedBytes) / seconds) : -1,
+                sectionMillis, sectionCalls, sectionMaxMillis);
+        snapshot = published;
+
+        StatisticsEvent event = new StatisticsEvent();
+        if (event.isEnabled()) {
+            event.framesPerSecond = published.getFramesPerSecond();
+            event.maxFrameTime = Math.round(published.getMaxFrameTimeMillis() * 1e6);
+            event.maxEdtLatency = Math.round(published.getMaxEdtLatencyMillis() * 1e6);
+            event.edtAllocationRate = published.getEdtAllocationBytesPerSecond();
+            event.commit();
+        }
+
+        resetWindow(now);
+        windowAllocatedBytes = allocated;
+    }
+
+    private void resetWindow(long now) {
+        windowStart = now;
+        frameCount = 0;
+        frameNanos = 0;
+        frameMaxNanos = 0;
+        latencyCount = 0;
+        latencyNanos = 0;
+        latencyMaxNanos = 0;
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread (the EDT), or -1 if unsupported
+     */
+    private long getEdtAllocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+                return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double getFramesPerSecond() { return snapshot.getFramesPerSecond(); }
+    @Override
+    public double getAverageFrameTimeMillis() { return snapshot.getAverageFrameTimeMillis(); }
+    @Override
+    public double getMaxFrameTimeMillis() { return snapshot.getMaxFrameTimeMillis(); }
+    @Override
+    public long getRepaintRequestsPerSecond() { return snapshot.getRepaintRequestsPerSecond(); }
+    @Override
+    public double getAverageEdtLatencyMillis() { return snapshot.getAverageEdtLatencyMillis(); }
+    @Override
+    public double getMaxEdtLatencyMillis() { return snapshot.getMaxEdtLatencyMillis(); }
+    @Override
+    public long getEdtAllocationBytesPerSecond() { return snapshot.getEdtAllocationBytesPerSecond(); }
+    @Override
+    public double getCardPaintMillisPerSecond() { return snapshot.getMillisPerSecond(Section.CARD_PAINT); }
+    @Override
+    public double getLayoutMillisPerSecond() { return snapshot.getMillisPerSecond(Section.HAND_LAYOUT); }
+    @Override
+    public double getTextureMillisPerSecond() { return snapshot.getMillisPerSecond(Section.TEXTURE); }
+    @Override
+    public double getImageRenderMillisPerSecond() { return snapshot.getMillisPerSecond(Section.IMAGE_RENDER); }
+    @Override
+    public double getAnimationMillisPerSecond() { return snapshot.getMillisPerSecond(Section.ANIMATION_TICK); }
+
+    /**
+     * Measurements of one window
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, -1,
+                new double[Section.values().length], new long[Section.values().length],
+                new double[Section.values().length]);
+
+        private final double framesPerSecond;
+        private final double averageFrameTimeMillis;
+        private final double maxFrameTimeMillis;
+        private final long repaintRequestsPerSecond;
+        private final double averageEdtLatencyMillis;
+        private final double maxEdtLatencyMillis;
+        private final long edtAllocationBytesPerSecond;
+        private final double[] sectionMillisPerSecond;
+        private final long[] sectionCalls;
+        private final double[] sectionMaxMillis;
+
+        private Snapshot(double framesPerSecond, double averageFrameTimeMillis, double maxFrameTimeMillis,
+                         long repaintRequestsPerSecond, double averageEdtLatencyMillis,
+                         double maxEdtLatencyMillis, long edtAllocationBytesPerSecond,
+                         double[] sectionMillisPerSecond, long[] sectionCalls, double[] sectionMaxMillis) {
+            this.framesPerSecond = framesPerSecond;
+            this.averageFrameTimeMillis = averageFrameTimeMillis;
+            this.maxFrameTimeMillis = maxFrameTimeMillis;
+            this.repaintRequestsPerSecond = repaintRequestsPerSecond;
+            this.averageEdtLatencyMillis = averageEdtLatencyMillis;
+            this.maxEdtLatencyMillis = maxEdtLatencyMillis;
+            this.edtAllocationBytesPerSecond = edtAllocationBytesPerSecond;
+            this.sectionMillisPerSecond = sectionMillisPerSecond;
+            this.sectionCalls = sectionCalls;
+            this.sectionMaxMillis = sectionMaxMillis;
+        }
+
+        public double getFramesPerSecond() { return framesPerSecond; }
+        public double getAverageFrameTimeMillis() { return averageFrameTimeMillis; }
+        public double getMaxFrameTimeMillis() { return maxFrameTimeMillis; }
+        public long getRepaintRequestsPerSecond() { return repaintRequestsPerSecond; }
+        public double getAverageEdtLatencyMillis() { return averageEdtLatencyMillis; }
+        public double getMaxEdtLatencyMillis() { return maxEdtLatencyMillis; }
+
+        /**
+         * Bytes allocated per second by the EDT, or -1 if the JVM cannot measure it
+         */
+        public long getEdtAllocationBytesPerSecond() { return edtAllocationBytesPerSecond; }
+
+        /**
+         * Milliseconds spent in a section per second
+         */
+        public double getMillisPerSecond(Section section) {
+            return sectionMillisPerSecond[section.ordinal()];
+        }
+
+        /**
+         * Number of times a section ran in the window
+         */
+        public long getCalls(Section section) {
+            return sectionCalls[section.ordinal()];
+        }
+
+        /**
+         * Longest single run of a section in the window, in milliseconds
+         */
+        public double getMaxMillis(Section section) {
+            return sectionMaxMillis[section.ordinal()];
+        }
+    }
+
+    /**
+     * RepaintManager timing each paint pass and counting repaint requests
+     */
+    private final class TimingRepaintManager extends RepaintManager {
+        @Override
+        public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+            repaintRequests.increment();
+            super.addDirtyRegion(c, x, y, w, h);
+        }
+
+        @Override
+        public void paintDirtyRegions() {
+            long requests = repaintRequests.sum();
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            recordFrame(start, System.nanoTime(), requests);
+        }
+    }
+
+    @Name("dgui.Frame")
+    @Label("DGUI Frame")
+    @Category("DGUI")
+    @Description("One paint pass of the Swing RepaintManager")
+    static final class FrameEvent extends Event {
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+
+        @Label("Repaint Requests")
+        @Description("Repaint requests in the current window when the pass started")
+        long repaintRequests;
+    }
+
+    @Name("dgui.Section")
+    @Label("DGUI Section")
+    @Category("DGUI")
+    @Description("Instrumented rendering work: card paint, layout, texture, animation tick")
+    static final class SectionEvent extends Event {
+        @Label("Section")
+        String section;
+
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+    }
+
+    @Name("dgui.Statistics")
+    @Label("DGUI Statistics")
+    @Category("DGUI")
+    @Description("Rendering statistics of a one-second window")
+    static final class StatisticsEvent extends Event {
+        @Label("Frames per Second")
+        double framesPerSecond;
+
+        @Label("Max Frame Time")
+        @Timespan
+        long maxFrameTime;
+
+        @Label("Max EDT Latency")
+        @Timespan
+        long maxEdtLatency;
+
+        @Label("EDT Allocation Rate")
+        @DataAmount
+        @Frequency
+        long edtAllocationRate;
+    }
+}
@@ -0,0 +1,35 @@
+package dgui;
+
+/**
+ * JMX view of the {@link DPerformanceMonitor}.
+ * Values cover the last complete one-second window.
+ */
+public interface DPerformanceMonitorMBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    double getFramesPerSecond();
+
+    double getAverageFrameTimeMillis();
+
+    double getMaxFrameTimeMillis();
+
+    long getRepaintRequestsPerSecond();
+
+    double getAverageEdtLatencyMillis();
+
+    double getMaxEdtLatencyMillis();
+
+    long getEdtAllocationBytesPerSecond();
+
+    double getCardPaintMillisPerSecond();
+
+    double getLayoutMillisPerSecond();
+
+    double getTextureMillisPerSecond();
+
+    double getImageRenderMillisPerSecond();
+
+    double getAnimationMillisPerSecond();
+}
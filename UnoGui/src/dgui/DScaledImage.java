@@ -0,0 +1,136 @@
+package dgui;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.AbstractMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Image multi-résolution dessinée en vectoriel à la demande.
+ *
+ * L'image a une taille logique ; Java2D choisit la variante adaptée à
+ * l'échelle de l'écran (transformation du Graphics2D) et celle-ci est
+ * dessinée une seule fois, en pixels réels, lors de sa première
+ * utilisation. Sur un écran 2x, les cartes restent donc nettes sans être
+ * redessinées en vectoriel à chaque rendu. Les échelles sont arrondies au
+ * quart supérieur et seules les dernières variantes utilisées sont gardées :
+ * passer sur un autre écran crée simplement une nouvelle variante.
+ */
+public final class DScaledImage extends AbstractMultiResolutionImage {
+    // Variantes conservées (un écran standard, un écran HiDPI et une marge)
+    private static final int MAX_VARIANTS = 3;
+
+    // Échelles en quarts : de 1x à 4x
+    private static final int MIN_QUARTERS = 4;
+    private static final int MAX_QUARTERS = 16;
+
+    /**
+     * Dessine le contenu de l'image en coordonnées logiques
+     */
+    public interface Painter {
+        void paint(Graphics2D g2d, int width, int height);
+    }
+
+    private final int width;
+    private final int height;
+    private final Painter painter;
+
+    // Variantes par échelle en quarts, de la moins récemment utilisée à la plus récente
+    private final Map<Integer, BufferedImage> variants = new LinkedHashMap<>(4, 0.75f, true);
+
+    public DScaledImage(int width, int height, Painter painter) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.painter = painter;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    @Override
+    public int getWidth(ImageObserver observer) {
+        return width;
+    }
+
+    @Override
+    public int getHeight(ImageObserver observer) {
+        return height;
+    }
+
+    /**
+     * Variante dont la taille couvre la zone de destination, en pixels
+     */
+    @Override
+    public Image getResolutionVariant(double destImageWidth, double destImageHeight) {
+        double scale = Math.max(destImageWidth / width, destImageHeight / height);
+        int quarters = (int) Math.ceil(scale * 4 - 1e-6);
+        return getVariant(Math.max(MIN_QUARTERS, Math.min(MAX_QUARTERS, quarters)));
+    }
+
+    @Override
+    public List<Image> getResolutionVariants() {
+        synchronized (variants) {
+            return new ArrayList<>(variants.values());
+        }
+    }
+
+    @Override
+    protected Image getBaseImage() {
+        return getVariant(MIN_QUARTERS);
+    }
+
+    /**
+     * Oublie les variantes dessinées ; elles seront redessinées à la prochaine utilisation
+     */
+    public void invalidate() {
+        synchronized (variants) {
+            variants.clear();
+        }
+    }
+
+    private BufferedImage getVariant(int quarters) {
+        synchronized (variants) {
+            BufferedImage variant = variants.get(quarters);
+            if (variant == null) {
+                if (variants.size() >= MAX_VARIANTS) {
+                    Iterator<Integer> eldest = variants.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+                variant = render(quarters / 4.0);
+                variants.put(quarters, variant);
+            }
+            return variant;
+        }
+    }
+
+    private BufferedImage render(double scale) {
+        long renderStart = DPerformanceMonitor.begin();
+        int pixelWidth = (int) Math.ceil(width * scale);
+        int pixelHeight = (int) Math.ceil(height * scale);
+        BufferedImage variant = new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = variant.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            // Le contenu remplit exactement la variante, même quand la taille est arrondie
+            g2d.scale((double) pixelWidth / width, (double) pixelHeight / height);
+            painter.paint(g2d, width, height);
+        } finally {
+            g2d.dispose();
+        }
+        DPerformanceMonitor.end(DPerformanceMonitor.Section.IMAGE_RENDER, renderStart);
+        return variant;
+    }
+}
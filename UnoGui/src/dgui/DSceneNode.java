@@ -0,0 +1,386 @@
+package dgui;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A node of the retained scene graph drawn by {@link DTableCanvas}.
+ * Nodes are positioned relative to their parent and painted in child order,
+ * so later children appear on top. A node with no drawing of its own acts
+ * as a group.
+ * <p>
+ * A node marked as cached belongs, with its whole subtree, to the static
+ * layer of the canvas: when layered rendering is on, it is drawn once into an
+ * off-screen layer under all the other nodes and only redrawn when it changes.
+ */
+public class DSceneNode {
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+    private boolean visible = true;
+    private boolean interactive = false;
+    private boolean hovered = false;
+    private boolean cached = false;
+    private Object userData;
+
+    private DSceneNode parent;
+    private DTableCanvas canvas;
+    private final List<DSceneNode> children = new ArrayList<>();
+
+    // Canvas bounds computed while painting, reused from frame to frame
+    private final Rectangle paintBounds = new Rectangle();
+
+    /**
+     * Create an empty group node
+     */
+    public DSceneNode() {
+        // Default constructor
+    }
+
+    /**
+     * Create a node with the specified bounds
+     */
+    public DSceneNode(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Paint the node's own content.
+     * The graphics context is translated to the node origin.
+     */
+    protected void paintNode(Graphics2D g2d, int width, int height) {
+        // Groups have nothing to draw
+    }
+
+    /**
+     * Paint this node and its children
+     */
+    void paint(Graphics2D g2d, Rectangle clip) {
+        paint(g2d, clip, true, true);
+    }
+
+    /**
+     * Paint part of this subtree: the cached subtrees, the other nodes, or both
+     */
+    void paint(Graphics2D g2d, Rectangle clip, boolean includeCached, boolean includeLive) {
+        if (!visible) {
+            return;
+        }
+        if (cached) {
+            if (!includeCached) {
+                return;
+            }
+            // Everything below a cached node belongs to the static layer
+            includeLive = true;
+        }
+
+        // Skip subtrees entirely outside the dirty region
+        Rectangle bounds = getCanvasBounds(paintBounds);
+        boolean isGroup = width == 0 && height == 0;
+        if (!isGroup && clip != null && !clip.intersects(bounds)) {
+            return;
+        }
+
+        if (!isGroup && includeLive) {
+            // The copy clips the node to its bounds; Java2D cannot restore a clip without allocating either
+            Graphics2D nodeGraphics = (Graphics2D) g2d.create(bounds.x, bounds.y, width, height);
+            try {
+                paintNode(nodeGraphics, width, height);
+            } finally {
+                nodeGraphics.dispose();
+            }
+        }
+
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).paint(g2d, clip, includeCached, includeLive);
+        }
+    }
+
+    /**
+     * Find the topmost interactive node under a point in canvas coordinates
+     */
+    DSceneNode findNodeAt(int px, int py) {
+        if (!visible) {
+            return null;
+        }
+        for (int i = children.size() - 1; i >= 0; i--) {
+            DSceneNode hit = children.get(i).findNodeAt(px, py);
+            if (hit != null) {
+                return hit;
+            }
+        }
+        if (interactive && getCanvasBounds().contains(px, py)) {
+            return this;
+        }
+        return null;
+    }
+
+    /**
+     * Add a child node on top of the existing children
+     */
+    public void add(DSceneNode child) {
+        if (child.parent != null) {
+            child.parent.remove(child);
+        }
+        child.parent = this;
+        children.add(child);
+        child.attach(canvas);
+        child.repaint();
+    }
+
+    /**
+     * Insert a child node at the specified paint order index
+     */
+    public void add(DSceneNode child, int index) {
+        if (child.parent != null) {
+            child.parent.remove(child);
+        }
+        child.parent = this;
+        children.add(Math.min(index, children.size()), child);
+        child.attach(canvas);
+        child.repaint();
+    }
+
+    /**
+     * Remove a child node
+     */
+    public void remove(DSceneNode child) {
+        if (children.remove(child)) {
+            child.repaint();
+            child.parent = null;
+            child.attach(null);
+        }
+    }
+
+    /**
+     * Remove all child nodes
+     */
+    public void removeAll() {
+        for (DSceneNode child : new ArrayList<>(children)) {
+            remove(child);
+        }
+    }
+
+    /**
+     * Get the child nodes, in paint order
+     */
+    public List<DSceneNode> getChildren() {
+        return new ArrayList<>(children);
+    }
+
+    /**
+     * Get the number of child nodes
+     */
+    public int getChildCount() {
+        return children.size();
+    }
+
+    /**
+     * Get the parent node
+     */
+    public DSceneNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Attach this subtree to a canvas (or detach it with null)
+     */
+    void attach(DTableCanvas canvas) {
+        this.canvas = canvas;
+        for (DSceneNode child : children) {
+            child.attach(canvas);
+        }
+    }
+
+    /**
+     * Get the canvas this node is attached to
+     */
+    public DTableCanvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Set the bounds of the node, relative to its parent
+     */
+    public void setBounds(int x, int y, int width, int height) {
+        if (this.x == x && this.y == y && this.width == width && this.height == height) {
+            return;
+        }
+        repaint();
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        repaint();
+    }
+
+    /**
+     * Set the position of the node, relative to its parent
+     */
+    public void setLocation(int x, int y) {
+        setBounds(x, y, width, height);
+    }
+
+    /**
+     * Get the x position relative to the parent
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the y position relative to the parent
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Get the width of the node
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the node
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the bounds of the node in canvas coordinates
+     */
+    public Rectangle getCanvasBounds() {
+        return getCanvasBounds(new Rectangle());
+    }
+
+    /**
+     * Store the bounds of the node in canvas coordinates into a rectangle
+     */
+    private Rectangle getCanvasBounds(Rectangle bounds) {
+        int absX = x;
+        int absY = y;
+        for (DSceneNode p = parent; p != null; p = p.parent) {
+            absX += p.x;
+            absY += p.y;
+        }
+        bounds.setBounds(absX, absY, width, height);
+        return bounds;
+    }
+
+    /**
+     * Set the visibility of the node
+     */
+    public void setVisible(boolean visible) {
+        if (this.visible != visible) {
+            this.visible = visible;
+            repaint();
+        }
+    }
+
+    /**
+     * Check if the node is visible
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Set whether the node receives clicks and hover changes
+     */
+    public void setInteractive(boolean interactive) {
+        this.interactive = interactive;
+    }
+
+    /**
+     * Check if the node receives clicks and hover changes
+     */
+    public boolean isInteractive() {
+        return interactive;
+    }
+
+    /**
+     * Called by the canvas when the mouse enters or leaves the node
+     */
+    void setHovered(boolean hovered) {
+        if (this.hovered != hovered) {
+            this.hovered = hovered;
+            repaint();
+        }
+    }
+
+    /**
+     * Check if the mouse is over the node
+     */
+    public boolean isHovered() {
+        return hovered;
+    }
+
+    /**
+     * Set whether this subtree belongs to the static layer of the canvas.
+     * Use it for content that rarely changes and sits under the animated nodes.
+     */
+    public void setCached(boolean cached) {
+        if (this.cached != cached) {
+            this.cached = cached;
+            // Groups have no bounds of their own: the whole layer is redrawn
+            if (canvas != null) {
+                canvas.invalidateLayer();
+            }
+        }
+    }
+
+    /**
+     * Check if this subtree belongs to the static layer
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Check if this node is drawn in the static layer, by itself or through an ancestor
+     */
+    boolean isInCachedLayer() {
+        for (DSceneNode node = this; node != null; node = node.parent) {
+            if (node.cached) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Attach arbitrary data to the node (e.g. the model object it shows)
+     */
+    public void setUserData(Object userData) {
+        this.userData = userData;
+    }
+
+    /**
+     * Get the data attached to the node
+     */
+    public Object getUserData() {
+        return userData;
+    }
+
+    /**
+     * Repaint the area covered by this node
+     */
+    public void repaint() {
+        if (canvas != null && width > 0 && height > 0) {
+            Rectangle bounds = getCanvasBounds();
+            if (isInCachedLayer()) {
+                canvas.invalidateLayer(bounds);
+            }
+            canvas.repaintRegion(bounds);
+        }
+    }
+}
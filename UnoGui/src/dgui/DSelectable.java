@@ -0,0 +1,15 @@
+package dgui;
+
+/**
+ * Implemented by Swing components that can be selected, such as cards in a hand.
+ * Layout managers use it to read the selection state without knowing the concrete class.
+ */
+public interface DSelectable {
+
+    /**
+     * Check if the component is selected
+     *
+     * @return true if the component is selected
+     */
+    boolean isSelected();
+}
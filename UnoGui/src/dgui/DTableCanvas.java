@@ -0,0 +1,358 @@
+package dgui;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import javax.swing.JPanel;
+
+import dgui.themes.DTheme;
+
+/**
+ * Single-component renderer for a whole game table.
+ * Instead of one Swing panel per card, the table is described by a retained
+ * tree of {@link DSceneNode}s painted onto one component. The canvas does its
+ * own hit-testing for clicks and hovers and only repaints the regions of nodes
+ * that changed.
+ * <p>
+ * With layered rendering, the background and the cached nodes (see
+ * {@link DSceneNode#setCached}) are kept in an off-screen static layer: an
+ * accelerated {@link VolatileImage} when the screen provides one, a
+ * {@link BufferedImage} otherwise. Each paint then copies that layer and
+ * only draws the other nodes on top of it. The layer is redrawn where cached
+ * nodes change and in full when its contents are lost, the canvas is resized
+ * or moved to a screen with another scale, or the theme changes.
+ */
+public class DTableCanvas extends DComponent {
+    // Attempts to paint through the layer before falling back to direct painting
+    private static final int MAX_LAYER_ATTEMPTS = 3;
+
+    private final DSceneNode root = new DSceneNode();
+    private DSceneNode hoveredNode = null;
+    private DActionListener nodeClickListener;
+
+    // Static layer, in device pixels, and the state it was drawn for
+    private boolean layered = false;
+    private Image layer;
+    private int layerWidth;
+    private int layerHeight;
+    private double layerScaleX;
+    private double layerScaleY;
+    private DTheme layerTheme;
+    private final Rectangle layerDirty = new Rectangle();
+
+    /**
+     * Create a new, empty table canvas
+     */
+    public DTableCanvas() {
+        super(createCanvasPanel());
+        ((CanvasPanel) component).setCanvas(this);
+        root.attach(this);
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                updateHover(root.findNodeAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                updateHover(null);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                DSceneNode node = root.findNodeAt(e.getX(), e.getY());
+                if (node != null && nodeClickListener != null) {
+                    nodeClickListener.actionPerformed(new DActionEvent(node, "nodeClicked"));
+                }
+            }
+        };
+        component.addMouseListener(mouseHandler);
+        component.addMouseMotionListener(mouseHandler);
+    }
+
+    /**
+     * Create the panel that paints the scene
+     */
+    private static JPanel createCanvasPanel() {
+        CanvasPanel panel = new CanvasPanel();
+        panel.setOpaque(true);
+        return panel;
+    }
+
+    /**
+     * Get the root of the scene graph
+     */
+    public DSceneNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Set the listener notified when an interactive node is clicked.
+     * The event source is the clicked {@link DSceneNode}.
+     */
+    public void setNodeClickListener(DActionListener listener) {
+        this.nodeClickListener = listener;
+    }
+
+    /**
+     * Get the interactive node currently under the mouse, or null
+     */
+    public DSceneNode getHoveredNode() {
+        return hoveredNode;
+    }
+
+    /**
+     * Find the topmost interactive node at the specified point
+     */
+    public DSceneNode findNodeAt(int x, int y) {
+        return root.findNodeAt(x, y);
+    }
+
+    /**
+     * Turn layered rendering on or off
+     */
+    public void setLayeredRendering(boolean layered) {
+        if (this.layered != layered) {
+            this.layered = layered;
+            releaseLayer();
+            component.repaint();
+        }
+    }
+
+    /**
+     * Check if layered rendering is on
+     */
+    public boolean isLayeredRendering() {
+        return layered;
+    }
+
+    /**
+     * Check if the static layer currently lives in accelerated memory
+     */
+    public boolean isLayerAccelerated() {
+        return layer instanceof VolatileImage
+                && ((VolatileImage) layer).getCapabilities().isAccelerated();
+    }
+
+    @Override
+    public void setBackgroundImage(Image image) {
+        super.setBackgroundImage(image);
+        invalidateLayer();
+    }
+
+    /**
+     * Repaint a region of the canvas, in canvas coordinates
+     */
+    void repaintRegion(Rectangle region) {
+        // Nodes are clipped to their bounds when painted: nothing is drawn outside
+        component.repaint(region.x, region.y, region.width, region.height);
+    }
+
+    /**
+     * Mark a region of the static layer as out of date, in canvas coordinates
+     */
+    void invalidateLayer(Rectangle region) {
+        if (layer == null) {
+            return;
+        }
+        if (layerDirty.isEmpty()) {
+            layerDirty.setBounds(region);
+        } else {
+            layerDirty.add(region);
+        }
+    }
+
+    /**
+     * Mark the whole static layer as out of date and repaint the canvas
+     */
+    void invalidateLayer() {
+        layerDirty.setBounds(0, 0, layerWidth, layerHeight);
+        component.repaint();
+    }
+
+    /**
+     * Paint the background and the scene, through the static layer when possible
+     */
+    private void paintTable(Graphics2D g2d, Rectangle clip) {
+        if (layered && paintLayer(g2d)) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            root.paint(g2d, clip, false, true);
+            return;
+        }
+
+        paintBackground(g2d);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        root.paint(g2d, clip);
+    }
+
+    /**
+     * Bring the static layer up to date and copy it to the screen
+     *
+     * @return false if the layer could not be used, the caller then paints everything
+     */
+    private boolean paintLayer(Graphics2D g2d) {
+        int width = component.getWidth();
+        int height = component.getHeight();
+        AffineTransform transform = g2d.getTransform();
+        if (width <= 0 || height <= 0 || transform.getShearX() != 0 || transform.getShearY() != 0
+                || transform.getScaleX() <= 0 || transform.getScaleY() <= 0) {
+            return false;
+        }
+
+        GraphicsConfiguration configuration = component.getGraphicsConfiguration();
+        for (int attempt = 0; attempt < MAX_LAYER_ATTEMPTS; attempt++) {
+            if (layer == null || layerWidth != width || layerHeight != height
+                    || layerScaleX != transform.getScaleX() || layerScaleY != transform.getScaleY()) {
+                createLayer(configuration, width, height, transform.getScaleX(), transform.getScaleY());
+            }
+            if (layerTheme != getTheme()) {
+                layerTheme = getTheme();
+                layerDirty.setBounds(0, 0, width, height);
+            }
+
+            if (layer instanceof VolatileImage) {
+                int status = ((VolatileImage) layer).validate(configuration);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    // Moved to another screen: recreate the layer for it
+                    releaseLayer();
+                    continue;
+                }
+                if (status == VolatileImage.IMAGE_RESTORED) {
+                    layerDirty.setBounds(0, 0, width, height);
+                }
+            }
+
+            renderLayer();
+            g2d.drawImage(layer, 0, 0, width, height, null);
+
+            if (!(layer instanceof VolatileImage) || !((VolatileImage) layer).contentsLost()) {
+                return true;
+            }
+            layerDirty.setBounds(0, 0, width, height);
+        }
+        return false;
+    }
+
+    /**
+     * Create the static layer for a size and a display scale
+     */
+    private void createLayer(GraphicsConfiguration configuration, int width, int height,
+                             double scaleX, double scaleY) {
+        releaseLayer();
+        int pixelWidth = (int) Math.ceil(width * scaleX);
+        int pixelHeight = (int) Math.ceil(height * scaleY);
+        if (configuration != null) {
+            layer = configuration.createCompatibleVolatileImage(pixelWidth, pixelHeight, Transparency.OPAQUE);
+        }
+        if (layer == null) {
+            // No screen or no accelerated surface: software layer
+            layer = new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        layerWidth = width;
+        layerHeight = height;
+        layerScaleX = scaleX;
+        layerScaleY = scaleY;
+        layerDirty.setBounds(0, 0, width, height);
+    }
+
+    /**
+     * Free the static layer
+     */
+    private void releaseLayer() {
+        if (layer != null) {
+            layer.flush();
+            layer = null;
+        }
+        layerDirty.setBounds(0, 0, 0, 0);
+    }
+
+    /**
+     * Redraw the out of date region of the static layer
+     */
+    private void renderLayer() {
+        if (layerDirty.isEmpty()) {
+            return;
+        }
+        Graphics2D layerGraphics = (Graphics2D) layer.getGraphics();
+        try {
+            layerGraphics.scale((double) layer.getWidth(null) / layerWidth,
+                    (double) layer.getHeight(null) / layerHeight);
+            layerGraphics.clip(layerDirty);
+            // The layer is already in device pixels: multi-resolution images pick their variant from the transform
+            layerGraphics.setRenderingHint(RenderingHints.KEY_RESOLUTION_VARIANT,
+                    RenderingHints.VALUE_RESOLUTION_VARIANT_SIZE_FIT);
+            paintBackground(layerGraphics);
+            layerGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            root.paint(layerGraphics, layerDirty.getBounds(), true, false);
+        } finally {
+            layerGraphics.dispose();
+        }
+        layerDirty.setBounds(0, 0, 0, 0);
+    }
+
+    /**
+     * Paint the background image, or the background color without one
+     */
+    private void paintBackground(Graphics2D g2d) {
+        if (useCustomBackground && backgroundImage != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(backgroundImage, 0, 0, component.getWidth(), component.getHeight(), null);
+        } else {
+            g2d.setColor(component.getBackground());
+            g2d.fillRect(0, 0, component.getWidth(), component.getHeight());
+        }
+    }
+
+    /**
+     * Move the hover state to a new node
+     */
+    private void updateHover(DSceneNode node) {
+        if (node == hoveredNode) {
+            return;
+        }
+        if (hoveredNode != null) {
+            hoveredNode.setHovered(false);
+        }
+        hoveredNode = node;
+        if (hoveredNode != null) {
+            hoveredNode.setHovered(true);
+        }
+    }
+
+    /**
+     * Swing panel painting the background and the scene graph
+     */
+    private static class CanvasPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+
+        private DTableCanvas canvas;
+
+        public void setCanvas(DTableCanvas canvas) {
+            this.canvas = canvas;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (canvas == null) {
+                super.paintComponent(g);
+                return;
+            }
+            Graphics2D g2d = (Graphics2D) g.create();
+            try {
+                canvas.paintTable(g2d, g.getClipBounds());
+            } finally {
+                g2d.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package dgui;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache des textes mis en forme pour le rendu.
+ *
+ * La mise en forme d'un texte (choix des glyphes, avances) est l'une des
+ * opérations Java2D les plus coûteuses. Chaque texte est mis en forme une
+ * seule fois par police et contexte de rendu, puis dessiné avec
+ * drawGlyphVector. Ses mesures reprennent celles de FontMetrics, si bien
+ * que les positions calculées restent identiques à celles de drawString.
+ */
+public final class DTextCache {
+    // Au-delà, le cache est vidé : les textes dynamiques ne le font pas grossir sans fin
+    private static final int MAX_ENTRIES = 2048;
+
+    private static final Map<FontRenderContext, Map<Font, Map<String, Text>>> CACHE = new HashMap<>();
+    private static int size = 0;
+
+    private DTextCache() {
+    }
+
+    /**
+     * Récupère un texte mis en forme pour le contexte de rendu courant
+     */
+    public static Text get(Graphics2D g2d, Font font, String text) {
+        FontRenderContext frc = g2d.getFontRenderContext();
+        synchronized (CACHE) {
+            Map<Font, Map<String, Text>> fonts = CACHE.get(frc);
+            if (fonts == null) {
+                fonts = new HashMap<>();
+                CACHE.put(frc, fonts);
+            }
+            Map<String, Text> texts = fonts.get(font);
+            if (texts == null) {
+                texts = new HashMap<>();
+                fonts.put(font, texts);
+            }
+            Text shaped = texts.get(text);
+            if (shaped == null) {
+                if (size >= MAX_ENTRIES) {
+                    CACHE.clear();
+                    size = 0;
+                    return get(g2d, font, text);
+                }
+                shaped = new Text(font.createGlyphVector(frc, text), g2d.getFontMetrics(font), text);
+                texts.put(text, shaped);
+                size++;
+            }
+            return shaped;
+        }
+    }
+
+    /**
+     * Dessine un texte à une position, comme drawString
+     */
+    public static void draw(Graphics2D g2d, Font font, String text, int x, int y) {
+        get(g2d, font, text).draw(g2d, x, y);
+    }
+
+    /**
+     * Dessine un texte centré horizontalement sur centerX
+     */
+    public static void drawCentered(Graphics2D g2d, Font font, String text, int centerX, int y) {
+        get(g2d, font, text).drawCentered(g2d, centerX, y);
+    }
+
+    /**
+     * Texte mis en forme, avec ses mesures
+     */
+    public static final class Text {
+        private final GlyphVector glyphs;
+        private final int width;
+        private final int ascent;
+        private final int height;
+
+        private Text(GlyphVector glyphs, FontMetrics metrics, String text) {
+            this.glyphs = glyphs;
+            this.width = metrics.stringWidth(text);
+            this.ascent = metrics.getAscent();
+            this.height = metrics.getHeight();
+        }
+
+        public GlyphVector getGlyphVector() { return glyphs; }
+        public int getWidth() { return width; }
+        public int getAscent() { return ascent; }
+        public int getHeight() { return height; }
+
+        /**
+         * Décalage à retrancher au centre pour centrer le texte
+         */
+        public int getCenterOffset() {
+            return width / 2;
+        }
+
+        /**
+         * Dessine le texte, la ligne de base en y
+         */
+        public void draw(Graphics2D g2d, int x, int y) {
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+
+        /**
+         * Dessine le texte centré horizontalement sur centerX
+         */
+        public void drawCentered(Graphics2D g2d, int centerX, int y) {
+            g2d.drawGlyphVector(glyphs, centerX - width / 2, y);
+        }
+    }
+}
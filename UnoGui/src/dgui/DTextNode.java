@@ -0,0 +1,66 @@
+package dgui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * Scene node drawing a single line of centered text.
+ */
+public class DTextNode extends DSceneNode {
+    private String text;
+    private Font font;
+    private Color color;
+
+    /**
+     * Create a new text node
+     */
+    public DTextNode(String text, Font font, Color color) {
+        this.text = text;
+        this.font = font;
+        this.color = color;
+    }
+
+    /**
+     * Set the text of the node
+     */
+    public void setText(String text) {
+        if (text == null ? this.text != null : !text.equals(this.text)) {
+            this.text = text;
+            repaint();
+        }
+    }
+
+    /**
+     * Get the text of the node
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Set the text color
+     */
+    public void setColor(Color color) {
+        if (!color.equals(this.color)) {
+            this.color = color;
+            repaint();
+        }
+    }
+
+    @Override
+    protected void paintNode(Graphics2D g2d, int width, int height) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(font);
+        g2d.setColor(color);
+        FontMetrics fm = g2d.getFontMetrics();
+        int textX = (width - fm.stringWidth(text)) / 2;
+        int textY = (height - fm.getHeight()) / 2 + fm.getAscent();
+        g2d.drawString(text, textX, textY);
+    }
+}
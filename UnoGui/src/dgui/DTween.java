@@ -0,0 +1,166 @@
+package dgui;
+
+import java.awt.Component;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A single animation driven by the shared {@link DAnimationClock}.
+ * Progress is derived from the elapsed wall-clock time rather than a frame
+ * counter, so a late frame jumps ahead instead of stretching the animation.
+ * The tween receives a linear progress value (0.0 to 1.0) on every frame
+ * and completes its future once the end of its duration has been applied.
+ */
+public class DTween {
+    private final int durationMs;
+    private final Consumer<Float> updater;
+    private final Component repaintTarget;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    // Timing bookkeeping, only touched from the clock on the EDT
+    private long startNanos;
+    private int framesRendered;
+    private boolean started;
+
+    /**
+     * Create a new tween
+     *
+     * @param durationMs the animation duration in milliseconds
+     * @param updater receives the linear progress on every frame (may be null for a pure delay)
+     */
+    public DTween(int durationMs, Consumer<Float> updater) {
+        this(durationMs, updater, null);
+    }
+
+    /**
+     * Create a new tween that repaints a component once per frame
+     *
+     * @param durationMs the animation duration in milliseconds
+     * @param updater receives the linear progress on every frame (may be null for a pure delay)
+     * @param repaintTarget component repainted by the clock after each frame (may be null)
+     */
+    public DTween(int durationMs, Consumer<Float> updater, Component repaintTarget) {
+        this.durationMs = Math.max(0, durationMs);
+        this.updater = updater;
+        this.repaintTarget = repaintTarget;
+    }
+
+    /**
+     * Called by the clock when the tween is registered
+     */
+    void start(long nowNanos) {
+        startNanos = nowNanos;
+        framesRendered = 0;
+        started = true;
+    }
+
+    /**
+     * Advance the tween to the given time
+     *
+     * @param nowNanos the frame time from {@link System#nanoTime()}
+     * @return true when the tween has finished
+     */
+    boolean advance(long nowNanos) {
+        if (completion.isDone()) {
+            return true;
+        }
+
+        float progress = progressAt(nowNanos);
+        apply(progress);
+        framesRendered++;
+
+        if (progress >= 1.0f) {
+            completion.complete(null);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compute the linear progress at the given time
+     */
+    float progressAt(long nowNanos) {
+        if (durationMs == 0) {
+            return 1.0f;
+        }
+        double elapsedMs = (nowNanos - startNanos) / 1_000_000.0;
+        return (float) Math.max(0.0, Math.min(1.0, elapsedMs / durationMs));
+    }
+
+    /**
+     * Apply a progress value to the animated target
+     */
+    void apply(float progress) {
+        if (updater != null) {
+            updater.accept(progress);
+        }
+    }
+
+    /**
+     * Check if the clock has started advancing this tween
+     */
+    boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Get the component repainted after each frame, if any
+     */
+    Component getRepaintTarget() {
+        return repaintTarget;
+    }
+
+    /**
+     * Get the number of frames actually applied to the target so far
+     */
+    public int getFramesRendered() {
+        return framesRendered;
+    }
+
+    /**
+     * Get the animation duration in milliseconds
+     */
+    public int getDuration() {
+        return durationMs;
+    }
+
+    /**
+     * Get a future that completes when the tween finishes.
+     * Cancelling the future also cancels the tween.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Cancel the tween, leaving the target where the last frame put it
+     */
+    public void cancel() {
+        completion.cancel(false);
+    }
+
+    /**
+     * Check if the tween was cancelled
+     */
+    public boolean isCancelled() {
+        return completion.isCancelled();
+    }
+
+    /**
+     * Check if the tween has finished or was cancelled
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Start another tween once this one completes normally
+     *
+     * @param next supplies the tween to run next; it is started on the shared clock
+     * @return a future that completes when the chained tween finishes
+     */
+    public CompletableFuture<Void> then(Supplier<DTween> next) {
+        return completion.thenCompose(ignored -> DAnimationClock.getInstance().start(next.get()).getCompletion());
+    }
+}
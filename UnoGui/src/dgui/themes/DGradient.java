@@ -0,0 +1,88 @@
+package dgui.themes;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.RadialGradientPaint;
+
+/**
+ * Dégradé immuable entre deux couleurs d'un thème.
+ * Le dernier Paint créé de chaque forme est conservé : les composants de même
+ * taille le réutilisent au lieu d'en allouer un à chaque rendu.
+ */
+public final class DGradient {
+    private static final float[] RADIAL_FRACTIONS = {0.0f, 1.0f};
+
+    private final Color start;
+    private final Color end;
+    private final Color[] stops;
+
+    // Derniers dégradés créés, avec leur géométrie pour éviter les getters AWT qui allouent
+    private volatile Linear lastPaint;
+    private volatile Radial lastRadialPaint;
+
+    public DGradient(Color start, Color end) {
+        this.start = start;
+        this.end = end;
+        this.stops = new Color[] {start, end};
+    }
+
+    public Color getStart() { return start; }
+    public Color getEnd() { return end; }
+
+    /**
+     * Dégradé du coin supérieur gauche au coin inférieur droit d'une zone
+     */
+    public GradientPaint getPaint(float width, float height) {
+        return getPaint(0, 0, width, height);
+    }
+
+    /**
+     * Dégradé linéaire entre deux points
+     */
+    public GradientPaint getPaint(float x1, float y1, float x2, float y2) {
+        Linear last = lastPaint;
+        if (last == null || last.x1 != x1 || last.y1 != y1 || last.x2 != x2 || last.y2 != y2) {
+            last = new Linear(x1, y1, x2, y2, new GradientPaint(x1, y1, start, x2, y2, end));
+            lastPaint = last;
+        }
+        return last.paint;
+    }
+
+    /**
+     * Dégradé radial du centre (couleur de début) vers le bord du cercle
+     */
+    public RadialGradientPaint getRadialPaint(float centerX, float centerY, float radius) {
+        Radial last = lastRadialPaint;
+        if (last == null || last.centerX != centerX || last.centerY != centerY || last.radius != radius) {
+            last = new Radial(centerX, centerY, radius,
+                    new RadialGradientPaint(centerX, centerY, radius, RADIAL_FRACTIONS, stops));
+            lastRadialPaint = last;
+        }
+        return last.paint;
+    }
+
+    private static final class Linear {
+        final float x1, y1, x2, y2;
+        final GradientPaint paint;
+
+        Linear(float x1, float y1, float x2, float y2, GradientPaint paint) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.paint = paint;
+        }
+    }
+
+    private static final class Radial {
+        final float centerX, centerY, radius;
+        final RadialGradientPaint paint;
+
+        Radial(float centerX, float centerY, float radius, RadialGradientPaint paint) {
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.radius = radius;
+            this.paint = paint;
+        }
+    }
+}
@@ -2,80 +2,64 @@ package dgui.themes;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import dgui.DGraphicsCache;
+import dgui.DScaledImage;
+import dgui.DTextCache;
 
 /**
  * Classe de base pour les thèmes de l'interface DGui.
  * Permet de définir des couleurs et polices cohérentes pour toute l'application.
+ *
+ * Un thème est immuable : ses couleurs, polices, traits, dégradés et images
+ * sont créés une seule fois au chargement de son fichier .theme (voir
+ * DThemeLoader) puis partagés par tous les composants, qui les récupèrent
+ * par leur clé au moment du rendu au lieu de les allouer.
  */
-public class DTheme {
-    // Couleurs principales
-    private Color primaryColor;
-    private Color secondaryColor;
-    private Color accentColor;
-    private Color backgroundColor;
-    private Color textColor;
-    
-    // Couleurs spécifiques
-    private Color buttonColor;
-    private Color buttonHoverColor;
-    private Color buttonTextColor;
-    private Color panelColor;
-    private Color cardBackgroundColor;
-    private Color cardBorderColor;
-    
-    // Polices
-    private Font titleFont;
-    private Font bodyFont;
-    private Font buttonFont;
-    private Font cardFont;
-    
+public final class DTheme {
+    private final String name;
+    private final Map<String, Color> colors;
+    private final Map<String, Font> fonts;
+    private final Map<String, Stroke> strokes;
+    private final Map<String, DGradient> gradients;
+    private final Map<String, DScaledImage> images;
+
     // Thème par défaut
-    public static final DTheme DEFAULT = new DTheme(
-        new Color(0, 100, 0),     // Vert foncé pour couleur primaire
-        new Color(50, 150, 50),   // Vert clair pour couleur secondaire
-        new Color(0, 100, 255),   // Bleu pour l'accent
-        new Color(240, 230, 210), // Beige pour le fond
-        Color.BLACK,              // Noir pour le texte
-        
-        new Color(30, 100, 200),  // Bleu pour les boutons
-        new Color(60, 130, 230),  // Bleu clair pour le hover
-        Color.WHITE,              // Blanc pour le texte des boutons
-        new Color(210, 210, 180), // Beige clair pour les panneaux
-        Color.WHITE,              // Blanc pour le fond des cartes
-        Color.BLACK,              // Noir pour la bordure des cartes
-        
-        new Font("Arial", Font.BOLD, 24),   // Police des titres
-        new Font("Arial", Font.PLAIN, 14),  // Police du texte
-        new Font("Arial", Font.BOLD, 14),   // Police des boutons
-        new Font("Arial", Font.BOLD, 18)    // Police des cartes
-    );
-    
+    public static final DTheme DEFAULT = DThemeLoader.loadBundled("default");
+
     // Thème bois
-    public static final DTheme WOOD = new DTheme(
-        new Color(120, 80, 20),   // Marron pour couleur primaire
-        new Color(160, 120, 60),  // Marron clair pour couleur secondaire
-        new Color(0, 120, 255),   // Bleu pour l'accent
-        new Color(225, 195, 150), // Beige bois pour le fond
-        new Color(60, 40, 10),    // Marron foncé pour le texte
-        
-        new Color(0, 120, 255),   // Bleu pour les boutons
-        new Color(40, 160, 255),  // Bleu clair pour le hover
-        Color.WHITE,              // Blanc pour le texte des boutons
-        new Color(200, 170, 130), // Beige bois clair pour les panneaux
-        Color.WHITE,              // Blanc pour le fond des cartes
-        Color.BLACK,              // Noir pour la bordure des cartes
-        
-        new Font("Georgia", Font.BOLD, 24),   // Police des titres
-        new Font("Georgia", Font.PLAIN, 14),  // Police du texte
-        new Font("Arial", Font.BOLD, 14),     // Police des boutons
-        new Font("Arial", Font.BOLD, 18)      // Police des cartes
-    );
-    
+    public static final DTheme WOOD = DThemeLoader.loadBundled("wood");
+
+    /**
+     * Crée un thème à partir des ressources résolues par le chargeur
+     */
+    DTheme(String name,
+           Map<String, Color> colors,
+           Map<String, Font> fonts,
+           Map<String, Stroke> strokes,
+           Map<String, DGradient> gradients,
+           Map<String, DScaledImage> images) {
+        this.name = name;
+        this.colors = Collections.unmodifiableMap(new HashMap<>(colors));
+        this.fonts = Collections.unmodifiableMap(new HashMap<>(fonts));
+        this.strokes = Collections.unmodifiableMap(new HashMap<>(strokes));
+        this.gradients = Collections.unmodifiableMap(new HashMap<>(gradients));
+        this.images = Collections.unmodifiableMap(new HashMap<>(images));
+    }
+
+    /**
+     * Crée un thème dérivé du thème par défaut en remplaçant ses couleurs et polices principales
+     */
     public DTheme(
-            Color primaryColor, 
-            Color secondaryColor, 
-            Color accentColor, 
-            Color backgroundColor, 
+            Color primaryColor,
+            Color secondaryColor,
+            Color accentColor,
+            Color backgroundColor,
             Color textColor,
             Color buttonColor,
             Color buttonHoverColor,
@@ -87,37 +71,146 @@ public class DTheme {
             Font bodyFont,
             Font buttonFont,
             Font cardFont) {
-        this.primaryColor = primaryColor;
-        this.secondaryColor = secondaryColor;
-        this.accentColor = accentColor;
-        this.backgroundColor = backgroundColor;
-        this.textColor = textColor;
-        this.buttonColor = buttonColor;
-        this.buttonHoverColor = buttonHoverColor;
-        this.buttonTextColor = buttonTextColor;
-        this.panelColor = panelColor;
-        this.cardBackgroundColor = cardBackgroundColor;
-        this.cardBorderColor = cardBorderColor;
-        this.titleFont = titleFont;
-        this.bodyFont = bodyFont;
-        this.buttonFont = buttonFont;
-        this.cardFont = cardFont;
+        this.name = "custom";
+        Map<String, Color> colors = new HashMap<>(DEFAULT.colors);
+        colors.put("primary", primaryColor);
+        colors.put("secondary", secondaryColor);
+        colors.put("accent", accentColor);
+        colors.put("background", backgroundColor);
+        colors.put("text", textColor);
+        colors.put("button", buttonColor);
+        colors.put("button.hover", buttonHoverColor);
+        colors.put("button.pressed", DThemeLoader.darker(buttonColor, 30));
+        colors.put("button.text", buttonTextColor);
+        colors.put("panel", panelColor);
+        colors.put("card.background", cardBackgroundColor);
+        colors.put("card.border", cardBorderColor);
+
+        Map<String, Font> fonts = new HashMap<>(DEFAULT.fonts);
+        fonts.put("title", titleFont);
+        fonts.put("body", bodyFont);
+        fonts.put("button", buttonFont);
+        fonts.put("card", cardFont);
+
+        this.colors = Collections.unmodifiableMap(colors);
+        this.fonts = Collections.unmodifiableMap(fonts);
+        this.strokes = DEFAULT.strokes;
+        this.gradients = DEFAULT.gradients;
+        this.images = DEFAULT.images;
+    }
+
+    /**
+     * Nom du thème, tel que déclaré dans son fichier
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Couleur du thème
+     *
+     * @param key la clé sans son préfixe, par exemple "card.red" pour color.card.red
+     * @throws IllegalArgumentException si le thème ne définit pas cette couleur
+     */
+    public Color getColor(String key) {
+        return require(colors, key, "color");
+    }
+
+    /**
+     * Police du thème
+     */
+    public Font getFont(String key) {
+        return require(fonts, key, "font");
+    }
+
+    /**
+     * Trait du thème
+     */
+    public Stroke getStroke(String key) {
+        return require(strokes, key, "stroke");
     }
-    
+
+    /**
+     * Dégradé du thème
+     */
+    public DGradient getGradient(String key) {
+        return require(gradients, key, "gradient");
+    }
+
+    /**
+     * Image pré-calculée du thème, multi-résolution
+     */
+    public DScaledImage getImage(String key) {
+        return require(images, key, "image");
+    }
+
+    /**
+     * Vérifie si le thème possède une image
+     */
+    public boolean hasImage(String key) {
+        return images.containsKey(key);
+    }
+
+    private static <T> T require(Map<String, T> values, String key, String kind) {
+        T value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Theme has no " + kind + "." + key);
+        }
+        return value;
+    }
+
+    /**
+     * Dessine le dos d'une carte avec les ressources du thème.
+     * Utilise l'image pré-calculée (image.card.back) lorsque la taille correspond,
+     * dans la variante adaptée à l'échelle de l'écran, sinon dessine le dos en vectoriel.
+     */
+    public void paintCardBack(Graphics2D g2d, int width, int height, int cornerRadius) {
+        DScaledImage back = images.get("card.back");
+        if (back != null && back.getWidth() == width && back.getHeight() == height
+                && cornerRadius == DThemeLoader.CARD_BACK_RADIUS) {
+            g2d.drawImage(back, 0, 0, null);
+            return;
+        }
+
+        // Bordure noire
+        g2d.setColor(getColor("card.border"));
+        g2d.fill(DGraphicsCache.roundRect(0, 0, width, height, cornerRadius + 2));
+
+        // Fond en dégradé
+        g2d.setPaint(getGradient("card.back").getPaint(width, height));
+        g2d.fill(DGraphicsCache.roundRect(2, 2, width - 4, height - 4, cornerRadius));
+
+        // Logo avec son ombre
+        DTextCache.Text logo = DTextCache.get(g2d, getFont("card.logo"), "UNO");
+        int logoX = width / 2 - logo.getCenterOffset();
+        int logoY = height / 2 + logo.getAscent() / 4;
+        g2d.setColor(getColor("card.logo.shadow"));
+        logo.draw(g2d, logoX + 1, logoY + 1);
+        g2d.setColor(getColor("card.logo"));
+        logo.draw(g2d, logoX, logoY);
+
+        // Motif diagonal
+        g2d.setColor(getColor("card.back.pattern"));
+        g2d.setStroke(getStroke("card.back.pattern"));
+        for (int i = -height; i < width + height; i += 15) {
+            g2d.drawLine(i, 0, i + height, height);
+        }
+    }
+
     // Getters pour toutes les propriétés
-    public Color getPrimaryColor() { return primaryColor; }
-    public Color getSecondaryColor() { return secondaryColor; }
-    public Color getAccentColor() { return accentColor; }
-    public Color getBackgroundColor() { return backgroundColor; }
-    public Color getTextColor() { return textColor; }
-    public Color getButtonColor() { return buttonColor; }
-    public Color getButtonHoverColor() { return buttonHoverColor; }
-    public Color getButtonTextColor() { return buttonTextColor; }
-    public Color getPanelColor() { return panelColor; }
-    public Color getCardBackgroundColor() { return cardBackgroundColor; }
-    public Color getCardBorderColor() { return cardBorderColor; }
-    public Font getTitleFont() { return titleFont; }
-    public Font getBodyFont() { return bodyFont; }
-    public Font getButtonFont() { return buttonFont; }
-    public Font getCardFont() { return cardFont; }
-}
\ No newline at end of file
+    public Color getPrimaryColor() { return getColor("primary"); }
+    public Color getSecondaryColor() { return getColor("secondary"); }
+    public Color getAccentColor() { return getColor("accent"); }
+    public Color getBackgroundColor() { return getColor("background"); }
+    public Color getTextColor() { return getColor("text"); }
+    public Color getButtonColor() { return getColor("button"); }
+    public Color getButtonHoverColor() { return getColor("button.hover"); }
+    public Color getButtonTextColor() { return getColor("button.text"); }
+    public Color getPanelColor() { return getColor("panel"); }
+    public Color getCardBackgroundColor() { return getColor("card.background"); }
+    public Color getCardBorderColor() { return getColor("card.border"); }
+    public Font getTitleFont() { return getFont("title"); }
+    public Font getBodyFont() { return getFont("body"); }
+    public Font getButtonFont() { return getFont("button"); }
+    public Font getCardFont() { return getFont("card"); }
+}
@@ -0,0 +1,294 @@
+package dgui.themes;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import dgui.DGraphicsCache;
+import dgui.DScaledImage;
+
+/**
+ * Chargeur des fichiers de thème (.theme).
+ *
+ * Un fichier de thème est un fichier de propriétés dont chaque clé est
+ * préfixée par le type de la ressource :
+ * <pre>
+ * name=wood
+ * extends=default
+ * color.button=#0078FF
+ * color.button.pressed=darker(color.button, 30)
+ * color.card.highlight=alpha(#FFFF00, 100)
+ * font.title=Georgia-BOLD-24
+ * stroke.card.border=2
+ * gradient.card.back=#000064, #1E1E96
+ * image.card.back=cardback(80, 120)
+ * </pre>
+ * Toutes les ressources sont résolues au chargement ; les polices, couleurs
+ * et traits viennent de DGraphicsCache et sont donc partagés entre thèmes.
+ */
+public final class DThemeLoader {
+    private static final String BUNDLE_EXTENSION = ".theme";
+
+    // Rayon des coins utilisé pour pré-calculer les dos de cartes
+    static final int CARD_BACK_RADIUS = 12;
+
+    private DThemeLoader() {
+    }
+
+    /**
+     * Charge un thème fourni avec DGui (dgui/themes/&lt;name&gt;.theme)
+     *
+     * @throws IllegalStateException si le thème est absent ou invalide
+     */
+    public static DTheme loadBundled(String name) {
+        try {
+            return resolve(readBundled(name));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot load theme " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Charge un thème depuis un fichier. Le thème parent désigné par "extends"
+     * est cherché à côté du fichier, puis parmi les thèmes fournis avec DGui.
+     *
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si une valeur est invalide
+     */
+    public static DTheme load(File file) throws IOException {
+        return resolve(readFile(file));
+    }
+
+    /**
+     * Lit les propriétés d'un thème fourni, fusionnées avec celles de ses parents
+     */
+    private static Properties readBundled(String name) throws IOException {
+        InputStream input = DThemeLoader.class.getResourceAsStream(name + BUNDLE_EXTENSION);
+        if (input == null) {
+            throw new IOException("No bundled theme " + name
+                    + " (dgui/themes/*.theme must be copied next to the classes)");
+        }
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return inherit(properties, null);
+        }
+    }
+
+    /**
+     * Lit les propriétés d'un fichier de thème, fusionnées avec celles de ses parents
+     */
+    private static Properties readFile(File file) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return inherit(properties, file.getParentFile());
+        }
+    }
+
+    private static Properties inherit(Properties properties, File directory) throws IOException {
+        String parentName = properties.getProperty("extends");
+        if (parentName == null) {
+            return properties;
+        }
+        File parentFile = directory != null ? new File(directory, parentName.trim() + BUNDLE_EXTENSION) : null;
+        Properties merged = parentFile != null && parentFile.isFile()
+                ? readFile(parentFile)
+                : readBundled(parentName.trim());
+        merged.putAll(properties);
+        merged.remove("extends");
+        return merged;
+    }
+
+    /**
+     * Crée toutes les ressources d'un thème ; les images sont dessinées en dernier
+     * car elles utilisent les autres ressources
+     */
+    private static DTheme resolve(Properties properties) {
+        String name = properties.getProperty("name", "unnamed").trim();
+        Map<String, Color> colors = new HashMap<>();
+        Map<String, Font> fonts = new HashMap<>();
+        Map<String, Stroke> strokes = new HashMap<>();
+        Map<String, DGradient> gradients = new HashMap<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith("color.")) {
+                colors.put(key.substring(6), resolveColor(key, properties, new ArrayList<>()));
+            } else if (key.startsWith("font.")) {
+                fonts.put(key.substring(5), DGraphicsCache.font(Font.decode(value)));
+            } else if (key.startsWith("stroke.")) {
+                strokes.put(key.substring(7), DGraphicsCache.stroke(parseFloat(key, value)));
+            } else if (key.startsWith("gradient.")) {
+                String[] stops = splitArguments(value);
+                if (stops.length != 2) {
+                    throw new IllegalArgumentException(key + ": a gradient needs two colors");
+                }
+                gradients.put(key.substring(9), new DGradient(
+                        parseColor(key, stops[0], properties, new ArrayList<>()),
+                        parseColor(key, stops[1], properties, new ArrayList<>())));
+            } else if (!key.startsWith("image.") && !key.equals("name")) {
+                throw new IllegalArgumentException("Unknown theme key " + key);
+            }
+        }
+
+        DTheme resources = new DTheme(name, colors, fonts, strokes, gradients, new HashMap<>());
+        Map<String, DScaledImage> images = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("image.")) {
+                images.put(key.substring(6), createImage(key, properties.getProperty(key).trim(), resources));
+            }
+        }
+        return new DTheme(name, colors, fonts, strokes, gradients, images);
+    }
+
+    /**
+     * Résout une couleur déclarée, en suivant ses références
+     */
+    private static Color resolveColor(String key, Properties properties, List<String> visiting) {
+        if (visiting.contains(key)) {
+            throw new IllegalArgumentException("Circular color reference " + visiting);
+        }
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Undefined color " + key);
+        }
+        visiting.add(key);
+        Color color = parseColor(key, value.trim(), properties, visiting);
+        visiting.remove(key);
+        return color;
+    }
+
+    /**
+     * Lit une expression de couleur : #RRGGBB, #RRGGBBAA, une autre couleur du thème
+     * (color.xxx), darker(couleur, quantité) ou alpha(couleur, opacité 0-255)
+     */
+    private static Color parseColor(String key, String expression, Properties properties, List<String> visiting) {
+        if (expression.startsWith("#")) {
+            String hex = expression.substring(1);
+            try {
+                if (hex.length() == 6) {
+                    int rgb = Integer.parseInt(hex, 16);
+                    return DGraphicsCache.color(rgb >> 16 & 0xFF, rgb >> 8 & 0xFF, rgb & 0xFF);
+                }
+                if (hex.length() == 8) {
+                    long rgba = Long.parseLong(hex, 16);
+                    return DGraphicsCache.color((int) (rgba >> 24) & 0xFF, (int) (rgba >> 16) & 0xFF,
+                            (int) (rgba >> 8) & 0xFF, (int) rgba & 0xFF);
+                }
+            } catch (NumberFormatException e) {
+                // Signalé ci-dessous
+            }
+            throw new IllegalArgumentException(key + ": invalid color " + expression);
+        }
+        if (expression.startsWith("color.")) {
+            return resolveColor(expression, properties, visiting);
+        }
+
+        int open = expression.indexOf('(');
+        if (open < 0 || !expression.endsWith(")")) {
+            throw new IllegalArgumentException(key + ": invalid color " + expression);
+        }
+        String function = expression.substring(0, open).trim();
+        String[] arguments = splitArguments(expression.substring(open + 1, expression.length() - 1));
+        if (arguments.length != 2) {
+            throw new IllegalArgumentException(key + ": " + function + " takes two arguments");
+        }
+        Color base = parseColor(key, arguments[0], properties, visiting);
+        int amount = parseInt(key, arguments[1]);
+        switch (function) {
+            case "darker":
+                return DGraphicsCache.color(darker(base, amount));
+            case "alpha":
+                return DGraphicsCache.color(base.getRed(), base.getGreen(), base.getBlue(),
+                        Math.max(0, Math.min(255, amount)));
+            default:
+                throw new IllegalArgumentException(key + ": unknown color function " + function);
+        }
+    }
+
+    /**
+     * Assombrit une couleur en retirant une quantité fixe à chaque composante
+     */
+    static Color darker(Color color, int amount) {
+        return new Color(
+                Math.max(0, color.getRed() - amount),
+                Math.max(0, color.getGreen() - amount),
+                Math.max(0, color.getBlue() - amount),
+                color.getAlpha());
+    }
+
+    /**
+     * Crée une image pré-calculée : cardback(largeur, hauteur).
+     * Chaque variante est dessinée à la première utilisation à son échelle.
+     */
+    private static DScaledImage createImage(String key, String expression, DTheme resources) {
+        int open = expression.indexOf('(');
+        if (open < 0 || !expression.endsWith(")")) {
+            throw new IllegalArgumentException(key + ": invalid image " + expression);
+        }
+        String function = expression.substring(0, open).trim();
+        String[] arguments = splitArguments(expression.substring(open + 1, expression.length() - 1));
+        if (!function.equals("cardback") || arguments.length != 2) {
+            throw new IllegalArgumentException(key + ": unknown image " + expression);
+        }
+
+        int width = parseInt(key, arguments[0]);
+        int height = parseInt(key, arguments[1]);
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(key + ": invalid image size " + expression);
+        }
+        return new DScaledImage(width, height,
+                (g2d, w, h) -> resources.paintCardBack(g2d, w, h, CARD_BACK_RADIUS));
+    }
+
+    /**
+     * Sépare des arguments par les virgules qui ne sont pas entre parenthèses
+     */
+    private static String[] splitArguments(String text) {
+        List<String> arguments = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                arguments.add(text.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        arguments.add(text.substring(start).trim());
+        return arguments.toArray(new String[0]);
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + ": invalid number " + value);
+        }
+    }
+
+    private static float parseFloat(String key, String value) {
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + ": invalid number " + value);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dgui.themes;
+
+import java.awt.Window;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Registre des thèmes chargés et du thème courant.
+ *
+ * Les composants qui n'ont pas de thème propre lisent le thème courant au
+ * moment du rendu. Changer de thème remplace donc une seule référence puis
+ * redessine les fenêtres ouvertes, sans reconstruire les composants.
+ */
+public final class DThemeRegistry {
+    private static final Map<String, DTheme> THEMES = new ConcurrentHashMap<>();
+    private static final List<Consumer<DTheme>> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile DTheme current = DTheme.DEFAULT;
+
+    static {
+        register(DTheme.DEFAULT);
+        register(DTheme.WOOD);
+    }
+
+    private DThemeRegistry() {
+    }
+
+    /**
+     * Enregistre un thème sous son nom, en remplaçant un thème du même nom
+     */
+    public static void register(DTheme theme) {
+        THEMES.put(theme.getName(), theme);
+    }
+
+    /**
+     * Récupère un thème enregistré
+     *
+     * @return le thème, ou null s'il n'est pas enregistré
+     */
+    public static DTheme get(String name) {
+        return THEMES.get(name);
+    }
+
+    /**
+     * Récupère le thème courant
+     */
+    public static DTheme getCurrent() {
+        return current;
+    }
+
+    /**
+     * Change le thème courant par son nom
+     *
+     * @throws IllegalArgumentException si aucun thème ne porte ce nom
+     */
+    public static void setCurrent(String name) {
+        DTheme theme = THEMES.get(name);
+        if (theme == null) {
+            throw new IllegalArgumentException("Unknown theme: " + name);
+        }
+        setCurrent(theme);
+    }
+
+    /**
+     * Change le thème courant puis redessine toutes les fenêtres
+     */
+    public static void setCurrent(DTheme theme) {
+        if (theme == current) {
+            return;
+        }
+        current = theme;
+        SwingUtilities.invokeLater(() -> {
+            for (Consumer<DTheme> listener : LISTENERS) {
+                listener.accept(theme);
+            }
+            // Le RepaintManager regroupe ces demandes en un seul rendu par fenêtre
+            for (Window window : Window.getWindows()) {
+                if (window.isDisplayable()) {
+                    window.repaint();
+                }
+            }
+        });
+    }
+
+    /**
+     * Ajoute un écouteur appelé sur l'EDT après chaque changement de thème,
+     * pour les composants qui gardent des valeurs du thème (polices Swing, etc.)
+     */
+    public static void addThemeListener(Consumer<DTheme> listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Retire un écouteur de changement de thème
+     */
+    public static void removeThemeListener(Consumer<DTheme> listener) {
+        LISTENERS.remove(listener);
+    }
+}
@@ -0,0 +1,132 @@
+package uno;
+
+import uno.ai.Ismcts;
+import uno.core.Card;
+import uno.core.Game;
+import uno.core.Player;
+import uno.gui.AITurnScheduler;
+import uno.gui.IsmctsStrategy;
+
+/**
+ * Plays the information set tree search against the "first playable card"
+ * strategy of the game panels: one searching player and three heuristic
+ * players per game, the searching player changing seat every game. With
+ * equal strategies each player would win a quarter of the games; the win
+ * rate of the search is printed with its 95% confidence interval, along with
+ * the iterations searched per move and the share of them kept from earlier
+ * moves. With "uniform", the search deals the unseen cards uniformly instead
+ * of following the hand inference of the game.
+ *
+ * Usage: AIBenchmark [games] [milliseconds per move] [threads] [uniform]
+ */
+public class AIBenchmark {
+    private static final int PLAYERS = 4;
+    private static final int MAX_TURNS_PER_GAME = 1000;
+
+    private final IsmctsStrategy searching;
+    private long searches;
+    private long iterations;
+    private long reusedVisits;
+
+    private AIBenchmark(IsmctsStrategy searching) {
+        this.searching = searching;
+    }
+
+    /**
+     * Play a game with the searching player at a seat
+     *
+     * @return the seat of the winner, or -1 if the game did not end
+     */
+    private int playGame(int searchingSeat) {
+        Game game = new Game();
+        for (int i = 0; i < PLAYERS; i++) {
+            game.addPlayer(new Player(i == searchingSeat ? "ISMCTS" : "AI " + i, true));
+        }
+        game.start();
+
+        for (int turn = 0; turn < MAX_TURNS_PER_GAME && !game.isGameEnded(); turn++) {
+            Player player = game.getCurrentPlayer();
+            boolean search = game.getCurrentPlayerIndex() == searchingSeat;
+            AITurnScheduler.Strategy strategy = search ? searching : AITurnScheduler.FIRST_PLAYABLE;
+            AITurnScheduler.Move move = strategy.chooseMove(player, game.createView(player));
+            if (search && searching.getSearch().getLastIterations() > 0) {
+                Ismcts ismcts = searching.getSearch();
+                searches++;
+                iterations += ismcts.getLastIterations();
+                reusedVisits += ismcts.getLastReusedVisits();
+            }
+            play(game, player, move);
+        }
+        return game.isGameEnded() ? game.getPlayers().indexOf(winner(game)) : -1;
+    }
+
+    /**
+     * Apply a move as the game panels do: a drawn card is played if it can be
+     */
+    static void play(Game game, Player player, AITurnScheduler.Move move) {
+        if (move.isDraw()) {
+            Card drawnCard = game.drawCard(player);
+            if (drawnCard != null && game.isPlayable(drawnCard)) {
+                if (drawnCard.isWild()) {
+                    drawnCard.setColor(AITurnScheduler.randomColor());
+                }
+                game.playCard(drawnCard);
+            } else {
+                game.advanceToNextPlayer();
+            }
+            return;
+        }
+        Card card = player.getHand().get(player.getHand().indexOf(move.getCard()));
+        if (card.isWild()) {
+            card.setColor(move.getChosenColor());
+        }
+        if (move.isCallUno()) {
+            player.callUno();
+        }
+        game.playCard(card);
+    }
+
+    static Player winner(Game game) {
+        for (Player player : game.getPlayers()) {
+            if (player.getCardCount() == 0) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long budgetMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        boolean handInference = args.length <= 3 || !args[3].equals("uniform");
+        AIBenchmark benchmark = new AIBenchmark(
+                new IsmctsStrategy(new Ismcts(budgetMillis, threads, handInference)));
+
+        int wins = 0;
+        int finished = 0;
+        for (int i = 1; i <= games; i++) {
+            int winner = benchmark.playGame(i % PLAYERS);
+            if (winner >= 0) {
+                finished++;
+                if (winner == i % PLAYERS) {
+                    wins++;
+                }
+            }
+            if (i % 10 == 0 || i == games) {
+                System.out.printf("%4d games: ISMCTS won %d of %d%n", i, wins, finished);
+            }
+        }
+
+        double rate = finished > 0 ? (double) wins / finished : 0;
+        double margin = finished > 0 ? 1.96 * Math.sqrt(rate * (1 - rate) / finished) : 0;
+        System.out.printf("ISMCTS (%d ms, %d threads, %s deals) vs first playable card: "
+                + "win rate %.1f%% +/- %.1f%% (even: %.1f%%)%n",
+                budgetMillis, threads, handInference ? "inferred" : "uniform", rate * 100, margin * 100, 100.0 / PLAYERS);
+        if (benchmark.searches > 0) {
+            System.out.printf("%,d iterations per move, %.0f%% of the visits kept from earlier moves%n",
+                    benchmark.iterations / benchmark.searches,
+                    100.0 * benchmark.reusedVisits / (benchmark.iterations + benchmark.reusedVisits));
+        }
+    }
+}
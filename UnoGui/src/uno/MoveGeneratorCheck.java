@@ -0,0 +1,97 @@
+package uno;
+
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.CardValue;
+import uno.core.Game;
+import uno.core.MoveGenerator;
+import uno.core.Player;
+import uno.core.RuleSet;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Checks the incremental move generator against a scan of the hand.
+ * Random games are played by RandomPlayCheck. Before each turn, the legal
+ * set, its count and nextLegalMove are compared with Game.isPlayable called
+ * on every card of the hand, and Player.hasPlayableCard with the scan's
+ * result. A long hand spanning several bitset words is then emptied at
+ * random, comparing Player.getPlayableCard with the first card that can be
+ * played.
+ *
+ * Exits with status 1 if any difference was found.
+ *
+ * Usage: MoveGeneratorCheck [games per rule set]
+ */
+public class MoveGeneratorCheck extends RandomPlayCheck {
+    private static final int LONG_HAND_SIZE = 150;
+
+    /**
+     * Compare the generator with the scan of the hand of the player on turn
+     */
+    @Override
+    void checkTurn(Game game, RuleSet rules, BitSet expected) {
+        checks++;
+        Player player = game.getCurrentPlayer();
+        List<Card> hand = player.getHand();
+        MoveGenerator generator = game.getMoveGenerator();
+        if (!expected.equals(generator.getLegalMoves())) {
+            report(rules, "legal moves " + generator.getLegalMoves() + " instead of " + expected
+                    + ", hand " + hand + ", top card " + game.getTopCard());
+        }
+        if (generator.getLegalMoveCount() != expected.cardinality()) {
+            report(rules, "legal move count " + generator.getLegalMoveCount()
+                    + " instead of " + expected.cardinality());
+        }
+        for (int from = 0; from <= hand.size() + Long.SIZE; from++) {
+            if (generator.nextLegalMove(from) != expected.nextSetBit(from)) {
+                report(rules, "next legal move from " + from + ": " + generator.nextLegalMove(from)
+                        + " instead of " + expected.nextSetBit(from));
+            }
+        }
+        if (game.getPendingDrawCount() == 0
+                && player.hasPlayableCard(game.getTopCard()) != !expected.isEmpty()) {
+            report(rules, "hasPlayableCard " + !expected.isEmpty() + " expected, hand " + hand
+                    + ", top card " + game.getTopCard());
+        }
+    }
+
+    /**
+     * Empty a hand longer than one bitset word, checking getPlayableCard after each removal
+     */
+    private void checkLongHand() {
+        CardValue[] values = CardValue.values();
+        Player player = new Player("Long hand", true);
+        for (int i = 0; i < LONG_HAND_SIZE; i++) {
+            player.addCard(new Card(randomColor(), values[random.nextInt(values.length)]));
+        }
+        Card topCard = new Card(CardColor.RED, CardValue.FIVE);
+        while (player.getCardCount() > 0) {
+            checks++;
+            List<Card> hand = player.getHand();
+            Card expected = null;
+            for (Card card : hand) {
+                if (card.canPlayOn(topCard)) {
+                    expected = card;
+                    break;
+                }
+            }
+            Card playable = player.getPlayableCard(topCard);
+            if (playable != expected) {
+                report(null, "getPlayableCard " + playable + " instead of " + expected
+                        + " with " + hand.size() + " cards");
+            }
+            player.removeCard(hand.get(random.nextInt(hand.size())));
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        MoveGeneratorCheck check = new MoveGeneratorCheck();
+        check.checkGames(games);
+        check.checkLongHand();
+        check.finish(games);
+    }
+}
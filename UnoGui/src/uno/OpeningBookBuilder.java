@@ -0,0 +1,160 @@
+package uno;
+
+import uno.ai.OpeningBook;
+import uno.core.Game;
+import uno.core.GameView;
+import uno.core.Player;
+import uno.gui.AITurnScheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Computes an {@link OpeningBook} with the headless engine. Games are dealt
+ * and played by the "first playable card" strategy of the game panels; at
+ * each player's first turn, every choice legal in their situation is played
+ * out from the same random deals of the unseen cards, and credited with the
+ * playouts it won. The book keeps, for each situation played out often
+ * enough, the choice that won the most. Several tables play at once, one
+ * thread each.
+ *
+ * Usage: OpeningBookBuilder output-file [games] [tables] [playouts per turn]
+ */
+public class OpeningBookBuilder {
+    private static final int PLAYERS = 4;
+    private static final int MAX_TURNS_PER_GAME = 1000;
+    // Playouts a situation must have had for its choice to be kept
+    private static final int MIN_PLAYOUTS = 256;
+
+    private final int games;
+    private final int playouts;
+    private final AtomicInteger gamesStarted = new AtomicInteger();
+    private final AtomicInteger gamesFinished = new AtomicInteger();
+    // By situation and choice
+    private final AtomicIntegerArray trials = new AtomicIntegerArray(OpeningBook.SITUATION_COUNT * OpeningBook.CHOICE_COUNT);
+    private final AtomicIntegerArray wins = new AtomicIntegerArray(OpeningBook.SITUATION_COUNT * OpeningBook.CHOICE_COUNT);
+
+    private OpeningBookBuilder(int games, int playouts) {
+        this.games = games;
+        this.playouts = playouts;
+    }
+
+    /**
+     * Play games on one table until all games are started
+     */
+    private void playTable(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        while (gamesStarted.getAndIncrement() < games) {
+            playGame(random);
+        }
+    }
+
+    private void playGame(SplittableRandom random) {
+        Game game = new Game();
+        for (int i = 0; i < PLAYERS; i++) {
+            game.addPlayer(new Player("AI " + i, true));
+        }
+        game.start();
+
+        int[] choiceWins = new int[OpeningBook.CHOICE_COUNT];
+        for (int turn = 0; turn < MAX_TURNS_PER_GAME && !game.isGameEnded(); turn++) {
+            Player player = game.getCurrentPlayer();
+            GameView view = game.createView(player);
+            if (OpeningBook.isFirstMove(view)) {
+                int situation = OpeningBook.situation(view);
+                int choices = OpeningBook.legalChoices(view);
+                if (situation >= 0 && Integer.bitCount(choices) > 1) {
+                    Arrays.fill(choiceWins, 0);
+                    int n = OpeningBook.playOut(view, playouts, random, choiceWins);
+                    int base = situation * OpeningBook.CHOICE_COUNT;
+                    for (; choices != 0; choices &= choices - 1) {
+                        int choice = Integer.numberOfTrailingZeros(choices);
+                        trials.addAndGet(base + choice, n);
+                        wins.addAndGet(base + choice, choiceWins[choice]);
+                    }
+                }
+            }
+            AIBenchmark.play(game, player, AITurnScheduler.FIRST_PLAYABLE.chooseMove(player, view));
+        }
+        gamesFinished.incrementAndGet();
+    }
+
+    /**
+     * Keep the choice of each situation that won the most playouts
+     *
+     * @return the number of situations with a choice
+     */
+    private int choose(byte[] book) {
+        int known = 0;
+        for (int situation = 0; situation < OpeningBook.SITUATION_COUNT; situation++) {
+            int base = situation * OpeningBook.CHOICE_COUNT;
+            int best = OpeningBook.NO_CHOICE;
+            double bestRate = -1;
+            for (int choice = OpeningBook.PLAY_NUMBER; choice < OpeningBook.CHOICE_COUNT; choice++) {
+                int n = trials.get(base + choice);
+                double rate = n > 0 ? (double) wins.get(base + choice) / n : 0;
+                if (n >= MIN_PLAYOUTS && rate > bestRate) {
+                    best = choice;
+                    bestRate = rate;
+                }
+            }
+            book[situation] = (byte) best;
+            if (best != OpeningBook.NO_CHOICE) {
+                known++;
+            }
+        }
+        return known;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookBuilder output-file [games] [tables] [playouts per turn]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[0]);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int tables = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int playouts = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(games, playouts);
+        List<Thread> threads = new ArrayList<>();
+        long seed = System.nanoTime();
+        for (int i = 0; i < tables; i++) {
+            long tableSeed = seed + i;
+            Thread thread = new Thread(() -> builder.playTable(tableSeed), "uno-book-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        byte[] book = new byte[OpeningBook.SITUATION_COUNT];
+        int known = builder.choose(book);
+        int seen = 0;
+        for (int situation = 0; situation < OpeningBook.SITUATION_COUNT; situation++) {
+            for (int choice = 0; choice < OpeningBook.CHOICE_COUNT; choice++) {
+                if (builder.trials.get(situation * OpeningBook.CHOICE_COUNT + choice) > 0) {
+                    seen++;
+                    break;
+                }
+            }
+        }
+        try {
+            OpeningBook.write(output, PLAYERS, book);
+        } catch (IOException e) {
+            System.err.println("Error writing the opening book: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("%d games in %.1f s: %d situations met, %d written to %s%n",
+                builder.gamesFinished.get(), (System.nanoTime() - start) / 1e9, seen, known, output);
+    }
+}
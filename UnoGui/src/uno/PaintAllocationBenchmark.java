@@ -0,0 +1,137 @@
+package uno;
+
+import dgui.DButton;
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.CardValue;
+import uno.core.Game;
+import uno.core.Player;
+import uno.gui.DUnoCard;
+import uno.gui.UnoTableScene;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+/**
+ * Measures the bytes allocated per painted frame once painting has reached
+ * its steady state: images, text layouts and interned graphics objects are
+ * built by the warm-up frames and reused afterwards.
+ *
+ * Two frames are measured on the event dispatch thread: the card widgets
+ * (a face, a wild card, a selected card, a card back and a button), and the
+ * whole table canvas of a started game. Allocations are counted with
+ * ThreadMXBean.getThreadAllocatedBytes, which the JVM must support.
+ *
+ * What is left comes from Java2D itself: the copy of the graphics that clips
+ * each scene node, the path iterator of each vector shape, the font context
+ * of text drawn on such a copy, and the transform copied to pick the
+ * resolution variant of an image.
+ *
+ * Usage: PaintAllocationBenchmark [frames per measure]
+ */
+public class PaintAllocationBenchmark {
+    private static final int WARMUP_FRAMES = 2000;
+    private static final int ROUNDS = 3;
+    private static final int CARD_WIDTH = 80;
+    private static final int CARD_HEIGHT = 120;
+    private static final int TABLE_WIDTH = 1000;
+    private static final int TABLE_HEIGHT = 700;
+
+    private final com.sun.management.ThreadMXBean threads;
+
+    private PaintAllocationBenchmark(com.sun.management.ThreadMXBean threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Paint frames and count the bytes the painting thread allocated
+     *
+     * @return bytes allocated per frame
+     */
+    private double measure(Runnable frame, int frames) {
+        long threadId = Thread.currentThread().getId();
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < frames; i++) {
+            frame.run();
+        }
+        return (double) (threads.getThreadAllocatedBytes(threadId) - start) / frames;
+    }
+
+    private void run(String name, Runnable frame, int frames) {
+        measure(frame, WARMUP_FRAMES);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("%-8s round %d: %8.1f bytes per frame%n", name, round, measure(frame, frames));
+        }
+    }
+
+    /**
+     * Frame painting each card widget once, as the table canvas does: anti-aliased, no copy of the context
+     */
+    private static Runnable widgetFrame() {
+        DUnoCard face = new DUnoCard(new Card(CardColor.RED, CardValue.SKIP));
+        DUnoCard wild = new DUnoCard(new Card(CardColor.WILD, CardValue.WILD));
+        DUnoCard selected = new DUnoCard(new Card(CardColor.BLUE, CardValue.SEVEN));
+        selected.setSelected(true);
+        DUnoCard back = new DUnoCard(new Card(CardColor.GREEN, CardValue.ONE));
+        back.setFaceUp(false);
+        DButton button = new DButton("Play");
+
+        BufferedImage image = new BufferedImage(CARD_WIDTH + 8, CARD_HEIGHT + 8, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return () -> {
+            face.paintCard(g2d, CARD_WIDTH, CARD_HEIGHT);
+            wild.paintCard(g2d, CARD_WIDTH, CARD_HEIGHT);
+            selected.paintCard(g2d, CARD_WIDTH, CARD_HEIGHT);
+            back.paintCard(g2d, CARD_WIDTH, CARD_HEIGHT);
+            button.paintButton(g2d, 100, 30);
+        };
+    }
+
+    /**
+     * Frame painting the whole table canvas of a game in progress
+     */
+    private static Runnable tableFrame() {
+        Game game = new Game();
+        game.addPlayer(new Player("Player", false));
+        for (int i = 1; i < 4; i++) {
+            game.addPlayer(new Player("AI " + i, true));
+        }
+        game.start();
+        UnoTableScene scene = new UnoTableScene(game);
+        JComponent canvas = scene.getCanvas().getComponent();
+        canvas.setSize(TABLE_WIDTH, TABLE_HEIGHT);
+        canvas.doLayout();
+        scene.update();
+
+        BufferedImage image = new BufferedImage(TABLE_WIDTH, TABLE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        return () -> canvas.paint(g2d);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("Allocated bytes are not available on this JVM");
+            return;
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("Allocated bytes are not available on this JVM");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        PaintAllocationBenchmark benchmark = new PaintAllocationBenchmark(threads);
+        SwingUtilities.invokeAndWait(() -> {
+            benchmark.run("widgets", widgetFrame(), frames);
+            benchmark.run("table", tableFrame(), frames);
+        });
+        System.exit(0);
+    }
+}
@@ -0,0 +1,185 @@
+package uno;
+
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.CardValue;
+import uno.core.Game;
+import uno.core.HouseRule;
+import uno.core.Player;
+import uno.core.RuleSet;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random games played for the engine checks: with the standard rules, with
+ * each house rule and with every house rule enabled, between 2 and 5
+ * players. Each player plays a random card among those Game.isPlayable
+ * accepts, or draws as the game panels do. Half of the wild cards get their
+ * color after the play, as the color chooser does, half of the Wild Draw
+ * Fours are challenged, and after each turn a random player jumps in if they
+ * hold a card identical to the top card.
+ *
+ * Subclasses check the game before each turn and after each action, count
+ * their checks and report the differences they find.
+ */
+abstract class RandomPlayCheck {
+    private static final int MAX_TURNS_PER_GAME = 1000;
+    private static final int MAX_REPORTED = 10;
+    static final CardColor[] COLORS = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
+
+    final Random random = new Random(42);
+    long checks;
+    private long differences;
+
+    /**
+     * Check the game before a turn
+     *
+     * @param legal positions in the hand of the player on turn that can be played
+     */
+    void checkTurn(Game game, RuleSet rules, BitSet legal) {
+    }
+
+    /**
+     * Check the game after an action
+     */
+    void checkAction(Game game, RuleSet rules, String action) {
+    }
+
+    /**
+     * Play random games with every rule set
+     */
+    void checkGames(int games) {
+        List<RuleSet> ruleSets = new ArrayList<>();
+        ruleSets.add(RuleSet.STANDARD);
+        for (HouseRule rule : HouseRule.values()) {
+            ruleSets.add(RuleSet.of(rule));
+        }
+        ruleSets.add(new RuleSet(EnumSet.allOf(HouseRule.class)));
+        for (RuleSet rules : ruleSets) {
+            checkGames(rules, games);
+        }
+    }
+
+    private void checkGames(RuleSet rules, int games) {
+        for (int i = 0; i < games; i++) {
+            Game game = new Game(rules);
+            int players = 2 + random.nextInt(4);
+            for (int p = 0; p < players; p++) {
+                game.addPlayer(new Player("Player " + p, true));
+            }
+            game.start();
+            checkAction(game, rules, "start");
+            for (int turn = 0; turn < MAX_TURNS_PER_GAME && !game.isGameEnded(); turn++) {
+                BitSet legal = legalMoves(game);
+                checkTurn(game, rules, legal);
+                playRandomMove(game, rules, legal);
+                if (!game.isGameEnded()) {
+                    tryJumpIn(game, rules);
+                }
+            }
+        }
+    }
+
+    /**
+     * Positions of the cards the player on turn can play, by Game.isPlayable
+     */
+    private static BitSet legalMoves(Game game) {
+        List<Card> hand = game.getCurrentPlayer().getHand();
+        BitSet legal = new BitSet();
+        for (int i = 0; i < hand.size(); i++) {
+            if (game.isPlayable(hand.get(i))) {
+                legal.set(i);
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * Play a random legal card, or draw as the game panels do
+     */
+    private void playRandomMove(Game game, RuleSet rules, BitSet legal) {
+        Player player = game.getCurrentPlayer();
+        if (legal.isEmpty()) {
+            Card drawnCard = game.drawCard(player);
+            checkAction(game, rules, "draw");
+            if (drawnCard != null && game.isPlayable(drawnCard)) {
+                if (drawnCard.isWild()) {
+                    drawnCard.setColor(randomColor());
+                }
+                game.playCard(drawnCard);
+                checkAction(game, rules, "play drawn " + drawnCard);
+            } else {
+                game.advanceToNextPlayer();
+                checkAction(game, rules, "pass");
+            }
+            return;
+        }
+
+        int position = legal.nextSetBit(0);
+        for (int pick = random.nextInt(legal.cardinality()); pick > 0; pick--) {
+            position = legal.nextSetBit(position + 1);
+        }
+        Card card = player.getCard(position);
+        boolean lateColor = card.isWild() && random.nextBoolean();
+        if (card.isWild() && !lateColor) {
+            card.setColor(randomColor());
+        }
+        game.playCard(card);
+        checkAction(game, rules, "play " + card);
+        if (lateColor) {
+            card.setColor(randomColor());
+            checkAction(game, rules, "late color " + card);
+        }
+
+        if (card.getValue() == CardValue.WILD_DRAW_FOUR && !game.isGameEnded() && random.nextBoolean()) {
+            game.challengeWildDrawFour(game.getCurrentPlayer(), player);
+            checkAction(game, rules, "challenge");
+        }
+    }
+
+    /**
+     * Let a random player jump in with a card identical to the top card, if they hold one
+     */
+    private void tryJumpIn(Game game, RuleSet rules) {
+        List<Player> players = game.getPlayers();
+        Player player = players.get(random.nextInt(players.size()));
+        Card topCard = game.getTopCard();
+        for (Card card : player.getHand()) {
+            if (!card.isWild() && card.getColor() == topCard.getColor() && card.getValue() == topCard.getValue()) {
+                game.jumpIn(player, card);
+                checkAction(game, rules, "jump in " + card);
+                return;
+            }
+        }
+    }
+
+    CardColor randomColor() {
+        return COLORS[random.nextInt(COLORS.length)];
+    }
+
+    /**
+     * Count a difference and print the first ones
+     *
+     * @param rules rule set of the game, or null outside games
+     */
+    void report(RuleSet rules, String message) {
+        differences++;
+        if (differences <= MAX_REPORTED) {
+            System.out.println((rules != null ? rules + ": " : "") + message);
+        }
+    }
+
+    /**
+     * Print the summary line and exit with status 1 if any difference was found
+     */
+    void finish(int games) {
+        System.out.printf("%,d games per rule set, %,d checks, %d differences%n", games, checks, differences);
+        if (differences > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package uno;
+
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.Game;
+import uno.core.HouseRule;
+import uno.core.MoveGenerator;
+import uno.core.Player;
+import uno.core.RuleSet;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the number of turns per second the game engine plays with the
+ * standard rules, with each house rule and with every house rule enabled.
+ * Games are played by simple AI players, without listeners or interface.
+ * Turns per game and the average hand size are printed too: rules that make
+ * players draw more cards do more work per turn, whatever the dispatch cost.
+ *
+ * Usage: RuleBenchmark [seconds per measure]
+ */
+public class RuleBenchmark {
+    private static final int PLAYERS = 4;
+    private static final int MAX_TURNS_PER_GAME = 1000;
+    private static final int ROUNDS = 3;
+    private static final CardColor[] COLORS = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
+
+    private final RuleSet rules;
+    private final Random random = new Random(42);
+    private long turns;
+    private long games;
+    private long handSizes;
+
+    private RuleBenchmark(RuleSet rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Play games until the duration has elapsed
+     *
+     * @return turns played per second
+     */
+    private double measure(long durationMillis) {
+        turns = 0;
+        games = 0;
+        handSizes = 0;
+        long start = System.nanoTime();
+        long end = start + durationMillis * 1_000_000L;
+        while (System.nanoTime() < end) {
+            playGame();
+        }
+        return turns * 1e9 / (System.nanoTime() - start);
+    }
+
+    private void playGame() {
+        Game game = new Game(rules);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player("AI " + i, true);
+            game.addPlayer(player);
+            players.add(player);
+        }
+        game.start();
+
+        boolean jumpIn = rules.isEnabled(HouseRule.JUMP_IN);
+        for (int turn = 0; turn < MAX_TURNS_PER_GAME && !game.isGameEnded(); turn++) {
+            Player player = game.getCurrentPlayer();
+            handSizes += player.getCardCount();
+            playTurn(game, player);
+            turns++;
+            if (jumpIn && !game.isGameEnded()) {
+                tryJumpIn(game, players);
+            }
+        }
+        games++;
+    }
+
+    /**
+     * First playable card, wild cards last; otherwise draw
+     */
+    private void playTurn(Game game, Player player) {
+        MoveGenerator moves = game.getMoveGenerator();
+        Card playable = null;
+        for (int i = moves.nextLegalMove(0); i >= 0; i = moves.nextLegalMove(i + 1)) {
+            playable = player.getCard(i);
+            if (!playable.isWild()) {
+                break;
+            }
+        }
+        if (playable == null) {
+            Card drawnCard = game.drawCard(player);
+            if (drawnCard != null && game.isPlayable(drawnCard)) {
+                play(game, player, drawnCard);
+            } else {
+                game.advanceToNextPlayer();
+            }
+            return;
+        }
+        play(game, player, playable);
+    }
+
+    private void play(Game game, Player player, Card card) {
+        if (card.isWild()) {
+            card.setColor(COLORS[random.nextInt(COLORS.length)]);
+        }
+        if (player.getCardCount() == 2) {
+            player.callUno();
+        }
+        game.playCard(card);
+    }
+
+    /**
+     * The first other player holding a copy of the top card jumps in
+     */
+    private void tryJumpIn(Game game, List<Player> players) {
+        Card topCard = game.getTopCard();
+        Player currentPlayer = game.getCurrentPlayer();
+        for (Player player : players) {
+            if (player != currentPlayer && player.hasCard(topCard)) {
+                for (Card card : player.getHand()) {
+                    if (card.equals(topCard) && game.jumpIn(player, card)) {
+                        turns++;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        long durationMillis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 2000;
+        List<RuleBenchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new RuleBenchmark(RuleSet.STANDARD));
+        for (HouseRule rule : HouseRule.values()) {
+            benchmarks.add(new RuleBenchmark(RuleSet.of(rule)));
+        }
+        benchmarks.add(new RuleBenchmark(new RuleSet(EnumSet.allOf(HouseRule.class))));
+
+        // Warm up every code path before measuring
+        for (RuleBenchmark benchmark : benchmarks) {
+            benchmark.measure(durationMillis / 2);
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round);
+            double standardRate = 0;
+            for (RuleBenchmark benchmark : benchmarks) {
+                double rate = benchmark.measure(durationMillis);
+                if (benchmark.rules.equals(RuleSet.STANDARD)) {
+                    standardRate = rate;
+                }
+                System.out.printf("  %-70s %,12.0f turns/s  x%.2f  %5.1f turns/game  hand %4.1f%n",
+                        benchmark.rules, rate, rate / standardRate,
+                        (double) benchmark.turns / benchmark.games, (double) benchmark.handSizes / benchmark.turns);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package uno;
+
+import uno.ai.BatchedInference;
+import uno.ai.FeatureEncoder;
+import uno.ai.PolicyNetwork;
+import uno.ai.SampleWriter;
+import uno.core.Game;
+import uno.core.GameView;
+import uno.core.Player;
+import uno.gui.AITurnScheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays headless games and writes every decision to a sample file (see
+ * {@link SampleWriter}) for training a policy network. Several tables play
+ * at once, one thread each.
+ * <p>
+ * Without a network, the players use the "first playable card" strategy of
+ * the game panels, which gives a first network to imitate. With a network,
+ * every player draws its moves from the network's policy; positions of all
+ * tables are evaluated together by a batched inference engine.
+ * Positions with a single legal action are not written.
+ *
+ * Usage: SelfPlayGenerator output-file [games] [tables] [network file]
+ */
+public class SelfPlayGenerator {
+    private static final int PLAYERS = 4;
+    private static final int MAX_TURNS_PER_GAME = 1000;
+
+    private final SampleWriter writer;
+    private final BatchedInference inference;
+    private final int games;
+    private final AtomicInteger gamesStarted = new AtomicInteger();
+    private final AtomicInteger gamesFinished = new AtomicInteger();
+
+    private SelfPlayGenerator(SampleWriter writer, BatchedInference inference, int games) {
+        this.writer = writer;
+        this.inference = inference;
+        this.games = games;
+    }
+
+    /**
+     * Play games on one table until all games are started
+     */
+    private void playTable(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        try {
+            while (gamesStarted.getAndIncrement() < games) {
+                playGame(random);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing samples: " + e.getMessage());
+        }
+    }
+
+    private void playGame(SplittableRandom random) throws IOException {
+        Game game = new Game();
+        for (int i = 0; i < PLAYERS; i++) {
+            game.addPlayer(new Player("AI " + i, true));
+        }
+        game.start();
+
+        List<float[]> features = new ArrayList<>();
+        List<long[]> decisions = new ArrayList<>();
+        for (int turn = 0; turn < MAX_TURNS_PER_GAME && !game.isGameEnded(); turn++) {
+            Player player = game.getCurrentPlayer();
+            GameView view = game.createView(player);
+            long legal = view.getLegalActions();
+            float[] position = FeatureEncoder.encode(view);
+
+            AITurnScheduler.Move move;
+            int action;
+            if (inference != null) {
+                action = Long.bitCount(legal) == 1 ? Long.numberOfTrailingZeros(legal)
+                        : PolicyNetwork.sampleAction(inference.evaluate(position), 0, legal, random);
+                move = AITurnScheduler.Move.forAction(player, view, action);
+                if (move == null) {
+                    System.err.println("Policy chose a card that cannot be played: " + action);
+                    move = AITurnScheduler.FIRST_PLAYABLE.chooseMove(player, view);
+                }
+            } else {
+                move = AITurnScheduler.FIRST_PLAYABLE.chooseMove(player, view);
+                action = move.isDraw() ? GameView.DRAW_ACTION
+                        : GameView.playAction(move.getCard(),
+                                move.getCard().isWild() ? move.getChosenColor() : move.getCard().getColor());
+            }
+            if (Long.bitCount(legal) > 1) {
+                features.add(position);
+                decisions.add(new long[] {legal, action, view.getSeat()});
+            }
+            AIBenchmark.play(game, player, move);
+        }
+        if (!game.isGameEnded()) {
+            return; // No outcome to learn from
+        }
+
+        int winner = game.getPlayers().indexOf(AIBenchmark.winner(game));
+        for (int i = 0; i < features.size(); i++) {
+            long[] decision = decisions.get(i);
+            writer.add(features.get(i), decision[0], (int) decision[1], (int) decision[2],
+                    decision[2] == winner ? 1 : 0);
+        }
+        gamesFinished.incrementAndGet();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: SelfPlayGenerator output-file [games] [tables] [network file]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[0]);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int tables = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        BatchedInference inference = args.length > 3
+                ? new BatchedInference(PolicyNetwork.load(Paths.get(args[3]))) : null;
+
+        long start = System.nanoTime();
+        SelfPlayGenerator generator;
+        try (SampleWriter writer = new SampleWriter(output, FeatureEncoder.FEATURE_COUNT, GameView.ACTION_COUNT)) {
+            generator = new SelfPlayGenerator(writer, inference, games);
+            List<Thread> threads = new ArrayList<>();
+            long seed = System.nanoTime();
+            for (int i = 0; i < tables; i++) {
+                long tableSeed = seed + i;
+                Thread thread = new Thread(() -> generator.playTable(tableSeed), "uno-selfplay-" + i);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d games, %,d samples written to %s in %.1f s (%,.0f samples/s)%n",
+                    generator.gamesFinished.get(), writer.getSampleCount(), output, seconds,
+                    writer.getSampleCount() / seconds);
+        } finally {
+            if (inference != null) {
+                inference.close();
+            }
+        }
+        if (inference != null && inference.getBatchCount() > 0) {
+            System.out.printf("%,d positions evaluated in %,d batches (%.1f per batch)%n",
+                    inference.getEvaluationCount(), inference.getBatchCount(),
+                    (double) inference.getEvaluationCount() / inference.getBatchCount());
+        }
+    }
+}
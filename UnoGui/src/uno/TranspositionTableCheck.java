@@ -0,0 +1,135 @@
+package uno;
+
+import uno.core.Game;
+import uno.core.RuleSet;
+import uno.core.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Checks the Zobrist hash of game states and the transposition table.
+ * <p>
+ * Random games are played by RandomPlayCheck. After every action (card
+ * played, wild color chosen after the play, card drawn, turn passed,
+ * jump-in, challenge) the incrementally updated Game.getHash is compared
+ * with Game.computeHash. Entries are then packed and unpacked, and several
+ * threads store and probe a small shared table: every entry found must be
+ * the one stored for its hash, never one torn between two writes.
+ * <p>
+ * Exits with status 1 if any difference was found.
+ *
+ * Usage: TranspositionTableCheck [games per rule set] [threads]
+ */
+public class TranspositionTableCheck extends RandomPlayCheck {
+    private static final int TABLE_CAPACITY = 1 << 10;
+    private static final int DISTINCT_STATES = 5000;
+    private static final int OPERATIONS_PER_THREAD = 2_000_000;
+
+    @Override
+    void checkAction(Game game, RuleSet rules, String action) {
+        checks++;
+        long hash = game.getHash();
+        long expected = game.computeHash();
+        if (hash != expected) {
+            report(rules, "after " + action + ": hash " + Long.toHexString(hash)
+                    + " instead of " + Long.toHexString(expected));
+        }
+    }
+
+    /**
+     * Pack and unpack entries at the limits of each field
+     */
+    private void checkEntries() {
+        float[] values = {0f, -0.75f, 1f, Float.MAX_VALUE, -Float.MIN_VALUE};
+        int[] depths = {0, 7, TranspositionTable.MAX_DEPTH};
+        int[] moves = {TranspositionTable.NO_MOVE, 0, 12, 254};
+        for (float value : values) {
+            for (int depth : depths) {
+                for (int bound = TranspositionTable.EXACT; bound <= TranspositionTable.UPPER_BOUND; bound++) {
+                    for (int move : moves) {
+                        checks++;
+                        long entry = TranspositionTable.entry(value, depth, bound, move);
+                        if (entry == TranspositionTable.MISS
+                                || Float.floatToRawIntBits(TranspositionTable.value(entry)) != Float.floatToRawIntBits(value)
+                                || TranspositionTable.depth(entry) != depth
+                                || TranspositionTable.bound(entry) != bound
+                                || TranspositionTable.move(entry) != move) {
+                            report(null, "entry " + value + ", " + depth + ", " + bound + ", " + move
+                                    + " unpacked wrong");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Store and probe a shared table from several threads.
+     * Each hash always gets the same entry, so a hit with another entry is a torn slot.
+     */
+    private void checkConcurrentTable(int threads) throws Exception {
+        TranspositionTable table = new TranspositionTable(TABLE_CAPACITY);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            results.add(executor.submit(() -> hammer(table, new Random(seed))));
+        }
+        long hits = 0;
+        for (Future<long[]> result : results) {
+            long[] counts = result.get();
+            hits += counts[0];
+            if (counts[1] > 0) {
+                report(null, counts[1] + " wrong entries found by one thread");
+            }
+        }
+        executor.shutdown();
+        checks += hits;
+        System.out.printf("%d threads: %,d probe hits%n", threads, hits);
+    }
+
+    /**
+     * @return the number of hits and of wrong entries
+     */
+    private static long[] hammer(TranspositionTable table, Random random) {
+        long hits = 0;
+        long wrong = 0;
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            long hash = (random.nextInt(DISTINCT_STATES) + 1) * 0x9E3779B97F4A7C15L;
+            long entry = entryFor(hash);
+            if (random.nextBoolean()) {
+                table.store(hash, entry);
+            } else {
+                long found = table.probe(hash);
+                if (found != TranspositionTable.MISS) {
+                    hits++;
+                    if (found != entry) {
+                        wrong++;
+                    }
+                }
+            }
+        }
+        return new long[] {hits, wrong};
+    }
+
+    private static long entryFor(long hash) {
+        return TranspositionTable.entry((float) (hash & 0xFFFF), (int) (hash >>> 7) & 0xFF,
+                Math.floorMod((int) (hash >>> 15), 3), (int) (hash >>> 20) & 0x7F);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        TranspositionTableCheck check = new TranspositionTableCheck();
+        check.checkGames(games);
+        check.checkEntries();
+        check.checkConcurrentTable(threads);
+        check.finish(games);
+    }
+}
@@ -0,0 +1,169 @@
+package uno;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+
+import dgui.DAnimationClock;
+import dgui.DFrame;
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.Game;
+import uno.core.Player;
+import uno.gui.UnoTableScene;
+
+/**
+ * Demo of the UNO table drawn on a single canvas
+ */
+public class UnoCanvasDemo {
+    private static final int AI_TURN_DELAY = 700;
+
+    private final Game game;
+    private final UnoTableScene scene;
+    private final Player human;
+    private Card selectedCard = null;
+
+    /**
+     * Create the demo window and start a game
+     */
+    public UnoCanvasDemo() {
+        game = new Game();
+        human = new Player("Player", false);
+        game.addPlayer(human);
+        game.addPlayer(new Player("AI 1", true));
+        game.addPlayer(new Player("AI 2", true));
+        game.addPlayer(new Player("AI 3", true));
+        game.start();
+
+        scene = new UnoTableScene(game);
+        scene.setCardClickListener(this::handleCardClick);
+        scene.setDeckClickListener(this::handleDeckClick);
+        scene.getCanvas().setPreferredSize(new Dimension(1000, 700));
+
+        DFrame frame = new DFrame("UNO - Canvas");
+        frame.getContentPane().add(scene.getCanvas().getComponent(), BorderLayout.CENTER);
+        frame.pack();
+        frame.centerOnScreen();
+        frame.setVisible(true);
+
+        refresh();
+        playAITurns();
+    }
+
+    /**
+     * Select a card, or play it if it was already selected
+     */
+    private void handleCardClick(Card card) {
+        if (!isHumanTurn()) {
+            return;
+        }
+        if (card != selectedCard) {
+            selectedCard = card;
+            scene.setSelectedCard(card);
+            refresh();
+            return;
+        }
+        if (!card.canPlayOn(game.getTopCard())) {
+            scene.setStatus("That card cannot be played");
+            return;
+        }
+        if (card.isWild()) {
+            card.setColor(chooseColor(human));
+        }
+        selectedCard = null;
+        game.playCard(card);
+        refresh();
+        playAITurns();
+    }
+
+    /**
+     * Draw a card and pass the turn
+     */
+    private void handleDeckClick() {
+        if (!isHumanTurn()) {
+            return;
+        }
+        selectedCard = null;
+        game.drawCard(human);
+        game.advanceToNextPlayer();
+        refresh();
+        playAITurns();
+    }
+
+    /**
+     * Play the AI turns one after the other until it is the human's turn
+     */
+    private void playAITurns() {
+        if (game.isGameEnded() || isHumanTurn()) {
+            return;
+        }
+        DAnimationClock.getInstance().delay(AI_TURN_DELAY).getCompletion().thenRun(() -> {
+            if (game.isGameEnded()) {
+                return;
+            }
+            Player player = game.getCurrentPlayer();
+            Card card = player.getPlayableCard(game.getTopCard());
+            if (card != null) {
+                if (card.isWild()) {
+                    card.setColor(chooseColor(player));
+                }
+                game.playCard(card);
+            } else {
+                game.drawCard(player);
+                game.advanceToNextPlayer();
+            }
+            refresh();
+            playAITurns();
+        });
+    }
+
+    /**
+     * Pick the color the player holds the most
+     */
+    private CardColor chooseColor(Player player) {
+        CardColor[] colors = {CardColor.RED, CardColor.GREEN, CardColor.BLUE, CardColor.YELLOW};
+        int[] counts = new int[colors.length];
+        for (Card card : player.getHand()) {
+            for (int i = 0; i < colors.length; i++) {
+                if (card.getColor() == colors[i]) {
+                    counts[i]++;
+                }
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < colors.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        return colors[best];
+    }
+
+    /**
+     * Check if the human player is to play
+     */
+    private boolean isHumanTurn() {
+        return !game.isGameEnded() && game.getCurrentPlayer() == human;
+    }
+
+    /**
+     * Update the scene and the status line from the game
+     */
+    private void refresh() {
+        scene.update();
+        scene.setSelectedCard(selectedCard);
+        if (game.isGameEnded()) {
+            scene.setStatus("Game over");
+        } else if (isHumanTurn()) {
+            scene.setStatus(selectedCard != null ? "Click again to play, or draw" : "Your turn");
+        } else {
+            scene.setStatus(game.getCurrentPlayer().getName() + " is playing...");
+        }
+    }
+
+    /**
+     * Entry point of the demo
+     */
+    public static void main(String[] args) {
+        javax.swing.SwingUtilities.invokeLater(UnoCanvasDemo::new);
+    }
+}
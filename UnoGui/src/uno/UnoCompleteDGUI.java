@@ -3,11 +3,24 @@ package uno;
 import dgui.DFrame;
 import dgui.DFocusTraversalPolicy;
 import dgui.themes.DTheme;
+import uno.ai.BatchedInference;
+import uno.ai.OpeningBook;
+import uno.ai.PolicyNetwork;
 import uno.core.Game;
 import uno.core.Player;
+import uno.gui.AITurnScheduler;
 import uno.gui.DWoodGamePanel;
+import uno.gui.EndgameStrategy;
+import uno.gui.IsmctsStrategy;
+import uno.gui.OpeningBookStrategy;
+import uno.gui.PolicyStrategy;
 import uno.gui.SoundManager;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Enhanced UNO game with wood-themed graphics and improved UI
  * Fixed layout issues and enhanced appearance
@@ -28,10 +41,38 @@ public class UnoCompleteDGUI {
     // Sound manager
     private SoundManager soundManager;
     
+    // Demo mode: AI players only, played in turbo mode
+    private final boolean demoMode;
+    
+    // Strategy of the AI players
+    private final AITurnScheduler.Strategy aiStrategy;
+    
     /**
      * Constructor
      */
     public UnoCompleteDGUI() {
+        this(false);
+    }
+    
+    /**
+     * Constructor
+     *
+     * @param demoMode true to let four AI players play against each other
+     */
+    public UnoCompleteDGUI(boolean demoMode) {
+        this(demoMode, AITurnScheduler.FIRST_PLAYABLE);
+    }
+    
+    /**
+     * Constructor
+     *
+     * @param demoMode true to let four AI players play against each other
+     * @param aiStrategy strategy of the AI players
+     */
+    public UnoCompleteDGUI(boolean demoMode, AITurnScheduler.Strategy aiStrategy) {
+        this.demoMode = demoMode;
+        this.aiStrategy = aiStrategy;
+        
         // Create the game
         createGame();
         
@@ -49,7 +90,7 @@ public class UnoCompleteDGUI {
         game = new Game();
         
         // Add players
-        game.addPlayer(new Player("TheLegend27", false)); // Human player
+        game.addPlayer(new Player("TheLegend27", demoMode)); // Human player, AI in demo mode
         game.addPlayer(new Player("Daenerys Targaryen", true));  // AI player
         game.addPlayer(new Player("Forrest Gump", true));   // AI North
         game.addPlayer(new Player("Hannibal Lecter", true)); // AI player
@@ -68,7 +109,7 @@ public class UnoCompleteDGUI {
         DFocusTraversalPolicy focusPolicy = new DFocusTraversalPolicy();
         
         // Create the enhanced game panel
-        gamePanel = new DWoodGamePanel(game);
+        gamePanel = new DWoodGamePanel(game, aiStrategy);
         
         // Configure focus traversal policy
         frame.getComponent().setFocusTraversalPolicy(focusPolicy);
@@ -111,8 +152,33 @@ public class UnoCompleteDGUI {
      * Program entry point
      */
     public static void main(String[] args) {
-        // Create and start game
-        UnoCompleteDGUI game = new UnoCompleteDGUI();
+        // Create and start game; --demo lets the AI players play alone,
+        // --ismcts makes them search their moves instead of playing the first playable card,
+        // --policy <file> makes them play the moves of a trained policy network,
+        // --book <file> makes them play their first move from an opening book;
+        // whatever the strategy, the AI players solve the endgame
+        List<String> options = Arrays.asList(args);
+        boolean demoMode = options.contains("--demo");
+        AITurnScheduler.Strategy aiStrategy = options.contains("--ismcts")
+                ? new IsmctsStrategy() : AITurnScheduler.FIRST_PLAYABLE;
+        int policyOption = options.indexOf("--policy");
+        if (policyOption >= 0 && policyOption + 1 < args.length) {
+            try {
+                PolicyNetwork network = PolicyNetwork.load(Paths.get(args[policyOption + 1]));
+                aiStrategy = new PolicyStrategy(new BatchedInference(network));
+            } catch (IOException e) {
+                System.err.println("Error loading policy network: " + e.getMessage());
+            }
+        }
+        int bookOption = options.indexOf("--book");
+        if (bookOption >= 0 && bookOption + 1 < args.length) {
+            try {
+                aiStrategy = new OpeningBookStrategy(OpeningBook.load(Paths.get(args[bookOption + 1])), aiStrategy);
+            } catch (IOException e) {
+                System.err.println("Error loading opening book: " + e.getMessage());
+            }
+        }
+        UnoCompleteDGUI game = new UnoCompleteDGUI(demoMode, new EndgameStrategy(aiStrategy));
         game.startGame();
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package uno.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates a policy network for every table playing at the same time, in
+ * batches. Threads submit the features of a position and wait for its logits;
+ * a single inference thread takes all the positions queued, up to the batch
+ * size, and runs them through the network in one matrix multiply per layer.
+ * <p>
+ * Nothing waits for a batch to fill: a position submitted while the network
+ * is busy joins the next batch, so batches grow with the number of tables
+ * and a lone table is answered at once.
+ */
+public final class BatchedInference implements AutoCloseable {
+    public static final int DEFAULT_MAX_BATCH = 64;
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private final PolicyNetwork network;
+    private final int maxBatch;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    // Written by the inference thread only
+    private volatile long batches;
+    private volatile long evaluations;
+
+    public BatchedInference(PolicyNetwork network) {
+        this(network, DEFAULT_MAX_BATCH);
+    }
+
+    public BatchedInference(PolicyNetwork network, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + maxBatch);
+        }
+        this.network = network;
+        this.maxBatch = maxBatch;
+        this.thread = new Thread(this::run, "uno-inference-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public PolicyNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * Queue a position for the next batch
+     *
+     * @param features getInputSize() values, not modified until the result is ready
+     * @return the logits of the actions
+     */
+    public CompletableFuture<float[]> submit(float[] features) {
+        if (features.length != network.getInputSize()) {
+            throw new IllegalArgumentException("Expected " + network.getInputSize() + " features, got "
+                    + features.length);
+        }
+        Request request = new Request(features);
+        queue.add(request);
+        if (closed) {
+            // The inference thread may have stopped before the request was queued
+            request.result.completeExceptionally(new IllegalStateException("Inference engine closed"));
+        }
+        return request.result;
+    }
+
+    /**
+     * Evaluate a position, waiting for the batch it joins
+     */
+    public float[] evaluate(float[] features) {
+        return submit(features).join();
+    }
+
+    /**
+     * Get the number of batches evaluated so far
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Get the number of positions evaluated so far
+     */
+    public long getEvaluationCount() {
+        return evaluations;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    private void run() {
+        int in = network.getInputSize();
+        int out = network.getOutputSize();
+        float[] input = new float[maxBatch * in];
+        float[][] activations = network.newActivations(maxBatch);
+        List<Request> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                for (int row = 0; row < batch.size(); row++) {
+                    System.arraycopy(batch.get(row).features, 0, input, row * in, in);
+                }
+                float[] logits;
+                try {
+                    logits = network.forward(input, batch.size(), activations);
+                } catch (RuntimeException e) {
+                    for (Request request : batch) {
+                        request.result.completeExceptionally(e);
+                    }
+                    batch.clear();
+                    continue;
+                }
+                batches++;
+                evaluations += batch.size();
+                for (int row = 0; row < batch.size(); row++) {
+                    float[] result = new float[out];
+                    System.arraycopy(logits, row * out, result, 0, out);
+                    batch.get(row).result.complete(result);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+        IllegalStateException closedException = new IllegalStateException("Inference engine closed");
+        for (Request request : batch) {
+            request.result.completeExceptionally(closedException);
+        }
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.result.completeExceptionally(closedException);
+        }
+    }
+
+    private static final class Request {
+        final float[] features;
+        final CompletableFuture<float[]> result = new CompletableFuture<>();
+
+        Request(float[] features) {
+            this.features = features;
+        }
+    }
+}
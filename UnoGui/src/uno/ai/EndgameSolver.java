@@ -0,0 +1,587 @@
+package uno.ai;
+
+import uno.core.GameView;
+import uno.core.TranspositionTable;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static uno.core.GameView.ACTION_COUNT;
+import static uno.core.GameView.COLORED_KINDS;
+import static uno.core.GameView.DRAW_ACTION;
+import static uno.core.GameView.KIND_COUNT;
+import static uno.core.GameView.WILD_ACTION;
+import static uno.core.GameView.WILD_DRAW_FOUR_ACTION;
+import static uno.core.GameView.WILD_DRAW_FOUR_KIND;
+import static uno.core.GameView.WILD_KIND;
+
+/**
+ * Expectimax solver for positions where few cards are left in the hands.
+ * Every way the hidden cards can be dealt to the other players is
+ * enumerated, weighted by the number of unseen cards of each kind and by the
+ * hand inference of the view; in each deal the player's moves are maximized
+ * and the other players' moves are chance nodes following the policy of the
+ * play-outs (a uniform playable colored card, wild cards last). The move
+ * chosen has the best win probability summed over the deals.
+ * <p>
+ * The tree is solved by iterative deepening, two plies more at each pass,
+ * until the deadline or until no line reaches the horizon, and the move of
+ * the last complete pass is played. Drawn cards are not enumerated: a draw,
+ * or a penalty, ends the line, valued like lines reaching the horizon by an
+ * estimate from the hand sizes (and for a draw, the chance that the drawn
+ * card can be played). Every other line is solved to its end: as each ply
+ * plays a card, no line is longer than the cards in the hands.
+ * <p>
+ * Values are memoized in a transposition table keyed on a Zobrist hash of the
+ * compact state (cards of each hand and of the discard pile by kind, top
+ * card, turn and direction; the deck is what is left), kept from move to
+ * move; a value no line of which reached the horizon holds at any depth.
+ * Deals are solved in parallel by fork/join tasks, and the solve gives up at
+ * its deadline.
+ */
+public final class EndgameSolver {
+    /** The solver only runs when the hands hold this many cards or fewer in total */
+    public static final int MAX_HAND_CARDS = 14;
+
+    private static final int MAX_DEALS = 4096;
+    private static final int MAX_PLIES = MAX_HAND_CARDS;
+    private static final int PLIES_STEP = 2;
+    private static final int MAX_SEATS = 10;
+    private static final int MAX_COPIES = 4;
+    private static final int DEALS_PER_TASK = 16;
+    private static final int DEADLINE_CHECK_NODES = 256;
+    private static final int MEMO_CAPACITY = 1 << 20;
+
+    // Zobrist keys: a kind held n times by a seat (or the discard pile, after the seats)
+    private static final long[] CARD_KEYS = new long[(MAX_SEATS + 1) * KIND_COUNT * (MAX_COPIES + 1)];
+    private static final long[] TOP_KIND_KEYS = new long[KIND_COUNT];
+    private static final long[] TOP_COLOR_KEYS = new long[4];
+    private static final long[] CURRENT_KEYS = new long[MAX_SEATS];
+    private static final long[] SOLVER_KEYS = new long[MAX_SEATS];
+    private static final long COUNTER_CLOCKWISE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x454E4447414D45L);
+        fill(CARD_KEYS, random);
+        fill(TOP_KIND_KEYS, random);
+        fill(TOP_COLOR_KEYS, random);
+        fill(CURRENT_KEYS, random);
+        fill(SOLVER_KEYS, random);
+        COUNTER_CLOCKWISE_KEY = random.nextLong();
+    }
+
+    private final ForkJoinPool pool;
+    private final TranspositionTable memo = new TranspositionTable(MEMO_CAPACITY);
+
+    private double lastValue;
+    private long lastNodes;
+    private int lastDeals;
+    private int lastPlies;
+    private boolean lastExact;
+
+    /**
+     * @param threads number of threads solving deals in parallel
+     */
+    public EndgameSolver(int threads) {
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Tell whether a position is small enough to solve: few cards in the
+     * hands and few ways to deal the hidden cards
+     */
+    public boolean isEndgame(GameView view) {
+        if (view.getPlayerCount() > MAX_SEATS || view.getCurrentSeat() != view.getSeat()) {
+            return false;
+        }
+        int cards = 0;
+        for (int seat = 0; seat < view.getPlayerCount(); seat++) {
+            cards += view.getHandSize(seat);
+        }
+        if (cards > MAX_HAND_CARDS) {
+            return false;
+        }
+        int[] hidden = new int[KIND_COUNT];
+        SimState.fromView(view, hidden);
+        int kinds = 0;
+        for (int count : hidden) {
+            if (count > 0) {
+                kinds++;
+            }
+        }
+        // Multisets of hand size among the kinds, an upper bound of the deals
+        double deals = 1;
+        for (int seat = 0; seat < view.getPlayerCount(); seat++) {
+            if (seat != view.getSeat()) {
+                for (int i = 0; i < view.getHandSize(seat); i++) {
+                    deals = deals * (kinds + i) / (i + 1);
+                }
+            }
+        }
+        return deals <= MAX_DEALS;
+    }
+
+    /**
+     * Solve the position of the player on turn
+     *
+     * @param deadlineNanos System.nanoTime() at which to give up
+     * @return the GameView action with the best win probability, or -1 if the
+     *         position is not an endgame or the solve did not finish in time
+     */
+    public synchronized int solve(GameView view, long deadlineNanos) {
+        if (!isEndgame(view)) {
+            return -1;
+        }
+        int[] hidden = new int[KIND_COUNT];
+        SimState known = SimState.fromView(view, hidden);
+        int hiddenCount = 0;
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            known.deck[kind] = hidden[kind];
+            hiddenCount += hidden[kind];
+        }
+        known.deckSize = hiddenCount;
+
+        Solve solve = new Solve(view, known, deadlineNanos);
+        solve.enumerate(0, 0, 0, 1.0, hidden);
+        if (solve.dealCount == 0 || solve.dealCount > MAX_DEALS) {
+            return -1;
+        }
+
+        long legal = view.getLegalActions();
+        int best = -1;
+        lastPlies = 0;
+        lastDeals = solve.dealCount;
+        for (int plies = PLIES_STEP; plies <= MAX_PLIES; plies += PLIES_STEP) {
+            solve.horizonReached = false;
+            double[] values = pool.invoke(new DealTask(solve, legal, 0, solve.dealCount, plies));
+            if (solve.aborted) {
+                break;
+            }
+            best = Long.numberOfTrailingZeros(legal);
+            for (long actions = legal; actions != 0; actions &= actions - 1) {
+                int action = Long.numberOfTrailingZeros(actions);
+                if (values[action] > values[best]) {
+                    best = action;
+                }
+            }
+            lastValue = values[best] / solve.totalWeight;
+            lastPlies = plies;
+            lastExact = !solve.horizonReached;
+            if (lastExact) {
+                break; // Deeper passes would find the same values
+            }
+        }
+        lastNodes = solve.nodes;
+        return best;
+    }
+
+    /**
+     * Get the win probability of the move chosen by the last solve
+     */
+    public synchronized double getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * Get the horizon of the last complete pass of the last solve, 0 if none
+     * completed
+     */
+    public synchronized int getLastPlies() {
+        return lastPlies;
+    }
+
+    /**
+     * Tell whether the last solve reached the end of every line, but for the
+     * draws it does not enumerate
+     */
+    public synchronized boolean isLastExact() {
+        return lastExact;
+    }
+
+    /**
+     * Get the number of positions valued by the last solve
+     */
+    public synchronized long getLastNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * Get the number of deals enumerated by the last solve
+     */
+    public synchronized int getLastDeals() {
+        return lastDeals;
+    }
+
+    /**
+     * One solve: the known state, the deals of the hidden cards and their
+     * weights, and the deadline shared by the tasks
+     */
+    private static final class Solve {
+        final SimState known;
+        final int me;
+        final int[] handSizes;
+        final int dealSize;
+        final float[] weights;
+        final long deadline;
+        int[] deals = new int[64];
+        double[] dealWeights = new double[8];
+        int dealCount;
+        double totalWeight;
+        final int[] dealing;
+        volatile boolean aborted;
+        volatile boolean horizonReached;
+        long nodes;
+
+        Solve(GameView view, SimState known, long deadline) {
+            this.known = known;
+            this.me = view.getSeat();
+            this.deadline = deadline;
+            int players = view.getPlayerCount();
+            handSizes = new int[players];
+            weights = new float[players * KIND_COUNT];
+            int size = 0;
+            for (int seat = 0; seat < players; seat++) {
+                if (seat != me) {
+                    handSizes[seat] = view.getHandSize(seat);
+                    size += handSizes[seat];
+                }
+                for (int kind = 0; kind < KIND_COUNT; kind++) {
+                    weights[seat * KIND_COUNT + kind] = view.getHandWeight(seat, kind);
+                }
+            }
+            dealSize = size;
+            dealing = new int[size];
+        }
+
+        /**
+         * Enumerate the deals: each hand is a non-decreasing sequence of kinds,
+         * weighted by the ways to pick its cards among the unseen ones times
+         * their inferred weight
+         */
+        void enumerate(int seat, int card, int minKind, double weight, int[] hidden) {
+            if (seat == handSizes.length) {
+                addDeal(weight);
+                return;
+            }
+            if (seat == me || card == handSizes[seat]) {
+                enumerate(seat + 1, 0, 0, weight, hidden);
+                return;
+            }
+            int position = cardPosition(seat, card);
+            for (int kind = minKind; kind < KIND_COUNT && dealCount <= MAX_DEALS; kind++) {
+                if (hidden[kind] == 0) {
+                    continue;
+                }
+                int copies = 1;
+                while (copies <= card && dealing[position - copies] == kind) {
+                    copies++;
+                }
+                double factor = (double) hidden[kind] / copies * weights[seat * KIND_COUNT + kind];
+                dealing[position] = kind;
+                hidden[kind]--;
+                enumerate(seat, card + 1, kind, weight * factor, hidden);
+                hidden[kind]++;
+            }
+        }
+
+        private int cardPosition(int seat, int card) {
+            int position = card;
+            for (int other = 0; other < seat; other++) {
+                position += handSizes[other];
+            }
+            return position;
+        }
+
+        private void addDeal(double weight) {
+            if (dealCount == MAX_DEALS) {
+                dealCount++; // Too many: the solve is given up
+                return;
+            }
+            if ((dealCount + 1) * dealSize > deals.length) {
+                deals = Arrays.copyOf(deals, deals.length * 2 + dealSize);
+            }
+            if (dealCount == dealWeights.length) {
+                dealWeights = Arrays.copyOf(dealWeights, dealCount * 2);
+            }
+            System.arraycopy(dealing, 0, deals, dealCount * dealSize, dealSize);
+            dealWeights[dealCount++] = weight;
+            totalWeight += weight;
+        }
+    }
+
+    /**
+     * Solves a range of deals, splitting it in halves down to a few deals per
+     * task; the result is the win probability of each root action summed over
+     * the deals, weighted
+     */
+    private final class DealTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Solve solve;
+        private final long legal;
+        private final int from;
+        private final int to;
+        private final int plies;
+
+        DealTask(Solve solve, long legal, int from, int to, int plies) {
+            this.solve = solve;
+            this.legal = legal;
+            this.from = from;
+            this.to = to;
+            this.plies = plies;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > DEALS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                DealTask right = new DealTask(solve, legal, middle, to, plies);
+                right.fork();
+                double[] values = new DealTask(solve, legal, from, middle, plies).compute();
+                double[] rightValues = right.join();
+                for (int action = 0; action < ACTION_COUNT; action++) {
+                    values[action] += rightValues[action];
+                }
+                return values;
+            }
+            double[] values = new double[ACTION_COUNT];
+            Search search = new Search(solve);
+            for (int deal = from; deal < to && !solve.aborted; deal++) {
+                search.deal(deal);
+                double weight = solve.dealWeights[deal];
+                for (long actions = legal; actions != 0; actions &= actions - 1) {
+                    int action = Long.numberOfTrailingZeros(actions);
+                    values[action] += weight * search.actionValue(0, action, plies);
+                }
+            }
+            if (search.horizonReached) {
+                solve.horizonReached = true;
+            }
+            synchronized (solve) {
+                solve.nodes += search.nodes;
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Depth-first expectimax of one task, with a state per level
+     */
+    private final class Search {
+        final Solve solve;
+        final int me;
+        final SimState[] stack = new SimState[MAX_PLIES + 1];
+        long nodes;
+        // Whether a line valued since it was last cleared was cut by the horizon
+        boolean horizonReached;
+
+        Search(Solve solve) {
+            this.solve = solve;
+            this.me = solve.me;
+            for (int i = 0; i < stack.length; i++) {
+                stack[i] = new SimState(solve.known.players, null);
+            }
+        }
+
+        /**
+         * Set the first level to the known state with a deal of the hidden cards
+         */
+        void deal(int deal) {
+            SimState state = stack[0];
+            state.copyFrom(solve.known);
+            int offset = deal * solve.dealSize;
+            int position = 0;
+            for (int seat = 0; seat < state.players; seat++) {
+                for (int i = 0; i < solve.handSizes[seat]; i++) {
+                    state.drawKind(seat, solve.deals[offset + position++]);
+                }
+            }
+        }
+
+        /**
+         * Win probability of the solving player from the state at a level
+         */
+        double value(int level, int plies) {
+            SimState state = stack[level];
+            if (state.winner >= 0) {
+                return state.winner == me ? 1 : 0;
+            }
+            if (plies == 0) {
+                horizonReached = true;
+                return estimate(state, state.current, -1, 0, -1, 0);
+            }
+            if (++nodes % DEADLINE_CHECK_NODES == 0 && System.nanoTime() > solve.deadline) {
+                solve.aborted = true;
+            }
+            if (solve.aborted) {
+                return 0;
+            }
+            long hash = hash(state);
+            long entry = memo.probe(hash);
+            if (entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= plies) {
+                if (TranspositionTable.depth(entry) < TranspositionTable.MAX_DEPTH) {
+                    horizonReached = true;
+                }
+                return TranspositionTable.value(entry);
+            }
+
+            boolean outerHorizonReached = horizonReached;
+            horizonReached = false;
+            double value;
+            if (state.current == me) {
+                value = 0;
+                for (long actions = state.legalActions(); actions != 0; actions &= actions - 1) {
+                    value = Math.max(value, actionValue(level, Long.numberOfTrailingZeros(actions), plies));
+                }
+            } else {
+                value = policyValue(level, plies);
+            }
+            if (!solve.aborted) {
+                memo.store(hash, TranspositionTable.entry((float) value,
+                        horizonReached ? plies : TranspositionTable.MAX_DEPTH,
+                        TranspositionTable.EXACT, TranspositionTable.NO_MOVE));
+            }
+            horizonReached |= outerHorizonReached;
+            return value;
+        }
+
+        /**
+         * Expected value of the play-out policy of another player: a uniform
+         * playable colored kind, else a wild card in their best color, else a draw
+         */
+        private double policyValue(int level, int plies) {
+            SimState state = stack[level];
+            int base = state.current * KIND_COUNT;
+            double total = 0;
+            int count = 0;
+            for (int kind = 0; kind < COLORED_KINDS; kind++) {
+                if (state.hands[base + kind] > 0 && state.isPlayable(kind)) {
+                    total += actionValue(level, kind, plies);
+                    count++;
+                }
+            }
+            if (count > 0) {
+                return total / count;
+            }
+            int color = state.bestColor(state.current);
+            if (state.hands[base + WILD_KIND] > 0) {
+                return actionValue(level, WILD_ACTION + color, plies);
+            }
+            if (state.hands[base + WILD_DRAW_FOUR_KIND] > 0) {
+                return actionValue(level, WILD_DRAW_FOUR_ACTION + color, plies);
+            }
+            return actionValue(level, DRAW_ACTION, plies);
+        }
+
+        /**
+         * Value of an action of the player on turn at a level
+         */
+        double actionValue(int level, int action, int plies) {
+            if (action == DRAW_ACTION) {
+                return drawValue(level);
+            }
+            int kind = GameView.actionKind(action);
+            int color = action < COLORED_KINDS ? action / 13 : (action - WILD_ACTION) % 4;
+            return playValue(level, kind, color, plies);
+        }
+
+        private double playValue(int level, int kind, int color, int plies) {
+            SimState state = stack[level];
+            int seat = state.current;
+            boolean penalty = kind == WILD_DRAW_FOUR_KIND || (kind < COLORED_KINDS && kind % 13 == 12);
+            if (penalty && state.handSizes[seat] > 1) {
+                // The cards of the penalty are not enumerated
+                int victim = state.nextSeat(seat);
+                return estimate(state, state.nextSeat(victim), seat, -1, victim,
+                        kind == WILD_DRAW_FOUR_KIND ? 4 : 2);
+            }
+            SimState child = stack[level + 1];
+            child.copyFrom(state);
+            child.apply(kind < COLORED_KINDS ? kind
+                    : (kind == WILD_KIND ? WILD_ACTION : WILD_DRAW_FOUR_ACTION) + color);
+            return value(level + 1, plies - 1);
+        }
+
+        /**
+         * Value of a draw, which ends the line: the drawn card is played if it
+         * can be, with the chance of that among the cards of the deck
+         */
+        private double drawValue(int level) {
+            SimState state = stack[level];
+            int seat = state.current;
+            int next = state.nextSeat(seat);
+            if (state.pendingDraw > 0 || state.deckSize == 0) {
+                return estimate(state, next, seat, state.pendingDraw, -1, 0);
+            }
+            int playable = 0;
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                if (state.deck[kind] > 0 && state.isPlayable(kind)) {
+                    playable += state.deck[kind];
+                }
+            }
+            return (playable * estimate(state, next, -1, 0, -1, 0)
+                    + (state.deckSize - playable) * estimate(state, next, seat, 1, -1, 0)) / state.deckSize;
+        }
+
+        /**
+         * Estimate the win probability of the solving player from the hand
+         * sizes, changed by deltas for up to two seats: each player's chance is
+         * taken inversely proportional to their hand, the player on turn
+         * counting half a card less
+         */
+        private double estimate(SimState state, int toMove, int seat1, int delta1, int seat2, int delta2) {
+            double mine = 0;
+            double total = 0;
+            for (int seat = 0; seat < state.players; seat++) {
+                double size = state.handSizes[seat];
+                if (seat == seat1) {
+                    size += delta1;
+                }
+                if (seat == seat2) {
+                    size += delta2;
+                }
+                if (seat == toMove) {
+                    size -= 0.5;
+                }
+                double chance = 1 / Math.max(size, 0.5);
+                total += chance;
+                if (seat == me) {
+                    mine = chance;
+                }
+            }
+            return mine / total;
+        }
+
+        private long hash(SimState state) {
+            long hash = SOLVER_KEYS[me] ^ CURRENT_KEYS[state.current]
+                    ^ TOP_KIND_KEYS[state.topKind] ^ TOP_COLOR_KEYS[state.topColor];
+            if (!state.clockwise) {
+                hash ^= COUNTER_CLOCKWISE_KEY;
+            }
+            for (int seat = 0; seat < state.players; seat++) {
+                hash ^= cardsHash(state.hands, seat * KIND_COUNT, seat);
+            }
+            return hash ^ cardsHash(state.discard, 0, MAX_SEATS);
+        }
+
+        private long cardsHash(int[] counts, int offset, int location) {
+            long hash = 0;
+            int base = location * KIND_COUNT * (MAX_COPIES + 1);
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                int count = counts[offset + kind];
+                if (count > 0) {
+                    hash ^= CARD_KEYS[base + kind * (MAX_COPIES + 1) + Math.min(count, MAX_COPIES)];
+                }
+            }
+            return hash;
+        }
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package uno.ai;
+
+import uno.core.Card;
+import uno.core.CardValue;
+import uno.core.GameView;
+
+import java.util.Arrays;
+
+/**
+ * Encodes what a player sees of a game as the input of a policy network.
+ * All features are raw counts or 0/1 flags:
+ * <ul>
+ * <li>0-3: cards of each color in the hand, wild cards excluded</li>
+ * <li>4-18: cards of each value in the hand</li>
+ * <li>19-22: color of the top card, chosen color for a wild card</li>
+ * <li>23-37: value of the top card</li>
+ * <li>38-40: card counts of the next three players in the order of play</li>
+ * <li>41: 1 if play goes clockwise</li>
+ * <li>42: cards of a stacked penalty the player must draw or stack on</li>
+ * </ul>
+ */
+public final class FeatureEncoder {
+    public static final int OPPONENTS = 3;
+
+    private static final int COLORS = 4;
+    private static final int VALUES = CardValue.values().length;
+    private static final int HAND_COLOR = 0;
+    private static final int HAND_VALUE = HAND_COLOR + COLORS;
+    private static final int TOP_COLOR = HAND_VALUE + VALUES;
+    private static final int TOP_VALUE = TOP_COLOR + COLORS;
+    private static final int OPPONENT_CARDS = TOP_VALUE + VALUES;
+    private static final int CLOCKWISE = OPPONENT_CARDS + OPPONENTS;
+    private static final int PENDING_DRAW = CLOCKWISE + 1;
+
+    public static final int FEATURE_COUNT = PENDING_DRAW + 1;
+
+    private FeatureEncoder() {
+    }
+
+    public static float[] encode(GameView view) {
+        float[] features = new float[FEATURE_COUNT];
+        encode(view, features, 0);
+        return features;
+    }
+
+    /**
+     * Write the features of a view into a row of a batch
+     */
+    public static void encode(GameView view, float[] features, int offset) {
+        Arrays.fill(features, offset, offset + FEATURE_COUNT, 0);
+        for (Card card : view.getHand()) {
+            if (!card.isWild()) {
+                int color = GameView.colorIndex(card.getColor());
+                if (color >= 0) {
+                    features[offset + HAND_COLOR + color]++;
+                }
+            }
+            if (card.getValue() != null) {
+                features[offset + HAND_VALUE + card.getValue().ordinal()]++;
+            }
+        }
+
+        Card topCard = view.getTopCard();
+        if (topCard != null) {
+            int color = GameView.colorIndex(topCard.getColor());
+            if (color < 0) {
+                color = GameView.colorIndex(topCard.getChosenColor());
+            }
+            if (color >= 0) {
+                features[offset + TOP_COLOR + color] = 1;
+            }
+            if (topCard.getValue() != null) {
+                features[offset + TOP_VALUE + topCard.getValue().ordinal()] = 1;
+            }
+        }
+
+        int players = view.getPlayerCount();
+        int step = view.isClockwise() ? 1 : players - 1;
+        int seat = view.getSeat();
+        for (int i = 0; i < OPPONENTS && i < players - 1; i++) {
+            seat = (seat + step) % players;
+            features[offset + OPPONENT_CARDS + i] = view.getHandSize(seat);
+        }
+        features[offset + CLOCKWISE] = view.isClockwise() ? 1 : 0;
+        features[offset + PENDING_DRAW] = view.getPendingDrawCount();
+    }
+}
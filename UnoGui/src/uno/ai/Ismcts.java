@@ -0,0 +1,508 @@
+package uno.ai;
+
+import uno.core.GameView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static uno.core.GameView.DRAW_ACTION;
+import static uno.core.GameView.KIND_COUNT;
+
+/**
+ * Information set Monte Carlo tree search (single observer): every
+ * iteration deals the cards the player cannot see at random, consistently
+ * with the view (their own hand, the discard pile and the number of cards of
+ * each player), then descends a single tree shared by all these deals,
+ * choosing among the actions legal in the deal at hand.
+ * <p>
+ * Deals follow the {@link uno.core.HandInference} of the view: a player who
+ * drew instead of playing is dealt fewer cards of the color and value they
+ * passed on. Each player has an alias table of the hidden cards weighted for
+ * them, built once per move: a card is dealt in constant time by drawing
+ * from it until a card not dealt yet comes up.
+ * <p>
+ * The search is root-parallel: each worker thread grows its own tree for the
+ * time budget, and the visits of the root actions are summed to choose the
+ * move. Trees are kept per seat between moves: at the next move of a seat,
+ * each tree follows the moves played since then from its old root, and the
+ * subtree reached becomes the new root, with its statistics.
+ */
+public final class Ismcts {
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+    private static final int MAX_NODES = 1 << 16;
+    private static final int MAX_PLAYOUT_MOVES = 400;
+    private static final double EXPLORATION = 0.7;
+    // Draws of cards already dealt before a deal falls back to a scan
+    private static final int MAX_REJECTIONS = 32;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private final long budgetNanos;
+    private final Worker[] workers;
+    private final ExecutorService executor;
+    private final boolean handInference;
+
+    // Trees by seat and worker, valid for the deal of gameId
+    private Tree[][] trees = new Tree[0][];
+    private long gameId = -1;
+
+    private long lastIterations;
+    private long lastReusedVisits;
+
+    /**
+     * Create a search using every processor
+     */
+    public Ismcts(long budgetMillis) {
+        this(budgetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a search
+     *
+     * @param budgetMillis time searched for each move
+     * @param threads number of trees searched in parallel, the calling thread included
+     */
+    public Ismcts(long budgetMillis, int threads) {
+        this(budgetMillis, threads, true);
+    }
+
+    /**
+     * Create a search
+     *
+     * @param budgetMillis time searched for each move
+     * @param threads number of trees searched in parallel, the calling thread included
+     * @param handInference whether deals follow the hand inference of the view,
+     *                      or deal the unseen cards uniformly
+     */
+    public Ismcts(long budgetMillis, int threads, boolean handInference) {
+        if (budgetMillis <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Invalid budget or thread count: " + budgetMillis + ", " + threads);
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.handInference = handInference;
+        this.workers = new Worker[threads];
+        long seed = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(new SplittableRandom(seed + i));
+        }
+        this.executor = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, r -> {
+            Thread thread = new Thread(r, "uno-ismcts-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Choose the move of the player the view belongs to, who must be on turn
+     *
+     * @return a GameView action: a card kind to play with its color, or DRAW_ACTION
+     */
+    public synchronized int chooseAction(GameView view) {
+        Root root = new Root(view, handInference);
+        Tree[] seatTrees = getTrees(view);
+        if (Long.bitCount(root.legal) == 1) {
+            // Nothing to search, but the trees follow the game to stay reusable
+            for (int i = 0; i < workers.length; i++) {
+                workers[i].advance(seatTrees[i], view);
+            }
+            lastIterations = 0;
+            lastReusedVisits = 0;
+            return Long.numberOfTrailingZeros(root.legal);
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < workers.length; i++) {
+            Worker worker = workers[i];
+            Tree tree = seatTrees[i];
+            futures.add(executor.submit(() -> worker.search(tree, root, view, deadline)));
+        }
+        workers[0].search(seatTrees[0], root, view, deadline);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // The move is no longer wanted
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            return Long.numberOfTrailingZeros(root.legal);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+
+        // Most visited root action over all trees
+        long[] visits = new long[GameView.ACTION_COUNT];
+        lastIterations = 0;
+        lastReusedVisits = 0;
+        for (int i = 0; i < workers.length; i++) {
+            Tree tree = seatTrees[i];
+            NodeArena arena = tree.arena;
+            for (int child = arena.firstChild[tree.root]; child != NodeArena.NONE; child = arena.nextSibling[child]) {
+                visits[arena.action[child]] += arena.visits[child];
+            }
+            lastIterations += workers[i].iterations;
+            lastReusedVisits += tree.reusedVisits;
+        }
+        int best = Long.numberOfTrailingZeros(root.legal);
+        for (long legal = root.legal; legal != 0; legal &= legal - 1) {
+            int action = Long.numberOfTrailingZeros(legal);
+            if (visits[action] > visits[best]) {
+                best = action;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the number of iterations of the last search, over all threads
+     */
+    public synchronized long getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Get the number of visits the trees of the last search kept from earlier moves
+     */
+    public synchronized long getLastReusedVisits() {
+        return lastReusedVisits;
+    }
+
+    private Tree[] getTrees(GameView view) {
+        if (view.getGameId() != gameId || trees.length != view.getPlayerCount()) {
+            gameId = view.getGameId();
+            trees = new Tree[view.getPlayerCount()][];
+        }
+        if (trees[view.getSeat()] == null) {
+            trees[view.getSeat()] = new Tree[workers.length];
+            for (int i = 0; i < workers.length; i++) {
+                trees[view.getSeat()][i] = new Tree();
+            }
+        }
+        return trees[view.getSeat()];
+    }
+
+    /**
+     * What is known at the root: the state without the hidden cards, the
+     * hidden cards, how to deal them to each seat, and the legal actions
+     */
+    private static final class Root {
+        final SimState known;
+        final int[] hidden;
+        final int[] hiddenCounts = new int[KIND_COUNT];
+        // By seat, the weights of the hidden cards and their alias tables
+        final float[][] weights;
+        final float[][] aliasProbabilities;
+        final int[][] aliases;
+        final long legal;
+        final int seat;
+        final int[] handSizes;
+
+        Root(GameView view, boolean handInference) {
+            seat = view.getSeat();
+            handSizes = new int[view.getPlayerCount()];
+            for (int i = 0; i < handSizes.length; i++) {
+                handSizes[i] = view.getHandSize(i);
+            }
+            known = SimState.fromView(view, hiddenCounts);
+            int count = 0;
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                count += hiddenCounts[kind];
+            }
+            hidden = new int[count];
+            count = 0;
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                for (int i = 0; i < hiddenCounts[kind]; i++) {
+                    hidden[count++] = kind;
+                }
+            }
+
+            int players = handSizes.length;
+            weights = new float[players][];
+            aliasProbabilities = new float[players][];
+            aliases = new int[players][];
+            for (int other = 0; other < players; other++) {
+                if (other == seat || hidden.length == 0) {
+                    continue;
+                }
+                weights[other] = new float[hidden.length];
+                for (int i = 0; i < hidden.length; i++) {
+                    weights[other][i] = handInference ? view.getHandWeight(other, hidden[i]) : 1f;
+                }
+                aliasProbabilities[other] = new float[hidden.length];
+                aliases[other] = new int[hidden.length];
+                buildAliasTable(weights[other], aliasProbabilities[other], aliases[other]);
+            }
+
+            // The engine's legal moves: with house rules they differ from the simulated rules
+            legal = view.getLegalActions();
+        }
+
+        /**
+         * Vose's alias method: slot i is drawn with its own probability,
+         * otherwise its alias
+         */
+        private static void buildAliasTable(float[] weights, float[] probabilities, int[] aliases) {
+            int n = weights.length;
+            double total = 0;
+            for (float weight : weights) {
+                total += weight;
+            }
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n / total;
+                if (scaled[i] < 1) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probabilities[less] = (float) scaled[less];
+                aliases[less] = more;
+                scaled[more] -= 1 - scaled[less];
+                if (scaled[more] < 1) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // Left over from rounding: drawn with certainty
+            while (largeCount > 0) {
+                int i = large[--largeCount];
+                probabilities[i] = 1;
+                aliases[i] = i;
+            }
+            while (smallCount > 0) {
+                int i = small[--smallCount];
+                probabilities[i] = 1;
+                aliases[i] = i;
+            }
+        }
+    }
+
+    /**
+     * Tree of one worker for one seat, with the length of the history at its root
+     */
+    private static final class Tree {
+        NodeArena arena = new NodeArena(MAX_NODES);
+        int root = NodeArena.NONE;
+        int historySize;
+        int reusedVisits;
+    }
+
+    /**
+     * Search thread state, reused from move to move
+     */
+    private static final class Worker {
+        final SplittableRandom random;
+        NodeArena spare = new NodeArena(MAX_NODES);
+        SimState state;
+        // Deal number at which each hidden card was last dealt to a player
+        int[] dealt = new int[0];
+        int deal;
+        long iterations;
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void search(Tree tree, Root root, GameView view, long deadline) {
+            if (state == null || state.players != root.known.players) {
+                state = new SimState(root.known.players, random);
+            }
+            if (dealt.length < root.hidden.length) {
+                dealt = new int[root.hidden.length];
+                deal = 0;
+            }
+            advance(tree, view);
+            iterations = 0;
+            do {
+                iterate(tree, root);
+                iterations++;
+            } while (System.nanoTime() < deadline);
+        }
+
+        /**
+         * Move the root of a tree along the moves played since its last search,
+         * or start a new tree if a move was never explored
+         */
+        void advance(Tree tree, GameView view) {
+            NodeArena arena = tree.arena;
+            int node = tree.root;
+            if (node != NodeArena.NONE && tree.historySize <= view.getHistorySize()) {
+                int drawingSeat = -1;
+                for (int i = tree.historySize; i < view.getHistorySize() && node != NodeArena.NONE; i++) {
+                    int entry = view.getHistoryEntry(i);
+                    int seat = GameView.entrySeat(entry);
+                    int action = GameView.entryAction(entry);
+                    if (seat == drawingSeat && action != DRAW_ACTION) {
+                        // The drawn card was played: part of the draw for the search
+                        drawingSeat = -1;
+                        continue;
+                    }
+                    drawingSeat = action == DRAW_ACTION ? seat : -1;
+                    node = arena.findChild(node, action, seat);
+                }
+            } else {
+                node = NodeArena.NONE;
+            }
+
+            if (node == NodeArena.NONE) {
+                tree.root = arena.newRoot();
+            } else if (node != tree.root) {
+                tree.root = arena.copySubtree(node, spare);
+                tree.arena = spare;
+                spare = arena;
+            }
+            tree.historySize = view.getHistorySize();
+            tree.reusedVisits = tree.arena.visits[tree.root];
+        }
+
+        /**
+         * Deal the hidden cards, descend the tree, expand one node, play out and
+         * count the result on the path
+         */
+        private void iterate(Tree tree, Root root) {
+            NodeArena arena = tree.arena;
+            SimState state = this.state;
+            deal(root);
+
+            int node = tree.root;
+            long legal = root.legal;
+            while (state.winner < 0) {
+                long tried = 0;
+                int best = NodeArena.NONE;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int child = arena.firstChild[node]; child != NodeArena.NONE; child = arena.nextSibling[child]) {
+                    long bit = 1L << arena.action[child];
+                    if ((legal & bit) == 0 || arena.actor[child] != state.current) {
+                        continue;
+                    }
+                    tried |= bit;
+                    int available = ++arena.availability[child];
+                    int visits = arena.visits[child];
+                    double score = arena.wins[child] / visits + EXPLORATION * Math.sqrt(Math.log(available) / visits);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = child;
+                    }
+                }
+
+                long untried = legal & ~tried;
+                if (untried != 0) {
+                    int action = randomAction(untried);
+                    int actor = state.current;
+                    state.apply(action);
+                    int child = arena.addChild(node, action, actor);
+                    if (child != NodeArena.NONE) {
+                        arena.availability[child] = 1;
+                        node = child;
+                    }
+                    break;
+                }
+                state.apply(arena.action[best]);
+                node = best;
+                legal = state.legalActions();
+            }
+
+            state.playOut(MAX_PLAYOUT_MOVES);
+            int winner = state.winner;
+            for (; node != NodeArena.NONE; node = arena.parent[node]) {
+                arena.visits[node]++;
+                if (arena.actor[node] == winner) {
+                    arena.wins[node]++;
+                }
+            }
+        }
+
+        /**
+         * Copy the known state and deal the hidden cards to the other players
+         * and the deck
+         */
+        private void deal(Root root) {
+            SimState state = this.state;
+            state.copyFrom(root.known);
+            System.arraycopy(root.hiddenCounts, 0, state.deck, 0, KIND_COUNT);
+            int count = root.hidden.length;
+            if (++deal == 0) {
+                Arrays.fill(dealt, 0);
+                deal = 1;
+            }
+            for (int seat = 0; seat < state.players; seat++) {
+                if (seat == root.seat) {
+                    continue;
+                }
+                for (int i = root.handSizes[seat]; i > 0 && count > 0; i--) {
+                    int card = drawCard(root, seat);
+                    dealt[card] = deal;
+                    int kind = root.hidden[card];
+                    state.addToHand(seat, kind);
+                    state.deck[kind]--;
+                    count--;
+                }
+            }
+            state.deckSize = count;
+        }
+
+        /**
+         * Draw a hidden card not dealt yet, with a probability proportional
+         * to its weight for a seat
+         */
+        private int drawCard(Root root, int seat) {
+            float[] probabilities = root.aliasProbabilities[seat];
+            int[] aliases = root.aliases[seat];
+            int n = probabilities.length;
+            for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+                double u = random.nextDouble() * n;
+                int slot = (int) u;
+                int card = u - slot < probabilities[slot] ? slot : aliases[slot];
+                if (dealt[card] != deal) {
+                    return card;
+                }
+            }
+            // The weight is mostly on cards already dealt: scan the others
+            float[] weights = root.weights[seat];
+            double total = 0;
+            for (int card = 0; card < n; card++) {
+                if (dealt[card] != deal) {
+                    total += weights[card];
+                }
+            }
+            double target = random.nextDouble() * total;
+            int last = -1;
+            for (int card = 0; card < n; card++) {
+                if (dealt[card] != deal) {
+                    last = card;
+                    target -= weights[card];
+                    if (target < 0) {
+                        break;
+                    }
+                }
+            }
+            return last;
+        }
+
+        private int randomAction(long actions) {
+            for (int n = random.nextInt(Long.bitCount(actions)); n > 0; n--) {
+                actions &= actions - 1;
+            }
+            return Long.numberOfTrailingZeros(actions);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package uno.ai;
+
+import java.util.Arrays;
+
+/**
+ * Nodes of a search tree stored in parallel primitive arrays, addressed by
+ * index. Nodes are never freed one by one: the arena is cleared, or the
+ * subtree kept for the next move is copied to another arena, so a search
+ * allocates nothing once the arrays have grown to their working size.
+ * <p>
+ * A node is reached by an action of the player in the actor seat; its
+ * children form a list through {@code nextSibling}. Wins are counted for the
+ * actor, and availability counts the iterations in which the action was
+ * legal, as information set search needs.
+ */
+final class NodeArena {
+    static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxCapacity;
+    int[] parent;
+    int[] firstChild;
+    int[] nextSibling;
+    byte[] action;
+    byte[] actor;
+    int[] visits;
+    int[] availability;
+    float[] wins;
+    int size;
+
+    NodeArena(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        allocate(Math.min(INITIAL_CAPACITY, maxCapacity));
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Add a root node
+     */
+    int newRoot() {
+        clear();
+        return add(NONE, NONE, NONE);
+    }
+
+    /**
+     * Add a child to a node
+     *
+     * @return the index of the child, or NONE if the arena is full
+     */
+    int addChild(int node, int childAction, int childActor) {
+        int child = add(node, childAction, childActor);
+        if (child != NONE) {
+            nextSibling[child] = firstChild[node];
+            firstChild[node] = child;
+        }
+        return child;
+    }
+
+    /**
+     * Find the child of a node reached by an action of a seat, or NONE
+     */
+    int findChild(int node, int childAction, int childActor) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (action[child] == childAction && actor[child] == childActor) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Copy the subtree of a node into another arena, where it becomes the root
+     *
+     * @return the index of the root in the target arena
+     */
+    int copySubtree(int node, NodeArena target) {
+        target.clear();
+        int root = target.add(NONE, action[node], actor[node]);
+        target.visits[root] = visits[node];
+        target.availability[root] = availability[node];
+        target.wins[root] = wins[node];
+        copyChildren(node, target, root);
+        return root;
+    }
+
+    private void copyChildren(int node, NodeArena target, int targetNode) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            int copy = target.addChild(targetNode, action[child], actor[child]);
+            if (copy == NONE) {
+                return;
+            }
+            target.visits[copy] = visits[child];
+            target.availability[copy] = availability[child];
+            target.wins[copy] = wins[child];
+            copyChildren(child, target, copy);
+        }
+    }
+
+    private int add(int parentNode, int nodeAction, int nodeActor) {
+        if (size == parent.length) {
+            if (size == maxCapacity) {
+                return NONE;
+            }
+            allocate(Math.min(size * 2, maxCapacity));
+        }
+        int node = size++;
+        parent[node] = parentNode;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        action[node] = (byte) nodeAction;
+        actor[node] = (byte) nodeActor;
+        visits[node] = 0;
+        availability[node] = 0;
+        wins[node] = 0;
+        return node;
+    }
+
+    private void allocate(int capacity) {
+        parent = parent == null ? new int[capacity] : Arrays.copyOf(parent, capacity);
+        firstChild = firstChild == null ? new int[capacity] : Arrays.copyOf(firstChild, capacity);
+        nextSibling = nextSibling == null ? new int[capacity] : Arrays.copyOf(nextSibling, capacity);
+        action = action == null ? new byte[capacity] : Arrays.copyOf(action, capacity);
+        actor = actor == null ? new byte[capacity] : Arrays.copyOf(actor, capacity);
+        visits = visits == null ? new int[capacity] : Arrays.copyOf(visits, capacity);
+        availability = availability == null ? new int[capacity] : Arrays.copyOf(availability, capacity);
+        wins = wins == null ? new float[capacity] : Arrays.copyOf(wins, capacity);
+    }
+}
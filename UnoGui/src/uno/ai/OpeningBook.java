@@ -0,0 +1,385 @@
+package uno.ai;
+
+import uno.core.Card;
+import uno.core.CardValue;
+import uno.core.GameView;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Precomputed first moves: for each situation a player can face at their
+ * first turn, the choice found best by {@code OpeningBookBuilder}, read
+ * from a memory-mapped file in constant time.
+ * <p>
+ * A situation abstracts the top card and the hand, with the colors renamed
+ * so that the top color comes first and the others follow by the number of
+ * cards held: the value class of the top card, the cards of the top color
+ * (numbers up to 3, skip, reverse, draw two), the cards of another color
+ * matching the top value (up to 3), whether the hand holds a wild card and a
+ * wild draw four, and the cards held in each other color (up to 3). That is
+ * 17 bits. A choice is a class of card to play (a number, skip, reverse or
+ * draw two of the top color, or the top value in another color), or a wild
+ * card with a color by rank: the top color, then the other colors from the
+ * most held.
+ * <p>
+ * File format, big-endian: magic "UNOB", version, number of players, number
+ * of situation bits (4 ints), then one byte per situation: its choice, or
+ * NO_CHOICE.
+ */
+public final class OpeningBook {
+    public static final int SITUATION_BITS = 17;
+    public static final int SITUATION_COUNT = 1 << SITUATION_BITS;
+
+    public static final int NO_CHOICE = 0;
+    public static final int PLAY_NUMBER = 1;
+    public static final int PLAY_SKIP = 2;
+    public static final int PLAY_REVERSE = 3;
+    public static final int PLAY_DRAW_TWO = 4;
+    public static final int PLAY_VALUE_MATCH = 5;
+    /** A wild card, plus the rank of the color chosen (0 to 3) */
+    public static final int PLAY_WILD = 6;
+    public static final int PLAY_WILD_DRAW_FOUR = 10;
+    public static final int CHOICE_COUNT = 14;
+
+    private static final int MAGIC = 0x554E4F42;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAX_PLAYOUT_MOVES = 400;
+
+    // Top card value classes
+    private static final int TOP_NUMBER = 0;
+    private static final int TOP_SKIP = 1;
+    private static final int TOP_REVERSE = 2;
+    private static final int TOP_DRAW_TWO = 3;
+    private static final int TOP_WILD = 4;
+    private static final int TOP_WILD_DRAW_FOUR = 5;
+
+    // Index of the non-increasing triples of counts 0 to 3, 20 of them in 5 bits
+    private static final int[] SORTED_COUNTS = new int[64];
+
+    static {
+        int index = 0;
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b <= a; b++) {
+                for (int c = 0; c <= b; c++) {
+                    SORTED_COUNTS[a * 16 + b * 4 + c] = index++;
+                }
+            }
+        }
+    }
+
+    private final ByteBuffer table;
+    private final int players;
+
+    private OpeningBook(ByteBuffer table, int players) {
+        this.table = table;
+        this.players = players;
+    }
+
+    public static OpeningBook load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + SITUATION_COUNT) {
+                throw new IOException("Not an opening book file: " + path);
+            }
+            // The mapping outlives the channel
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(12) != SITUATION_BITS) {
+                throw new IOException("Not an opening book file: " + path);
+            }
+            return new OpeningBook(buffer, buffer.getInt(8));
+        }
+    }
+
+    /**
+     * Write a book
+     *
+     * @param choices the choice of each situation, SITUATION_COUNT bytes
+     */
+    public static void write(Path path, int players, byte[] choices) throws IOException {
+        if (choices.length != SITUATION_COUNT) {
+            throw new IllegalArgumentException("Expected " + SITUATION_COUNT + " situations, got " + choices.length);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(players);
+            out.writeInt(SITUATION_BITS);
+            out.write(choices);
+        }
+    }
+
+    public int getPlayerCount() {
+        return players;
+    }
+
+    /**
+     * Look up the move of a player at their first turn
+     *
+     * @return a legal GameView action, or -1 if the view is not a first turn
+     *         the book knows
+     */
+    public int lookup(GameView view) {
+        if (view.getPlayerCount() != players || !isFirstMove(view)) {
+            return -1;
+        }
+        int situation = situation(view);
+        if (situation < 0) {
+            return -1;
+        }
+        int choice = table.get(HEADER_SIZE + situation);
+        return choice == NO_CHOICE ? -1 : action(view, choice);
+    }
+
+    /**
+     * Tell whether the player of a view is on turn and has not moved since the deal
+     */
+    public static boolean isFirstMove(GameView view) {
+        if (view.getCurrentSeat() != view.getSeat() || view.getPendingDrawCount() > 0) {
+            return false;
+        }
+        for (int i = 0; i < view.getHistorySize(); i++) {
+            if (GameView.entrySeat(view.getHistoryEntry(i)) == view.getSeat()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the situation of a view, or -1 if the top card has no color
+     */
+    public static int situation(GameView view) {
+        Card top = view.getTopCard();
+        int topColor = topColor(top);
+        if (topColor < 0) {
+            return -1;
+        }
+        CardValue topValue = top.getValue();
+        int topClass = topValue == CardValue.WILD ? TOP_WILD
+                : topValue == CardValue.WILD_DRAW_FOUR ? TOP_WILD_DRAW_FOUR
+                : topValue == CardValue.SKIP ? TOP_SKIP
+                : topValue == CardValue.REVERSE ? TOP_REVERSE
+                : topValue == CardValue.DRAW_TWO ? TOP_DRAW_TWO : TOP_NUMBER;
+
+        int numbers = 0;
+        int actions = 0;
+        int matches = 0;
+        int wilds = 0;
+        int[] colorCounts = new int[4];
+        for (Card card : view.getHand()) {
+            CardValue value = card.getValue();
+            if (value == CardValue.WILD) {
+                wilds |= 1;
+                continue;
+            }
+            if (value == CardValue.WILD_DRAW_FOUR) {
+                wilds |= 2;
+                continue;
+            }
+            int color = GameView.colorIndex(card.getColor());
+            if (color < 0) {
+                continue;
+            }
+            colorCounts[color]++;
+            if (color == topColor) {
+                if (value == CardValue.SKIP) {
+                    actions |= 1;
+                } else if (value == CardValue.REVERSE) {
+                    actions |= 2;
+                } else if (value == CardValue.DRAW_TWO) {
+                    actions |= 4;
+                } else {
+                    numbers++;
+                }
+            } else if (value == topValue) {
+                matches++;
+            }
+        }
+        int[] ranked = rankColors(colorCounts, topColor);
+        int others = SORTED_COUNTS[Math.min(colorCounts[ranked[1]], 3) * 16
+                + Math.min(colorCounts[ranked[2]], 3) * 4 + Math.min(colorCounts[ranked[3]], 3)];
+
+        int situation = topClass;
+        situation = situation << 2 | Math.min(numbers, 3);
+        situation = situation << 3 | actions;
+        situation = situation << 2 | Math.min(matches, 3);
+        situation = situation << 2 | wilds;
+        return situation << 5 | others;
+    }
+
+    /**
+     * Get the choices the rules allow in a view, as a mask over the choices
+     */
+    public static int legalChoices(GameView view) {
+        int choices = 0;
+        for (int choice = PLAY_NUMBER; choice < CHOICE_COUNT; choice++) {
+            if (action(view, choice) >= 0) {
+                choices |= 1 << choice;
+            }
+        }
+        return choices;
+    }
+
+    /**
+     * Get the action playing a choice: the first card of the hand of its
+     * class; for the top value in another color, the one in the color most
+     * held
+     *
+     * @return a legal GameView action, or -1 if the hand has no such card
+     */
+    public static int action(GameView view, int choice) {
+        Card top = view.getTopCard();
+        int topColor = topColor(top);
+        if (topColor < 0 || choice <= NO_CHOICE || choice >= CHOICE_COUNT) {
+            return -1;
+        }
+        List<Card> hand = view.getHand();
+        int[] colorCounts = new int[4];
+        for (Card card : hand) {
+            int color = GameView.colorIndex(card.getColor());
+            if (color >= 0 && !card.isWild()) {
+                colorCounts[color]++;
+            }
+        }
+        int[] ranked = rankColors(colorCounts, topColor);
+
+        int action = -1;
+        int bestCount = -1;
+        for (Card card : hand) {
+            CardValue value = card.getValue();
+            int color = GameView.colorIndex(card.getColor());
+            if (choice >= PLAY_WILD) {
+                CardValue wild = choice >= PLAY_WILD_DRAW_FOUR ? CardValue.WILD_DRAW_FOUR : CardValue.WILD;
+                if (value == wild) {
+                    int rank = (choice - PLAY_WILD) % 4;
+                    action = GameView.playAction(card, GameView.color(ranked[rank]));
+                    break;
+                }
+            } else if (choice == PLAY_VALUE_MATCH) {
+                if (!card.isWild() && color >= 0 && color != topColor && value == top.getValue()
+                        && colorCounts[color] > bestCount) {
+                    action = GameView.playAction(card, null);
+                    bestCount = colorCounts[color];
+                }
+            } else if (color == topColor && !card.isWild() && choiceOf(value) == choice) {
+                action = GameView.playAction(card, null);
+                break;
+            }
+        }
+        return action >= 0 && (view.getLegalActions() & 1L << action) != 0 ? action : -1;
+    }
+
+    /**
+     * Play out every legal choice of a view from the same deals. Each playout
+     * deals the cards the player cannot see at random, then plays each choice
+     * followed by random moves with the same random numbers, so that the
+     * differences between choices are not drowned in the luck of the deal.
+     *
+     * @param wins incremented, for each choice, by the playouts the player won
+     * @return the number of playouts of each legal choice
+     */
+    public static int playOut(GameView view, int playouts, SplittableRandom random, int[] wins) {
+        int choices = legalChoices(view);
+        if (choices == 0) {
+            return 0;
+        }
+        int[] actions = new int[CHOICE_COUNT];
+        for (int choice = PLAY_NUMBER; choice < CHOICE_COUNT; choice++) {
+            actions[choice] = action(view, choice);
+        }
+        int seat = view.getSeat();
+        int[] hiddenCounts = new int[GameView.KIND_COUNT];
+        SimState known = SimState.fromView(view, hiddenCounts);
+        int count = 0;
+        for (int kind = 0; kind < GameView.KIND_COUNT; kind++) {
+            count += hiddenCounts[kind];
+        }
+        int[] hidden = new int[count];
+        count = 0;
+        for (int kind = 0; kind < GameView.KIND_COUNT; kind++) {
+            for (int i = 0; i < hiddenCounts[kind]; i++) {
+                hidden[count++] = kind;
+            }
+        }
+
+        SimState dealt = new SimState(known.players, null);
+        for (int playout = 0; playout < playouts; playout++) {
+            // Deal the other hands, the rest is the deck
+            dealt.copyFrom(known);
+            System.arraycopy(hiddenCounts, 0, dealt.deck, 0, GameView.KIND_COUNT);
+            dealt.deckSize = hidden.length;
+            int next = 0;
+            for (int other = 0; other < known.players; other++) {
+                for (int i = other == seat ? 0 : view.getHandSize(other); i > 0 && next < hidden.length; i--) {
+                    int j = next + random.nextInt(hidden.length - next);
+                    int kind = hidden[j];
+                    hidden[j] = hidden[next];
+                    hidden[next++] = kind;
+                    dealt.drawKind(other, kind);
+                }
+            }
+
+            long seed = random.nextLong();
+            for (int left = choices; left != 0; left &= left - 1) {
+                int choice = Integer.numberOfTrailingZeros(left);
+                SimState state = new SimState(known.players, new SplittableRandom(seed));
+                state.copyFrom(dealt);
+                state.apply(actions[choice]);
+                state.playOut(MAX_PLAYOUT_MOVES);
+                if (state.winner == seat) {
+                    wins[choice]++;
+                }
+            }
+        }
+        return playouts;
+    }
+
+    private static int choiceOf(CardValue value) {
+        switch (value) {
+            case SKIP: return PLAY_SKIP;
+            case REVERSE: return PLAY_REVERSE;
+            case DRAW_TWO: return PLAY_DRAW_TWO;
+            default: return PLAY_NUMBER;
+        }
+    }
+
+    private static int topColor(Card top) {
+        if (top == null) {
+            return -1;
+        }
+        int color = GameView.colorIndex(top.getColor());
+        return color >= 0 ? color : GameView.colorIndex(top.getChosenColor());
+    }
+
+    /**
+     * Rank the colors: the top color, then the others from the most held,
+     * ties in color order
+     */
+    private static int[] rankColors(int[] colorCounts, int topColor) {
+        int[] ranked = new int[4];
+        ranked[0] = topColor;
+        int size = 1;
+        for (int color = 0; color < 4; color++) {
+            if (color == topColor) {
+                continue;
+            }
+            int i = size++;
+            while (i > 1 && colorCounts[ranked[i - 1]] < colorCounts[color]) {
+                ranked[i] = ranked[i - 1];
+                i--;
+            }
+            ranked[i] = color;
+        }
+        return ranked;
+    }
+}
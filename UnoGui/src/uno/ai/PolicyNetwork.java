@@ -0,0 +1,240 @@
+package uno.ai;
+
+import uno.core.GameView;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Multilayer perceptron scoring the actions of a player from the features
+ * of {@link FeatureEncoder}: fully connected layers with ReLU activations
+ * between them, and one logit per GameView action at the output.
+ * <p>
+ * A network is evaluated on a batch of positions at once: each layer is one
+ * matrix multiply of the batch by the weights, which are stored input-major
+ * so that the inner loop runs over contiguous outputs and is vectorized by
+ * the JIT. Networks are immutable and can be evaluated by several threads,
+ * each with its own activation buffers.
+ * <p>
+ * File format, big-endian: magic "UNON", the number of layer sizes, the
+ * sizes, then for each layer its weights (input-major, in x out floats)
+ * and its biases (out floats).
+ */
+public final class PolicyNetwork {
+    private static final int MAGIC = 0x554E4F4E;
+    private static final int MAX_LAYER_SIZE = 1 << 16;
+
+    private final int[] sizes;
+    private final float[][] weights;
+    private final float[][] biases;
+
+    /**
+     * Create an untrained network with random weights
+     *
+     * @param sizes sizes of the layers, from the input to the output
+     */
+    public PolicyNetwork(long seed, int... sizes) {
+        this(sizes.clone(), new float[Math.max(sizes.length - 1, 0)][], new float[Math.max(sizes.length - 1, 0)][]);
+        Random random = new Random(seed);
+        for (int layer = 0; layer < weights.length; layer++) {
+            int in = sizes[layer];
+            int out = sizes[layer + 1];
+            // He initialization, suited to ReLU activations
+            double scale = Math.sqrt(2.0 / in);
+            weights[layer] = new float[in * out];
+            for (int i = 0; i < weights[layer].length; i++) {
+                weights[layer][i] = (float) (random.nextGaussian() * scale);
+            }
+            biases[layer] = new float[out];
+        }
+    }
+
+    private PolicyNetwork(int[] sizes, float[][] weights, float[][] biases) {
+        if (sizes.length < 2) {
+            throw new IllegalArgumentException("A network needs an input and an output layer");
+        }
+        for (int size : sizes) {
+            if (size <= 0 || size > MAX_LAYER_SIZE) {
+                throw new IllegalArgumentException("Invalid layer size: " + size);
+            }
+        }
+        this.sizes = sizes;
+        this.weights = weights;
+        this.biases = biases;
+    }
+
+    /**
+     * Create an untrained network for the features of FeatureEncoder and the
+     * GameView actions
+     */
+    public static PolicyNetwork createDefault(long seed) {
+        return new PolicyNetwork(seed, FeatureEncoder.FEATURE_COUNT, 64, 64, GameView.ACTION_COUNT);
+    }
+
+    public static PolicyNetwork load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a policy network file: " + path);
+            }
+            int count = in.readInt();
+            if (count < 2 || count > 64) {
+                throw new IOException("Invalid layer count: " + count);
+            }
+            int[] sizes = new int[count];
+            for (int i = 0; i < count; i++) {
+                sizes[i] = in.readInt();
+                if (sizes[i] <= 0 || sizes[i] > MAX_LAYER_SIZE) {
+                    throw new IOException("Invalid layer size: " + sizes[i]);
+                }
+            }
+            float[][] weights = new float[count - 1][];
+            float[][] biases = new float[count - 1][];
+            for (int layer = 0; layer < count - 1; layer++) {
+                weights[layer] = readFloats(in, sizes[layer] * sizes[layer + 1]);
+                biases[layer] = readFloats(in, sizes[layer + 1]);
+            }
+            return new PolicyNetwork(sizes, weights, biases);
+        }
+    }
+
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(sizes.length);
+            for (int size : sizes) {
+                out.writeInt(size);
+            }
+            for (int layer = 0; layer < weights.length; layer++) {
+                for (float weight : weights[layer]) {
+                    out.writeFloat(weight);
+                }
+                for (float bias : biases[layer]) {
+                    out.writeFloat(bias);
+                }
+            }
+        }
+    }
+
+    public int getInputSize() {
+        return sizes[0];
+    }
+
+    public int getOutputSize() {
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Allocate the activation buffers of a batch of up to maxBatch positions
+     */
+    public float[][] newActivations(int maxBatch) {
+        float[][] activations = new float[sizes.length - 1][];
+        for (int layer = 0; layer < activations.length; layer++) {
+            activations[layer] = new float[maxBatch * sizes[layer + 1]];
+        }
+        return activations;
+    }
+
+    /**
+     * Evaluate a batch of positions
+     *
+     * @param input batch rows of getInputSize() features
+     * @param activations buffers from newActivations
+     * @return the logits, batch rows of getOutputSize() values, in the last activation buffer
+     */
+    public float[] forward(float[] input, int batch, float[][] activations) {
+        float[] layerInput = input;
+        for (int layer = 0; layer < weights.length; layer++) {
+            float[] output = activations[layer];
+            multiply(layerInput, batch, sizes[layer], weights[layer], biases[layer], output);
+            if (layer < weights.length - 1) {
+                for (int i = 0, n = batch * sizes[layer + 1]; i < n; i++) {
+                    output[i] = Math.max(output[i], 0);
+                }
+            }
+            layerInput = output;
+        }
+        return layerInput;
+    }
+
+    /**
+     * output = input x weights + biases, for every row of the batch. Each row
+     * of weights is read once for the whole batch, while it is in cache.
+     */
+    private static void multiply(float[] input, int batch, int in, float[] weights, float[] biases, float[] output) {
+        int out = biases.length;
+        for (int row = 0; row < batch; row++) {
+            System.arraycopy(biases, 0, output, row * out, out);
+        }
+        for (int k = 0; k < in; k++) {
+            int weightRow = k * out;
+            for (int row = 0; row < batch; row++) {
+                float value = input[row * in + k];
+                if (value == 0) {
+                    continue; // Features are sparse, and so are activations after ReLU
+                }
+                int outputRow = row * out;
+                for (int j = 0; j < out; j++) {
+                    output[outputRow + j] += value * weights[weightRow + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the legal action with the highest logit
+     *
+     * @param legal mask over the action codes, as from GameView.getLegalActions
+     */
+    public static int bestAction(float[] logits, int offset, long legal) {
+        int best = Long.numberOfTrailingZeros(legal);
+        for (long actions = legal; actions != 0; actions &= actions - 1) {
+            int action = Long.numberOfTrailingZeros(actions);
+            if (logits[offset + action] > logits[offset + best]) {
+                best = action;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Draw a legal action from the softmax of the logits
+     */
+    public static int sampleAction(float[] logits, int offset, long legal, SplittableRandom random) {
+        float max = logits[offset + bestAction(logits, offset, legal)];
+        double total = 0;
+        for (long actions = legal; actions != 0; actions &= actions - 1) {
+            total += Math.exp(logits[offset + Long.numberOfTrailingZeros(actions)] - max);
+        }
+        double pick = random.nextDouble() * total;
+        int action = Long.numberOfTrailingZeros(legal);
+        for (long actions = legal; actions != 0; actions &= actions - 1) {
+            action = Long.numberOfTrailingZeros(actions);
+            pick -= Math.exp(logits[offset + action] - max);
+            if (pick <= 0) {
+                break;
+            }
+        }
+        return action;
+    }
+
+    private static float[] readFloats(DataInputStream in, int count) throws IOException {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyNetwork" + Arrays.toString(sizes);
+    }
+}
@@ -0,0 +1,107 @@
+package uno.ai;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes training samples for a policy network to a columnar binary file.
+ * A sample is the features of a position, the legal actions, the action
+ * played, the seat of the player and the outcome of the game for them.
+ * <p>
+ * Samples are buffered and written in blocks, each block one column after
+ * the other, so that a reader maps every column straight into an array.
+ * Format, big-endian:
+ * <pre>
+ * header: magic "UNOS", version, feature count, action count (4 ints)
+ * blocks, until the end of the file:
+ *   sample count n (int)
+ *   for each feature: n floats
+ *   legal actions: n longs, bit i set when action i is legal
+ *   action played: n bytes
+ *   seat: n bytes
+ *   outcome: n floats, 1 if the player won the game, 0 otherwise
+ * </pre>
+ * The writer is thread-safe: several tables can share a file.
+ */
+public final class SampleWriter implements Closeable {
+    private static final int MAGIC = 0x554E4F53;
+    private static final int VERSION = 1;
+    private static final int BLOCK_SIZE = 8192;
+
+    private final DataOutputStream out;
+    private final int featureCount;
+    private final float[] features;
+    private final long[] legal = new long[BLOCK_SIZE];
+    private final byte[] actions = new byte[BLOCK_SIZE];
+    private final byte[] seats = new byte[BLOCK_SIZE];
+    private final float[] outcomes = new float[BLOCK_SIZE];
+    private int size;
+    private long written;
+
+    public SampleWriter(Path path, int featureCount, int actionCount) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        this.featureCount = featureCount;
+        this.features = new float[BLOCK_SIZE * featureCount];
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(featureCount);
+        out.writeInt(actionCount);
+    }
+
+    public synchronized void add(float[] sampleFeatures, long legalActions, int action, int seat, float outcome)
+            throws IOException {
+        if (sampleFeatures.length != featureCount) {
+            throw new IllegalArgumentException("Expected " + featureCount + " features, got " + sampleFeatures.length);
+        }
+        System.arraycopy(sampleFeatures, 0, features, size * featureCount, featureCount);
+        legal[size] = legalActions;
+        actions[size] = (byte) action;
+        seats[size] = (byte) seat;
+        outcomes[size] = outcome;
+        if (++size == BLOCK_SIZE) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Get the number of samples added so far
+     */
+    public synchronized long getSampleCount() {
+        return written + size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writeBlock();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (size == 0) {
+            return;
+        }
+        out.writeInt(size);
+        for (int feature = 0; feature < featureCount; feature++) {
+            for (int i = 0; i < size; i++) {
+                out.writeFloat(features[i * featureCount + feature]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(legal[i]);
+        }
+        out.write(actions, 0, size);
+        out.write(seats, 0, size);
+        for (int i = 0; i < size; i++) {
+            out.writeFloat(outcomes[i]);
+        }
+        written += size;
+        size = 0;
+    }
+}
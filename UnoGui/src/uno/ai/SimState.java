@@ -0,0 +1,318 @@
+package uno.ai;
+
+import uno.core.Card;
+import uno.core.GameView;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static uno.core.GameView.COLORED_KINDS;
+import static uno.core.GameView.DRAW_ACTION;
+import static uno.core.GameView.KIND_COUNT;
+import static uno.core.GameView.WILD_ACTION;
+import static uno.core.GameView.WILD_DRAW_FOUR_ACTION;
+import static uno.core.GameView.WILD_DRAW_FOUR_KIND;
+import static uno.core.GameView.WILD_KIND;
+
+/**
+ * Game state played out by the search: cards are counted by kind, hands,
+ * deck and discard pile alike, so that a state is a few int arrays that are
+ * copied instead of allocated. The deck has no order: drawing takes a random
+ * card among those left, which is what the searching player knows of it.
+ * <p>
+ * The standard rules are played, with the engine's turn order: a skip or a
+ * draw card passes over the next player, a reverse only changes the
+ * direction. A player draws only when they cannot play, and plays the drawn
+ * card if they can.
+ */
+final class SimState {
+    private static final int SKIP = 10;
+    private static final int REVERSE = 11;
+    private static final int DRAW_TWO = 12;
+    private static final long NO_MOVES = 0;
+
+    private final SplittableRandom random;
+    final int players;
+    final int[] hands;
+    final int[] handSizes;
+    final int[] deck = new int[KIND_COUNT];
+    int deckSize;
+    final int[] discard = new int[KIND_COUNT];
+    int discardSize;
+
+    int topKind;
+    int topColor;
+    int current;
+    boolean clockwise;
+    int pendingDraw;
+    int winner = -1;
+
+    SimState(int players, SplittableRandom random) {
+        this.players = players;
+        this.random = random;
+        this.hands = new int[players * KIND_COUNT];
+        this.handSizes = new int[players];
+    }
+
+    /**
+     * Create the state a view shows: the player's hand, the discard pile and
+     * the turn, with no card in the other hands nor in the deck
+     *
+     * @param hidden filled with the number of cards of each kind the player cannot see
+     */
+    static SimState fromView(GameView view, int[] hidden) {
+        int seat = view.getSeat();
+        SimState known = new SimState(view.getPlayerCount(), null);
+        int[] unseen = fullDeck();
+        for (Card card : view.getHand()) {
+            int kind = GameView.kind(card);
+            known.addToHand(seat, kind);
+            unseen[kind]--;
+        }
+        List<Card> discardPile = view.getDiscardPile();
+        for (int i = 0; i < discardPile.size(); i++) {
+            int kind = GameView.kind(discardPile.get(i));
+            unseen[kind]--;
+            if (i < discardPile.size() - 1) {
+                known.discard[kind]++;
+                known.discardSize++;
+            }
+        }
+        Card topCard = view.getTopCard();
+        known.topKind = GameView.kind(topCard);
+        int topColor = GameView.colorIndex(topCard.getColor());
+        if (topColor < 0) {
+            topColor = Math.max(0, GameView.colorIndex(topCard.getChosenColor()));
+        }
+        known.topColor = topColor;
+        known.current = view.getCurrentSeat();
+        known.clockwise = view.isClockwise();
+        known.pendingDraw = view.getPendingDrawCount();
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            hidden[kind] = Math.max(0, unseen[kind]);
+        }
+        return known;
+    }
+
+    private static int[] fullDeck() {
+        int[] deck = new int[KIND_COUNT];
+        for (int color = 0; color < 4; color++) {
+            deck[color * 13] = 1;
+            for (int value = 1; value < 13; value++) {
+                deck[color * 13 + value] = 2;
+            }
+        }
+        deck[WILD_KIND] = 4;
+        deck[WILD_DRAW_FOUR_KIND] = 4;
+        return deck;
+    }
+
+    void copyFrom(SimState other) {
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        System.arraycopy(other.handSizes, 0, handSizes, 0, players);
+        System.arraycopy(other.deck, 0, deck, 0, KIND_COUNT);
+        System.arraycopy(other.discard, 0, discard, 0, KIND_COUNT);
+        deckSize = other.deckSize;
+        discardSize = other.discardSize;
+        topKind = other.topKind;
+        topColor = other.topColor;
+        current = other.current;
+        clockwise = other.clockwise;
+        pendingDraw = other.pendingDraw;
+        winner = other.winner;
+    }
+
+    void clearCards() {
+        Arrays.fill(hands, 0);
+        Arrays.fill(handSizes, 0);
+        Arrays.fill(deck, 0);
+        Arrays.fill(discard, 0);
+        deckSize = 0;
+        discardSize = 0;
+    }
+
+    void addToHand(int seat, int kind) {
+        hands[seat * KIND_COUNT + kind]++;
+        handSizes[seat]++;
+    }
+
+    /**
+     * Move a card of a kind from the deck to a hand
+     */
+    void drawKind(int seat, int kind) {
+        deck[kind]--;
+        deckSize--;
+        addToHand(seat, kind);
+    }
+
+    boolean isPlayable(int kind) {
+        return kind >= COLORED_KINDS || kind / 13 == topColor
+                || (topKind < COLORED_KINDS && kind % 13 == topKind % 13);
+    }
+
+    /**
+     * Legal actions of the player on turn, as a mask over the action codes
+     */
+    long legalActions() {
+        int base = current * KIND_COUNT;
+        long legal = NO_MOVES;
+        for (int kind = 0; kind < COLORED_KINDS; kind++) {
+            if (hands[base + kind] > 0 && isPlayable(kind)) {
+                legal |= 1L << kind;
+            }
+        }
+        if (hands[base + WILD_KIND] > 0) {
+            legal |= 0xFL << WILD_ACTION;
+        }
+        if (hands[base + WILD_DRAW_FOUR_KIND] > 0) {
+            legal |= 0xFL << WILD_DRAW_FOUR_ACTION;
+        }
+        return legal == NO_MOVES ? 1L << DRAW_ACTION : legal;
+    }
+
+    /**
+     * Play an action for the player on turn
+     */
+    void apply(int action) {
+        if (action == DRAW_ACTION) {
+            if (pendingDraw > 0) {
+                draw(current, pendingDraw);
+                pendingDraw = 0;
+                advance();
+                return;
+            }
+            int kind = drawOne(current);
+            if (kind >= 0 && isPlayable(kind)) {
+                play(kind, kind < COLORED_KINDS ? kind / 13 : bestColor(current));
+            } else {
+                advance();
+            }
+            return;
+        }
+        int kind = action < COLORED_KINDS ? action : action < WILD_DRAW_FOUR_ACTION ? WILD_KIND : WILD_DRAW_FOUR_KIND;
+        int color = action < COLORED_KINDS ? action / 13 : (action - WILD_ACTION) % 4;
+        play(kind, color);
+        pendingDraw = 0;
+    }
+
+    /**
+     * Play a random legal move, choosing uniformly among the playable colored
+     * kinds and keeping wild cards for when nothing else can be played, as
+     * the AI players do; a wild card takes the color the player holds most
+     */
+    void playRandomMove() {
+        int base = current * KIND_COUNT;
+        int count = 0;
+        int chosen = -1;
+        for (int kind = 0; kind < COLORED_KINDS; kind++) {
+            if (hands[base + kind] > 0 && isPlayable(kind) && random.nextInt(++count) == 0) {
+                chosen = kind;
+            }
+        }
+        if (chosen < 0) {
+            chosen = hands[base + WILD_KIND] > 0 ? WILD_KIND
+                    : hands[base + WILD_DRAW_FOUR_KIND] > 0 ? WILD_DRAW_FOUR_KIND : -1;
+        }
+        if (chosen < 0) {
+            apply(DRAW_ACTION);
+        } else {
+            play(chosen, chosen < COLORED_KINDS ? chosen / 13 : bestColor(current));
+        }
+    }
+
+    /**
+     * Play random moves until a player wins or the move limit is reached
+     */
+    void playOut(int maxMoves) {
+        for (int i = 0; i < maxMoves && winner < 0; i++) {
+            playRandomMove();
+        }
+    }
+
+    private void play(int kind, int color) {
+        int seat = current;
+        hands[seat * KIND_COUNT + kind]--;
+        handSizes[seat]--;
+        discard[topKind]++;
+        discardSize++;
+        topKind = kind;
+        topColor = color;
+        if (handSizes[seat] == 0) {
+            winner = seat;
+            return;
+        }
+        int value = kind < COLORED_KINDS ? kind % 13 : -1;
+        if (value == SKIP) {
+            advance();
+        } else if (value == REVERSE) {
+            clockwise = !clockwise;
+        } else if (value == DRAW_TWO || kind == WILD_DRAW_FOUR_KIND) {
+            advance();
+            draw(current, kind == WILD_DRAW_FOUR_KIND ? 4 : 2);
+        }
+        advance();
+    }
+
+    private void advance() {
+        current = nextSeat(current);
+    }
+
+    int nextSeat(int seat) {
+        return clockwise ? (seat + 1) % players : (seat - 1 + players) % players;
+    }
+
+    private void draw(int seat, int count) {
+        for (int i = 0; i < count; i++) {
+            drawOne(seat);
+        }
+    }
+
+    /**
+     * Draw a random card of the deck, reshuffling the discard pile when it is empty
+     *
+     * @return the kind drawn, or -1 if no card is left
+     */
+    private int drawOne(int seat) {
+        if (deckSize == 0) {
+            if (discardSize == 0) {
+                return -1;
+            }
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                deck[kind] += discard[kind];
+                discard[kind] = 0;
+            }
+            deckSize = discardSize;
+            discardSize = 0;
+        }
+        int n = random.nextInt(deckSize);
+        int kind = 0;
+        while (n >= deck[kind]) {
+            n -= deck[kind++];
+        }
+        deck[kind]--;
+        deckSize--;
+        addToHand(seat, kind);
+        return kind;
+    }
+
+    /**
+     * Color of which a player holds the most cards
+     */
+    int bestColor(int seat) {
+        int base = seat * KIND_COUNT;
+        int best = 0;
+        int bestCount = -1;
+        for (int color = 0; color < 4; color++) {
+            int count = 0;
+            for (int kind = color * 13; kind < color * 13 + 13; kind++) {
+                count += hands[base + kind];
+            }
+            if (count > bestCount) {
+                best = color;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
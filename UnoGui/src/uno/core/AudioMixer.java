@@ -0,0 +1,502 @@
+package uno.core;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.awt.EventQueue;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Real-time software mixer playing every sound effect through one output line.
+ * Samples are registered once as 16-bit PCM and triggered by id. A dedicated
+ * audio thread mixes up to a fixed number of concurrent voices block by block
+ * into the line, whose buffer is opened at a fixed size and acts as the output
+ * ring: the thread stays a few blocks ahead of the playback position and blocks
+ * when the ring is full. When every voice is busy, the oldest one is stolen.
+ * <p>
+ * Triggers from the Event Dispatch Thread, where the game plays its sounds, go
+ * through a lock-free single-producer ring and cost a few tens of nanoseconds
+ * without allocating (see TriggerBenchmark); triggers from any other thread
+ * use a slower concurrent queue.
+ * Gains are quantized to levels looked up in a precomputed table.
+ */
+public class AudioMixer {
+    public static final float SAMPLE_RATE = 44100.0f;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+
+    // Frames mixed per block (about 5.8 ms) and blocks held by the output ring
+    public static final int BLOCK_FRAMES = 256;
+    public static final int RING_BLOCKS = 4;
+
+    public static final int DEFAULT_MAX_VOICES = 16;
+    public static final int DEFAULT_MAX_VOICES_PER_SAMPLE = 3;
+
+    // Gain levels, from silent to full scale over GAIN_RANGE_DB
+    public static final int GAIN_LEVELS = 128;
+    private static final double GAIN_RANGE_DB = 40.0;
+    private static final int[] GAIN_TABLE = createGainTable();
+
+    private static final int TRIGGER_RING_CAPACITY = 256;
+
+    private final Voice[] voices;
+    private final int maxVoicesPerSample;
+    private volatile short[][] samples = new short[0][];
+    private final TriggerRing triggerRing = new TriggerRing(TRIGGER_RING_CAPACITY);
+    private final ConcurrentLinkedQueue<Trigger> otherTriggers = new ConcurrentLinkedQueue<>();
+    private volatile Thread producerThread;
+    private volatile int masterLevel = GAIN_LEVELS - 1;
+    private volatile MusicPlayer musicPlayer;
+
+    // Audio thread state; the output line belongs to the audio thread, which closes it
+    private final int[] mixBuffer = new int[BLOCK_FRAMES];
+    private final byte[] outBuffer = new byte[BLOCK_FRAMES * 2];
+    private volatile Thread audioThread;
+    // Audio thread stopped while still writing: the next one waits for it to close its line
+    private Thread stoppedThread;
+    private volatile boolean running = false;
+    private long framesWritten = 0;
+    private long queuedFrames = 0;
+    private long voiceSequence = 0;
+
+    // Statistics, written by the audio thread
+    private volatile long lastLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+    private volatile long totalLatencyNanos = 0;
+    private volatile long latencyCount = 0;
+    private volatile long stolenVoiceCount = 0;
+    private volatile long droppedTriggerCount = 0;
+
+    /**
+     * Create a mixer with the default voice limits
+     */
+    public AudioMixer() {
+        this(DEFAULT_MAX_VOICES, DEFAULT_MAX_VOICES_PER_SAMPLE);
+    }
+
+    /**
+     * Create a mixer
+     *
+     * @param maxVoices the number of voices that can play at once
+     * @param maxVoicesPerSample the number of voices a single sample may use at once
+     */
+    public AudioMixer(int maxVoices, int maxVoicesPerSample) {
+        if (maxVoices < 1 || maxVoicesPerSample < 1) {
+            throw new IllegalArgumentException("Voice limits must be at least 1");
+        }
+        this.voices = new Voice[maxVoices];
+        for (int i = 0; i < maxVoices; i++) {
+            voices[i] = new Voice();
+        }
+        this.maxVoicesPerSample = maxVoicesPerSample;
+    }
+
+    /**
+     * Register a sample in the mixer's format (16-bit signed mono at SAMPLE_RATE)
+     *
+     * @return the id used to trigger the sample
+     */
+    public synchronized int addSample(short[] pcm) {
+        short[][] current = samples;
+        short[][] updated = new short[current.length + 1][];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = pcm;
+        samples = updated;
+        return current.length;
+    }
+
+    /**
+     * Replace the data of a registered sample.
+     * Voices already playing the old data finish it.
+     */
+    public synchronized void setSample(int sampleId, short[] pcm) {
+        short[][] updated = samples.clone();
+        updated[sampleId] = pcm;
+        samples = updated;
+    }
+
+    /**
+     * Open the output line and start the audio thread
+     *
+     * @return true if the mixer is running
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return true;
+        }
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, outBuffer.length * RING_BLOCKS);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Audio output unavailable: " + e.getMessage());
+            return false;
+        }
+
+        Thread previous = stoppedThread;
+        stoppedThread = null;
+        Thread thread = new Thread(() -> runAudioLoop(line, previous), "uno-audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        audioThread = thread;
+        running = true;
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Mark the mixer running without an output line nor audio thread: blocks
+     * are mixed by calling render. Used to measure the mixer.
+     */
+    synchronized void startWithoutOutput() {
+        running = true;
+    }
+
+    /**
+     * Stop the audio thread, which drains and closes the output line.
+     * Waits for it up to half a second.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = audioThread;
+        audioThread = null;
+        otherTriggers.clear();
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            stoppedThread = thread;
+        }
+    }
+
+    /**
+     * Check if the audio thread is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start playing a sample. Safe to call from any thread.
+     *
+     * @param sampleId the id returned by addSample
+     * @param gain the voice gain (0.0 to 1.0)
+     */
+    public void play(int sampleId, float gain) {
+        playLevel(sampleId, gainLevel(gain));
+    }
+
+    /**
+     * Start playing a sample at a precomputed gain level. Safe to call from any thread.
+     *
+     * @param sampleId the id returned by addSample
+     * @param level the gain level, from 0 (silent) to GAIN_LEVELS - 1
+     */
+    public void playLevel(int sampleId, int level) {
+        if (!running) {
+            return;
+        }
+        int trigger = sampleId << 8 | Math.max(0, Math.min(GAIN_LEVELS - 1, level));
+        long now = System.nanoTime();
+
+        Thread current = Thread.currentThread();
+        Thread producer = producerThread;
+        if (producer != current && EventQueue.isDispatchThread()) {
+            // Only the EDT produces into the ring; a new EDT replaces one that died
+            producerThread = current;
+            producer = current;
+        }
+        if (producer == current) {
+            if (!triggerRing.offer(trigger, now)) {
+                droppedTriggerCount++;
+            }
+        } else {
+            otherTriggers.offer(new Trigger(trigger, now));
+        }
+    }
+
+    /**
+     * Convert a gain (0.0 to 1.0) to the nearest gain level
+     */
+    public static int gainLevel(float gain) {
+        return Math.round(Math.max(0.0f, Math.min(1.0f, gain)) * (GAIN_LEVELS - 1));
+    }
+
+    /**
+     * Set the music player mixed under the sound effects (null to remove it)
+     */
+    public void setMusicPlayer(MusicPlayer musicPlayer) {
+        this.musicPlayer = musicPlayer;
+    }
+
+    /**
+     * Set the gain applied to the whole mix (0.0 to 1.0)
+     */
+    public void setMasterGain(float gain) {
+        this.masterLevel = gainLevel(gain);
+    }
+
+    /**
+     * Get the gain applied to the whole mix
+     */
+    public float getMasterGain() {
+        return (float) masterLevel / (GAIN_LEVELS - 1);
+    }
+
+    /**
+     * Get the number of voices currently playing
+     */
+    public int getActiveVoiceCount() {
+        int count = 0;
+        for (Voice voice : voices) {
+            if (voice.data != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of voices cut off to make room for a new sound
+     */
+    public long getStolenVoiceCount() {
+        return stolenVoiceCount;
+    }
+
+    /**
+     * Get the number of triggers lost because the trigger ring was full
+     */
+    public long getDroppedTriggerCount() {
+        return droppedTriggerCount;
+    }
+
+    /**
+     * Get the latency of the last trigger, from play() until its first
+     * frame reaches the output, in nanoseconds
+     */
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    /**
+     * Get the highest trigger latency measured, in nanoseconds
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * Get the average trigger latency, in nanoseconds
+     */
+    public long getAverageLatencyNanos() {
+        long count = latencyCount;
+        return count == 0 ? 0 : totalLatencyNanos / count;
+    }
+
+    /**
+     * Body of the audio thread: mix a block, write it, repeat, until another
+     * thread or none is the audio thread. The write blocks while the output
+     * ring is full, which paces the loop.
+     *
+     * @param line the output line, opened and started, closed on exit
+     * @param previous an audio thread that may still be draining its line, or null
+     */
+    private void runAudioLoop(SourceDataLine line, Thread previous) {
+        try {
+            // The previous thread consumes the trigger ring until it exits
+            if (previous != null) {
+                previous.join();
+            }
+            framesWritten = 0;
+            while (audioThread == Thread.currentThread()) {
+                queuedFrames = framesWritten - line.getLongFramePosition();
+                render(outBuffer);
+                line.write(outBuffer, 0, outBuffer.length);
+                framesWritten += BLOCK_FRAMES;
+            }
+            line.drain();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            line.stop();
+            line.close();
+        }
+
+        // Forget the triggers that arrived while stopping
+        while (!triggerRing.isEmpty()) {
+            triggerRing.advance();
+        }
+    }
+
+    /**
+     * Start the pending voices and mix one block into the output buffer
+     */
+    void render(byte[] out) {
+        startPendingVoices();
+
+        int[] mix = mixBuffer;
+        Arrays.fill(mix, 0);
+        int masterGain = GAIN_TABLE[masterLevel];
+        boolean effectsActive = false;
+        for (Voice voice : voices) {
+            short[] data = voice.data;
+            if (data == null) {
+                continue;
+            }
+            effectsActive = true;
+            int gain = (voice.gain * masterGain) >> 15;
+            int position = voice.position;
+            int frames = Math.min(BLOCK_FRAMES, data.length - position);
+            for (int i = 0; i < frames; i++) {
+                mix[i] += (data[position + i] * gain) >> 15;
+            }
+            voice.position = position + frames;
+            if (voice.position >= data.length) {
+                voice.data = null;
+            }
+        }
+
+        // Music goes under the effects and is ducked while they play
+        MusicPlayer music = musicPlayer;
+        if (music != null) {
+            music.mixInto(mix, BLOCK_FRAMES, effectsActive, masterGain / 32768.0f);
+        }
+
+        // Clip and convert to little-endian 16-bit
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            out[2 * i] = (byte) sample;
+            out[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * Assign a voice to every trigger received since the last block
+     */
+    private void startPendingVoices() {
+        while (!triggerRing.isEmpty()) {
+            startVoice(triggerRing.peekTrigger(), triggerRing.peekTimestamp());
+            triggerRing.advance();
+        }
+        Trigger trigger;
+        while ((trigger = otherTriggers.poll()) != null) {
+            startVoice(trigger.trigger, trigger.nanos);
+        }
+    }
+
+    /**
+     * Start a voice for a packed trigger (sample id and gain level)
+     */
+    private void startVoice(int trigger, long triggerNanos) {
+        int sampleId = trigger >>> 8;
+        short[][] bank = samples;
+        if (sampleId >= bank.length || bank[sampleId] == null) {
+            return;
+        }
+        Voice voice = allocateVoice(bank[sampleId]);
+        voice.data = bank[sampleId];
+        voice.position = 0;
+        voice.gain = GAIN_TABLE[trigger & 0xFF];
+        voice.sequence = voiceSequence++;
+        recordLatency(triggerNanos);
+    }
+
+    /**
+     * Find a voice for a sample: steal the oldest voice of the same sample if it
+     * reached its limit, else take a free voice, else steal the oldest voice
+     */
+    private Voice allocateVoice(short[] data) {
+        Voice free = null;
+        Voice oldest = null;
+        Voice oldestSame = null;
+        int sameCount = 0;
+        for (Voice voice : voices) {
+            if (voice.data == null) {
+                if (free == null) {
+                    free = voice;
+                }
+                continue;
+            }
+            if (oldest == null || voice.sequence < oldest.sequence) {
+                oldest = voice;
+            }
+            if (voice.data == data) {
+                sameCount++;
+                if (oldestSame == null || voice.sequence < oldestSame.sequence) {
+                    oldestSame = voice;
+                }
+            }
+        }
+
+        if (sameCount >= maxVoicesPerSample) {
+            stolenVoiceCount++;
+            return oldestSame;
+        }
+        if (free != null) {
+            return free;
+        }
+        stolenVoiceCount++;
+        return oldest;
+    }
+
+    /**
+     * Record the latency of a trigger whose first frame starts the block being mixed.
+     * The block is heard once the frames already queued in the line have played.
+     */
+    private void recordLatency(long triggerNanos) {
+        long latency = System.nanoTime() - triggerNanos
+                + (long) (Math.max(0, queuedFrames) * 1_000_000_000L / SAMPLE_RATE);
+        lastLatencyNanos = latency;
+        if (latency > maxLatencyNanos) {
+            maxLatencyNanos = latency;
+        }
+        totalLatencyNanos += latency;
+        latencyCount++;
+    }
+
+    /**
+     * Build the amplitude of each gain level, in 1/32768 units.
+     * Levels are spread evenly in decibels so that volume steps sound even.
+     */
+    private static int[] createGainTable() {
+        int[] table = new int[GAIN_LEVELS];
+        for (int level = 1; level < GAIN_LEVELS; level++) {
+            double db = -GAIN_RANGE_DB * (GAIN_LEVELS - 1 - level) / (GAIN_LEVELS - 1);
+            table[level] = (int) Math.round(Math.pow(10.0, db / 20.0) * 32768.0);
+        }
+        return table;
+    }
+
+    /**
+     * A sample being played
+     */
+    private static class Voice {
+        short[] data;
+        int position;
+        int gain;
+        long sequence;
+    }
+
+    /**
+     * A request to start a sample, from a thread other than the ring's producer
+     */
+    private static class Trigger {
+        final int trigger;
+        final long nanos;
+
+        Trigger(int trigger, long nanos) {
+            this.trigger = trigger;
+            this.nanos = nanos;
+        }
+    }
+}
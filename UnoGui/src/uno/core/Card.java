@@ -7,6 +7,7 @@ public class Card {
     private CardColor color;
     private CardValue value;
     private CardColor chosenColor; // Pour les cartes WILD
+    private int deckId = -1; // Position in the deck of the game, for hashing
     
     /**
      * Create a new Card with the specified color and value
@@ -68,6 +69,17 @@ public class Card {
         this.chosenColor = chosenColor;
     }
     
+    /**
+     * Get the number of this card in its game's deck, or -1
+     */
+    int getDeckId() {
+        return deckId;
+    }
+    
+    void setDeckId(int deckId) {
+        this.deckId = deckId;
+    }
+    
     /**
      * Check if this card can be played on top of the specified card
      */
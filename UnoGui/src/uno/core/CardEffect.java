@@ -0,0 +1,9 @@
+package uno.core;
+
+/**
+ * Effect of a card once it is on the discard pile.
+ * Effects are resolved through the dispatch table compiled by {@link RuleSet}.
+ */
+interface CardEffect {
+    void apply(Game game, Card card);
+}
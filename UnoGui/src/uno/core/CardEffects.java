@@ -0,0 +1,68 @@
+package uno.core;
+
+/**
+ * Card effects the rule sets are assembled from.
+ * Each effect runs after the card is on the discard pile and before the turn
+ * passes to the next player.
+ */
+final class CardEffects {
+    
+    private CardEffects() {
+    }
+    
+    /**
+     * Number cards: nothing happens
+     */
+    static final CardEffect NONE = (game, card) -> { };
+    
+    /**
+     * Skip the next player
+     */
+    static final CardEffect SKIP = (game, card) -> game.skipNextPlayer();
+    
+    /**
+     * Reverse the direction of play
+     */
+    static final CardEffect REVERSE = (game, card) -> game.reverseDirection();
+    
+    /**
+     * Color change is handled by the UI
+     */
+    static final CardEffect CHANGE_COLOR = (game, card) -> game.changeColor(card.getColor());
+    
+    /**
+     * Next player draws 2 cards and misses their turn
+     */
+    static final CardEffect DRAW_TWO = (game, card) -> game.penalizeNextPlayer(2);
+    
+    /**
+     * Next player draws 4 cards and misses their turn; color change is handled by the UI
+     */
+    static final CardEffect WILD_DRAW_FOUR = (game, card) -> {
+        game.penalizeNextPlayer(4);
+        game.changeColor(card.getColor());
+    };
+    
+    /**
+     * The penalty grows by 2 and falls on the next player, unless they stack
+     */
+    static final CardEffect STACK_DRAW_TWO = (game, card) -> game.stackPenalty(2);
+    
+    /**
+     * The penalty grows by 4 and falls on the next player, unless they stack
+     */
+    static final CardEffect STACK_WILD_DRAW_FOUR = (game, card) -> {
+        game.stackPenalty(4);
+        game.changeColor(card.getColor());
+    };
+    
+    /**
+     * Swap hands with the opponent holding the fewest cards
+     */
+    static final CardEffect SWAP_HANDS = (game, card) -> game.swapHandsWithSmallestHand();
+    
+    /**
+     * Every player passes their hand to the next player in the direction of play
+     */
+    static final CardEffect ROTATE_HANDS = (game, card) -> game.rotateHands();
+}
@@ -1,10 +1,12 @@
 package uno.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Class representing a UNO game.
@@ -19,17 +21,62 @@ public class Game {
     private boolean gameEnded;
     private Random random;
     
+    // Number of the current deal, so that views of different deals are told apart
+    private static final AtomicLong nextGameId = new AtomicLong();
+    private long gameId;
+    
+    // Moves played since the deal, as GameView history entries
+    private int[] history = new int[64];
+    private int historySize;
+    
+    // Rules, compiled into the effect of each card value and the draw behavior
+    private final RuleSet rules;
+    private final CardEffect[] cardEffects;
+    private final boolean drawUntilPlayable;
+    
+    // Zobrist hash of the state, updated as cards move and turns pass
+    private long hash;
+    // Color of the top card included in the hash; wild colors are set outside the game
+    private CardColor hashedTopColor;
+    // Keys moving every discarded card to the deck, to reshuffle in constant time
+    private long discardToDeck;
+    
+    // Legal moves of the player on turn
+    private final MoveGenerator moveGenerator = new MoveGenerator(this);
+    
+    // Cards each player is likely to hold, inferred from their draws
+    private final HandInference handInference = new HandInference();
+    
+    // Cards the current player must draw unless they stack (stacking house rule)
+    private int pendingDrawCount;
+    
+    // Last Wild Draw Four, for challenges: who played it and whether they held the previous color
+    private Player wildDrawFourPlayer;
+    private CardColor wildDrawFourPreviousColor;
+    private boolean wildDrawFourIllegal;
+    
     // Game event listeners
     private List<GameEventListener> eventListeners;
     
     /**
-     * Create a new UNO game
+     * Create a new UNO game with the standard rules
      */
     public Game() {
+        this(RuleSet.STANDARD);
+    }
+    
+    /**
+     * Create a new UNO game with the given rules
+     */
+    public Game(RuleSet rules) {
+        this.rules = rules;
+        this.cardEffects = rules.compileEffects();
+        this.drawUntilPlayable = rules.isEnabled(HouseRule.DRAW_UNTIL_PLAYABLE);
         players = new ArrayList<>();
         deck = new Stack<>();
         discardPile = new Stack<>();
         eventListeners = new ArrayList<>();
+        eventListeners.add(handInference);
         random = new Random();
         isClockwise = true;
         gameStarted = false;
@@ -64,9 +111,14 @@ public class Game {
         }
         
         discardPile.push(topCard);
+        pendingDrawCount = 0;
+        wildDrawFourPlayer = null;
         
         // Set the first player randomly
         currentPlayerIndex = random.nextInt(players.size());
+        hash = computeHash();
+        gameId = nextGameId.incrementAndGet();
+        historySize = 0;
         
         // Set game state
         gameStarted = true;
@@ -113,6 +165,11 @@ public class Game {
             deck.push(new Card(CardColor.WILD, CardValue.WILD));
             deck.push(new Card(CardColor.WILD, CardValue.WILD_DRAW_FOUR));
         }
+        
+        // Number the cards for hashing
+        for (int i = 0; i < deck.size(); i++) {
+            deck.get(i).setDeckId(i);
+        }
     }
     
     /**
@@ -144,6 +201,21 @@ public class Game {
         return new ArrayList<>(players);
     }
     
+    Player getPlayer(int seat) {
+        return players.get(seat);
+    }
+    
+    int getPlayerCount() {
+        return players.size();
+    }
+    
+    /**
+     * Get the seat of a player, or -1
+     */
+    int getSeat(Player player) {
+        return player == getCurrentPlayer() ? currentPlayerIndex : players.indexOf(player);
+    }
+    
     /**
      * Get the current player
      */
@@ -175,6 +247,145 @@ public class Game {
         return discardPile.peek();
     }
     
+    /**
+     * Get the rules of this game
+     */
+    public RuleSet getRuleSet() {
+        return rules;
+    }
+    
+    /**
+     * Get what a player can see of the game: their hand, the discard pile,
+     * the hand sizes and the moves played so far
+     */
+    public GameView createView(Player player) {
+        int seat = players.indexOf(player);
+        if (seat < 0) {
+            throw new IllegalArgumentException("Not a player of this game: " + player);
+        }
+        return new GameView(this, seat, Arrays.copyOf(history, historySize));
+    }
+    
+    /**
+     * Get what the public moves tell of the cards each player holds
+     */
+    public HandInference getHandInference() {
+        return handInference;
+    }
+    
+    long getGameId() {
+        return gameId;
+    }
+    
+    List<Card> getDiscardPile() {
+        return discardPile;
+    }
+    
+    private void recordMove(int action) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        history[historySize++] = currentPlayerIndex << 8 | action;
+    }
+    
+    /**
+     * Get the Zobrist hash of the game state: where each card is (each hand,
+     * deck or discard pile), the top card and its color, the direction, the
+     * player on turn and the pending penalty. It is updated in constant time
+     * as the game is played, so equal states can be found in a
+     * {@link TranspositionTable}. Changes made to hands outside the game are
+     * not seen.
+     */
+    public long getHash() {
+        // The color of a wild card is chosen outside the game, possibly after it was played
+        Card topCard = getTopCard();
+        CardColor topColor = topCard != null ? topCard.getColor() : null;
+        if (topColor != hashedTopColor) {
+            hash ^= ZobristKeys.topColor(hashedTopColor) ^ ZobristKeys.topColor(topColor);
+            hashedTopColor = topColor;
+        }
+        return hash;
+    }
+    
+    /**
+     * Compute the hash of the state from scratch, to check the one updated as
+     * the game is played
+     */
+    public long computeHash() {
+        long fullHash = 0;
+        for (int i = 0; i < players.size(); i++) {
+            fullHash ^= hashHand(players.get(i), i);
+        }
+        for (Card card : deck) {
+            fullHash ^= ZobristKeys.location(card, ZobristKeys.DECK);
+        }
+        discardToDeck = 0;
+        for (Card card : discardPile) {
+            fullHash ^= ZobristKeys.location(card, ZobristKeys.DISCARD);
+            discardToDeck ^= ZobristKeys.move(card, ZobristKeys.DISCARD, ZobristKeys.DECK);
+        }
+        Card topCard = getTopCard();
+        hashedTopColor = topCard != null ? topCard.getColor() : null;
+        fullHash ^= ZobristKeys.topCard(topCard) ^ ZobristKeys.topColor(hashedTopColor);
+        fullHash ^= ZobristKeys.turn(currentPlayerIndex) ^ ZobristKeys.pendingDraw(pendingDrawCount);
+        if (!isClockwise) {
+            fullHash ^= ZobristKeys.COUNTER_CLOCKWISE;
+        }
+        return fullHash;
+    }
+    
+    private long hashHand(Player player, int playerIndex) {
+        int seat = ZobristKeys.seat(playerIndex);
+        long handHash = 0;
+        for (int i = 0; i < player.getCardCount(); i++) {
+            handHash ^= ZobristKeys.location(player.getCard(i), seat);
+        }
+        return handHash;
+    }
+    
+    private void setCurrentPlayerIndex(int index) {
+        hash ^= ZobristKeys.turn(currentPlayerIndex) ^ ZobristKeys.turn(index);
+        currentPlayerIndex = index;
+    }
+    
+    private void setPendingDrawCount(int count) {
+        hash ^= ZobristKeys.pendingDraw(pendingDrawCount) ^ ZobristKeys.pendingDraw(count);
+        pendingDrawCount = count;
+    }
+    
+    /**
+     * Get the legal moves of the player on turn
+     */
+    public MoveGenerator getMoveGenerator() {
+        return moveGenerator;
+    }
+    
+    /**
+     * Get the number of cards the current player must draw unless they stack
+     */
+    public int getPendingDrawCount() {
+        return pendingDrawCount;
+    }
+    
+    /**
+     * Get the color that was on the discard pile when the last Wild Draw Four was played
+     */
+    public CardColor getWildDrawFourPreviousColor() {
+        return wildDrawFourPreviousColor;
+    }
+    
+    /**
+     * Check if the current player can play a card on the top card.
+     * While a stacked penalty is pending, only a draw card can be played on it.
+     */
+    public boolean isPlayable(Card card) {
+        if (pendingDrawCount > 0) {
+            return card.getValue() == CardValue.WILD_DRAW_FOUR
+                    || (card.getValue() == CardValue.DRAW_TWO && getTopCard().getValue() == CardValue.DRAW_TWO);
+        }
+        return card.canPlayOn(getTopCard());
+    }
+    
     /**
      * Play a card from the current player's hand
      */
@@ -182,7 +393,7 @@ public class Game {
         Player currentPlayer = getCurrentPlayer();
         
         // Check if the card can be played
-        if (!card.canPlayOn(getTopCard())) {
+        if (!isPlayable(card)) {
             return false;
         }
         
@@ -191,11 +402,28 @@ public class Game {
             return false;
         }
         
+        recordMove(GameView.playAction(card, card.isWild() ? card.getChosenColor() : card.getColor()));
+        
+        // A Wild Draw Four is only legal without a card of the previous color
+        Card previousCard = getTopCard();
+        if (card.getValue() == CardValue.WILD_DRAW_FOUR && previousCard != null) {
+            wildDrawFourPlayer = currentPlayer;
+            wildDrawFourPreviousColor = previousCard.getColor();
+            wildDrawFourIllegal = currentPlayer.hasColor(wildDrawFourPreviousColor);
+        }
+        
         // Add the card to the discard pile
         discardPile.push(card);
+        int seat = ZobristKeys.seat(currentPlayerIndex);
+        hash ^= ZobristKeys.move(card, seat, ZobristKeys.DISCARD)
+                ^ ZobristKeys.topCard(previousCard) ^ ZobristKeys.topCard(card)
+                ^ ZobristKeys.topColor(hashedTopColor) ^ ZobristKeys.topColor(card.getColor());
+        hashedTopColor = card.getColor();
+        discardToDeck ^= ZobristKeys.move(card, ZobristKeys.DISCARD, ZobristKeys.DECK);
+        notifyCardPlayed(currentPlayer, card);
         
         // Handle special cards
-        handleSpecialCard(card);
+        cardEffects[card.getValue().ordinal()].apply(this, card);
         
         // Check if the player has won
         if (currentPlayer.getCardCount() == 0) {
@@ -218,53 +446,115 @@ public class Game {
     }
     
     /**
-     * Handle the effects of special cards
-     */
-    private void handleSpecialCard(Card card) {
-        CardValue value = card.getValue();
-        
-        switch (value) {
-            case SKIP:
-                // Skip the next player
-                advanceToNextPlayer();
-                notifyPlayerSkipped(getCurrentPlayer());
-                break;
-                
-            case REVERSE:
-                // Reverse the direction of play
-                isClockwise = !isClockwise;
-                notifyDirectionChanged(isClockwise);
-                break;
-                
-            case DRAW_TWO:
-                // Next player draws 2 cards and misses their turn
-                advanceToNextPlayer();
-                Player nextPlayer = getCurrentPlayer();
-                drawCards(nextPlayer, 2);
-                notifyPlayerDrewCards(nextPlayer, 2);
-                advanceToNextPlayer();
-                break;
-                
-            case WILD:
-                // Color change is handled by the UI
-                notifyColorChanged(card.getColor());
-                break;
-                
-            case WILD_DRAW_FOUR:
-                // Next player draws 4 cards and misses their turn
-                advanceToNextPlayer();
-                Player drawFourPlayer = getCurrentPlayer();
-                drawCards(drawFourPlayer, 4);
-                notifyPlayerDrewCards(drawFourPlayer, 4);
-                advanceToNextPlayer();
-                
-                // Color change is handled by the UI
-                notifyColorChanged(card.getColor());
-                break;
-                
-            default:
-                // Regular number card, nothing special happens
-                break;
+     * Play a card identical to the top card out of turn (jump-in house rule).
+     * Play then continues from that player.
+     */
+    public boolean jumpIn(Player player, Card card) {
+        Card topCard = getTopCard();
+        if (!rules.isEnabled(HouseRule.JUMP_IN) || gameEnded || pendingDrawCount > 0
+                || topCard == null || card.isWild() || !card.equals(topCard) || !player.hasCard(card)) {
+            return false;
+        }
+        int playerIndex = players.indexOf(player);
+        if (playerIndex < 0) {
+            return false;
+        }
+        int previousIndex = currentPlayerIndex;
+        setCurrentPlayerIndex(playerIndex);
+        if (!playCard(card)) {
+            // The turn stays with the player who had it
+            setCurrentPlayerIndex(previousIndex);
+            return false;
+        }
+        return true;
+    }
+    
+    // Effect primitives, assembled into the card effects of a rule set
+    
+    /**
+     * Skip the next player
+     */
+    void skipNextPlayer() {
+        advanceToNextPlayer();
+        notifyPlayerSkipped(getCurrentPlayer());
+    }
+    
+    /**
+     * Reverse the direction of play
+     */
+    void reverseDirection() {
+        isClockwise = !isClockwise;
+        hash ^= ZobristKeys.COUNTER_CLOCKWISE;
+        notifyDirectionChanged(isClockwise);
+    }
+    
+    /**
+     * Announce the color chosen for a wild card
+     */
+    void changeColor(CardColor color) {
+        notifyColorChanged(color);
+    }
+    
+    /**
+     * The next player draws cards and misses their turn
+     */
+    void penalizeNextPlayer(int count) {
+        advanceToNextPlayer();
+        Player nextPlayer = getCurrentPlayer();
+        drawCards(nextPlayer, count);
+        notifyPlayerDrewCards(nextPlayer, count);
+    }
+    
+    /**
+     * Add cards to the penalty the next player must draw or stack on
+     */
+    void stackPenalty(int count) {
+        setPendingDrawCount(pendingDrawCount + count);
+    }
+    
+    /**
+     * Swap the current player's hand with the opponent holding the fewest cards
+     */
+    void swapHandsWithSmallestHand() {
+        Player currentPlayer = getCurrentPlayer();
+        if (currentPlayer.getCardCount() == 0) {
+            return; // The 7 was the last card: the player wins
+        }
+        Player target = null;
+        for (Player player : players) {
+            if (player != currentPlayer && (target == null || player.getCardCount() < target.getCardCount())) {
+                target = player;
+            }
+        }
+        if (target != null) {
+            int targetIndex = players.indexOf(target);
+            hash ^= hashHand(currentPlayer, currentPlayerIndex) ^ hashHand(target, targetIndex);
+            currentPlayer.swapHand(target);
+            hash ^= hashHand(currentPlayer, currentPlayerIndex) ^ hashHand(target, targetIndex);
+            notifyHandsSwapped(currentPlayer, target);
+        }
+    }
+    
+    /**
+     * Every player passes their hand to the next player in the direction of play
+     */
+    void rotateHands() {
+        if (getCurrentPlayer().getCardCount() == 0) {
+            return; // The 0 was the last card: the player wins
+        }
+        for (int i = 0; i < players.size(); i++) {
+            hash ^= hashHand(players.get(i), i);
+        }
+        int step = isClockwise ? 1 : players.size() - 1;
+        int index = currentPlayerIndex;
+        for (int i = 0; i < players.size() - 1; i++) {
+            int nextIndex = (index + step) % players.size();
+            players.get(currentPlayerIndex).swapHand(players.get(nextIndex));
+            notifyHandsSwapped(players.get(currentPlayerIndex), players.get(nextIndex));
+            index = nextIndex;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            hash ^= hashHand(players.get(i), i);
         }
     }
     
@@ -273,18 +563,50 @@ public class Game {
      */
     public void advanceToNextPlayer() {
         if (isClockwise) {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+            setCurrentPlayerIndex((currentPlayerIndex + 1) % players.size());
         } else {
-            currentPlayerIndex = (currentPlayerIndex - 1 + players.size()) % players.size();
+            setCurrentPlayerIndex((currentPlayerIndex - 1 + players.size()) % players.size());
         }
         
         notifyPlayerTurn(getCurrentPlayer());
     }
     
     /**
-     * Draw a card from the deck for the specified player
+     * Draw a card from the deck for the specified player.
+     * For the player on turn, a pending stacked penalty is drawn instead, and
+     * null is returned as the turn is lost; with the draw-until-playable rule,
+     * cards are drawn until one can be played and that card is returned.
      */
     public Card drawCard(Player player) {
+        if (player == getCurrentPlayer()) {
+            recordMove(GameView.DRAW_ACTION);
+            if (pendingDrawCount > 0) {
+                int count = pendingDrawCount;
+                setPendingDrawCount(0);
+                drawCards(player, count);
+                notifyPlayerDrewCards(player, count);
+                return null;
+            }
+            notifyPlayerDrewInsteadOfPlaying(player, getTopCard());
+            if (drawUntilPlayable) {
+                Card card = drawSingleCard(player);
+                while (card != null && !card.canPlayOn(getTopCard())) {
+                    Card next = drawSingleCard(player);
+                    if (next == null) {
+                        break;
+                    }
+                    card = next;
+                }
+                return card;
+            }
+        }
+        return drawSingleCard(player);
+    }
+    
+    /**
+     * Draw one card from the deck for the specified player
+     */
+    private Card drawSingleCard(Player player) {
         // Check if the deck is empty
         if (deck.isEmpty()) {
             // If the deck is empty, shuffle the discard pile (except the top card)
@@ -300,6 +622,8 @@ public class Game {
         // Draw a card from the deck
         Card card = deck.pop();
         player.addCard(card);
+        int seat = ZobristKeys.seat(player == getCurrentPlayer() ? currentPlayerIndex : players.indexOf(player));
+        hash ^= ZobristKeys.move(card, ZobristKeys.DECK, seat);
         
         notifyPlayerDrewCards(player, 1);
         
@@ -311,7 +635,7 @@ public class Game {
      */
     private void drawCards(Player player, int count) {
         for (int i = 0; i < count; i++) {
-            drawCard(player);
+            drawSingleCard(player);
         }
     }
     
@@ -337,6 +661,11 @@ public class Game {
         // Put the top card back on the discard pile
         discardPile.push(topCard);
         
+        // Every card but the top one moved to the deck
+        long topToDeck = ZobristKeys.move(topCard, ZobristKeys.DISCARD, ZobristKeys.DECK);
+        hash ^= discardToDeck ^ topToDeck;
+        discardToDeck = topToDeck;
+        
         notifyDeckReshuffled();
     }
     
@@ -376,9 +705,14 @@ public class Game {
             return false; // Can't challenge if the top card is not a Wild Draw Four
         }
         
-        // Check if the challenged player had a card matching the color of the previous card
-        // (This is simplified - in a real game, you'd need to track the previous color)
-        boolean challengeSuccessful = false;
+        // Only the last Wild Draw Four can be challenged, and only once
+        if (challenged != wildDrawFourPlayer) {
+            return false;
+        }
+        wildDrawFourPlayer = null;
+        
+        // The challenge succeeds if the challenged player had a card matching the previous color
+        boolean challengeSuccessful = wildDrawFourIllegal;
         
         // If the challenge is successful, the challenged player draws 4 cards
         // If the challenge fails, the challenger draws 6 cards
@@ -517,6 +851,33 @@ public class Game {
         }
     }
     
+    /**
+     * Notify listeners that the player on turn chose to draw rather than play
+     */
+    private void notifyPlayerDrewInsteadOfPlaying(Player player, Card topCard) {
+        for (GameEventListener listener : eventListeners) {
+            listener.onPlayerDrewInsteadOfPlaying(this, player, topCard);
+        }
+    }
+    
+    /**
+     * Notify listeners that a card was played
+     */
+    private void notifyCardPlayed(Player player, Card card) {
+        for (GameEventListener listener : eventListeners) {
+            listener.onCardPlayed(this, player, card);
+        }
+    }
+    
+    /**
+     * Notify listeners that two players exchanged their hands
+     */
+    private void notifyHandsSwapped(Player first, Player second) {
+        for (GameEventListener listener : eventListeners) {
+            listener.onHandsSwapped(this, first, second);
+        }
+    }
+    
     /**
      * Notify listeners that the deck was reshuffled
      */
@@ -587,5 +948,23 @@ public class Game {
         void onColorChanged(Game game, CardColor color);
         void onWildDrawFourChallengeSucceeded(Game game, Player challenger, Player challenged);
         void onWildDrawFourChallengeFailed(Game game, Player challenger, Player challenged);
+        
+        // Events added since, optional for existing listeners
+        
+        /**
+         * The player on turn draws although no penalty is pending; called
+         * before the cards are drawn
+         */
+        default void onPlayerDrewInsteadOfPlaying(Game game, Player player, Card topCard) {}
+        
+        /**
+         * A card left the player's hand for the discard pile, before its effect
+         */
+        default void onCardPlayed(Game game, Player player, Card card) {}
+        
+        /**
+         * Two players exchanged their hands (seven-zero house rule)
+         */
+        default void onHandsSwapped(Game game, Player first, Player second) {}
     }
 }
@@ -0,0 +1,227 @@
+package uno.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What one player can see of a game at a point in time: their own hand, the
+ * discard pile, the number of cards of every player, and the moves played so
+ * far. Cards are copies, so a view can be read on any thread while the game
+ * goes on.
+ * <p>
+ * Moves are recorded as action codes: a card kind (color and value; a wild
+ * card with its chosen color), or a draw. Each entry of the history packs the
+ * seat of the player and the action: {@code seat << 8 | action}.
+ */
+public final class GameView {
+    /** Colored cards: 4 colors of 13 values, kind = color * 13 + value */
+    public static final int COLORED_KINDS = 52;
+    public static final int WILD_KIND = 52;
+    public static final int WILD_DRAW_FOUR_KIND = 53;
+    public static final int KIND_COUNT = 54;
+
+    /** Actions 0-51 play a colored kind; wild cards are played with one of the 4 colors */
+    public static final int WILD_ACTION = 52;
+    public static final int WILD_DRAW_FOUR_ACTION = 56;
+    public static final int DRAW_ACTION = 60;
+    public static final int ACTION_COUNT = 61;
+    /** A wild card played before its color was chosen */
+    public static final int UNKNOWN_ACTION = 255;
+
+    private static final CardColor[] COLORS = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
+
+    private final long gameId;
+    private final int seat;
+    private final int currentSeat;
+    private final boolean clockwise;
+    private final List<Card> hand;
+    private final BitSet playable;
+    private final Card topCard;
+    private final List<Card> discardPile;
+    private final int[] handSizes;
+    private final int deckSize;
+    private final int pendingDrawCount;
+    private final RuleSet rules;
+    private final int[] history;
+    private final float[] handWeights;
+
+    GameView(Game game, int seat, int[] history) {
+        List<Player> players = game.getPlayers();
+        this.gameId = game.getGameId();
+        this.seat = seat;
+        this.currentSeat = game.getCurrentPlayerIndex();
+        this.clockwise = game.isClockwise();
+        this.hand = copyAll(players.get(seat).getHand());
+        this.playable = seat == currentSeat ? game.getMoveGenerator().getLegalMoves() : new BitSet();
+        this.topCard = game.getTopCard() != null ? copy(game.getTopCard()) : null;
+        this.discardPile = copyAll(game.getDiscardPile());
+        this.handSizes = new int[players.size()];
+        for (int i = 0; i < handSizes.length; i++) {
+            handSizes[i] = players.get(i).getCardCount();
+        }
+        this.deckSize = game.getDeckSize();
+        this.pendingDrawCount = game.getPendingDrawCount();
+        this.rules = game.getRuleSet();
+        this.history = history;
+        this.handWeights = game.getHandInference().copyWeights();
+    }
+
+    /**
+     * Get a number identifying the deal the view was taken from
+     */
+    public long getGameId() { return gameId; }
+
+    /**
+     * Get the seat of the player the view belongs to
+     */
+    public int getSeat() { return seat; }
+
+    public int getCurrentSeat() { return currentSeat; }
+    public boolean isClockwise() { return clockwise; }
+    public int getPlayerCount() { return handSizes.length; }
+
+    /**
+     * Get copies of the cards of the player the view belongs to
+     */
+    public List<Card> getHand() { return hand; }
+
+    /**
+     * Get the positions of the hand the rules allow to play; empty when
+     * the player is not on turn
+     */
+    public BitSet getPlayable() { return (BitSet) playable.clone(); }
+
+    /**
+     * Get the legal actions of the player, as a mask over the action codes:
+     * the playable cards, a wild card with each color, and drawing when no
+     * card can be played or a stacked penalty is pending
+     */
+    public long getLegalActions() {
+        long actions = 0;
+        for (int i = playable.nextSetBit(0); i >= 0; i = playable.nextSetBit(i + 1)) {
+            int kind = kind(hand.get(i));
+            if (kind == WILD_KIND) {
+                actions |= 0xFL << WILD_ACTION;
+            } else if (kind == WILD_DRAW_FOUR_KIND) {
+                actions |= 0xFL << WILD_DRAW_FOUR_ACTION;
+            } else if (kind >= 0) {
+                actions |= 1L << kind;
+            }
+        }
+        return actions == 0 || pendingDrawCount > 0 ? actions | 1L << DRAW_ACTION : actions;
+    }
+
+    public Card getTopCard() { return topCard; }
+
+    /**
+     * Get copies of the cards of the discard pile, from the bottom to the top card
+     */
+    public List<Card> getDiscardPile() { return discardPile; }
+
+    public int getHandSize(int seat) { return handSizes[seat]; }
+
+    /**
+     * Get how likely, relative to a card nothing is known about, one card of
+     * a seat's hand is of a kind; see {@link HandInference}
+     */
+    public float getHandWeight(int seat, int kind) {
+        return handWeights.length > 0 ? handWeights[seat * KIND_COUNT + kind] : 1f;
+    }
+    public int getDeckSize() { return deckSize; }
+    public int getPendingDrawCount() { return pendingDrawCount; }
+    public RuleSet getRuleSet() { return rules; }
+
+    /**
+     * Get the number of moves played since the deal
+     */
+    public int getHistorySize() { return history.length; }
+
+    /**
+     * Get a move of the history, as {@code seat << 8 | action}
+     */
+    public int getHistoryEntry(int index) { return history[index]; }
+
+    public static int entrySeat(int entry) { return entry >>> 8; }
+    public static int entryAction(int entry) { return entry & 0xFF; }
+
+    /**
+     * Get the kind of a card: color * 13 + value for colored cards,
+     * WILD_KIND or WILD_DRAW_FOUR_KIND for wild cards, -1 for an invalid card
+     */
+    public static int kind(Card card) {
+        if (card.getValue() == CardValue.WILD) {
+            return WILD_KIND;
+        }
+        if (card.getValue() == CardValue.WILD_DRAW_FOUR) {
+            return WILD_DRAW_FOUR_KIND;
+        }
+        int color = colorIndex(card.getColor());
+        return color < 0 || card.getValue() == null ? -1 : color * 13 + card.getValue().ordinal();
+    }
+
+    /**
+     * Get the action playing a card, with the color chosen for a wild card
+     */
+    public static int playAction(Card card, CardColor chosenColor) {
+        int kind = kind(card);
+        if (kind < COLORED_KINDS) {
+            return kind < 0 ? UNKNOWN_ACTION : kind;
+        }
+        int color = colorIndex(chosenColor);
+        if (color < 0) {
+            return UNKNOWN_ACTION;
+        }
+        return (kind == WILD_KIND ? WILD_ACTION : WILD_DRAW_FOUR_ACTION) + color;
+    }
+
+    /**
+     * Get the kind of card an action plays, or -1 for a draw
+     */
+    public static int actionKind(int action) {
+        if (action < COLORED_KINDS) {
+            return action;
+        }
+        if (action < WILD_DRAW_FOUR_ACTION) {
+            return WILD_KIND;
+        }
+        return action < DRAW_ACTION ? WILD_DRAW_FOUR_KIND : -1;
+    }
+
+    /**
+     * Get the color an action plays: the card color, or the color chosen for a wild card
+     */
+    public static CardColor actionColor(int action) {
+        if (action < COLORED_KINDS) {
+            return COLORS[action / 13];
+        }
+        return action < DRAW_ACTION ? COLORS[(action - WILD_ACTION) % 4] : null;
+    }
+
+    /**
+     * Get the index of one of the four card colors, or -1
+     */
+    public static int colorIndex(CardColor color) {
+        return color == null || color == CardColor.WILD ? -1 : color.ordinal();
+    }
+
+    public static CardColor color(int index) {
+        return COLORS[index];
+    }
+
+    private static List<Card> copyAll(List<Card> cards) {
+        List<Card> copies = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            copies.add(copy(card));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private static Card copy(Card card) {
+        Card copy = new Card(card.getColor(), card.getValue());
+        copy.setColor(card.getColor());
+        copy.setChosenColor(card.getChosenColor());
+        return copy;
+    }
+}
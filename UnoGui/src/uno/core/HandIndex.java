@@ -0,0 +1,152 @@
+package uno.core;
+
+import java.util.Arrays;
+
+/**
+ * Bitsets over the positions of a hand: one per card color, one per card
+ * value and one for the wild cards. They are updated as cards are added or
+ * removed, so that the cards playable on a top card are found by combining
+ * a few words instead of testing every card.
+ */
+final class HandIndex {
+    private static final int COLOR_COUNT = CardColor.values().length;
+    private static final int VALUE_COUNT = CardValue.values().length;
+
+    private long[][] colorMasks;
+    private long[][] valueMasks;
+    private long[] wildMask;
+    private int words;
+    private int size;
+
+    // Incremented on every change, so that cached results can be validated
+    private int version;
+
+    HandIndex() {
+        allocate(1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int words() {
+        return words;
+    }
+
+    int version() {
+        return version;
+    }
+
+    /**
+     * Index a card added at the end of the hand
+     */
+    void add(Card card) {
+        if (size == words * 64) {
+            allocate(words * 2);
+        }
+        int word = size >>> 6;
+        long bit = 1L << size;
+        if (card.isWild()) {
+            wildMask[word] |= bit;
+        } else if (card.getColor() != null) {
+            colorMasks[card.getColor().ordinal()][word] |= bit;
+        }
+        if (card.getValue() != null) {
+            valueMasks[card.getValue().ordinal()][word] |= bit;
+        }
+        size++;
+        version++;
+    }
+
+    /**
+     * Forget the card at a position; the following cards move down by one
+     */
+    void remove(int index) {
+        for (long[] mask : colorMasks) {
+            removeBit(mask, index);
+        }
+        for (long[] mask : valueMasks) {
+            removeBit(mask, index);
+        }
+        removeBit(wildMask, index);
+        size--;
+        version++;
+    }
+
+    void clear() {
+        for (long[] mask : colorMasks) {
+            Arrays.fill(mask, 0);
+        }
+        for (long[] mask : valueMasks) {
+            Arrays.fill(mask, 0);
+        }
+        Arrays.fill(wildMask, 0);
+        size = 0;
+        version++;
+    }
+
+    /**
+     * Word of the positions playable on the top card, following the rules of
+     * {@link Card#canPlayOn}; while a stacked penalty is pending, only the
+     * draw cards that can stack on it, as in {@link Game#isPlayable}
+     */
+    long playableWord(int word, Card topCard, int pendingDrawCount) {
+        if (topCard == null || topCard.getValue() == null) {
+            return 0;
+        }
+        if (pendingDrawCount > 0) {
+            long playable = valueMasks[CardValue.WILD_DRAW_FOUR.ordinal()][word];
+            if (topCard.getValue() == CardValue.DRAW_TWO) {
+                playable |= valueMasks[CardValue.DRAW_TWO.ordinal()][word];
+            }
+            return playable;
+        }
+        long playable = wildMask[word] | valueMasks[topCard.getValue().ordinal()][word];
+        if (topCard.getColor() != null) {
+            playable |= colorMasks[topCard.getColor().ordinal()][word];
+        }
+        return playable;
+    }
+
+    /**
+     * First position playable on the top card, or -1
+     */
+    int firstPlayable(Card topCard) {
+        for (int word = 0; word < words; word++) {
+            long playable = playableWord(word, topCard, 0);
+            if (playable != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(playable);
+            }
+        }
+        return -1;
+    }
+
+    private void allocate(int newWords) {
+        colorMasks = grow(colorMasks, COLOR_COUNT, newWords);
+        valueMasks = grow(valueMasks, VALUE_COUNT, newWords);
+        wildMask = wildMask == null ? new long[newWords] : Arrays.copyOf(wildMask, newWords);
+        words = newWords;
+    }
+
+    private static long[][] grow(long[][] masks, int count, int newWords) {
+        long[][] grown = new long[count][];
+        for (int i = 0; i < count; i++) {
+            grown[i] = masks == null ? new long[newWords] : Arrays.copyOf(masks[i], newWords);
+        }
+        return grown;
+    }
+
+    /**
+     * Remove a bit and shift the higher bits down by one position
+     */
+    private static void removeBit(long[] mask, int index) {
+        int word = index >>> 6;
+        long low = mask[word] & ((1L << index) - 1);
+        long high = (mask[word] >>> 1) & ~((1L << index) - 1);
+        mask[word] = low | high;
+        for (int i = word + 1; i < mask.length; i++) {
+            mask[i - 1] |= mask[i] << 63;
+            mask[i] >>>= 1;
+        }
+    }
+}
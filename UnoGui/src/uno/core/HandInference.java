@@ -0,0 +1,161 @@
+package uno.core;
+
+import java.util.Arrays;
+
+/**
+ * Infers from the public moves which cards each player is likely to hold.
+ * A player who draws instead of playing most likely holds no card of the top
+ * color or value: every such draw lowers, for that player, the weight of the
+ * kinds of cards that could have been played. Cards drawn afterwards are
+ * unaffected by that evidence, so each draw moves the weights of the player
+ * back toward 1, in proportion to the cards drawn.
+ * <p>
+ * The weight of a kind for a seat is the likelihood, relative to a player
+ * nobody knows anything about, that one card of their hand is of that kind:
+ * a card is dealt to the seat with a probability proportional to the number
+ * of unseen cards of its kind times its weight. Weights are kept in one
+ * array of KIND_COUNT floats per seat and every event updates a single seat
+ * in constant time.
+ * <p>
+ * Every game keeps one, registered as its first listener; AI strategies read
+ * it through {@link GameView#getHandWeight}.
+ */
+public final class HandInference implements Game.GameEventListener {
+    /**
+     * Likelihood of drawing instead of playing while holding a playable card:
+     * players do so to keep a card for later, or by mistake
+     */
+    public static final float DRAW_WITH_PLAYABLE_LIKELIHOOD = 0.15f;
+
+    // Keeps the weights from underflowing after many draws
+    private static final float MIN_WEIGHT = 1e-4f;
+
+    private static final int KIND_COUNT = GameView.KIND_COUNT;
+
+    private float[] weights = new float[0];
+    // Hand sizes the weights account for
+    private int[] handSizes = new int[0];
+
+    /**
+     * Get the weight of a kind of card for a seat: 1 without evidence, lower
+     * when the player is unlikely to hold it
+     */
+    public float getWeight(int seat, int kind) {
+        return weights[seat * KIND_COUNT + kind];
+    }
+
+    float[] copyWeights() {
+        return weights.clone();
+    }
+
+    @Override
+    public void onGameStarted(Game game) {
+        int players = game.getPlayerCount();
+        if (weights.length != players * KIND_COUNT) {
+            weights = new float[players * KIND_COUNT];
+            handSizes = new int[players];
+        }
+        Arrays.fill(weights, 1f);
+        for (int seat = 0; seat < players; seat++) {
+            handSizes[seat] = game.getPlayer(seat).getCardCount();
+        }
+    }
+
+    /**
+     * Lower the weights of the kinds the player could have played on the top card
+     */
+    @Override
+    public void onPlayerDrewInsteadOfPlaying(Game game, Player player, Card topCard) {
+        int seat = seat(game, player);
+        if (seat < 0 || topCard == null) {
+            return;
+        }
+        sync(seat, player);
+        int offset = seat * KIND_COUNT;
+        int color = GameView.colorIndex(topCard.getColor());
+        if (color >= 0) {
+            for (int kind = color * 13; kind < color * 13 + 13; kind++) {
+                lower(offset + kind);
+            }
+        }
+        if (!topCard.getValue().isWildCard()) {
+            int value = topCard.getValue().ordinal();
+            for (int other = 0; other < 4; other++) {
+                if (other != color) {
+                    lower(offset + other * 13 + value);
+                }
+            }
+        }
+        lower(offset + GameView.WILD_KIND);
+        lower(offset + GameView.WILD_DRAW_FOUR_KIND);
+    }
+
+    @Override
+    public void onPlayerDrewCards(Game game, Player player, int count) {
+        int seat = seat(game, player);
+        if (seat >= 0) {
+            sync(seat, player);
+        }
+    }
+
+    @Override
+    public void onCardPlayed(Game game, Player player, Card card) {
+        int seat = seat(game, player);
+        if (seat >= 0) {
+            // What was inferred still holds for the cards left
+            handSizes[seat] = player.getCardCount();
+        }
+    }
+
+    @Override
+    public void onHandsSwapped(Game game, Player first, Player second) {
+        int a = seat(game, first);
+        int b = seat(game, second);
+        if (a < 0 || b < 0) {
+            return;
+        }
+        float[] row = Arrays.copyOfRange(weights, a * KIND_COUNT, (a + 1) * KIND_COUNT);
+        System.arraycopy(weights, b * KIND_COUNT, weights, a * KIND_COUNT, KIND_COUNT);
+        System.arraycopy(row, 0, weights, b * KIND_COUNT, KIND_COUNT);
+        handSizes[a] = first.getCardCount();
+        handSizes[b] = second.getCardCount();
+    }
+
+    /**
+     * Account for the cards drawn by a seat since the last event: they carry
+     * no evidence, so the weights are averaged with 1 over the hand
+     */
+    private void sync(int seat, Player player) {
+        int size = player.getCardCount();
+        int drawn = size - handSizes[seat];
+        handSizes[seat] = size;
+        if (drawn <= 0) {
+            return;
+        }
+        float kept = (float) (size - drawn) / size;
+        float fresh = 1 - kept;
+        for (int i = seat * KIND_COUNT, end = i + KIND_COUNT; i < end; i++) {
+            weights[i] = weights[i] * kept + fresh;
+        }
+    }
+
+    private void lower(int index) {
+        weights[index] = Math.max(weights[index] * DRAW_WITH_PLAYABLE_LIKELIHOOD, MIN_WEIGHT);
+    }
+
+    private int seat(Game game, Player player) {
+        int seat = game.getSeat(player);
+        return seat < handSizes.length ? seat : -1;
+    }
+
+    @Override public void onGameEnded(Game game, Player winner) {}
+    @Override public void onPlayerTurn(Game game, Player player) {}
+    @Override public void onPlayerSkipped(Game game, Player player) {}
+    @Override public void onDirectionChanged(Game game, boolean isClockwise) {}
+    @Override public void onDeckReshuffled(Game game) {}
+    @Override public void onPlayerCalledUno(Game game, Player player) {}
+    @Override public void onPlayerForgotUno(Game game, Player player) {}
+    @Override public void onColorChanged(Game game, CardColor color) {}
+    @Override public void onWildDrawFourChallengeSucceeded(Game game, Player challenger, Player challenged) {}
+    @Override public void onWildDrawFourChallengeFailed(Game game, Player challenger, Player challenged) {}
+}
@@ -0,0 +1,26 @@
+package uno.core;
+
+/**
+ * Optional house rules that can be added to a {@link RuleSet}.
+ */
+public enum HouseRule {
+    /**
+     * +2 and +4 cards can be stacked: the penalty adds up until a player cannot stack and draws it all
+     */
+    STACKING,
+    
+    /**
+     * A player holding a card identical to the top card can play it out of turn
+     */
+    JUMP_IN,
+    
+    /**
+     * Playing a 7 swaps hands with another player, playing a 0 passes every hand along
+     */
+    SEVEN_ZERO,
+    
+    /**
+     * A player who draws keeps drawing until they get a playable card
+     */
+    DRAW_UNTIL_PLAYABLE
+}
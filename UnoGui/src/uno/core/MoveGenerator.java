@@ -0,0 +1,120 @@
+package uno.core;
+
+import java.util.BitSet;
+
+/**
+ * Legal moves of the player on turn, as a bitset over the positions of
+ * their hand.
+ * <p>
+ * Hands keep bitsets of their cards by color, by value and of their wild
+ * cards, updated as cards come and go. The legal set combines a few of them
+ * according to the top card, and is only rebuilt, without looking at the
+ * cards, when the player on turn, their hand, the top card, its chosen color
+ * or a stacked penalty changed.
+ */
+public final class MoveGenerator {
+    private final Game game;
+    private long[] legal = new long[1];
+    private int legalCount;
+
+    // State the legal set was built for
+    private HandIndex index;
+    private int handVersion;
+    private Card topCard;
+    private CardColor topColor;
+    private CardValue topValue;
+    private int pendingDrawCount;
+
+    MoveGenerator(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Get the legal moves, as positions in the hand of the player on turn
+     */
+    public BitSet getLegalMoves() {
+        validate();
+        return BitSet.valueOf(legal);
+    }
+
+    /**
+     * Check if the card at a position in the hand of the player on turn can be played
+     */
+    public boolean isLegal(int handIndex) {
+        validate();
+        int word = handIndex >>> 6;
+        return handIndex >= 0 && word < legal.length && (legal[word] & (1L << handIndex)) != 0;
+    }
+
+    /**
+     * Get the first legal position at or after fromIndex, or -1
+     */
+    public int nextLegalMove(int fromIndex) {
+        validate();
+        int word = fromIndex >>> 6;
+        if (fromIndex < 0 || word >= legal.length) {
+            return -1;
+        }
+        long bits = legal[word] & (-1L << fromIndex);
+        while (bits == 0) {
+            if (++word == legal.length) {
+                return -1;
+            }
+            bits = legal[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Get the number of cards the player on turn can play
+     */
+    public int getLegalMoveCount() {
+        validate();
+        return legalCount;
+    }
+
+    /**
+     * Check if the player on turn can play a card
+     */
+    public boolean hasLegalMove() {
+        return getLegalMoveCount() > 0;
+    }
+
+    /**
+     * Rebuild the legal set if the state it was built for changed
+     */
+    private void validate() {
+        HandIndex currentIndex = game.getCurrentPlayer().getHandIndex();
+        Card currentTopCard = game.getTopCard();
+        CardColor currentTopColor = currentTopCard != null ? currentTopCard.getColor() : null;
+        CardValue currentTopValue = currentTopCard != null ? currentTopCard.getValue() : null;
+        int currentPendingDrawCount = game.getPendingDrawCount();
+        if (currentIndex == index && currentIndex.version() == handVersion && currentTopCard == topCard
+                && currentTopColor == topColor && currentTopValue == topValue
+                && currentPendingDrawCount == pendingDrawCount) {
+            return;
+        }
+
+        int words = currentIndex.words();
+        if (legal.length != words) {
+            legal = new long[words];
+        }
+        legalCount = 0;
+        for (int word = 0; word < words; word++) {
+            legal[word] = currentIndex.playableWord(word, currentTopCard, currentPendingDrawCount);
+            legalCount += Long.bitCount(legal[word]);
+        }
+
+        index = currentIndex;
+        handVersion = currentIndex.version();
+        topCard = currentTopCard;
+        topColor = currentTopColor;
+        topValue = currentTopValue;
+        pendingDrawCount = currentPendingDrawCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveGenerator" + getLegalMoves();
+    }
+}
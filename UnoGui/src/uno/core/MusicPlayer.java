@@ -0,0 +1,376 @@
+package uno.core;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams background music into the AudioMixer.
+ * Each track is decoded by its own thread, chunk by chunk from a file channel,
+ * into a fixed-size ring read by the audio thread, so memory use does not depend
+ * on the track length. Starting a track crossfades from the previous one, and
+ * the music is ducked while sound effects play.
+ */
+public class MusicPlayer {
+    // About three seconds of decoded music per track
+    private static final int RING_CAPACITY = 1 << 17;
+    private static final int READ_CHUNK_BYTES = 16 * 1024;
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    public static final int DEFAULT_CROSSFADE_MILLIS = 2000;
+    public static final float DEFAULT_DUCK_LEVEL = 0.35f;
+
+    // Time for the ducking to reach its level, and to recover, in milliseconds
+    private static final float DUCK_ATTACK_MILLIS = 40.0f;
+    private static final float DUCK_RELEASE_MILLIS = 400.0f;
+
+    private final AtomicReference<Track> pendingTrack = new AtomicReference<>();
+    private volatile boolean stopRequested = false;
+    private volatile float volume = 0.6f;
+    private volatile float duckLevel = DEFAULT_DUCK_LEVEL;
+    private volatile int crossfadeMillis = DEFAULT_CROSSFADE_MILLIS;
+    private volatile boolean looping = true;
+
+    // Audio thread state
+    private Track current;
+    private Track previous;
+    private float duckGain = 1.0f;
+    private final short[] scratch = new short[AudioMixer.BLOCK_FRAMES];
+    private volatile long underrunCount = 0;
+
+    /**
+     * Create a player feeding the given mixer
+     */
+    public MusicPlayer(AudioMixer mixer) {
+        mixer.setMusicPlayer(this);
+    }
+
+    /**
+     * Start streaming a track, crossfading from the one playing
+     *
+     * @param file a WAV file or any other format supported by AudioSystem
+     */
+    public void play(Path file) {
+        Track track = new Track(file, looping);
+        track.start();
+        Track replaced = pendingTrack.getAndSet(track);
+        if (replaced != null) {
+            // Never reached the audio thread
+            replaced.close();
+        }
+        stopRequested = false;
+    }
+
+    /**
+     * Fade the music out
+     */
+    public void stop() {
+        Track replaced = pendingTrack.getAndSet(null);
+        if (replaced != null) {
+            replaced.close();
+        }
+        stopRequested = true;
+    }
+
+    /**
+     * Stop every track at once and end their decoder threads.
+     * Call after the mixer is stopped.
+     */
+    public void dispose() {
+        Track[] tracks = {pendingTrack.getAndSet(null), current, previous};
+        for (Track track : tracks) {
+            if (track != null) {
+                track.close();
+            }
+        }
+        current = null;
+        previous = null;
+    }
+
+    /**
+     * Set the music volume (0.0 to 1.0)
+     */
+    public void setVolume(float volume) {
+        this.volume = Math.max(0.0f, Math.min(1.0f, volume));
+    }
+
+    /**
+     * Get the music volume
+     */
+    public float getVolume() {
+        return volume;
+    }
+
+    /**
+     * Set the music level while sound effects play (0.0 to 1.0, 1.0 disables ducking)
+     */
+    public void setDuckLevel(float duckLevel) {
+        this.duckLevel = Math.max(0.0f, Math.min(1.0f, duckLevel));
+    }
+
+    /**
+     * Set the duration of the crossfade between tracks
+     */
+    public void setCrossfadeMillis(int crossfadeMillis) {
+        this.crossfadeMillis = Math.max(0, crossfadeMillis);
+    }
+
+    /**
+     * Set whether the tracks started next restart when they end
+     */
+    public void setLooping(boolean looping) {
+        this.looping = looping;
+    }
+
+    /**
+     * Get the number of blocks where a track had no decoded samples ready
+     */
+    public long getUnderrunCount() {
+        return underrunCount;
+    }
+
+    /**
+     * Mix one block of music into the mix (audio thread only)
+     *
+     * @param effectsActive true if sound effects play in this block
+     * @param masterGain the mixer's master gain
+     */
+    void mixInto(int[] mix, int frames, boolean effectsActive, float masterGain) {
+        acceptCommands();
+
+        // Move the ducking gain towards its target, one step per block
+        float blockMillis = frames * 1000.0f / AudioMixer.SAMPLE_RATE;
+        float target = effectsActive ? duckLevel : 1.0f;
+        float rate = blockMillis / (target < duckGain ? DUCK_ATTACK_MILLIS : DUCK_RELEASE_MILLIS);
+        duckGain += Math.max(-rate, Math.min(rate, target - duckGain));
+
+        float gain = volume * duckGain * masterGain;
+        if (current != null && mixTrack(current, mix, frames, gain)) {
+            current.close();
+            current = null;
+        }
+        if (previous != null && mixTrack(previous, mix, frames, gain)) {
+            previous.close();
+            previous = null;
+        }
+    }
+
+    /**
+     * Apply the play and stop requests made since the last block
+     */
+    private void acceptCommands() {
+        Track next = pendingTrack.getAndSet(null);
+        float fadeStep = 1.0f / Math.max(1.0f, crossfadeMillis * AudioMixer.SAMPLE_RATE / 1000.0f);
+        if (next != null) {
+            if (previous != null) {
+                previous.close();
+            }
+            previous = current;
+            current = next;
+            current.fadeIn(fadeStep);
+            if (previous != null) {
+                previous.fadeOut(fadeStep);
+            }
+        } else if (stopRequested) {
+            stopRequested = false;
+            if (current != null) {
+                current.fadeOut(fadeStep);
+                if (previous != null) {
+                    previous.close();
+                }
+                previous = current;
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Mix the available samples of a track
+     *
+     * @return true if the track is over: faded out, or fully played
+     */
+    private boolean mixTrack(Track track, int[] mix, int frames, float gain) {
+        int count = track.ring.read(scratch, 0, frames);
+        if (count < frames && !track.decoderDone) {
+            underrunCount++;
+        }
+        float fade = track.fade;
+        for (int i = 0; i < count; i++) {
+            fade = Math.max(0.0f, Math.min(1.0f, fade + track.fadeStep));
+            mix[i] += (int) (scratch[i] * fade * gain);
+        }
+        track.fade = fade;
+
+        boolean fadedOut = track.fadeStep < 0 && fade <= 0.0f;
+        boolean ended = track.decoderDone && track.ring.available() == 0;
+        return fadedOut || ended;
+    }
+
+    /**
+     * A track being decoded into its ring
+     */
+    private static class Track implements Runnable {
+        private final Path file;
+        private final boolean looping;
+        private final PcmRing ring = new PcmRing(RING_CAPACITY);
+        private Thread decoder;
+        private volatile boolean closed = false;
+        private volatile boolean decoderDone = false;
+
+        // Fade state, audio thread only
+        private float fade = 0.0f;
+        private float fadeStep = 0.0f;
+
+        // Resampler state, decoder thread only
+        private double phase = 0.0;
+        private short lastSample = 0;
+
+        Track(Path file, boolean looping) {
+            this.file = file;
+            this.looping = looping;
+        }
+
+        void start() {
+            decoder = new Thread(this, "uno-music-decoder");
+            decoder.setDaemon(true);
+            decoder.start();
+        }
+
+        void fadeIn(float step) {
+            fadeStep = step;
+        }
+
+        void fadeOut(float step) {
+            fadeStep = -step;
+        }
+
+        void close() {
+            closed = true;
+            if (decoder != null) {
+                LockSupport.unpark(decoder);
+            }
+        }
+
+        @Override
+        public void run() {
+            byte[] bytes = new byte[READ_CHUNK_BYTES];
+            short[] mono = new short[READ_CHUNK_BYTES / 2];
+            short[] output = new short[READ_CHUNK_BYTES];
+            try {
+                do {
+                    try (AudioInputStream stream = open()) {
+                        decode(stream, bytes, mono, output);
+                    }
+                } while (looping && !closed);
+            } catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e) {
+                System.err.println("Cannot stream music " + file + ": " + e.getMessage());
+            } finally {
+                decoderDone = true;
+            }
+        }
+
+        /**
+         * Open the file through a channel and convert it to 16-bit signed little-endian PCM
+         */
+        private AudioInputStream open() throws IOException, UnsupportedAudioFileException {
+            InputStream input = new BufferedInputStream(
+                    Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ)), STREAM_BUFFER_BYTES);
+            AudioInputStream source;
+            try {
+                source = AudioSystem.getAudioInputStream(input);
+            } catch (IOException | UnsupportedAudioFileException e) {
+                input.close();
+                throw e;
+            }
+            AudioFormat format = source.getFormat();
+            AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+            return format.matches(pcm) ? source : AudioSystem.getAudioInputStream(pcm, source);
+        }
+
+        /**
+         * Decode the stream chunk by chunk, down-mixing to mono and resampling to the mixer rate
+         */
+        private void decode(AudioInputStream stream, byte[] bytes, short[] mono, short[] output) throws IOException {
+            AudioFormat format = stream.getFormat();
+            int channels = format.getChannels();
+            int frameBytes = 2 * channels;
+            double ratio = format.getSampleRate() / AudioMixer.SAMPLE_RATE;
+            int usable = bytes.length - bytes.length % frameBytes;
+            int pending = 0;
+
+            while (!closed) {
+                int read = stream.read(bytes, pending, usable - pending);
+                if (read < 0) {
+                    return;
+                }
+                int total = pending + read;
+                int frames = total / frameBytes;
+
+                for (int f = 0; f < frames; f++) {
+                    int sum = 0;
+                    for (int c = 0; c < channels; c++) {
+                        int index = f * frameBytes + 2 * c;
+                        sum += (short) ((bytes[index] & 0xFF) | (bytes[index + 1] << 8));
+                    }
+                    mono[f] = (short) (sum / channels);
+                }
+
+                // Keep a partial frame for the next read
+                pending = total - frames * frameBytes;
+                System.arraycopy(bytes, frames * frameBytes, bytes, 0, pending);
+
+                resample(mono, frames, ratio, output);
+            }
+        }
+
+        /**
+         * Linear resampling carried across chunks, pushing the result to the ring
+         */
+        private void resample(short[] input, int length, double ratio, short[] output) {
+            int produced = 0;
+            while (true) {
+                int index = (int) Math.floor(phase);
+                if (index + 1 >= length) {
+                    break;
+                }
+                int s0 = index < 0 ? lastSample : input[index];
+                int s1 = input[index + 1];
+                output[produced++] = (short) (s0 + (s1 - s0) * (phase - index));
+                phase += ratio;
+                if (produced == output.length) {
+                    push(output, produced);
+                    produced = 0;
+                }
+            }
+            push(output, produced);
+            if (length > 0) {
+                phase -= length;
+                lastSample = input[length - 1];
+            }
+        }
+
+        /**
+         * Write samples into the ring, waiting while it is full
+         */
+        private void push(short[] samples, int length) {
+            int offset = 0;
+            while (offset < length && !closed) {
+                offset += ring.write(samples, offset, length - offset);
+                if (offset < length) {
+                    // The audio thread drains a block every few milliseconds
+                    LockSupport.parkNanos(5_000_000L);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package uno.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer single-consumer ring of 16-bit samples.
+ * Used between a decoder thread and the audio thread; its size is fixed
+ * at creation, whatever the length of the stream going through it.
+ */
+class PcmRing {
+    private final short[] buffer;
+    private final int mask;
+
+    // Next sample to read, advanced by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next sample to write, advanced by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Create a ring
+     *
+     * @param capacity the number of samples, a power of two
+     */
+    PcmRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.buffer = new short[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Copy as many samples as fit (producer thread only)
+     *
+     * @return the number of samples written
+     */
+    int write(short[] source, int offset, int length) {
+        long t = tail.get();
+        int count = (int) Math.min(length, buffer.length - (t - head.get()));
+        for (int i = 0; i < count; i++) {
+            buffer[(int) (t + i) & mask] = source[offset + i];
+        }
+        tail.lazySet(t + count);
+        return count;
+    }
+
+    /**
+     * Copy as many samples as are available (consumer thread only)
+     *
+     * @return the number of samples read
+     */
+    int read(short[] target, int offset, int length) {
+        long h = head.get();
+        int count = (int) Math.min(length, tail.get() - h);
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = buffer[(int) (h + i) & mask];
+        }
+        head.lazySet(h + count);
+        return count;
+    }
+
+    /**
+     * Get the number of samples waiting to be read
+     */
+    int available() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Get the size of the ring
+     */
+    int capacity() {
+        return buffer.length;
+    }
+}
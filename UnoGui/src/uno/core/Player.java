@@ -9,6 +9,7 @@ import java.util.List;
 public class Player {
     private String name;
     private List<Card> hand;
+    private HandIndex handIndex;
     private boolean isAI;
     private boolean calledUno;
     
@@ -25,6 +26,7 @@ public class Player {
     public Player(String name, boolean isAI) {
         this.name = name;
         this.hand = new ArrayList<>();
+        this.handIndex = new HandIndex();
         this.isAI = isAI;
         this.calledUno = false;
     }
@@ -55,6 +57,7 @@ public class Player {
      */
     public void addCard(Card card) {
         hand.add(card);
+        handIndex.add(card);
         // When a player draws a card, they haven't called UNO
         if (hand.size() > 1) {
             calledUno = false;
@@ -65,19 +68,48 @@ public class Player {
      * Remove a card from the player's hand
      */
     public boolean removeCard(Card card) {
-        return hand.remove(card);
+        // The card itself first: the hand can hold another copy equal to it
+        int index = -1;
+        for (int i = 0; i < hand.size() && index < 0; i++) {
+            if (hand.get(i) == card) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            index = hand.indexOf(card);
+        }
+        if (index < 0) {
+            return false;
+        }
+        hand.remove(index);
+        handIndex.remove(index);
+        return true;
     }
     
     /**
      * Play a card from the player's hand
      */
     public Card playCard(Card card) {
-        if (hand.remove(card)) {
+        if (removeCard(card)) {
             return card;
         }
         return null;
     }
     
+    /**
+     * Get the card at a position in the player's hand, without copying the hand
+     */
+    public Card getCard(int index) {
+        return hand.get(index);
+    }
+    
+    /**
+     * Get the bitsets indexing the hand, used by the move generator
+     */
+    HandIndex getHandIndex() {
+        return handIndex;
+    }
+    
     /**
      * Check if the player has a specific card
      */
@@ -86,27 +118,44 @@ public class Player {
     }
     
     /**
-     * Check if the player has any card that can be played on the given card
+     * Check if the player has a card of the given color
      */
-    public boolean hasPlayableCard(Card topCard) {
+    public boolean hasColor(CardColor color) {
         for (Card card : hand) {
-            if (card.canPlayOn(topCard)) {
+            if (card.getColor() == color) {
                 return true;
             }
         }
         return false;
     }
     
+    /**
+     * Exchange hands with another player (seven-zero house rule)
+     */
+    void swapHand(Player other) {
+        List<Card> swapped = hand;
+        hand = other.hand;
+        other.hand = swapped;
+        HandIndex swappedIndex = handIndex;
+        handIndex = other.handIndex;
+        other.handIndex = swappedIndex;
+        calledUno = false;
+        other.calledUno = false;
+    }
+    
+    /**
+     * Check if the player has any card that can be played on the given card
+     */
+    public boolean hasPlayableCard(Card topCard) {
+        return handIndex.firstPlayable(topCard) >= 0;
+    }
+    
     /**
      * Get a playable card from the player's hand
      */
     public Card getPlayableCard(Card topCard) {
-        for (Card card : hand) {
-            if (card.canPlayOn(topCard)) {
-                return card;
-            }
-        }
-        return null;
+        int index = handIndex.firstPlayable(topCard);
+        return index >= 0 ? hand.get(index) : null;
     }
     
     /**
@@ -0,0 +1,91 @@
+package uno.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Rules a game is played with: the standard rules plus a set of house rules.
+ * The rule set is compiled once, when the game is created, into a table giving
+ * the effect of each card value, so that playing a card never looks up rules.
+ */
+public final class RuleSet {
+    /**
+     * Standard rules, without house rules
+     */
+    public static final RuleSet STANDARD = new RuleSet(EnumSet.noneOf(HouseRule.class));
+    
+    private final Set<HouseRule> houseRules;
+    
+    /**
+     * Create a rule set with the given house rules
+     */
+    public RuleSet(Set<HouseRule> houseRules) {
+        EnumSet<HouseRule> rules = EnumSet.noneOf(HouseRule.class);
+        rules.addAll(houseRules);
+        this.houseRules = Collections.unmodifiableSet(rules);
+    }
+    
+    /**
+     * Create a rule set with the given house rules
+     */
+    public static RuleSet of(HouseRule... houseRules) {
+        Set<HouseRule> rules = EnumSet.noneOf(HouseRule.class);
+        Collections.addAll(rules, houseRules);
+        return new RuleSet(rules);
+    }
+    
+    /**
+     * Check if a house rule is enabled
+     */
+    public boolean isEnabled(HouseRule rule) {
+        return houseRules.contains(rule);
+    }
+    
+    /**
+     * Get the enabled house rules
+     */
+    public Set<HouseRule> getHouseRules() {
+        return houseRules;
+    }
+    
+    /**
+     * Build the effect of each card value, indexed by ordinal
+     */
+    CardEffect[] compileEffects() {
+        CardEffect[] effects = new CardEffect[CardValue.values().length];
+        Arrays.fill(effects, CardEffects.NONE);
+        
+        effects[CardValue.SKIP.ordinal()] = CardEffects.SKIP;
+        effects[CardValue.REVERSE.ordinal()] = CardEffects.REVERSE;
+        effects[CardValue.WILD.ordinal()] = CardEffects.CHANGE_COLOR;
+        if (isEnabled(HouseRule.STACKING)) {
+            effects[CardValue.DRAW_TWO.ordinal()] = CardEffects.STACK_DRAW_TWO;
+            effects[CardValue.WILD_DRAW_FOUR.ordinal()] = CardEffects.STACK_WILD_DRAW_FOUR;
+        } else {
+            effects[CardValue.DRAW_TWO.ordinal()] = CardEffects.DRAW_TWO;
+            effects[CardValue.WILD_DRAW_FOUR.ordinal()] = CardEffects.WILD_DRAW_FOUR;
+        }
+        if (isEnabled(HouseRule.SEVEN_ZERO)) {
+            effects[CardValue.SEVEN.ordinal()] = CardEffects.SWAP_HANDS;
+            effects[CardValue.ZERO.ordinal()] = CardEffects.ROTATE_HANDS;
+        }
+        return effects;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof RuleSet && houseRules.equals(((RuleSet) obj).houseRules);
+    }
+    
+    @Override
+    public int hashCode() {
+        return houseRules.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return houseRules.isEmpty() ? "Standard rules" : "Standard rules + " + houseRules;
+    }
+}
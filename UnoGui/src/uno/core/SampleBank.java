@@ -0,0 +1,281 @@
+package uno.core;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Shared bank of the synthesized game sounds, in the mixer's 16-bit PCM format.
+ * Samples are produced lazily on a background thread: each one is read from a
+ * WAV file in the cache directory when present, and otherwise synthesized and
+ * written there for the next run. Callers get a future and never block on DSP work.
+ */
+public class SampleBank {
+    // Bump when the synthesis changes so that stale cache files are ignored
+    private static final int BANK_VERSION = 1;
+
+    // Peak level of the sounds, leaving headroom for several voices in the mix
+    private static final double AMPLITUDE = 0.5 * Short.MAX_VALUE;
+
+    // Attack and release ramps avoiding clicks at the sound edges, in frames
+    private static final int RAMP_FRAMES = 220;
+
+    public static final String PLAY_CARD = SoundEffectManager.PLAY_CARD;
+    public static final String DRAW_CARD = SoundEffectManager.DRAW_CARD;
+    public static final String UNO_CALL = SoundEffectManager.UNO_CALL;
+    public static final String GAME_WIN = SoundEffectManager.GAME_WIN;
+    public static final String SPECIAL_CARD = SoundEffectManager.SPECIAL_CARD;
+    public static final String DIRECTION_CHANGE = SoundEffectManager.DIRECTION_CHANGE;
+    public static final String CARD_SHUFFLE = "card_shuffle";
+    public static final String CARD_FLIP = "card_flip";
+    public static final String GAME_START = "game_start";
+
+    private static SampleBank instance;
+
+    private final Map<String, Supplier<short[]>> generators = new HashMap<>();
+    private final Map<String, CompletableFuture<short[]>> samples = new ConcurrentHashMap<>();
+    private final ExecutorService loader;
+    private final File cacheDirectory;
+
+    private SampleBank(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "uno-sample-bank");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        generators.put(PLAY_CARD, () -> createTone(800, 150));
+        generators.put(DRAW_CARD, () -> createTone(500, 100));
+        generators.put(UNO_CALL, () -> createTone(1200, 300));
+        generators.put(GAME_WIN, () -> createArpeggio(new int[] {440, 550, 660}, 150));
+        generators.put(SPECIAL_CARD, () -> createTone(950, 200));
+        generators.put(DIRECTION_CHANGE, () -> createSweep(2000, 500, 200));
+        generators.put(CARD_SHUFFLE, this::createShuffle);
+        generators.put(CARD_FLIP, () -> createSweep(3000, 1200, 80));
+        generators.put(GAME_START, () -> createArpeggio(new int[] {330, 440, 550}, 100));
+    }
+
+    /**
+     * Get the shared bank, caching its samples under ~/.uno/sound-cache
+     */
+    public static synchronized SampleBank getInstance() {
+        if (instance == null) {
+            File directory = new File(System.getProperty("user.home"), ".uno" + File.separator + "sound-cache");
+            instance = new SampleBank(directory);
+        }
+        return instance;
+    }
+
+    /**
+     * Check if the bank knows a sample
+     */
+    public boolean contains(String name) {
+        return generators.containsKey(name);
+    }
+
+    /**
+     * Get a sample, loading or synthesizing it in the background on first use
+     *
+     * @param name the sample name
+     * @return a future completed with the PCM data, or failed if the name is unknown
+     */
+    public CompletableFuture<short[]> load(String name) {
+        Supplier<short[]> generator = generators.get(name);
+        if (generator == null) {
+            CompletableFuture<short[]> unknown = new CompletableFuture<>();
+            unknown.completeExceptionally(new IllegalArgumentException("Unknown sample: " + name));
+            return unknown;
+        }
+        return samples.computeIfAbsent(name,
+                key -> CompletableFuture.supplyAsync(() -> loadOrSynthesize(key, generator), loader));
+    }
+
+    /**
+     * Get a sample if it is already available, without waiting
+     *
+     * @return the PCM data, or null if it is not ready
+     */
+    public short[] getIfReady(String name) {
+        CompletableFuture<short[]> future = samples.get(name);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    /**
+     * Start loading every known sample in the background
+     */
+    public void preloadAll() {
+        for (String name : generators.keySet()) {
+            load(name);
+        }
+    }
+
+    /**
+     * Read a sample from the cache, or synthesize and cache it
+     */
+    private short[] loadOrSynthesize(String name, Supplier<short[]> generator) {
+        File file = new File(cacheDirectory, name + "-v" + BANK_VERSION + ".wav");
+        if (file.isFile()) {
+            try {
+                return readWav(file);
+            } catch (IOException | UnsupportedAudioFileException e) {
+                System.err.println("Ignoring sound cache " + file + ": " + e.getMessage());
+            }
+        }
+
+        short[] pcm = generator.get();
+        try {
+            writeWav(file, pcm);
+        } catch (IOException e) {
+            // The cache is only an optimization
+            System.err.println("Could not cache sound " + name + ": " + e.getMessage());
+        }
+        return pcm;
+    }
+
+    /**
+     * Read a WAV file in the mixer's format
+     */
+    private static short[] readWav(File file) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat format = stream.getFormat();
+            if (!format.matches(AudioMixer.FORMAT)) {
+                throw new UnsupportedAudioFileException("Unexpected format " + format);
+            }
+            byte[] bytes = stream.readAllBytes();
+            short[] pcm = new short[bytes.length / 2];
+            for (int i = 0; i < pcm.length; i++) {
+                pcm[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+            }
+            return pcm;
+        }
+    }
+
+    /**
+     * Write a sample as a 16-bit WAV file, replacing the file atomically
+     */
+    private static void writeWav(File file, short[] pcm) throws IOException {
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+
+        byte[] bytes = new byte[pcm.length * 2];
+        for (int i = 0; i < pcm.length; i++) {
+            bytes[2 * i] = (byte) pcm[i];
+            bytes[2 * i + 1] = (byte) (pcm[i] >> 8);
+        }
+
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(bytes), AudioMixer.FORMAT, pcm.length);
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, temp);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * Synthesize a sine tone
+     */
+    private static short[] createTone(int frequency, int duration) {
+        float sampleRate = AudioMixer.SAMPLE_RATE;
+        short[] data = new short[(int) (sampleRate * duration / 1000)];
+        double step = 2.0 * Math.PI * frequency / sampleRate;
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short) (Math.sin(step * i) * AMPLITUDE * ramp(i, data.length));
+        }
+        return data;
+    }
+
+    /**
+     * Synthesize consecutive tones of equal length
+     */
+    private static short[] createArpeggio(int[] frequencies, int toneDuration) {
+        float sampleRate = AudioMixer.SAMPLE_RATE;
+        int length = (int) (sampleRate * toneDuration / 1000);
+        short[] data = new short[length * frequencies.length];
+
+        for (int i = 0; i < frequencies.length; i++) {
+            double step = 2.0 * Math.PI * frequencies[i] / sampleRate;
+            int offset = length * i;
+            for (int j = 0; j < length; j++) {
+                data[offset + j] = (short) (Math.sin(step * j) * AMPLITUDE * ramp(j, length));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Synthesize a frequency sweep with a bell-shaped envelope
+     */
+    private static short[] createSweep(int startFreq, int endFreq, int duration) {
+        float sampleRate = AudioMixer.SAMPLE_RATE;
+        short[] data = new short[(int) (sampleRate * duration / 1000)];
+
+        // Accumulate the phase so the sweep stays continuous
+        double phase = 0;
+        for (int i = 0; i < data.length; i++) {
+            double progress = (double) i / data.length;
+            double currentFreq = startFreq + (endFreq - startFreq) * progress;
+            phase += 2.0 * Math.PI * currentFreq / sampleRate;
+
+            double envelope = Math.sin(Math.PI * progress);
+            data[i] = (short) (Math.sin(phase) * AMPLITUDE * envelope);
+        }
+        return data;
+    }
+
+    /**
+     * Synthesize a riffle of short decaying noise bursts
+     */
+    private short[] createShuffle() {
+        float sampleRate = AudioMixer.SAMPLE_RATE;
+        int burstLength = (int) (sampleRate * 0.025);
+        int bursts = 12;
+        short[] data = new short[burstLength * bursts];
+
+        // Fixed seed so that the cached and synthesized sounds are identical
+        Random random = new Random(BANK_VERSION);
+        double previous = 0;
+        for (int i = 0; i < data.length; i++) {
+            double decay = 1.0 - (double) (i % burstLength) / burstLength;
+            // One-pole low-pass takes the edge off the white noise
+            previous = previous * 0.6 + (random.nextDouble() * 2.0 - 1.0) * 0.4;
+            data[i] = (short) (previous * AMPLITUDE * decay * decay);
+        }
+        return data;
+    }
+
+    /**
+     * Linear attack and release envelope
+     */
+    private static double ramp(int index, int length) {
+        int ramp = Math.min(RAMP_FRAMES, length / 2);
+        if (index < ramp) {
+            return (double) index / ramp;
+        }
+        if (index >= length - ramp) {
+            return (double) (length - 1 - index) / ramp;
+        }
+        return 1.0;
+    }
+}
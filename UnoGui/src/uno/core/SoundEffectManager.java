@@ -1,15 +1,14 @@
 package uno.core;
 
-import javax.sound.sampled.*;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SoundEffectManager {
     private static SoundEffectManager instance;
-    private final ExecutorService soundPool = Executors.newCachedThreadPool();
-    private final Map<String, Clip> soundClips = new HashMap<>();
+    private final AudioMixer mixer = new AudioMixer();
+    private final SampleBank sampleBank = SampleBank.getInstance();
+    private final Map<String, Integer> soundIds = new ConcurrentHashMap<>();
+    private MusicPlayer musicPlayer;
     
     public static final String PLAY_CARD = "play_card";
     public static final String DRAW_CARD = "draw_card";
@@ -18,11 +17,13 @@ public class SoundEffectManager {
     public static final String SPECIAL_CARD = "special_card";
     public static final String DIRECTION_CHANGE = "direction_change";
     
-    private float volume = 1.0f;
-    private boolean muted = false;
+    private volatile float volume = 1.0f;
+    private volatile int volumeLevel = AudioMixer.GAIN_LEVELS - 1;
+    private volatile boolean muted = false;
     
     private SoundEffectManager() {
         loadSoundEffects();
+        mixer.start();
     }
     
     public static synchronized SoundEffectManager getInstance() {
@@ -33,110 +34,25 @@ public class SoundEffectManager {
     }
     
     private void loadSoundEffects() {
-        try {
-            soundClips.put(PLAY_CARD, createToneClip(800, 150));
-            soundClips.put(DRAW_CARD, createToneClip(500, 100));
-            soundClips.put(UNO_CALL, createToneClip(1200, 300));
-            soundClips.put(GAME_WIN, createFanfareClip());
-            soundClips.put(SPECIAL_CARD, createToneClip(950, 200));
-            soundClips.put(DIRECTION_CHANGE, createSwooshClip());
-        } catch (Exception e) {
-            System.err.println("Error loading sound effects: " + e.getMessage());
+        String[] names = {PLAY_CARD, DRAW_CARD, UNO_CALL, GAME_WIN, SPECIAL_CARD, DIRECTION_CHANGE};
+        for (String name : names) {
+            registerSample(name);
         }
     }
     
-    private Clip createToneClip(int frequency, int duration) throws LineUnavailableException {
-        float sampleRate = 44100.0f;
-        int sampleSize = 16;
-        
-        byte[] data = new byte[(int)(sampleRate * duration / 1000)];
-        double period = sampleRate / frequency;
-        
-        for (int i = 0; i < data.length; i++) {
-            double angle = 2.0 * Math.PI * i / period;
-            data[i] = (byte)(Math.sin(angle) * 127.0);
+    public synchronized int registerSample(String name) {
+        Integer existing = soundIds.get(name);
+        if (existing != null) {
+            return existing;
         }
-        
-        AudioFormat format = new AudioFormat(
-            sampleRate,
-            sampleSize,
-            1,  // Mono
-            true,  // Signed
-            false  // Little endian
-        );
-        
-        Clip clip = AudioSystem.getClip();
-        clip.open(format, data, 0, data.length);
-        
-        return clip;
-    }
-    
-    private Clip createFanfareClip() throws LineUnavailableException {
-        float sampleRate = 44100.0f;
-        int sampleSize = 16;
-        
-        int[] frequencies = {440, 550, 660};
-        int toneDuration = 150;
-        
-        byte[] data = new byte[(int)(sampleRate * toneDuration * 3 / 1000)];
-        
-        for (int i = 0; i < 3; i++) {
-            double period = sampleRate / frequencies[i];
-            int offset = (int)(sampleRate * toneDuration * i / 1000);
-            int length = (int)(sampleRate * toneDuration / 1000);
-            
-            for (int j = 0; j < length; j++) {
-                double angle = 2.0 * Math.PI * j / period;
-                data[offset + j] = (byte)(Math.sin(angle) * 127.0);
-            }
+        if (!sampleBank.contains(name)) {
+            return -1;
         }
-        
-        AudioFormat format = new AudioFormat(
-            sampleRate,
-            sampleSize,
-            1,
-            true,
-            false
-        );
-        
-        Clip clip = AudioSystem.getClip();
-        clip.open(format, data, 0, data.length);
-        
-        return clip;
-    }
-    
-    private Clip createSwooshClip() throws LineUnavailableException {
-        float sampleRate = 44100.0f;
-        int sampleSize = 16;
-        
-        int startFreq = 2000;
-        int endFreq = 500;
-        int duration = 200;
-        
-        byte[] data = new byte[(int)(sampleRate * duration / 1000)];
-        
-        for (int i = 0; i < data.length; i++) {
-            double progress = (double)i / data.length;
-            double currentFreq = startFreq + (endFreq - startFreq) * progress;
-            double period = sampleRate / currentFreq;
-            double angle = 2.0 * Math.PI * i / period;
-            
-            double envelope = Math.sin(Math.PI * progress);
-            data[i] = (byte)(Math.sin(angle) * 127.0 * envelope);
-        }
-        
-        AudioFormat format = new AudioFormat(
-            sampleRate,
-            sampleSize,
-            1,
-            true,
-            false
-        );
-        
-        Clip clip = AudioSystem.getClip();
-        clip.open(format, data, 0, data.length);
-        
-        return clip;
+        // Register a silent placeholder and swap the data in once the bank has it
+        int soundId = mixer.addSample(new short[0]);
+        soundIds.put(name, soundId);
+        sampleBank.load(name).thenAccept(pcm -> mixer.setSample(soundId, pcm));
+        return soundId;
     }
     
     public void playSound(String soundName) {
@@ -144,28 +60,26 @@ public class SoundEffectManager {
             return;
         }
         
-        Clip clip = soundClips.get(soundName);
-        if (clip != null) {
-            soundPool.execute(() -> {
-                try {
-                    if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                        FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                        float range = gainControl.getMaximum() - gainControl.getMinimum();
-                        float gain = (range * volume) + gainControl.getMinimum();
-                        gainControl.setValue(gain);
-                    }
-                    
-                    clip.setFramePosition(0);
-                    clip.start();
-                } catch (Exception e) {
-                    System.err.println("Error playing sound: " + e.getMessage());
-                }
-            });
+        Integer soundId = soundIds.get(soundName);
+        if (soundId != null) {
+            mixer.playLevel(soundId, volumeLevel);
+        }
+    }
+    
+    public AudioMixer getMixer() {
+        return mixer;
+    }
+    
+    public synchronized MusicPlayer getMusicPlayer() {
+        if (musicPlayer == null) {
+            musicPlayer = new MusicPlayer(mixer);
         }
+        return musicPlayer;
     }
     
     public void setVolume(float volume) {
         this.volume = Math.max(0.0f, Math.min(1.0f, volume));
+        this.volumeLevel = AudioMixer.gainLevel(this.volume);
     }
     
     public float getVolume() {
@@ -181,10 +95,9 @@ public class SoundEffectManager {
     }
     
     public void dispose() {
-        for (Clip clip : soundClips.values()) {
-            clip.close();
+        mixer.stop();
+        if (musicPlayer != null) {
+            musicPlayer.dispose();
         }
-        soundClips.clear();
-        soundPool.shutdown();
     }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package uno.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of search results indexed by {@link Game#getHash()},
+ * shared without locks by search threads.
+ * <p>
+ * An entry is a single long packing a value, a search depth, a bound type
+ * and the best move. Each slot holds the entry and the entry XORed with the
+ * hash, so that a slot half-written by another thread is detected on read and
+ * treated as a miss instead of returning a result for another state. Slots
+ * go in pairs: the first keeps the deepest result, the second the latest.
+ */
+public final class TranspositionTable {
+    /**
+     * Returned by {@link #probe} when the state is not in the table
+     */
+    public static final long MISS = 0;
+
+    // Bound of the stored value
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    public static final int NO_MOVE = -1;
+    public static final int MAX_DEPTH = 255;
+    private static final int MAX_MOVE = 254;
+
+    // Entry layout: value (32 bits), depth (8), bound (2), move + 1 (8), valid flag (1)
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+    private static final long VALID = 1L << 50;
+
+    private static final int MAX_CAPACITY = 1 << 28;
+
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+
+    /**
+     * Create a table
+     *
+     * @param capacity number of entries, rounded up to a power of two (2 to 2^28)
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity too large: " + capacity);
+        }
+        int entries = 2;
+        while (entries < capacity) {
+            entries <<= 1;
+        }
+        int buckets = entries / 2;
+        this.bucketMask = buckets - 1;
+        // Two slots per bucket, two longs per slot
+        this.slots = new AtomicLongArray(buckets * 4);
+    }
+
+    /**
+     * Get the number of entries the table can hold
+     */
+    public int getCapacity() {
+        return (bucketMask + 1) * 2;
+    }
+
+    /**
+     * Pack a search result into an entry
+     *
+     * @param move the best move (position in the hand, draw as NO_MOVE)
+     */
+    public static long entry(float value, int depth, int bound, int move) {
+        if (depth < 0 || depth > MAX_DEPTH || bound < EXACT || bound > UPPER_BOUND
+                || move < NO_MOVE || move > MAX_MOVE) {
+            throw new IllegalArgumentException("Invalid entry: depth " + depth + ", bound " + bound
+                    + ", move " + move);
+        }
+        return (Float.floatToRawIntBits(value) & 0xFFFFFFFFL)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (move + 1) << MOVE_SHIFT)
+                | VALID;
+    }
+
+    public static float value(long entry) {
+        return Float.intBitsToFloat((int) entry);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int move(long entry) {
+        return ((int) (entry >>> MOVE_SHIFT) & 0xFF) - 1;
+    }
+
+    /**
+     * Look up a state
+     *
+     * @return the stored entry, or MISS
+     */
+    public long probe(long hash) {
+        int slot = (int) hash & bucketMask;
+        for (int i = slot * 4; i < slot * 4 + 4; i += 2) {
+            long entry = slots.getOpaque(i + 1);
+            if (entry != MISS && (slots.getOpaque(i) ^ entry) == hash) {
+                return entry;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Store the result of a search. An entry at least as deep as the one in
+     * the first slot replaces it; otherwise it goes in the second slot.
+     */
+    public void store(long hash, long entry) {
+        int base = ((int) hash & bucketMask) * 4;
+        long deepest = slots.getOpaque(base + 1);
+        boolean sameState = deepest != MISS && (slots.getOpaque(base) ^ deepest) == hash;
+        int i = deepest == MISS || sameState || depth(entry) >= depth(deepest) ? base : base + 2;
+        slots.setOpaque(i, hash ^ entry);
+        slots.setOpaque(i + 1, entry);
+    }
+
+    /**
+     * Empty the table
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setOpaque(i, 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package uno.core;
+
+import java.awt.EventQueue;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures what triggering a sound costs the caller: the time play takes and
+ * the bytes it allocates, on the Event Dispatch Thread, where triggers go
+ * through the lock-free ring, and on another thread, where they go through
+ * the concurrent queue. The mixer runs without an output line: each burst of
+ * triggers is followed by the mixing of a block, as the audio thread would
+ * do, and only the triggers are timed.
+ *
+ * Usage: TriggerBenchmark [bursts per round]
+ */
+public class TriggerBenchmark {
+    private static final int BURST = 16;
+    private static final int ROUNDS = 5;
+    private static final int LEVEL = AudioMixer.GAIN_LEVELS / 2;
+
+    private final AudioMixer mixer;
+    private final int sampleId;
+    private final byte[] out = new byte[AudioMixer.BLOCK_FRAMES * 2];
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private TriggerBenchmark(AudioMixer mixer, int sampleId) {
+        this.mixer = mixer;
+        this.sampleId = sampleId;
+    }
+
+    /**
+     * Trigger bursts on the calling thread
+     *
+     * @return nanoseconds and bytes allocated per trigger
+     */
+    private double[] measure(int bursts) {
+        long allocatedBefore = allocatedBytes();
+        long nanos = 0;
+        for (int i = 0; i < bursts; i++) {
+            long start = System.nanoTime();
+            for (int j = 0; j < BURST; j++) {
+                mixer.playLevel(sampleId, LEVEL);
+            }
+            nanos += System.nanoTime() - start;
+            mixer.render(out);
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+        double triggers = (double) bursts * BURST;
+        return new double[] {nanos / triggers, allocated < 0 ? Double.NaN : allocated / triggers};
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, or -1 if the JVM cannot tell
+     */
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+                return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bursts = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        AudioMixer mixer = new AudioMixer();
+        int sampleId = mixer.addSample(new short[AudioMixer.BLOCK_FRAMES]);
+        mixer.startWithoutOutput();
+        TriggerBenchmark benchmark = new TriggerBenchmark(mixer, sampleId);
+
+        System.out.printf("%d bursts of %d triggers per round, a block mixed after each burst%n", bursts, BURST);
+        for (int round = 1; round <= ROUNDS; round++) {
+            double[][] edt = new double[1][];
+            EventQueue.invokeAndWait(() -> edt[0] = benchmark.measure(bursts));
+            double[] other = benchmark.measure(bursts);
+            System.out.printf("round %d: EDT ring %6.1f ns, %5.2f bytes per trigger;"
+                            + " other thread queue %6.1f ns, %5.2f bytes per trigger%n",
+                    round, edt[0][0], edt[0][1], other[0], other[1]);
+        }
+        System.out.println("Dropped triggers: " + mixer.getDroppedTriggerCount());
+        mixer.stop();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,87 @@
+package uno.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer single-consumer queue of sound triggers.
+ * A trigger is a packed int plus its timestamp, stored in preallocated
+ * arrays, so neither side allocates or locks. Only one thread may offer
+ * and only one thread may poll.
+ */
+class TriggerRing {
+    private final int[] triggers;
+    private final long[] timestamps;
+    private final int mask;
+
+    // Next slot to read, advanced by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to write, advanced by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    // Producer's last view of head, refreshed only when the ring looks full
+    private long cachedHead = 0;
+
+    /**
+     * Create a ring
+     *
+     * @param capacity the number of slots, a power of two
+     */
+    TriggerRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.triggers = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Enqueue a trigger (producer thread only)
+     *
+     * @return false if the ring is full
+     */
+    boolean offer(int trigger, long nanos) {
+        long t = tail.get();
+        if (t - cachedHead >= triggers.length) {
+            cachedHead = head.get();
+            if (t - cachedHead >= triggers.length) {
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        triggers[slot] = trigger;
+        timestamps[slot] = nanos;
+        // Publish the slot; the ordered write keeps the stores above visible first
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Check if a trigger is waiting (consumer thread only)
+     */
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * Get the trigger at the head of the ring (consumer thread only).
+     * Only valid when the ring is not empty.
+     */
+    int peekTrigger() {
+        return triggers[(int) head.get() & mask];
+    }
+
+    /**
+     * Get the timestamp of the trigger at the head of the ring (consumer thread only)
+     */
+    long peekTimestamp() {
+        return timestamps[(int) head.get() & mask];
+    }
+
+    /**
+     * Release the head slot to the producer (consumer thread only)
+     */
+    void advance() {
+        head.lazySet(head.get() + 1);
+    }
+}
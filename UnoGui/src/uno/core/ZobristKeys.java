@@ -0,0 +1,86 @@
+package uno.core;
+
+import java.util.Random;
+
+/**
+ * Random keys of the Zobrist hash of a game state.
+ * The keys come from a fixed seed, so that every game computes the same
+ * hash for the same state and search threads can share a transposition table.
+ */
+final class ZobristKeys {
+    static final int CARD_COUNT = 108;
+    static final int MAX_SEATS = 16;
+    static final int DECK = MAX_SEATS;
+    static final int DISCARD = MAX_SEATS + 1;
+    private static final int LOCATION_COUNT = MAX_SEATS + 2;
+    private static final int MAX_PENDING_DRAW = 64;
+
+    private static final long[][] LOCATION = new long[CARD_COUNT][LOCATION_COUNT];
+    private static final long[] TOP_CARD = new long[CARD_COUNT];
+    private static final long[] TOP_COLOR = new long[CardColor.values().length];
+    private static final long[] TURN = new long[MAX_SEATS];
+    private static final long[] PENDING_DRAW = new long[MAX_PENDING_DRAW];
+    static final long COUNTER_CLOCKWISE;
+
+    static {
+        Random random = new Random(0x554E4F5A4F42524CL);
+        for (long[] keys : LOCATION) {
+            fill(keys, random);
+        }
+        fill(TOP_CARD, random);
+        fill(TOP_COLOR, random);
+        fill(TURN, random);
+        fill(PENDING_DRAW, random);
+        COUNTER_CLOCKWISE = random.nextLong();
+    }
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * Key of a card at a location: a seat, DECK or DISCARD. Cards that are not
+     * part of a game deck have no key.
+     */
+    static long location(Card card, int location) {
+        int id = card.getDeckId();
+        return id < 0 ? 0 : LOCATION[id][location];
+    }
+
+    /**
+     * Key of a card moving between two locations
+     */
+    static long move(Card card, int from, int to) {
+        int id = card.getDeckId();
+        return id < 0 ? 0 : LOCATION[id][from] ^ LOCATION[id][to];
+    }
+
+    static long topCard(Card card) {
+        int id = card == null ? -1 : card.getDeckId();
+        return id < 0 ? 0 : TOP_CARD[id];
+    }
+
+    static long topColor(CardColor color) {
+        return color == null ? 0 : TOP_COLOR[color.ordinal()];
+    }
+
+    static long turn(int seat) {
+        return TURN[seat % MAX_SEATS];
+    }
+
+    static long pendingDraw(int count) {
+        return count == 0 ? 0 : PENDING_DRAW[Math.min(count, MAX_PENDING_DRAW - 1)];
+    }
+
+    /**
+     * Location of a seat; seats past the last key share keys
+     */
+    static int seat(int playerIndex) {
+        return playerIndex % MAX_SEATS;
+    }
+
+    private static void fill(long[] keys, Random random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+}
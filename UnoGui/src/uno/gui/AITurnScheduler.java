@@ -0,0 +1,262 @@
+package uno.gui;
+
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.Game;
+import uno.core.GameView;
+import uno.core.Player;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Computes AI moves away from the Event Dispatch Thread.
+ *
+ * A turn is scheduled on the EDT: the AI player's view of the game is copied,
+ * the move is chosen on a background thread, and only the resulting move is
+ * posted back to the EDT once the turn delay has elapsed. Cancelling (game
+ * restarted or ended) discards every move still in flight, and a move is also
+ * dropped if the game moved on while it was being computed.
+ */
+public class AITurnScheduler {
+    private static final CardColor[] COLORS = {
+        CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW
+    };
+
+    private static ScheduledExecutorService executor;
+
+    /**
+     * Chooses a move from a snapshot of the AI's view of the game.
+     * Cards are played by their index in the hand of the view.
+     */
+    public interface Strategy {
+        Move chooseMove(Player player, GameView view);
+    }
+
+    /**
+     * Strategy used so far by the game panels: the first playable card,
+     * keeping wild cards for when nothing else can be played
+     */
+    public static final Strategy FIRST_PLAYABLE = (player, view) -> {
+        List<Card> hand = view.getHand();
+        BitSet playableCards = view.getPlayable();
+        int playable = -1;
+        for (int i = playableCards.nextSetBit(0); i >= 0; i = playableCards.nextSetBit(i + 1)) {
+            playable = i;
+            if (!hand.get(i).isWild()) {
+                break;
+            }
+        }
+        if (playable < 0) {
+            return Move.draw(player);
+        }
+        Card card = hand.get(playable);
+        return Move.play(player, playable, card,
+                card.isWild() ? randomColor() : null, hand.size() == 2);
+    };
+
+    private final Game game;
+    private final Strategy strategy;
+
+    // Incremented on cancellation: moves computed for an older generation are dropped
+    private int generation = 0;
+
+    // Turn computed or waiting for its delay, until its move is posted to the EDT
+    private int turn = 0;
+    private Future<?> pending;
+    private Player pendingPlayer;
+
+    public AITurnScheduler(Game game) {
+        this(game, FIRST_PLAYABLE);
+    }
+
+    public AITurnScheduler(Game game, Strategy strategy) {
+        this.game = game;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Schedule the turn of the current AI player. Must be called on the EDT.
+     * The move is handed to onMove on the EDT, no sooner than delayMillis,
+     * and only if that player is still on turn with the same top card.
+     * Scheduling again for a player whose move is pending does nothing.
+     */
+    public void scheduleTurn(long delayMillis, Consumer<Move> onMove) {
+        if (game.isGameEnded()) {
+            return;
+        }
+        Player player = game.getCurrentPlayer();
+        if (player == null || !player.isAI()) {
+            return;
+        }
+        if (pendingPlayer == player) {
+            return;
+        }
+        // Another player is on turn: the pending move is stale
+        cancelPending();
+
+        // Snapshot taken on the EDT: the background thread never reads live game state
+        GameView view = game.createView(player);
+        Card liveTopCard = game.getTopCard();
+        int turnGeneration = generation;
+        int turnId = ++turn;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+
+        pendingPlayer = player;
+        pending = getExecutor().submit(() -> {
+            Move move;
+            try {
+                move = strategy.chooseMove(player, view);
+            } catch (RuntimeException e) {
+                System.err.println("Error computing AI move: " + e.getMessage());
+                move = Move.draw(player);
+            }
+            Move chosen = move;
+            getExecutor().schedule(() -> SwingUtilities.invokeLater(() -> {
+                if (turnGeneration != generation || turnId != turn) {
+                    return;
+                }
+                pending = null;
+                pendingPlayer = null;
+                if (isCurrent(player, liveTopCard) && resolve(chosen)) {
+                    onMove.accept(chosen);
+                }
+            }), deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * Run an action on the EDT after a delay, unless cancelled in the meantime
+     */
+    public void runLater(long delayMillis, Runnable action) {
+        int actionGeneration = generation;
+        getExecutor().schedule(() -> SwingUtilities.invokeLater(() -> {
+            if (actionGeneration == generation) {
+                action.run();
+            }
+        }), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Discard every move and delayed action in flight. Must be called on the EDT.
+     */
+    public void cancelAll() {
+        generation++;
+        cancelPending();
+    }
+
+    private void cancelPending() {
+        turn++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        pendingPlayer = null;
+    }
+
+    private boolean isCurrent(Player player, Card topCard) {
+        return !game.isGameEnded()
+                && game.getCurrentPlayer() == player
+                && game.getTopCard() == topCard;
+    }
+
+    /**
+     * Replace the snapshot card of a move by the card still in the player's hand
+     */
+    private boolean resolve(Move move) {
+        if (move.isDraw()) {
+            return true;
+        }
+        List<Card> hand = move.player.getHand();
+        if (move.handIndex >= hand.size() || !hand.get(move.handIndex).equals(move.card)) {
+            return false;
+        }
+        move.card = hand.get(move.handIndex);
+        return true;
+    }
+
+    public static CardColor randomColor() {
+        return COLORS[ThreadLocalRandom.current().nextInt(COLORS.length)];
+    }
+
+    private static synchronized ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "uno-ai");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Move chosen for an AI player: play a card from the hand, or draw
+     */
+    public static final class Move {
+        private final Player player;
+        private final int handIndex;
+        private final CardColor chosenColor;
+        private final boolean callUno;
+        private Card card;
+
+        private Move(Player player, int handIndex, Card card, CardColor chosenColor, boolean callUno) {
+            this.player = player;
+            this.handIndex = handIndex;
+            this.card = card;
+            this.chosenColor = chosenColor;
+            this.callUno = callUno;
+        }
+
+        public static Move play(Player player, int handIndex, Card card, CardColor chosenColor, boolean callUno) {
+            return new Move(player, handIndex, card, chosenColor, callUno);
+        }
+
+        public static Move draw(Player player) {
+            return new Move(player, -1, null, null, false);
+        }
+
+        /**
+         * Move for a GameView action: the first playable card of its kind, or a draw
+         *
+         * @return the move, or null if no playable card matches the action
+         */
+        public static Move forAction(Player player, GameView view, int action) {
+            int kind = GameView.actionKind(action);
+            if (kind < 0) {
+                return draw(player);
+            }
+            List<Card> hand = view.getHand();
+            BitSet playable = view.getPlayable();
+            for (int i = playable.nextSetBit(0); i >= 0; i = playable.nextSetBit(i + 1)) {
+                Card card = hand.get(i);
+                if (GameView.kind(card) == kind) {
+                    return play(player, i, card, card.isWild() ? GameView.actionColor(action) : null,
+                            hand.size() == 2);
+                }
+            }
+            return null;
+        }
+
+        public Player getPlayer() { return player; }
+        public boolean isDraw() { return card == null; }
+        public boolean isCallUno() { return callUno; }
+
+        /**
+         * Card to play; once posted to the EDT, the card of the player's hand
+         */
+        public Card getCard() { return card; }
+
+        /**
+         * Color chosen for a wild card, null otherwise
+         */
+        public CardColor getChosenColor() { return chosenColor; }
+    }
+}
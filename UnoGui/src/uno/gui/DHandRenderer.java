@@ -0,0 +1,238 @@
+package uno.gui;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.CardValue;
+
+/**
+ * Keeps the card components of a hand in sync with the game model.
+ * Each update is diffed against what is already displayed: cards that stay
+ * in the hand keep their DUnoCard, only added or removed cards touch the
+ * container, and removed components go back to the shared pool.
+ * Cards are tracked by identity, so two equal cards stay distinct.
+ */
+public class DHandRenderer {
+    private final Container container;
+    private final DUnoCardPool pool;
+    private final Function<DUnoCard, Component> slotFactory;
+    private Consumer<DUnoCard> cardInitializer;
+
+    // Displayed cards in hand order, and the lookups used for diffing
+    private final List<DUnoCard> cards = new ArrayList<>();
+    private final Map<Card, DUnoCard> cardsByModel = new IdentityHashMap<>();
+    private final Map<DUnoCard, Component> slots = new IdentityHashMap<>();
+
+    /**
+     * Create a renderer that adds card components directly to the container
+     */
+    public DHandRenderer(Container container, DUnoCardPool pool) {
+        this(container, pool, null);
+    }
+
+    /**
+     * Create a renderer that wraps each card in a slot component
+     *
+     * @param container the container holding the hand
+     * @param pool the pool card components are borrowed from
+     * @param slotFactory wraps a card before it is added (null to add the card itself)
+     */
+    public DHandRenderer(Container container, DUnoCardPool pool, Function<DUnoCard, Component> slotFactory) {
+        this.container = container;
+        this.pool = pool;
+        this.slotFactory = slotFactory;
+    }
+
+    /**
+     * Set a callback run once for each card component entering the hand
+     */
+    public void setCardInitializer(Consumer<DUnoCard> cardInitializer) {
+        this.cardInitializer = cardInitializer;
+    }
+
+    /**
+     * Show the given cards face up
+     *
+     * @return the displayed components, in hand order
+     */
+    public List<DUnoCard> update(List<Card> hand) {
+        boolean changed = false;
+
+        // Release components whose card left the hand
+        Map<Card, Boolean> inHand = new IdentityHashMap<>();
+        for (Card card : hand) {
+            inHand.put(card, Boolean.TRUE);
+        }
+        for (int i = cards.size() - 1; i >= 0; i--) {
+            DUnoCard unoCard = cards.get(i);
+            if (!inHand.containsKey(unoCard.getCard())) {
+                releaseAt(i);
+                changed = true;
+            }
+        }
+
+        // Reuse or borrow a component for every card, in hand order
+        List<DUnoCard> ordered = new ArrayList<>(hand.size());
+        for (Card card : hand) {
+            DUnoCard unoCard = cardsByModel.get(card);
+            if (unoCard == null) {
+                unoCard = pool.acquire(card);
+                initialize(unoCard);
+                cardsByModel.put(card, unoCard);
+                changed = true;
+            }
+            ordered.add(unoCard);
+        }
+
+        changed |= syncContainer(ordered);
+        finish(changed);
+        return getCards();
+    }
+
+    /**
+     * Show the given number of face-down cards
+     */
+    public List<DUnoCard> updateFaceDown(int count) {
+        boolean changed = false;
+
+        while (cards.size() > count) {
+            releaseAt(cards.size() - 1);
+            changed = true;
+        }
+
+        List<DUnoCard> ordered = new ArrayList<>(cards);
+        while (ordered.size() < count) {
+            Card placeholder = new Card(CardColor.WILD, CardValue.WILD);
+            DUnoCard unoCard = pool.acquireFaceDown(placeholder);
+            initialize(unoCard);
+            cardsByModel.put(placeholder, unoCard);
+            ordered.add(unoCard);
+            changed = true;
+        }
+
+        changed |= syncContainer(ordered);
+        finish(changed);
+        return getCards();
+    }
+
+    /**
+     * Remove a single card from the hand
+     *
+     * @return true if the card was displayed
+     */
+    public boolean remove(Card card) {
+        DUnoCard unoCard = cardsByModel.get(card);
+        if (unoCard == null) {
+            return false;
+        }
+        releaseAt(cards.indexOf(unoCard));
+        finish(true);
+        return true;
+    }
+
+    /**
+     * Remove every card from the hand
+     */
+    public void clear() {
+        boolean changed = !cards.isEmpty();
+        while (!cards.isEmpty()) {
+            releaseAt(cards.size() - 1);
+        }
+        finish(changed);
+    }
+
+    /**
+     * Get the component currently showing a card, or null
+     */
+    public DUnoCard getCard(Card card) {
+        return cardsByModel.get(card);
+    }
+
+    /**
+     * Get the displayed components, in hand order
+     */
+    public List<DUnoCard> getCards() {
+        return new ArrayList<>(cards);
+    }
+
+    /**
+     * Get the number of displayed cards
+     */
+    public int getCardCount() {
+        return cards.size();
+    }
+
+    /**
+     * Run the initializer on a component entering the hand
+     */
+    private void initialize(DUnoCard unoCard) {
+        if (cardInitializer != null) {
+            cardInitializer.accept(unoCard);
+        }
+    }
+
+    /**
+     * Bring the container's children in line with the given order.
+     * Components already in the right position are left untouched.
+     *
+     * @return true if the container was modified
+     */
+    private boolean syncContainer(List<DUnoCard> ordered) {
+        boolean changed = false;
+        for (int i = 0; i < ordered.size(); i++) {
+            DUnoCard unoCard = ordered.get(i);
+            Component slot = slots.get(unoCard);
+            if (slot == null) {
+                slot = slotFactory != null ? slotFactory.apply(unoCard) : unoCard.getComponent();
+                slots.put(unoCard, slot);
+            }
+            if (i >= container.getComponentCount() || container.getComponent(i) != slot) {
+                // Adding a child that is already present moves it to the new index
+                container.add(slot, i);
+                changed = true;
+            }
+        }
+
+        cards.clear();
+        cards.addAll(ordered);
+        return changed;
+    }
+
+    /**
+     * Detach the card at the given index and return it to the pool
+     */
+    private void releaseAt(int index) {
+        DUnoCard unoCard = cards.remove(index);
+        Component slot = slots.remove(unoCard);
+        if (slot != null) {
+            container.remove(slot);
+        }
+        if (slot != unoCard.getComponent()) {
+            // Unwrap the card from its slot before pooling it
+            Container parent = unoCard.getComponent().getParent();
+            if (parent != null) {
+                parent.remove(unoCard.getComponent());
+            }
+        }
+        cardsByModel.remove(unoCard.getCard());
+        pool.release(unoCard);
+    }
+
+    /**
+     * Revalidate the container once if the hand changed
+     */
+    private void finish(boolean changed) {
+        if (changed) {
+            container.revalidate();
+            container.repaint();
+        }
+    }
+}
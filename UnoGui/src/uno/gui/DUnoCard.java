@@ -1,25 +1,29 @@
 package uno.gui;
 
 import java.awt.Color;
-import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.RoundRectangle2D;
-import java.awt.BasicStroke;
-import java.awt.LinearGradientPaint;
-import java.awt.RadialGradientPaint;
-import java.awt.geom.Point2D;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.JPanel;
 import javax.swing.border.EmptyBorder;
 
 import dgui.DComponent;
+import dgui.DGraphicsCache;
+import dgui.DGraphicsState;
 import dgui.DActionEvent;
 import dgui.DActionListener;
+import dgui.DImageManager;
+import dgui.DParentAware;
+import dgui.DPerformanceMonitor;
+import dgui.DScaledImage;
+import dgui.DSelectable;
+import dgui.DTextCache;
+import dgui.themes.DTheme;
 import uno.core.Card;
 import uno.core.CardColor;
 import uno.core.CardValue;
@@ -32,12 +36,22 @@ public class DUnoCard extends DComponent {
     private boolean faceUp = true;
     private boolean isHovered = false;
     private boolean selected = false;
-    private int cornerRadius = 12;
+    private boolean playable = true;
     private DActionListener clickListener;
     
+    // State of the caller's graphics, restored after painting instead of painting on a copy
+    private final DGraphicsState paintState = new DGraphicsState();
+    
+    // Last face image of each color and value, per theme. A stamp painting every card
+    // of a scene in turn finds each face here without building its image key.
+    private static final int VALUE_COUNT = CardValue.values().length;
+    private static final int FACE_COUNT = CardColor.values().length * VALUE_COUNT;
+    private static final Map<DTheme, DScaledImage[]> FACES = new WeakHashMap<>();
+    
     // Card dimensions
     private static final int CARD_WIDTH = 80;
     private static final int CARD_HEIGHT = 120;
+    private static final int CORNER_RADIUS = 12;
     
     /**
      * Create a new UNO card
@@ -52,29 +66,40 @@ public class DUnoCard extends DComponent {
      * Create a custom JPanel for the card
      */
     private static JPanel createCardPanel() {
-        JPanel panel = new JPanel() {
-            private DUnoCard parent;
-            
-            @Override
-            protected void paintComponent(Graphics g) {
-                if (parent != null) {
-                    parent.paintCard(g, getWidth(), getHeight());
-                } else {
-                    super.paintComponent(g);
-                }
-            }
-            
-            public void setParent(DUnoCard parent) {
-                this.parent = parent;
-            }
-        };
-        
+        CardPanel panel = new CardPanel();
         panel.setOpaque(false);
         panel.setBorder(new EmptyBorder(2, 2, 2, 2));
-        
         return panel;
     }
     
+    /**
+     * Panel painting its owning card
+     */
+    private static class CardPanel extends JPanel implements DParentAware<DUnoCard>, DSelectable {
+        private static final long serialVersionUID = 1L;
+        
+        private DUnoCard parent;
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (parent != null) {
+                parent.paintCard(g, getWidth(), getHeight());
+            } else {
+                super.paintComponent(g);
+            }
+        }
+        
+        @Override
+        public void setParent(DUnoCard parent) {
+            this.parent = parent;
+        }
+        
+        @Override
+        public boolean isSelected() {
+            return parent != null && parent.isSelected();
+        }
+    }
+    
     /**
      * Initialize the card
      */
@@ -105,142 +130,151 @@ public class DUnoCard extends DComponent {
         });
         
         // Set parent reference
-        try {
-            ((JPanel)component).getClass().getMethod("setParent", DUnoCard.class).invoke(component, this);
-        } catch (Exception e) {
-            System.err.println("Error initializing card: " + e.getMessage());
-        }
+        ((CardPanel) component).setParent(this);
     }
     
     /**
      * Paint the card with enhanced visuals
      */
     public void paintCard(Graphics g, int width, int height) {
-        Graphics2D g2d = (Graphics2D) g.create();
+        long paintStart = DPerformanceMonitor.begin();
+        Graphics2D g2d = (Graphics2D) g;
+        paintState.save(g2d);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         
-        // Draw drop shadow
-        drawCardShadow(g2d, width, height);
+        // Every color, font and stroke comes from the theme, read once per paint
+        DTheme theme = getTheme();
         
-        // Draw card background (black border)
-        g2d.setColor(Color.BLACK);
-        g2d.fill(new RoundRectangle2D.Float(0, 0, width, height, cornerRadius + 2, cornerRadius + 2));
+        // Draw drop shadow
+        drawCardShadow(g2d, theme, width, height);
         
         if (faceUp) {
-            // Get card color
-            Color cardColor = getCardAwtColor(card.getColor());
-            
-            // Draw gradient background
-            drawCardBackground(g2d, width, height, cardColor);
-            
-            // Draw white oval
-            drawCardOval(g2d, width, height);
-            
-            // Draw symbol based on card value
-            drawCardSymbol(g2d, width, height);
-            
-            // Draw corners
-            drawCardCorners(g2d, width, height);
+            // Draw the face from an image rendered once per card, size and display scale.
+            // Java2D picks the variant through a copy of the transform: the only allocation left here.
+            g2d.drawImage(getFaceImage(theme, card.getColor(), card.getValue(), width, height), 0, 0, null);
         } else {
-            // Draw card back
-            drawCardBack(g2d, width, height);
+            // Draw card back, border included, from the theme's pre-rendered image when the size matches
+            theme.paintCardBack(g2d, width, height, CORNER_RADIUS);
         }
         
         // Draw hover and selection effects
-        drawCardEffects(g2d, width, height);
+        drawCardEffects(g2d, theme, width, height);
         
-        g2d.dispose();
+        paintState.restore(g2d);
+        DPerformanceMonitor.end(DPerformanceMonitor.Section.CARD_PAINT, paintStart);
     }
     
     /**
-     * Draw card shadow
+     * Get the shared multi-resolution image of a card face
      */
-    private void drawCardShadow(Graphics2D g2d, int width, int height) {
-        g2d.setColor(new Color(0, 0, 0, 40));
+    private static DScaledImage getFaceImage(DTheme theme, CardColor color, CardValue value, int width, int height) {
+        synchronized (FACES) {
+            DScaledImage[] faces = FACES.computeIfAbsent(theme, t -> new DScaledImage[FACE_COUNT]);
+            int slot = color != null && value != null ? color.ordinal() * VALUE_COUNT + value.ordinal() : -1;
+            DScaledImage image = slot >= 0 ? faces[slot] : null;
+            if (image == null || image.getWidth() != width || image.getHeight() != height) {
+                // Cards are mutable (wild colors, pooled components): the painter captures the face values
+                String key = "card.face." + color + "." + value + "." + width + "x" + height;
+                image = DImageManager.getInstance().getScaledImage(theme, key, width, height,
+                        (g2d, faceOwner, w, h) -> paintFace(g2d, faceOwner, color, value, w, h));
+                if (slot >= 0) {
+                    faces[slot] = image;
+                }
+            }
+            return image;
+        }
+    }
+    
+    /**
+     * Paint a card face, border included, in logical coordinates
+     */
+    private static void paintFace(Graphics2D g2d, DTheme theme, CardColor color, CardValue value,
+                                  int width, int height) {
+        // Draw card background (black border)
+        g2d.setColor(theme.getCardBorderColor());
+        g2d.fill(DGraphicsCache.roundRect(0, 0, width, height, CORNER_RADIUS + 2));
+        
+        // Draw gradient background
+        drawCardBackground(g2d, theme, color, width, height);
+        
+        // Draw white oval
+        drawCardOval(g2d, theme, width, height);
+        
+        // Draw symbol based on card value
+        drawCardSymbol(g2d, theme, color, value, width, height);
+        
+        // Draw corners
+        drawCardCorners(g2d, theme, color, value, width, height);
+    }
+    
+    /**
+     * Draw card shadow.
+     * Java2D walks each filled shape with a new path iterator, the one allocation the shadow keeps.
+     */
+    private void drawCardShadow(Graphics2D g2d, DTheme theme, int width, int height) {
+        g2d.setColor(theme.getColor("card.shadow"));
         for (int i = 0; i < 3; i++) {
-            g2d.fill(new RoundRectangle2D.Float(i + 2, i + 2, width, height, cornerRadius + 2, cornerRadius + 2));
+            g2d.fill(DGraphicsCache.roundRect(i + 2, i + 2, width, height, CORNER_RADIUS + 2));
         }
     }
     
     /**
      * Draw card background with gradient
      */
-    private void drawCardBackground(Graphics2D g2d, int width, int height, Color cardColor) {
-        // Create slightly darker color for gradient
-        Color darkerColor = new Color(
-            Math.max(0, cardColor.getRed() - 30),
-            Math.max(0, cardColor.getGreen() - 30),
-            Math.max(0, cardColor.getBlue() - 30)
-        );
-        
-        // Create gradient paint
-        LinearGradientPaint gradient = new LinearGradientPaint(
-            new Point2D.Float(0, 0),
-            new Point2D.Float(width, height),
-            new float[] {0.0f, 1.0f},
-            new Color[] {cardColor, darkerColor}
-        );
-        
-        g2d.setPaint(gradient);
-        g2d.fill(new RoundRectangle2D.Float(2, 2, width - 4, height - 4, cornerRadius, cornerRadius));
+    private static void drawCardBackground(Graphics2D g2d, DTheme theme, CardColor color, int width, int height) {
+        // From the card color to a slightly darker one
+        g2d.setPaint(theme.getGradient(getCardColorKey(color)).getPaint(width, height));
+        g2d.fill(DGraphicsCache.roundRect(2, 2, width - 4, height - 4, CORNER_RADIUS));
     }
     
     /**
      * Draw card oval
      */
-    private void drawCardOval(Graphics2D g2d, int width, int height) {
+    private static void drawCardOval(Graphics2D g2d, DTheme theme, int width, int height) {
         // Draw white oval with slight gradient
-        RadialGradientPaint ovalGradient = new RadialGradientPaint(
-            new Point2D.Float(width / 2, height / 2),
-            width / 2,
-            new float[] {0.0f, 1.0f},
-            new Color[] {Color.WHITE, new Color(240, 240, 240)}
-        );
-        
-        g2d.setPaint(ovalGradient);
-        g2d.fill(new Ellipse2D.Float(10, 20, width - 20, height - 40));
+        g2d.setPaint(theme.getGradient("card.oval").getRadialPaint(width / 2, height / 2, width / 2));
+        g2d.fill(DGraphicsCache.ellipse(10, 20, width - 20, height - 40));
         
         // Add subtle border to oval
-        g2d.setColor(new Color(200, 200, 200));
-        g2d.draw(new Ellipse2D.Float(10, 20, width - 20, height - 40));
+        g2d.setColor(theme.getColor("card.oval.border"));
+        g2d.draw(DGraphicsCache.ellipse(10, 20, width - 20, height - 40));
     }
     
     /**
      * Draw card symbol
      */
-    private void drawCardSymbol(Graphics2D g2d, int width, int height) {
+    private static void drawCardSymbol(Graphics2D g2d, DTheme theme, CardColor color, CardValue value,
+                                       int width, int height) {
         // Get symbol and card color
-        String symbol = getCardSymbol();
-        Color cardColor = getCardAwtColor(card.getColor());
+        String symbol = getCardSymbol(value);
+        Color cardColor = theme.getColor(getCardColorKey(color));
         
         // Draw value or special symbol
-        if (card.getValue() == CardValue.SKIP) {
-            drawSkipSymbol(g2d, width, height, cardColor);
-        } else if (card.getValue() == CardValue.REVERSE) {
-            drawReverseSymbol(g2d, width, height, cardColor);
-        } else if (card.getValue() == CardValue.DRAW_TWO) {
-            drawDrawTwoSymbol(g2d, width, height, cardColor);
-        } else if (card.getValue() == CardValue.WILD) {
-            drawWildSymbol(g2d, width, height);
-        } else if (card.getValue() == CardValue.WILD_DRAW_FOUR) {
-            drawWildDrawFourSymbol(g2d, width, height);
+        if (value == CardValue.SKIP) {
+            drawSkipSymbol(g2d, theme, width, height, cardColor);
+        } else if (value == CardValue.REVERSE) {
+            drawReverseSymbol(g2d, theme, width, height, cardColor);
+        } else if (value == CardValue.DRAW_TWO) {
+            drawDrawTwoSymbol(g2d, theme, width, height, cardColor);
+        } else if (value == CardValue.WILD) {
+            drawWildSymbol(g2d, theme, width, height);
+        } else if (value == CardValue.WILD_DRAW_FOUR) {
+            drawWildDrawFourSymbol(g2d, theme, width, height);
         } else {
             // Draw number
             g2d.setColor(cardColor);
-            g2d.setFont(new Font("Arial", Font.BOLD, 36));
-            int xCenter = width / 2 - g2d.getFontMetrics().stringWidth(symbol) / 2;
-            int yCenter = height / 2 + g2d.getFontMetrics().getAscent() / 2 - 5;
-            g2d.drawString(symbol, xCenter, yCenter);
+            DTextCache.Text text = DTextCache.get(g2d, theme.getFont("card.symbol"), symbol);
+            text.drawCentered(g2d, width / 2, height / 2 + text.getAscent() / 2 - 5);
         }
     }
     
     /**
      * Draw Skip symbol
      */
-    private void drawSkipSymbol(Graphics2D g2d, int width, int height, Color cardColor) {
+    private static void drawSkipSymbol(Graphics2D g2d, DTheme theme, int width, int height, Color cardColor) {
         g2d.setColor(cardColor);
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setStroke(theme.getStroke("card.symbol"));
         
         // Draw circle
         int centerX = width / 2;
@@ -252,18 +286,15 @@ public class DUnoCard extends DComponent {
         g2d.drawLine(centerX - radius, centerY - radius, centerX + radius, centerY + radius);
         
         // Draw "SKIP" text
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        String text = "SKIP";
-        int textX = centerX - g2d.getFontMetrics().stringWidth(text) / 2;
-        g2d.drawString(text, textX, centerY + radius + 20);
+        DTextCache.drawCentered(g2d, theme.getFont("card.label"), "SKIP", centerX, centerY + radius + 20);
     }
     
     /**
      * Draw Reverse symbol
      */
-    private void drawReverseSymbol(Graphics2D g2d, int width, int height, Color cardColor) {
+    private static void drawReverseSymbol(Graphics2D g2d, DTheme theme, int width, int height, Color cardColor) {
         g2d.setColor(cardColor);
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setStroke(theme.getStroke("card.symbol"));
         
         int centerX = width / 2;
         int centerY = height / 2;
@@ -282,33 +313,27 @@ public class DUnoCard extends DComponent {
         g2d.drawLine(centerX - arrowWidth/2, centerY + 15, centerX - arrowWidth/2 + 5, centerY + 20);
         
         // Draw "REV" text
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        String text = "REV";
-        int textX = centerX - g2d.getFontMetrics().stringWidth(text) / 2;
-        g2d.drawString(text, textX, centerY + 30);
+        DTextCache.drawCentered(g2d, theme.getFont("card.label"), "REV", centerX, centerY + 30);
     }
     
     /**
      * Draw Draw Two symbol
      */
-    private void drawDrawTwoSymbol(Graphics2D g2d, int width, int height, Color cardColor) {
+    private static void drawDrawTwoSymbol(Graphics2D g2d, DTheme theme, int width, int height, Color cardColor) {
         g2d.setColor(cardColor);
-        g2d.setFont(new Font("Arial", Font.BOLD, 36));
         
         int centerX = width / 2;
         int centerY = height / 2;
         
         // Draw +2 symbol
-        String text = "+2";
-        int textX = centerX - g2d.getFontMetrics().stringWidth(text) / 2;
-        int textY = centerY + g2d.getFontMetrics().getAscent() / 2 - 5;
-        g2d.drawString(text, textX, textY);
+        DTextCache.Text text = DTextCache.get(g2d, theme.getFont("card.symbol"), "+2");
+        text.drawCentered(g2d, centerX, centerY + text.getAscent() / 2 - 5);
     }
     
     /**
      * Draw Wild symbol
      */
-    private void drawWildSymbol(Graphics2D g2d, int width, int height) {
+    private static void drawWildSymbol(Graphics2D g2d, DTheme theme, int width, int height) {
         int centerX = width / 2;
         int centerY = height / 2;
         int radius = width / 4;
@@ -328,30 +353,24 @@ public class DUnoCard extends DComponent {
         
         // Draw border
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(1.5f));
+        g2d.setStroke(theme.getStroke("card.outline"));
         g2d.drawOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
         
         // Draw "WILD" text
         g2d.setColor(Color.BLACK);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        String text = "WILD";
-        int textX = centerX - g2d.getFontMetrics().stringWidth(text) / 2;
-        g2d.drawString(text, textX, centerY + radius + 20);
+        DTextCache.drawCentered(g2d, theme.getFont("card.label"), "WILD", centerX, centerY + radius + 20);
     }
     
     /**
      * Draw Wild Draw Four symbol
      */
-    private void drawWildDrawFourSymbol(Graphics2D g2d, int width, int height) {
+    private static void drawWildDrawFourSymbol(Graphics2D g2d, DTheme theme, int width, int height) {
         int centerX = width / 2;
         int centerY = height / 2;
         
         // Draw +4 text
         g2d.setColor(Color.BLACK);
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
-        String text = "+4";
-        int textX = centerX - g2d.getFontMetrics().stringWidth(text) / 2;
-        g2d.drawString(text, textX, centerY - 10);
+        DTextCache.drawCentered(g2d, theme.getFont("card.value"), "+4", centerX, centerY - 10);
         
         // Draw color squares
         int squareSize = 10;
@@ -378,26 +397,24 @@ public class DUnoCard extends DComponent {
         
         // Draw "WILD" text
         g2d.setColor(Color.BLACK);
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
-        String wildText = "WILD";
-        int wildX = centerX - g2d.getFontMetrics().stringWidth(wildText) / 2;
-        g2d.drawString(wildText, wildX, startY + squareSize + 15);
+        DTextCache.drawCentered(g2d, theme.getFont("card.small"), "WILD", centerX, startY + squareSize + 15);
     }
     
     /**
      * Draw card corners with value/symbol
      */
-    private void drawCardCorners(Graphics2D g2d, int width, int height) {
-        String symbol = getCardSymbol();
-        Color cardColor = getCardAwtColor(card.getColor());
+    private static void drawCardCorners(Graphics2D g2d, DTheme theme, CardColor color, CardValue value,
+                                        int width, int height) {
+        String symbol = getCardSymbol(value);
+        Color cardColor = theme.getColor(getCardColorKey(color));
         
         // Top-left corner
         g2d.setColor(Color.WHITE);
         g2d.fillRoundRect(5, 5, 15, 15, 5, 5);
         
         g2d.setColor(cardColor);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        g2d.drawString(symbol, 8, 17);
+        DTextCache.Text corner = DTextCache.get(g2d, theme.getFont("card.label"), symbol);
+        corner.draw(g2d, 8, 17);
         
         // Bottom-right corner (rotated)
         g2d.setColor(Color.WHITE);
@@ -411,82 +428,48 @@ public class DUnoCard extends DComponent {
         g2d.rotate(Math.PI);
         
         g2d.setColor(cardColor);
-        g2d.drawString(symbol, -7, 9);
+        corner.draw(g2d, -7, 9);
         
         // Restore original transform
         g2d.setTransform(originalTransform);
     }
     
-    /**
-     * Draw card back (when face down)
-     */
-    private void drawCardBack(Graphics2D g2d, int width, int height) {
-        // Dark blue background
-        Color darkBlue = new Color(0, 0, 100);
-        Color lighterBlue = new Color(30, 30, 150);
-        
-        LinearGradientPaint gradient = new LinearGradientPaint(
-            new Point2D.Float(0, 0),
-            new Point2D.Float(width, height),
-            new float[] {0.0f, 1.0f},
-            new Color[] {darkBlue, lighterBlue}
-        );
-        
-        g2d.setPaint(gradient);
-        g2d.fill(new RoundRectangle2D.Float(2, 2, width - 4, height - 4, cornerRadius, cornerRadius));
-        
-        // UNO logo
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 28));
-        String logo = "UNO";
-        int logoX = width / 2 - g2d.getFontMetrics().stringWidth(logo) / 2;
-        int logoY = height / 2 + g2d.getFontMetrics().getAscent() / 4;
-        
-        // Draw logo with shadow
-        g2d.setColor(Color.BLACK);
-        g2d.drawString(logo, logoX + 1, logoY + 1);
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(logo, logoX, logoY);
-        
-        // Draw diagonal pattern
-        g2d.setColor(new Color(70, 70, 200));
-        g2d.setStroke(new BasicStroke(1.5f));
-        
-        for (int i = -height; i < width + height; i += 15) {
-            g2d.drawLine(i, 0, i + height, height);
-        }
-    }
-    
     /**
      * Draw hover and selection effects
      */
-    private void drawCardEffects(Graphics2D g2d, int width, int height) {
+    private void drawCardEffects(Graphics2D g2d, DTheme theme, int width, int height) {
+        // Unplayable cards are greyed out
+        if (!playable && faceUp) {
+            g2d.setColor(theme.getColor("card.unplayable"));
+            g2d.fill(DGraphicsCache.roundRect(0, 0, width, height, CORNER_RADIUS + 2));
+        }
+        
         // Hover effect
         if (isHovered) {
             // Glow effect
-            g2d.setColor(new Color(255, 255, 200, 100));
-            g2d.setStroke(new BasicStroke(2.0f));
-            g2d.draw(new RoundRectangle2D.Float(1, 1, width - 3, height - 3, cornerRadius, cornerRadius));
+            g2d.setColor(theme.getColor("card.hover"));
+            g2d.setStroke(theme.getStroke("card.hover"));
+            g2d.draw(DGraphicsCache.roundRect(1, 1, width - 3, height - 3, CORNER_RADIUS));
         }
         
         // Selection effect
         if (selected) {
             // Yellow border
-            g2d.setColor(new Color(255, 255, 0, 200));
-            g2d.setStroke(new BasicStroke(3.0f));
-            g2d.draw(new RoundRectangle2D.Float(0, 0, width - 1, height - 1, cornerRadius + 1, cornerRadius + 1));
+            g2d.setColor(theme.getColor("card.selected"));
+            g2d.setStroke(theme.getStroke("card.selected"));
+            g2d.draw(DGraphicsCache.roundRect(0, 0, width - 1, height - 1, CORNER_RADIUS + 1));
         }
     }
     
     /**
      * Get card symbol string
      */
-    private String getCardSymbol() {
-        if (card.getValue() == null) {
+    private static String getCardSymbol(CardValue value) {
+        if (value == null) {
             return "?";
         }
         
-        switch (card.getValue()) {
+        switch (value) {
             case ZERO:
             case ONE:
             case TWO:
@@ -497,7 +480,7 @@ public class DUnoCard extends DComponent {
             case SEVEN:
             case EIGHT:
             case NINE:
-                return String.valueOf(card.getValue().ordinal());
+                return String.valueOf(value.ordinal());
             case SKIP:
                 return "⊘";
             case REVERSE:
@@ -514,26 +497,26 @@ public class DUnoCard extends DComponent {
     }
     
     /**
-     * Convert CardColor to AWT Color
+     * Get the theme key of a card color, used for both its color and its gradient
      */
-    private Color getCardAwtColor(CardColor cardColor) {
+    private static String getCardColorKey(CardColor cardColor) {
         if (cardColor == null) {
-            return Color.GRAY;
+            return "card.unknown";
         }
         
         switch (cardColor) {
             case RED:
-                return new Color(220, 40, 30);
+                return "card.red";
             case BLUE:
-                return new Color(30, 80, 200);
+                return "card.blue";
             case GREEN:
-                return new Color(30, 180, 50);
+                return "card.green";
             case YELLOW:
-                return new Color(240, 200, 40);
+                return "card.yellow";
             case WILD:
-                return Color.BLACK;
+                return "card.wild";
             default:
-                return Color.GRAY;
+                return "card.unknown";
         }
     }
     
@@ -544,6 +527,27 @@ public class DUnoCard extends DComponent {
         return card;
     }
     
+    /**
+     * Set the card shown by this component (used when the component is reused)
+     */
+    public void setCard(Card card) {
+        this.card = card;
+        component.repaint();
+    }
+    
+    /**
+     * Reset the visual state so the component can be reused for another card
+     */
+    public void reset() {
+        faceUp = true;
+        isHovered = false;
+        selected = false;
+        playable = true;
+        clickListener = null;
+        component.setVisible(true);
+        setSize(CARD_WIDTH, CARD_HEIGHT);
+    }
+    
     /**
      * Set whether the card is face up
      */
@@ -567,6 +571,30 @@ public class DUnoCard extends DComponent {
         component.repaint();
     }
     
+    /**
+     * Set whether the card can be played; unplayable cards are greyed out
+     */
+    public void setPlayable(boolean playable) {
+        if (this.playable != playable) {
+            this.playable = playable;
+            component.repaint();
+        }
+    }
+    
+    /**
+     * Check if card is shown as playable
+     */
+    public boolean isPlayable() {
+        return playable;
+    }
+    
+    /**
+     * Set the hover state (used when the card is painted outside its own panel)
+     */
+    public void setHovered(boolean hovered) {
+        this.isHovered = hovered;
+    }
+    
     /**
      * Check if card is selected
      */
@@ -0,0 +1,84 @@
+package uno.gui;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import uno.core.Card;
+
+/**
+ * Pool of reusable DUnoCard components.
+ * Building a DUnoCard creates a JPanel and its listeners, so hands and
+ * animations borrow components from here instead of constructing new ones.
+ */
+public class DUnoCardPool {
+    // Default number of idle components kept around
+    private static final int DEFAULT_MAX_IDLE = 64;
+
+    private final Deque<DUnoCard> idleCards = new ArrayDeque<>();
+    private final int maxIdle;
+    private int createdCount = 0;
+
+    /**
+     * Create a new pool with the default capacity
+     */
+    public DUnoCardPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Create a new pool keeping at most maxIdle released components
+     */
+    public DUnoCardPool(int maxIdle) {
+        this.maxIdle = Math.max(0, maxIdle);
+    }
+
+    /**
+     * Borrow a face-up component showing the given card
+     */
+    public DUnoCard acquire(Card card) {
+        DUnoCard unoCard = idleCards.pollFirst();
+        if (unoCard == null) {
+            createdCount++;
+            return new DUnoCard(card);
+        }
+        unoCard.setCard(card);
+        return unoCard;
+    }
+
+    /**
+     * Borrow a face-down component
+     */
+    public DUnoCard acquireFaceDown(Card card) {
+        DUnoCard unoCard = acquire(card);
+        unoCard.setFaceUp(false);
+        return unoCard;
+    }
+
+    /**
+     * Return a component to the pool.
+     * The caller must already have removed it from its container.
+     */
+    public void release(DUnoCard unoCard) {
+        if (unoCard == null) {
+            return;
+        }
+        unoCard.reset();
+        if (idleCards.size() < maxIdle) {
+            idleCards.addFirst(unoCard);
+        }
+    }
+
+    /**
+     * Get the number of idle components in the pool
+     */
+    public int getIdleCount() {
+        return idleCards.size();
+    }
+
+    /**
+     * Get the number of components this pool has had to construct
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+}
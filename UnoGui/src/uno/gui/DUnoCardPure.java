@@ -7,10 +7,9 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.RoundRectangle2D;
 
 import dgui.DComponentAdapter;
+import dgui.DGraphicsCache;
 import dgui.DPanel;
 import dgui.DActionEvent;
 import dgui.DActionListener;
@@ -89,23 +88,23 @@ public class DUnoCardPure extends DPanel {
         
         // Dessiner le fond de la carte (noir)
         g2d.setColor(Color.BLACK);
-        g2d.fill(new RoundRectangle2D.Float(0, 0, width, height, cornerRadius + 2, cornerRadius + 2));
+        g2d.fill(DGraphicsCache.roundRect(0, 0, width, height, cornerRadius + 2));
         
         if (faceUp) {
             // Dessiner le fond de la carte selon la couleur
             Color cardColor;
             switch (card.getColor()) {
                 case RED:
-                    cardColor = new Color(220, 40, 30);
+                    cardColor = DGraphicsCache.color(220, 40, 30);
                     break;
                 case BLUE:
-                    cardColor = new Color(30, 80, 200);
+                    cardColor = DGraphicsCache.color(30, 80, 200);
                     break;
                 case GREEN:
-                    cardColor = new Color(30, 180, 50);
+                    cardColor = DGraphicsCache.color(30, 180, 50);
                     break;
                 case YELLOW:
-                    cardColor = new Color(240, 200, 40);
+                    cardColor = DGraphicsCache.color(240, 200, 40);
                     break;
                 case WILD:
                     cardColor = Color.BLACK;
@@ -117,11 +116,11 @@ public class DUnoCardPure extends DPanel {
             
             // Dessiner le fond coloré
             g2d.setColor(cardColor);
-            g2d.fill(new RoundRectangle2D.Float(2, 2, width - 4, height - 4, cornerRadius, cornerRadius));
+            g2d.fill(DGraphicsCache.roundRect(2, 2, width - 4, height - 4, cornerRadius));
             
             // Dessiner le symbole ovale blanc
             g2d.setColor(Color.WHITE);
-            g2d.fill(new Ellipse2D.Float(10, 20, width - 20, height - 40));
+            g2d.fill(DGraphicsCache.ellipse(10, 20, width - 20, height - 40));
             
             // Dessiner la valeur ou le symbole de la carte
             String symbol;
@@ -160,12 +159,12 @@ public class DUnoCardPure extends DPanel {
             
             // Dessiner le petit numéro en haut à gauche
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
+            g2d.setFont(DGraphicsCache.font("Arial", Font.BOLD, 14));
             g2d.drawString(symbol, 5, 15);
             
             // Dessiner le grand symbole au centre
             g2d.setColor(cardColor);
-            g2d.setFont(new Font("Arial", Font.BOLD, 36));
+            g2d.setFont(DGraphicsCache.font("Arial", Font.BOLD, 36));
             int xCenter = width / 2 - g2d.getFontMetrics().stringWidth(symbol) / 2;
             int yCenter = height / 2 + g2d.getFontMetrics().getAscent() / 2 - 5;
             g2d.drawString(symbol, xCenter, yCenter);
@@ -175,33 +174,33 @@ public class DUnoCardPure extends DPanel {
                 int cornerSize = 15;
                 
                 // Coin rouge (en haut à gauche)
-                g2d.setColor(new Color(220, 40, 30));
+                g2d.setColor(DGraphicsCache.color(220, 40, 30));
                 g2d.fillRect(15, 35, cornerSize, cornerSize);
                 
                 // Coin bleu (en haut à droite)
-                g2d.setColor(new Color(30, 80, 200));
+                g2d.setColor(DGraphicsCache.color(30, 80, 200));
                 g2d.fillRect(width - 15 - cornerSize, 35, cornerSize, cornerSize);
                 
                 // Coin vert (en bas à gauche)
-                g2d.setColor(new Color(30, 180, 50));
+                g2d.setColor(DGraphicsCache.color(30, 180, 50));
                 g2d.fillRect(15, height - 35 - cornerSize, cornerSize, cornerSize);
                 
                 // Coin jaune (en bas à droite)
-                g2d.setColor(new Color(240, 200, 40));
+                g2d.setColor(DGraphicsCache.color(240, 200, 40));
                 g2d.fillRect(width - 15 - cornerSize, height - 35 - cornerSize, cornerSize, cornerSize);
             }
         } else {
             // Dessiner le dos de la carte (logo UNO)
-            g2d.setColor(new Color(180, 30, 20)); // Rouge UNO
-            g2d.fill(new RoundRectangle2D.Float(2, 2, width - 4, height - 4, cornerRadius, cornerRadius));
+            g2d.setColor(DGraphicsCache.color(180, 30, 20)); // Rouge UNO
+            g2d.fill(DGraphicsCache.roundRect(2, 2, width - 4, height - 4, cornerRadius));
             
             // Ellipse centrale
             g2d.setColor(Color.WHITE);
-            g2d.fill(new Ellipse2D.Float(10, 20, width - 20, height - 40));
+            g2d.fill(DGraphicsCache.ellipse(10, 20, width - 20, height - 40));
             
             // Texte "UNO"
-            g2d.setColor(new Color(180, 30, 20));
-            g2d.setFont(new Font("Arial", Font.BOLD, 28));
+            g2d.setColor(DGraphicsCache.color(180, 30, 20));
+            g2d.setFont(DGraphicsCache.font("Arial", Font.BOLD, 28));
             String unoText = "UNO";
             int unoX = width / 2 - g2d.getFontMetrics().stringWidth(unoText) / 2;
             int unoY = height / 2 + g2d.getFontMetrics().getAscent() / 2 - 5;
@@ -211,16 +210,16 @@ public class DUnoCardPure extends DPanel {
         // Effets visuels pour les cartes
         if (isHovered) {
             // Lueur autour de la carte quand survolée
-            g2d.setColor(new Color(255, 255, 255, 100));
-            g2d.draw(new RoundRectangle2D.Float(1, 1, width - 3, height - 3, cornerRadius, cornerRadius));
-            g2d.draw(new RoundRectangle2D.Float(0, 0, width - 1, height - 1, cornerRadius + 1, cornerRadius + 1));
+            g2d.setColor(DGraphicsCache.color(255, 255, 255, 100));
+            g2d.draw(DGraphicsCache.roundRect(1, 1, width - 3, height - 3, cornerRadius));
+            g2d.draw(DGraphicsCache.roundRect(0, 0, width - 1, height - 1, cornerRadius + 1));
         }
         
         if (selected) {
             // Bordure pour les cartes sélectionnées
-            g2d.setColor(new Color(255, 255, 100, 200));
-            g2d.setStroke(new java.awt.BasicStroke(2.0f));
-            g2d.draw(new RoundRectangle2D.Float(0, 0, width - 1, height - 1, cornerRadius + 1, cornerRadius + 1));
+            g2d.setColor(DGraphicsCache.color(255, 255, 100, 200));
+            g2d.setStroke(DGraphicsCache.stroke(2.0f));
+            g2d.draw(DGraphicsCache.roundRect(0, 0, width - 1, height - 1, cornerRadius + 1));
         }
         
         g2d.dispose();
@@ -1,10 +1,12 @@
 package uno.gui;
 
+import dgui.DAnimationClock;
 import dgui.DAnimator;
 import dgui.DButton;
 import dgui.DComponent;
 import dgui.DLabel;
 import dgui.DPanel;
+import dgui.DTween;
 import dgui.themes.DTheme;
 import uno.core.Card;
 import uno.core.CardColor;
@@ -41,9 +43,16 @@ import javax.swing.Timer;
 public class DWoodGamePanel extends DWoodPanel {
     private Game game;
     private List<DUnoCard> playerCards = new ArrayList<>();
-    private Map<Player, List<DUnoCard>> aiPlayerCards = new HashMap<>();
+    private Map<String, DHandRenderer> aiHandRenderers = new HashMap<>();
+    private DHandRenderer playerHandRenderer;
+    
+    // Shared pool for hand and animation card components
+    private final DUnoCardPool cardPool = new DUnoCardPool();
     private Map<String, DPanel> playerPanels = new HashMap<>();
     
+    // Created on the first sound, the samples come from the shared bank
+    private SoundManager soundManager;
+    
     // Game cards
     private DUnoCard topCard;
     private DUnoCard deckCard;
@@ -78,13 +87,39 @@ public class DWoodGamePanel extends DWoodPanel {
     // Animation constants
     private static final int ANIMATION_DURATION = 300;
     
+    // AI pacing
+    private static final int AI_TURN_DELAY = 1000;
+    private static final int AI_DRAWN_CARD_DELAY = 500;
+    
+    // Computes AI moves off the EDT
+    private final AITurnScheduler aiScheduler;
+    
+    // Turbo mode: AI stretches are played in batches, without animations
+    private static final int TURBO_FRAME_DELAY = 1000 / DAnimationClock.DEFAULT_FRAME_RATE;
+    private static final long TURBO_BATCH_NANOS = 8_000_000L; // half a frame
+    private static final int TURBO_LOG_SIZE = 3;
+    private boolean turboMode = false;
+    private boolean turboBatchScheduled = false;
+    private boolean playingTurboBatch = false;
+    private long turboBatchDeadline;
+    private int turboMoveCount = 0;
+    private final List<String> turboLog = new ArrayList<>();
+    
     /**
      * Create a new enhanced wood game panel
      */
     public DWoodGamePanel(Game game) {
+        this(game, AITurnScheduler.FIRST_PLAYABLE);
+    }
+    
+    /**
+     * Create a new enhanced wood game panel whose AI players use a strategy
+     */
+    public DWoodGamePanel(Game game, AITurnScheduler.Strategy aiStrategy) {
         super(new BorderLayout(10, 10));
         this.game = game;
         this.game.addGameEventListener(new GameEventHandler());
+        this.aiScheduler = new AITurnScheduler(game, aiStrategy);
         
         initUI();
         setupEventHandlers();
@@ -231,6 +266,7 @@ public class DWoodGamePanel extends DWoodPanel {
             JPanel cardsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, -25, 0));
             cardsPanel.setOpaque(false);
             panel.add(cardsPanel);
+            aiHandRenderers.put(name, new DHandRenderer(cardsPanel, cardPool));
             
         } else {
             // Set explicit size for vertical panels
@@ -254,6 +290,14 @@ public class DWoodGamePanel extends DWoodPanel {
             cardsPanel.setOpaque(false);
             verticalPanel.add(cardsPanel);
             
+            // For side players, stack cards vertically with overlap
+            aiHandRenderers.put(name, new DHandRenderer(cardsPanel, cardPool, card -> {
+                JPanel cardHolder = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, -15));
+                cardHolder.setOpaque(false);
+                cardHolder.add(card.getComponent());
+                return cardHolder;
+            }));
+            
             panel.add(verticalPanel);
         }
         
@@ -279,6 +323,18 @@ public class DWoodGamePanel extends DWoodPanel {
         JPanel cardsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, -15, 5));
         cardsPanel.setOpaque(false);
         playerPanel.add(cardsPanel);
+        
+        playerHandRenderer = new DHandRenderer(cardsPanel, cardPool);
+        playerHandRenderer.setCardInitializer(unoCard -> {
+            // Add click listener for card selection
+            unoCard.setClickListener(e -> {
+                if (selectedCard != null) {
+                    selectedCard.setSelected(false);
+                }
+                unoCard.setSelected(true);
+                selectedCard = unoCard;
+            });
+        });
     }
     
     /**
@@ -376,7 +432,7 @@ public class DWoodGamePanel extends DWoodPanel {
                 // Check if card can be played
                 Card cardToPlay = selectedCard.getCard();
                 
-                if (cardToPlay.canPlayOn(game.getTopCard())) {
+                if (game.isPlayable(cardToPlay)) {
                     if (cardToPlay.isWild()) {
                         waitingForColorSelection = true;
                         colorSelectionPanel.setVisible(true);
@@ -434,16 +490,18 @@ public class DWoodGamePanel extends DWoodPanel {
      */
     private void playSelectedCard() {
         if (selectedCard != null) {
-            Card cardToPlay = selectedCard.getCard();
+            // Keep a reference: game events may clear the selection while the card is played
+            final DUnoCard playedCard = selectedCard;
+            Card cardToPlay = playedCard.getCard();
             
             // Animate card from hand to center
-            Point handPos = getComponentScreenPosition(selectedCard);
+            Point handPos = getComponentScreenPosition(playedCard);
             Point tablePos = getComponentScreenPosition(topCard);
             
-            animateCardPlay(selectedCard, handPos, tablePos, () -> {
+            animateCardPlay(playedCard, handPos, tablePos, () -> {
                 // Play the card and update UI
                 if (game.playCard(cardToPlay)) {
-                    removeCardFromPlayerHand(selectedCard);
+                    removeCardFromPlayerHand(playedCard);
                     updateTopCard();
                     
                     // Play sound
@@ -456,8 +514,7 @@ public class DWoodGamePanel extends DWoodPanel {
                         return;
                     }
                     
-                    // Advance to next player
-                    game.advanceToNextPlayer();
+                    // playCard already passed the turn
                     updateTurnIndicator();
                 }
             });
@@ -470,7 +527,9 @@ public class DWoodGamePanel extends DWoodPanel {
     private void playSound(String soundName) {
         try {
             // Try to play sound through SoundManager
-            SoundManager soundManager = new SoundManager();
+            if (soundManager == null) {
+                soundManager = new SoundManager();
+            }
             soundManager.playSound(soundName);
         } catch (Exception e) {
             // Silently ignore sound errors
@@ -484,9 +543,8 @@ public class DWoodGamePanel extends DWoodPanel {
         // Initially hide the card
         card.setVisible(false);
         
-        // Create a temporary card for animation
-        DUnoCard animCard = new DUnoCard(new Card(CardColor.WILD, CardValue.WILD));
-        animCard.setFaceUp(false);
+        // Borrow a temporary card for animation
+        DUnoCard animCard = cardPool.acquireFaceDown(new Card(CardColor.WILD, CardValue.WILD));
         ((JPanel)centerPanel.getComponent()).add(animCard.getComponent());
         
         // Position at deck location
@@ -494,15 +552,8 @@ public class DWoodGamePanel extends DWoodPanel {
                                          card.getComponent().getWidth(), 
                                          card.getComponent().getHeight());
         
-        // Animation timer
-        Timer timer = new Timer(16, null);
-        final int steps = ANIMATION_DURATION / 16;
-        final int[] step = {0};
-        
-        timer.addActionListener(e -> {
-            step[0]++;
-            float progress = (float)step[0] / steps;
-            
+        // Animate on the shared clock
+        DTween tween = new DTween(ANIMATION_DURATION, progress -> {
             // Apply easing function for smoother animation
             float easedProgress = easeOutQuad(progress);
             
@@ -511,38 +562,34 @@ public class DWoodGamePanel extends DWoodPanel {
             int y = start.y + (int)((end.y - start.y) * easedProgress);
             
             // If halfway through, flip the card
-            if (step[0] == steps / 2) {
+            if (progress >= 0.5f && !animCard.isFaceUp()) {
                 animCard.setFaceUp(true);
             }
             
             // Update position
             animCard.getComponent().setLocation(x, y);
-            
-            // Animation complete
-            if (step[0] >= steps) {
-                ((Timer)e.getSource()).stop();
-                
-                // Remove animation card
-                ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
-                
-                // Show the actual card in hand
-                card.setVisible(true);
-                
-                // Refresh display
-                centerPanel.revalidate();
-                centerPanel.repaint();
-            }
         });
         
-        timer.start();
+        DAnimationClock.getInstance().start(tween).getCompletion().whenComplete((result, error) -> {
+            // Remove animation card and return it to the pool
+            ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
+            cardPool.release(animCard);
+            
+            // Show the actual card in hand
+            card.setVisible(true);
+            
+            // Refresh display
+            centerPanel.revalidate();
+            centerPanel.repaint();
+        });
     }
     
     /**
      * Animate playing a card from hand to table
      */
     private void animateCardPlay(DUnoCard card, Point start, Point end, Runnable onComplete) {
-        // Create a temporary card for animation
-        DUnoCard animCard = new DUnoCard(card.getCard());
+        // Borrow a temporary card for animation
+        DUnoCard animCard = cardPool.acquire(card.getCard());
         ((JPanel)centerPanel.getComponent()).add(animCard.getComponent());
         
         // Position at hand location
@@ -553,15 +600,8 @@ public class DWoodGamePanel extends DWoodPanel {
         // Hide original card during animation
         card.setVisible(false);
         
-        // Animation timer
-        Timer timer = new Timer(16, null);
-        final int steps = ANIMATION_DURATION / 16;
-        final int[] step = {0};
-        
-        timer.addActionListener(e -> {
-            step[0]++;
-            float progress = (float)step[0] / steps;
-            
+        // Animate on the shared clock
+        DTween tween = new DTween(ANIMATION_DURATION, progress -> {
             // Apply easing function for smoother animation
             float easedProgress = easeOutQuad(progress);
             
@@ -575,26 +615,22 @@ public class DWoodGamePanel extends DWoodPanel {
             
             // Update position
             animCard.getComponent().setLocation(x, y);
+        });
+        
+        DAnimationClock.getInstance().start(tween).getCompletion().whenComplete((result, error) -> {
+            // Remove animation card and return it to the pool
+            ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
+            cardPool.release(animCard);
             
-            // Animation complete
-            if (step[0] >= steps) {
-                ((Timer)e.getSource()).stop();
-                
-                // Remove animation card
-                ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
-                
-                // Complete the action
-                if (onComplete != null) {
-                    onComplete.run();
-                }
-                
-                // Refresh display
-                centerPanel.revalidate();
-                centerPanel.repaint();
+            // Complete the action
+            if (onComplete != null) {
+                onComplete.run();
             }
+            
+            // Refresh display
+            centerPanel.revalidate();
+            centerPanel.repaint();
         });
-        
-        timer.start();
     }
     
     /**
@@ -649,44 +685,33 @@ public class DWoodGamePanel extends DWoodPanel {
      * Update the player's hand display
      */
     private void updatePlayerHand() {
-        // Clear current hand
-        playerCards.clear();
-        JPanel cardsPanel = (JPanel) playerPanel.getComponent().getComponent(1);
-        cardsPanel.removeAll();
+        // Diff the displayed hand against the model, reusing existing cards
+        Player bottomPlayer = getBottomPlayer();
+        if (bottomPlayer != null) {
+            playerCards = playerHandRenderer.update(bottomPlayer.getHand());
+        } else {
+            playerHandRenderer.clear();
+            playerCards.clear();
+        }
         
-        // Get current player's cards
-        Player humanPlayer = getHumanPlayer();
-        if (humanPlayer != null) {
-            for (Card card : humanPlayer.getHand()) {
-                DUnoCard unoCard = new DUnoCard(card);
-                
-                // Add click listener for card selection
-                unoCard.setClickListener(e -> {
-                    if (selectedCard != null) {
-                        selectedCard.setSelected(false);
-                    }
-                    unoCard.setSelected(true);
-                    selectedCard = unoCard;
-                });
-                
-                playerCards.add(unoCard);
-                cardsPanel.add(unoCard.getComponent());
-            }
+        // Drop the selection if the selected card left the hand
+        if (selectedCard != null && !playerCards.contains(selectedCard)) {
+            selectedCard = null;
         }
         
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+        // Grey out the cards that cannot be played, on the player's turn only
+        boolean playerTurn = isPlayerTurn() && !game.isGameEnded();
+        for (int i = 0; i < playerCards.size(); i++) {
+            playerCards.get(i).setPlayable(!playerTurn || game.getMoveGenerator().isLegal(i));
+        }
     }
     
     /**
      * Remove a card from player's hand
      */
     private void removeCardFromPlayerHand(DUnoCard card) {
-        JPanel cardsPanel = (JPanel) playerPanel.getComponent().getComponent(1);
-        cardsPanel.remove(card.getComponent());
+        playerHandRenderer.remove(card.getCard());
         playerCards.remove(card);
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
         
         // Reset selection
         selectedCard = null;
@@ -696,58 +721,27 @@ public class DWoodGamePanel extends DWoodPanel {
      * Update the AI players' hands display
      */
     private void updateAIPlayersHands() {
-        // For each AI player
+        // For each AI player, only add or remove the cards whose count changed
         for (Player player : game.getPlayers()) {
             if (player.isAI()) {
-                String playerName = player.getName();
-                DPanel playerPanel = playerPanels.get(playerName);
-                
-                if (playerPanel != null) {
-                    // Get proper container for cards based on panel orientation
-                    JPanel cardsContainer = null;
-                    
-                    if (playerPanel == topPlayerPanel) {
-                        // Top player panel has cards in second component
-                        cardsContainer = (JPanel) playerPanel.getComponent().getComponent(1);
-                    } else {
-                        // Side panels have more complex structure
-                        JPanel verticalPanel = (JPanel) playerPanel.getComponent().getComponent(0);
-                        cardsContainer = (JPanel) verticalPanel.getComponent(1);
-                    }
-                    
-                    // Clear current cards
-                    cardsContainer.removeAll();
-                    
-                    // Add face-down cards for each card in player's hand
-                    for (int i = 0; i < player.getHandSize(); i++) {
-                        DUnoCard card = new DUnoCard(new Card(CardColor.WILD, CardValue.WILD));
-                        card.setFaceUp(false);
-                        
-                        if (playerPanel == topPlayerPanel || playerPanel == leftPlayerPanel || playerPanel == rightPlayerPanel) {
-                            // For top player, add cards horizontally with overlap
-                            if (playerPanel == topPlayerPanel) {
-                                cardsContainer.add(card.getComponent());
-                            } else {
-                                // For side players, add cards vertically with overlap
-                                JPanel cardHolder = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, -15));
-                                cardHolder.setOpaque(false);
-                                cardHolder.add(card.getComponent());
-                                cardsContainer.add(cardHolder);
-                            }
-                        }
-                    }
-                    
-                    cardsContainer.revalidate();
-                    cardsContainer.repaint();
+                DHandRenderer renderer = aiHandRenderers.get(player.getName());
+                if (renderer != null) {
+                    renderer.updateFaceDown(player.getHandSize());
                 }
             }
         }
+        // Without a human player, an AI player holds the bottom hand
+        if (getHumanPlayer() == null) {
+            updatePlayerHand();
+        }
     }
     
     /**
      * Update the turn indicator
      */
     private void updateTurnIndicator() {
+        // A turbo batch plays the following turns itself
+        if (playingTurboBatch) return;
         if (isPlayerTurn()) {
             turnIndicator.setText("It's your turn!");
             turnIndicator.setForeground(Color.WHITE);
@@ -767,14 +761,15 @@ public class DWoodGamePanel extends DWoodPanel {
                 playButton.setEnabled(false);
                 unoButton.setEnabled(false);
                 
-                // Process AI turn with a delay - using a single timer to prevent overlapping
-                // Each AI player will wait for their turn
-                Timer timer = new Timer(1000, e -> {
-                    playAITurn(currentPlayer);
-                    ((Timer)e.getSource()).stop();
-                });
-                timer.setRepeats(false);
-                timer.start();
+                // The move is computed in the background and played after the turn delay;
+                // while a move is being animated, the next turn is scheduled once it completes
+                if (currentPlayer.isAI() && !processingAITurn) {
+                    if (isTurboActive()) {
+                        scheduleTurboBatch();
+                    } else {
+                        aiScheduler.scheduleTurn(AI_TURN_DELAY, this::playAITurn);
+                    }
+                }
             }
         }
     }
@@ -783,40 +778,31 @@ public class DWoodGamePanel extends DWoodPanel {
     private boolean processingAITurn = false;
     
     /**
-     * Play a turn for an AI player
+     * Play a turn for an AI player, with the move computed by the scheduler
      */
-    private void playAITurn(Player aiPlayer) {
+    private void playAITurn(AITurnScheduler.Move move) {
         if (game.isGameEnded() || processingAITurn) return;
         
+        Player aiPlayer = move.getPlayer();
+        
         // Set the flag to prevent other AI turns from starting
         processingAITurn = true;
         
         try {
-            // Find a playable card
-            Card playableCard = null;
-            for (Card card : aiPlayer.getHand()) {
-                if (card.canPlayOn(game.getTopCard())) {
-                    playableCard = card;
-                    // Preference for non-wild cards if available
-                    if (!card.isWild()) {
-                        break;
-                    }
-                }
-            }
-            
             // If AI has a playable card
-            if (playableCard != null) {
-                // For wild cards, select a random color
+            if (!move.isDraw()) {
+                Card playableCard = move.getCard();
+                
+                // For wild cards, apply the selected color
                 if (playableCard.isWild()) {
-                    CardColor[] colors = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
-                    CardColor selectedColor = colors[(int)(Math.random() * 4)];
+                    CardColor selectedColor = move.getChosenColor();
                     playableCard.setChosenColor(selectedColor);
                     // Also set the actual color for correct display
                     playableCard.setColor(selectedColor);
                 }
                 
                 // UNO call if this is the next-to-last card
-                if (aiPlayer.getHandSize() == 2) {
+                if (move.isCallUno()) {
                     aiPlayer.callUno();
                     showMessage(aiPlayer.getName() + " called UNO!");
                     playSound("uno_call");
@@ -840,10 +826,7 @@ public class DWoodGamePanel extends DWoodPanel {
                         return;
                     }
                     
-                    // Next player
-                    game.advanceToNextPlayer();
-                    
-                    // Now that animation is complete, release the flag and update turn
+                    // playCard already passed the turn: release the flag and update it
                     processingAITurn = false;
                     updateTurnIndicator();
                 });
@@ -858,18 +841,17 @@ public class DWoodGamePanel extends DWoodPanel {
                     playSound("card_draw");
                     
                     // Check if drawn card can be played
-                    if (drawnCard != null && drawnCard.canPlayOn(game.getTopCard())) {
+                    if (drawnCard != null && game.isPlayable(drawnCard)) {
                         // For wild cards, select a random color
                         if (drawnCard.isWild()) {
-                            CardColor[] colors = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
-                            CardColor selectedColor = colors[(int)(Math.random() * 4)];
+                            CardColor selectedColor = AITurnScheduler.randomColor();
                             drawnCard.setChosenColor(selectedColor);
                             // Also set the actual color for correct display
                             drawnCard.setColor(selectedColor);
                         }
                         
-                        // Delay a bit then play the drawn card
-                        Timer timer = new Timer(500, e -> {
+                        // Delay a bit then play the drawn card, unless the game is restarted meanwhile
+                        aiScheduler.runLater(AI_DRAWN_CARD_DELAY, () -> {
                             showMessage(aiPlayer.getName() + " plays drawn card");
                             game.playCard(drawnCard);
                             updateTopCard();
@@ -884,16 +866,10 @@ public class DWoodGamePanel extends DWoodPanel {
                                 return;
                             }
                             
-                            // Next player
-                            game.advanceToNextPlayer();
-                            
-                            // Now that animation is complete, release the flag and update turn
+                            // playCard already passed the turn: release the flag and update it
                             processingAITurn = false;
                             updateTurnIndicator();
-                            ((Timer)e.getSource()).stop();
                         });
-                        timer.setRepeats(false);
-                        timer.start();
                     } else {
                         // Next player
                         game.advanceToNextPlayer();
@@ -916,6 +892,147 @@ public class DWoodGamePanel extends DWoodPanel {
         }
     }
     
+    /**
+     * Enable or disable turbo mode. In turbo mode AI turns are played
+     * without delays or animations, several per frame, and only the final
+     * state is rendered with a condensed log of the moves.
+     * Turbo mode is always active when no human player takes part in the game.
+     */
+    public void setTurboMode(boolean turboMode) {
+        this.turboMode = turboMode;
+        if (turboMode && !processingAITurn && !playingTurboBatch && !isPlayerTurn()) {
+            // Take over the AI turn that may already be scheduled
+            aiScheduler.cancelAll();
+            scheduleTurboBatch();
+        }
+    }
+    
+    public boolean isTurboMode() {
+        return turboMode;
+    }
+    
+    private boolean isTurboActive() {
+        return turboMode || getHumanPlayer() == null;
+    }
+    
+    /**
+     * Play the next AI turns on the next frame
+     */
+    private void scheduleTurboBatch() {
+        if (!turboBatchScheduled && !playingTurboBatch) {
+            turboBatchScheduled = true;
+            aiScheduler.runLater(TURBO_FRAME_DELAY, this::playTurboBatch);
+        }
+    }
+    
+    /**
+     * Play AI turns for up to half a frame, then render the resulting state once.
+     * Each move is computed by the scheduler off the EDT, and only applied on it.
+     */
+    private void playTurboBatch() {
+        turboBatchScheduled = false;
+        if (game.isGameEnded() || processingAITurn || playingTurboBatch) return;
+        
+        turboBatchDeadline = System.nanoTime() + TURBO_BATCH_NANOS;
+        playingTurboBatch = true;
+        scheduleTurboMove();
+    }
+    
+    /**
+     * Ask the scheduler for the next move of the batch, or end the batch if
+     * no AI player is on turn or the batch has run out of time
+     */
+    private void scheduleTurboMove() {
+        Player player = game.getCurrentPlayer();
+        if (game.isGameEnded() || player == null || !player.isAI()
+                || !isTurboActive() || System.nanoTime() >= turboBatchDeadline) {
+            endTurboBatch();
+            return;
+        }
+        aiScheduler.scheduleTurn(0, this::playTurboMove);
+    }
+    
+    /**
+     * Render the final state of the batch; this schedules the next batch if AI turns remain
+     */
+    private void endTurboBatch() {
+        playingTurboBatch = false;
+        showTurboLog();
+        updateUI();
+        if (game.isGameEnded()) {
+            playSound("game_win");
+        }
+    }
+    
+    /**
+     * Apply an AI move of the batch directly, logging it instead of animating it
+     */
+    private void playTurboMove(AITurnScheduler.Move move) {
+        if (!playingTurboBatch) return;
+        try {
+            applyTurboMove(move);
+        } catch (Exception e) {
+            System.err.println("Error processing AI turn: " + e.getMessage());
+            e.printStackTrace();
+            endTurboBatch();
+            return;
+        }
+        scheduleTurboMove();
+    }
+    
+    private void applyTurboMove(AITurnScheduler.Move move) {
+        Player aiPlayer = move.getPlayer();
+        if (!move.isDraw()) {
+            Card card = move.getCard();
+            if (card.isWild()) {
+                card.setChosenColor(move.getChosenColor());
+                card.setColor(move.getChosenColor());
+            }
+            if (move.isCallUno()) {
+                aiPlayer.callUno();
+            }
+            game.playCard(card);
+            logTurboMove(aiPlayer.getName() + " plays " + card);
+        } else {
+            Card drawnCard = game.drawCard(aiPlayer);
+            if (drawnCard != null && game.isPlayable(drawnCard)) {
+                if (drawnCard.isWild()) {
+                    CardColor selectedColor = AITurnScheduler.randomColor();
+                    drawnCard.setChosenColor(selectedColor);
+                    drawnCard.setColor(selectedColor);
+                }
+                game.playCard(drawnCard);
+                logTurboMove(aiPlayer.getName() + " draws and plays " + drawnCard);
+            } else {
+                game.advanceToNextPlayer();
+                logTurboMove(aiPlayer.getName() + " draws");
+            }
+        }
+        if (aiPlayer.getHandSize() == 0) {
+            logTurboMove(aiPlayer.getName() + " wins!");
+        }
+    }
+    
+    private void logTurboMove(String entry) {
+        turboMoveCount++;
+        turboLog.add(entry);
+        if (turboLog.size() > TURBO_LOG_SIZE) {
+            turboLog.remove(0);
+        }
+    }
+    
+    /**
+     * Show the last moves of the AI stretch; the log restarts on the human's turn
+     */
+    private void showTurboLog() {
+        if (turboMoveCount == 0) return;
+        showMessage(turboMoveCount + " AI moves: " + String.join(" | ", turboLog));
+        if (game.isGameEnded() || isPlayerTurn()) {
+            turboMoveCount = 0;
+            turboLog.clear();
+        }
+    }
+    
     /**
      * Animate AI player drawing a card
      */
@@ -923,9 +1040,8 @@ public class DWoodGamePanel extends DWoodPanel {
         // Get positions
         Point deckPos = getComponentScreenPosition(deckCard);
         
-        // Create a temporary card for animation - using fixed size to avoid too large cards
-        DUnoCard animCard = new DUnoCard(new Card(CardColor.WILD, CardValue.WILD));
-        animCard.setFaceUp(false);
+        // Borrow a temporary card for animation - using fixed size to avoid too large cards
+        DUnoCard animCard = cardPool.acquireFaceDown(new Card(CardColor.WILD, CardValue.WILD));
         ((JPanel)centerPanel.getComponent()).add(animCard.getComponent());
         
         // Position at deck location with consistent size
@@ -954,15 +1070,8 @@ public class DWoodGamePanel extends DWoodPanel {
             endPos.y = rightPlayerPanel.getY() + rightPlayerPanel.getHeight() / 2;
         }
         
-        // Animation timer
-        Timer timer = new Timer(16, null);
-        final int steps = ANIMATION_DURATION / 16;
-        final int[] step = {0};
-        
-        timer.addActionListener(e -> {
-            step[0]++;
-            float progress = (float)step[0] / steps;
-            
+        // Animate on the shared clock
+        DTween tween = new DTween(ANIMATION_DURATION, progress -> {
             // Apply easing
             float easedProgress = easeOutQuad(progress);
             
@@ -970,24 +1079,20 @@ public class DWoodGamePanel extends DWoodPanel {
             int x = deckPos.x + (int)((endPos.x - deckPos.x) * easedProgress);
             int y = deckPos.y + (int)((endPos.y - deckPos.y) * easedProgress);
             animCard.getComponent().setLocation(x, y);
+        });
+        
+        DAnimationClock.getInstance().start(tween).getCompletion().whenComplete((result, error) -> {
+            // Remove animation card and return it to the pool
+            ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
+            cardPool.release(animCard);
+            centerPanel.revalidate();
+            centerPanel.repaint();
             
-            // Animation complete
-            if (step[0] >= steps) {
-                ((Timer)e.getSource()).stop();
-                
-                // Remove animation card
-                ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
-                centerPanel.revalidate();
-                centerPanel.repaint();
-                
-                // Run completion action
-                if (onComplete != null) {
-                    onComplete.run();
-                }
+            // Run completion action
+            if (onComplete != null) {
+                onComplete.run();
             }
         });
-        
-        timer.start();
     }
     
     /**
@@ -1016,9 +1121,8 @@ public class DWoodGamePanel extends DWoodPanel {
             startPos.y = rightPlayerPanel.getY() + rightPlayerPanel.getHeight() / 2;
         }
         
-        // Create a temporary card for animation - using fixed size for consistency
-        DUnoCard animCard = new DUnoCard(new Card(CardColor.WILD, CardValue.WILD));
-        animCard.setFaceUp(false);
+        // Borrow a temporary card for animation - using fixed size for consistency
+        DUnoCard animCard = cardPool.acquireFaceDown(new Card(CardColor.WILD, CardValue.WILD));
         ((JPanel)centerPanel.getComponent()).add(animCard.getComponent());
         
         // Position at start location with consistent size
@@ -1026,20 +1130,13 @@ public class DWoodGamePanel extends DWoodPanel {
         int cardHeight = 120; // Fixed card height
         animCard.getComponent().setBounds(startPos.x, startPos.y, cardWidth, cardHeight);
         
-        // Animation timer
-        Timer timer = new Timer(16, null);
-        final int steps = ANIMATION_DURATION / 16;
-        final int[] step = {0};
-        
-        timer.addActionListener(e -> {
-            step[0]++;
-            float progress = (float)step[0] / steps;
-            
+        // Animate on the shared clock
+        DTween tween = new DTween(ANIMATION_DURATION, progress -> {
             // Apply easing
             float easedProgress = easeOutQuad(progress);
             
             // Flip card halfway
-            if (step[0] == steps / 2) {
+            if (progress >= 0.5f && !animCard.isFaceUp()) {
                 animCard.setFaceUp(true);
             }
             
@@ -1053,24 +1150,20 @@ public class DWoodGamePanel extends DWoodPanel {
             
             // Update position
             animCard.getComponent().setLocation(x, y);
+        });
+        
+        DAnimationClock.getInstance().start(tween).getCompletion().whenComplete((result, error) -> {
+            // Remove animation card and return it to the pool
+            ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
+            cardPool.release(animCard);
+            centerPanel.revalidate();
+            centerPanel.repaint();
             
-            // Animation complete
-            if (step[0] >= steps) {
-                ((Timer)e.getSource()).stop();
-                
-                // Remove animation card
-                ((JPanel)centerPanel.getComponent()).remove(animCard.getComponent());
-                centerPanel.revalidate();
-                centerPanel.repaint();
-                
-                // Run completion action
-                if (onComplete != null) {
-                    onComplete.run();
-                }
+            // Run completion action
+            if (onComplete != null) {
+                onComplete.run();
             }
         });
-        
-        timer.start();
     }
     
     /**
@@ -1093,6 +1186,23 @@ public class DWoodGamePanel extends DWoodPanel {
         return null;
     }
     
+    /**
+     * Get the player seated at the bottom: the human player or, when only AI
+     * players take part, the one without a side panel
+     */
+    private Player getBottomPlayer() {
+        Player humanPlayer = getHumanPlayer();
+        if (humanPlayer != null) {
+            return humanPlayer;
+        }
+        for (Player player : game.getPlayers()) {
+            if (!aiHandRenderers.containsKey(player.getName())) {
+                return player;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Show a message in the status area
      */
@@ -1121,6 +1231,13 @@ public class DWoodGamePanel extends DWoodPanel {
      * Start the game
      */
     public void startGame() {
+        // Moves computed for a previous game must not be played
+        aiScheduler.cancelAll();
+        processingAITurn = false;
+        turboBatchScheduled = false;
+        playingTurboBatch = false;
+        turboMoveCount = 0;
+        turboLog.clear();
         showMessage("Game started!");
         updatePlayerHand();
         updateAIPlayersHands();
@@ -1142,6 +1259,7 @@ public class DWoodGamePanel extends DWoodPanel {
         
         @Override
         public void onGameEnded(Game game, Player winner) {
+            aiScheduler.cancelAll();
             updateStatusMessage("Game over! " + winner.getName() + " wins!");
             updateUI();
         }
@@ -1192,7 +1310,9 @@ public class DWoodGamePanel extends DWoodPanel {
         @Override
         public void onColorChanged(Game game, CardColor color) {
             updateStatusMessage("Color changed to: " + getColorName(color));
-            updateTopCard();
+            if (!playingTurboBatch) {
+                updateTopCard();
+            }
             updateUI();
         }
         
@@ -1213,7 +1333,8 @@ public class DWoodGamePanel extends DWoodPanel {
      * Update status message
      */
     private void updateStatusMessage(String message) {
-        if (gameStatus != null) {
+        // During a turbo batch, the move log replaces the per-event messages
+        if (gameStatus != null && !playingTurboBatch) {
             gameStatus.setText(message);
             showMessage(message);
         }
@@ -1223,6 +1344,8 @@ public class DWoodGamePanel extends DWoodPanel {
      * Update all UI elements
      */
     private void updateUI() {
+        // During a turbo batch, only the final state is rendered
+        if (playingTurboBatch) return;
         updatePlayerHand();
         updateAIPlayersHands();
         updateTopCard();
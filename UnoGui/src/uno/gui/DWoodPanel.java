@@ -6,10 +6,11 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.LayoutManager;
 import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
 
 import dgui.DPanel;
 import dgui.DImageManager;
+import dgui.DPerformanceMonitor;
+import dgui.DScaledImage;
 import dgui.DComponentAdapter;
 
 /**
@@ -22,7 +23,7 @@ public class DWoodPanel extends DPanel {
     public static final Color RED_WOOD = new Color(170, 80, 60);
     
     // Texture image
-    private BufferedImage woodTexture;
+    private DScaledImage woodTexture;
     private Color woodColor = LIGHT_WOOD;
     
     /**
@@ -71,6 +72,7 @@ public class DWoodPanel extends DPanel {
      * Create a wood texture with the specified color
      */
     public void createWoodTexture(Color baseColor) {
+        long textureStart = DPerformanceMonitor.begin();
         this.woodColor = baseColor;
         
         // Get current dimensions
@@ -83,10 +85,11 @@ public class DWoodPanel extends DPanel {
         
         // Use DImageManager to create texture
         DImageManager imageManager = DImageManager.getInstance();
-        woodTexture = imageManager.createWoodTexture(width, height, baseColor);
+        woodTexture = imageManager.createScaledWoodTexture(width, height, baseColor);
         
         // Apply the texture as background
         setBackgroundImage(woodTexture);
+        DPerformanceMonitor.end(DPerformanceMonitor.Section.TEXTURE, textureStart);
     }
     
     /**
@@ -5,7 +5,6 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.awt.BasicStroke;
 import java.awt.Dimension;
 import java.awt.BorderLayout;
 
@@ -16,7 +15,10 @@ public class DirectionIndicatorPanel extends DPanel {
     private boolean clockwise = true;
     private float animationProgress = 0.0f;
     private boolean animating = false;
-    private javax.swing.Timer animationTimer;
+    private DTween animation;
+    
+    // Duration of the direction change animation in milliseconds
+    private static final int ANIMATION_DURATION = 320;
     
     // Create a custom panel for drawing
     private class DirectionPanel extends javax.swing.JPanel {
@@ -38,24 +40,6 @@ public class DirectionIndicatorPanel extends DPanel {
         this.component = drawingPanel;
         
         setPreferredSize(new Dimension(100, 100));
-        
-        // Initialize the animation timer
-        animationTimer = new javax.swing.Timer(16, e -> {
-            if (animating) {
-                // Increment the animation progress
-                animationProgress += 0.05f;
-                
-                // Check if the animation is complete
-                if (animationProgress >= 1.0f) {
-                    animationProgress = 0.0f;
-                    animating = false;
-                    ((javax.swing.Timer) e.getSource()).stop();
-                }
-                
-                // Repaint to show the animation
-                component.repaint();
-            }
-        });
     }
     
     /**
@@ -70,10 +54,20 @@ public class DirectionIndicatorPanel extends DPanel {
             this.clockwise = clockwise;
             
             if (animate) {
-                // Start the animation
+                // Restart the animation on the shared clock
+                if (animation != null) {
+                    animation.cancel();
+                }
                 animationProgress = 0.0f;
                 animating = true;
-                animationTimer.start();
+                animation = new DTween(ANIMATION_DURATION, progress -> {
+                    animationProgress = progress;
+                    if (progress >= 1.0f) {
+                        animationProgress = 0.0f;
+                        animating = false;
+                    }
+                }, component);
+                DAnimationClock.getInstance().start(animation);
             } else {
                 // Just repaint with the new direction
                 component.repaint();
@@ -103,11 +97,11 @@ public class DirectionIndicatorPanel extends DPanel {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         
         // Draw the circle
-        g2d.setColor(new Color(0, 100, 0));
+        g2d.setColor(DGraphicsCache.color(0, 100, 0));
         g2d.fillOval(10, 10, width - 20, height - 20);
         
         g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(DGraphicsCache.stroke(2));
         g2d.drawOval(10, 10, width - 20, height - 20);
         
         // Calculate the center and radius
@@ -117,7 +111,7 @@ public class DirectionIndicatorPanel extends DPanel {
         
         // Draw the arrows
         g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setStroke(DGraphicsCache.stroke(3));
         
         // Calculate the start and end angles based on animation
         float startAngle, endAngle;
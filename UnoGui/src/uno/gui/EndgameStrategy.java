@@ -0,0 +1,60 @@
+package uno.gui;
+
+import uno.ai.EndgameSolver;
+import uno.core.GameView;
+import uno.core.Player;
+
+/**
+ * AI strategy solving the endgame exactly and leaving the rest of the game
+ * to another strategy: once few cards are left in the hands, each move is
+ * solved by an {@link EndgameSolver} within a time budget, and the other
+ * strategy plays when the position is too large or the solve runs out of
+ * time.
+ */
+public class EndgameStrategy implements AITurnScheduler.Strategy {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    private final AITurnScheduler.Strategy fallback;
+    private final EndgameSolver solver;
+    private final long budgetNanos;
+
+    /**
+     * Solve endgames on half of the processors with the default budget,
+     * leaving the others to painting and to the other players
+     */
+    public EndgameStrategy(AITurnScheduler.Strategy fallback) {
+        this(fallback, DEFAULT_BUDGET_MILLIS, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * @param budgetMillis time given to a solve before the fallback plays
+     * @param threads number of threads solving in parallel
+     */
+    public EndgameStrategy(AITurnScheduler.Strategy fallback, long budgetMillis, int threads) {
+        if (budgetMillis <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Invalid budget or thread count: " + budgetMillis + ", " + threads);
+        }
+        this.fallback = fallback;
+        this.solver = new EndgameSolver(threads);
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    public EndgameSolver getSolver() {
+        return solver;
+    }
+
+    @Override
+    public AITurnScheduler.Move chooseMove(Player player, GameView view) {
+        if (solver.isEndgame(view)) {
+            int action = solver.solve(view, System.nanoTime() + budgetNanos);
+            if (action >= 0) {
+                AITurnScheduler.Move move = AITurnScheduler.Move.forAction(player, view, action);
+                if (move != null) {
+                    return move;
+                }
+                System.err.println("Endgame solver chose a card that cannot be played: " + action);
+            }
+        }
+        return fallback.chooseMove(player, view);
+    }
+}
@@ -1,6 +1,7 @@
 package uno.gui;
 
 import dgui.*;
+import dgui.themes.DTheme;
 import uno.core.*;
 
 import java.awt.BorderLayout;
@@ -35,35 +36,44 @@ public class GameOverPanel extends DPanel {
      */
     public GameOverPanel(Player winner, List<Player> allPlayers) {
         super(new BorderLayout(10, 20));
-        setBackground(new Color(0, 50, 0)); // Dark green background
+        
+        // Colors and fonts are shared theme objects
+        DTheme theme = getTheme();
+        Color background = theme.getColor("gameover.background");
+        Color text = theme.getColor("gameover.text");
+        Color highlight = theme.getColor("gameover.winner");
+        Font headerFont = theme.getFont("gameover.header");
+        Font cellFont = theme.getFont("gameover.cell");
+        
+        setBackground(background); // Dark green background
         
         // Create title panel
         DPanel titlePanel = new DPanel(new BorderLayout());
-        titlePanel.setBackground(new Color(0, 50, 0));
+        titlePanel.setBackground(background);
         
         // Create winner label
         DLabel winnerLabel = new DLabel(winner.getName() + " has won the game!");
-        winnerLabel.setFont(new Font("Arial", Font.BOLD, 24));
-        winnerLabel.setForeground(Color.YELLOW);
+        winnerLabel.setFont(theme.getFont("gameover.title"));
+        winnerLabel.setForeground(highlight);
         winnerLabel.setTextAlignmentCenter();
         titlePanel.add(winnerLabel, BorderLayout.CENTER);
         
         // Create scores panel
         DPanel scoresPanel = new DPanel(new GridLayout(0, 3, 10, 5));
-        scoresPanel.setBackground(new Color(0, 50, 0));
+        scoresPanel.setBackground(background);
         
         // Add column headers
         DLabel playerHeader = new DLabel("Player");
-        playerHeader.setFont(new Font("Arial", Font.BOLD, 16));
-        playerHeader.setForeground(Color.WHITE);
+        playerHeader.setFont(headerFont);
+        playerHeader.setForeground(text);
         
         DLabel cardsHeader = new DLabel("Cards Left");
-        cardsHeader.setFont(new Font("Arial", Font.BOLD, 16));
-        cardsHeader.setForeground(Color.WHITE);
+        cardsHeader.setFont(headerFont);
+        cardsHeader.setForeground(text);
         
         DLabel scoreHeader = new DLabel("Score");
-        scoreHeader.setFont(new Font("Arial", Font.BOLD, 16));
-        scoreHeader.setForeground(Color.WHITE);
+        scoreHeader.setFont(headerFont);
+        scoreHeader.setForeground(text);
         
         scoresPanel.add(playerHeader);
         scoresPanel.add(cardsHeader);
@@ -73,28 +83,29 @@ public class GameOverPanel extends DPanel {
         for (Player player : allPlayers) {
             // Player name
             DLabel nameLabel = new DLabel(player.getName());
-            nameLabel.setFont(new Font("Arial", Font.PLAIN, 14));
-            nameLabel.setForeground(Color.WHITE);
+            nameLabel.setFont(cellFont);
+            nameLabel.setForeground(text);
             
             // Cards left
             DLabel cardsLabel = new DLabel(String.valueOf(player.getCardCount()));
-            cardsLabel.setFont(new Font("Arial", Font.PLAIN, 14));
-            cardsLabel.setForeground(Color.WHITE);
+            cardsLabel.setFont(cellFont);
+            cardsLabel.setForeground(text);
             
             // Score
             int score = calculateScore(player);
             DLabel scoreLabel = new DLabel(String.valueOf(score));
-            scoreLabel.setFont(new Font("Arial", Font.PLAIN, 14));
-            scoreLabel.setForeground(Color.WHITE);
+            scoreLabel.setFont(cellFont);
+            scoreLabel.setForeground(text);
             
             // Highlight the winner
             if (player == winner) {
-                nameLabel.setForeground(Color.YELLOW);
-                cardsLabel.setForeground(Color.YELLOW);
-                scoreLabel.setForeground(Color.YELLOW);
-                nameLabel.setFont(new Font("Arial", Font.BOLD, 14));
-                cardsLabel.setFont(new Font("Arial", Font.BOLD, 14));
-                scoreLabel.setFont(new Font("Arial", Font.BOLD, 14));
+                Font winnerFont = theme.getFont("gameover.winner");
+                nameLabel.setForeground(highlight);
+                cardsLabel.setForeground(highlight);
+                scoreLabel.setForeground(highlight);
+                nameLabel.setFont(winnerFont);
+                cardsLabel.setFont(winnerFont);
+                scoreLabel.setFont(winnerFont);
             }
             
             scoresPanel.add(nameLabel);
@@ -104,18 +115,18 @@ public class GameOverPanel extends DPanel {
         
         // Create buttons panel
         DPanel buttonsPanel = new DPanel(new GridLayout(1, 2, 20, 0));
-        buttonsPanel.setBackground(new Color(0, 50, 0));
+        buttonsPanel.setBackground(background);
         
         // Create buttons
         playAgainButton = new DButton("Play Again");
-        playAgainButton.setFont(new Font("Arial", Font.BOLD, 16));
-        playAgainButton.setBackground(new Color(50, 150, 50));
-        playAgainButton.setForeground(Color.WHITE);
+        playAgainButton.setFont(theme.getFont("gameover.button"));
+        playAgainButton.setBackground(theme.getColor("gameover.play"));
+        playAgainButton.setForeground(text);
         
         quitButton = new DButton("Quit");
-        quitButton.setFont(new Font("Arial", Font.BOLD, 16));
-        quitButton.setBackground(new Color(150, 50, 50));
-        quitButton.setForeground(Color.WHITE);
+        quitButton.setFont(theme.getFont("gameover.button"));
+        quitButton.setBackground(theme.getColor("gameover.quit"));
+        quitButton.setForeground(text);
         
         // Add action listeners
         playAgainButton.addActionListener(e -> {
@@ -132,15 +143,15 @@ public class GameOverPanel extends DPanel {
         
         // Add buttons to panel with some padding containers for better spacing
         DPanel buttonsPadding = new DPanel(new BorderLayout());
-        buttonsPadding.setBackground(new Color(0, 50, 0));
+        buttonsPadding.setBackground(background);
         
         DPanel leftPadding = new DPanel();
         leftPadding.setPreferredSize(new Dimension(100, 0));
-        leftPadding.setBackground(new Color(0, 50, 0));
+        leftPadding.setBackground(background);
         
         DPanel rightPadding = new DPanel();
         rightPadding.setPreferredSize(new Dimension(100, 0));
-        rightPadding.setBackground(new Color(0, 50, 0));
+        rightPadding.setBackground(background);
         
         buttonsPanel.add(playAgainButton);
         buttonsPanel.add(quitButton);
@@ -152,11 +163,11 @@ public class GameOverPanel extends DPanel {
         // Add padding around the entire panel
         DPanel paddingNorth = new DPanel();
         paddingNorth.setPreferredSize(new Dimension(0, 20));
-        paddingNorth.setBackground(new Color(0, 50, 0));
+        paddingNorth.setBackground(background);
         
         DPanel paddingSouth = new DPanel();
         paddingSouth.setPreferredSize(new Dimension(0, 20));
-        paddingSouth.setBackground(new Color(0, 50, 0));
+        paddingSouth.setBackground(background);
         
         // Add all components to the main panel
         add(paddingNorth, BorderLayout.NORTH);
@@ -36,9 +36,14 @@ public class GameWindow implements Game.GameEventListener {
     private List<Player> aiPlayers;
     private boolean waitingForColorSelection = false;
     
+    // Delay before each AI move, so that it can be followed
+    private static final int AI_TURN_DELAY = 1000;
+    private final AITurnScheduler aiScheduler;
+    
     public GameWindow(Game game) {
         this.game = game;
         game.addGameEventListener(this);
+        aiScheduler = new AITurnScheduler(game);
         
         aiPlayers = new ArrayList<>();
         
@@ -181,7 +186,7 @@ public class GameWindow implements Game.GameEventListener {
                             Card selectedCard = convertDCardToCard(selectedDCard);
                             
                             // Check if the card can be played
-                            if (selectedCard.canPlayOn(game.getTopCard())) {
+                            if (game.isPlayable(selectedCard)) {
                                 // Handle wild cards separately
                                 if (selectedCard.getValue().isWildCard()) {
                                     waitingForColorSelection = true;
@@ -358,65 +363,61 @@ public class GameWindow implements Game.GameEventListener {
      * Process turns for AI players
      */
     private void processAITurns() {
-        // Continue processing turns until it's the human player's turn
-        while (game.getCurrentPlayer().isAI() && !game.isGameEnded()) {
-            Player aiPlayer = game.getCurrentPlayer();
+        // Each move is computed off the EDT and played after a small delay to make it visible;
+        // playing it schedules the next one until it's the human player's turn
+        aiScheduler.scheduleTurn(AI_TURN_DELAY, this::playAIMove);
+    }
+    
+    /**
+     * Play a move computed for an AI player
+     */
+    private void playAIMove(AITurnScheduler.Move move) {
+        Player aiPlayer = move.getPlayer();
+        
+        if (!move.isDraw()) {
+            // AI has a playable card
+            Card playableCard = move.getCard();
+            if (playableCard.getValue().isWildCard()) {
+                playableCard.setColor(move.getChosenColor());
+            }
+            
+            // Call UNO if this will leave AI with one card
+            if (move.isCallUno()) {
+                aiPlayer.callUno();
+                gameInfoPanel.showMessage(aiPlayer.getName() + " called UNO!");
+            }
             
-            // Simple AI: Try to play a card, if can't then draw
-            Card playableCard = aiPlayer.getPlayableCard(game.getTopCard());
+            // Play the card
+            game.playCard(playableCard);
+            tablePanel.updateDiscardPile();
             
-            if (playableCard != null) {
-                // AI has a playable card
-                if (playableCard.getValue().isWildCard()) {
-                    // Choose a random color for wild cards
-                    CardColor[] colors = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
-                    playableCard.setColor(colors[(int)(Math.random() * colors.length)]);
+            gameInfoPanel.showMessage(aiPlayer.getName() + " played " + playableCard);
+        } else {
+            // AI has no playable card, draw one
+            Card drawnCard = game.drawCard(aiPlayer);
+            
+            if (drawnCard != null && game.isPlayable(drawnCard)) {
+                // Play the drawn card if it can be played
+                if (drawnCard.getValue().isWildCard()) {
+                    drawnCard.setColor(AITurnScheduler.randomColor());
                 }
                 
-                // Call UNO if this will leave AI with one card
-                if (aiPlayer.getCardCount() == 2) {
-                    aiPlayer.callUno();
-                    gameInfoPanel.showMessage(aiPlayer.getName() + " called UNO!");
-                }
+                gameInfoPanel.showMessage(aiPlayer.getName() + " drew and played " + drawnCard);
                 
                 // Play the card
-                game.playCard(playableCard);
+                game.playCard(drawnCard);
                 tablePanel.updateDiscardPile();
-                
-                gameInfoPanel.showMessage(aiPlayer.getName() + " played " + playableCard);
             } else {
-                // AI has no playable card, draw one
-                Card drawnCard = game.drawCard(aiPlayer);
-                
-                if (drawnCard != null && drawnCard.canPlayOn(game.getTopCard())) {
-                    // Play the drawn card if it can be played
-                    if (drawnCard.getValue().isWildCard()) {
-                        // Choose a random color for wild cards
-                        CardColor[] colors = {CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW};
-                        drawnCard.setColor(colors[(int)(Math.random() * colors.length)]);
-                    }
-                    
-                    gameInfoPanel.showMessage(aiPlayer.getName() + " drew and played " + drawnCard);
-                    
-                    // Play the card
-                    game.playCard(drawnCard);
-                    tablePanel.updateDiscardPile();
-                } else {
-                    gameInfoPanel.showMessage(aiPlayer.getName() + " drew a card");
-                    game.advanceToNextPlayer();
-                }
-            }
-            
-            // Give a small delay to make AI moves visible
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                gameInfoPanel.showMessage(aiPlayer.getName() + " drew a card");
+                game.advanceToNextPlayer();
             }
         }
         
         // Update the UI
         refreshUI();
+        
+        // Next AI player, if any
+        processAITurns();
     }
     
     /**
@@ -439,6 +440,8 @@ public class GameWindow implements Game.GameEventListener {
      * Start the game
      */
     public void startGame() {
+        // Moves computed for a previous game must not be played
+        aiScheduler.cancelAll();
         game.start();
         
         // Update the UI
@@ -492,6 +495,7 @@ public class GameWindow implements Game.GameEventListener {
     
     @Override
     public void onGameEnded(Game game, Player winner) {
+        aiScheduler.cancelAll();
         gameInfoPanel.showMessage("Game ended! " + winner.getName() + " wins!");
         
         // Disable controls
@@ -0,0 +1,44 @@
+package uno.gui;
+
+import uno.ai.Ismcts;
+import uno.core.GameView;
+import uno.core.Player;
+
+/**
+ * AI strategy searching each move with information set Monte Carlo tree
+ * search for a fixed time, on every processor. Its trees are reused from move
+ * to move, so a single instance should serve a game.
+ */
+public class IsmctsStrategy implements AITurnScheduler.Strategy {
+    private final Ismcts search;
+
+    public IsmctsStrategy() {
+        this(Ismcts.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param budgetMillis time searched for each move
+     */
+    public IsmctsStrategy(long budgetMillis) {
+        this(new Ismcts(budgetMillis));
+    }
+
+    public IsmctsStrategy(Ismcts search) {
+        this.search = search;
+    }
+
+    public Ismcts getSearch() {
+        return search;
+    }
+
+    @Override
+    public AITurnScheduler.Move chooseMove(Player player, GameView view) {
+        int action = search.chooseAction(view);
+        AITurnScheduler.Move move = AITurnScheduler.Move.forAction(player, view, action);
+        if (move == null) {
+            System.err.println("Search chose a card that cannot be played: " + action);
+            return AITurnScheduler.FIRST_PLAYABLE.chooseMove(player, view);
+        }
+        return move;
+    }
+}
@@ -1,6 +1,7 @@
 package uno.gui;
 
 import dgui.*;
+import dgui.themes.DGradient;
 import uno.core.SoundEffectManager;
 
 import java.awt.BorderLayout;
@@ -12,7 +13,6 @@ import java.awt.Color;
 import javax.swing.JPanel;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.GradientPaint;
 import java.awt.RenderingHints;
 import java.awt.geom.RoundRectangle2D;
 
@@ -22,6 +22,15 @@ public class MainMenuPanel extends DPanel {
     private static final Color BUTTON_COLOR = new Color(255, 50, 50);
     private static final Color BUTTON_HOVER_COLOR = new Color(255, 100, 100);
     private static final Color BUTTON_TEXT_COLOR = Color.WHITE;
+    private static final DGradient BACKGROUND_GRADIENT = new DGradient(BACKGROUND_COLOR_TOP, BACKGROUND_COLOR_BOTTOM);
+    
+    // Colors of the UNO-like card shapes drawn behind the title
+    private static final Color[] TITLE_CARD_COLORS = {
+        new Color(220, 0, 0),    // Red
+        new Color(0, 180, 0),    // Green
+        new Color(0, 0, 220),    // Blue
+        new Color(220, 180, 0)   // Yellow
+    };
     
     private DActionListener startGameAction;
     private DActionListener settingsAction;
@@ -47,6 +56,9 @@ public class MainMenuPanel extends DPanel {
     private DPanel createTitlePanel() {
         // Use a custom JPanel for drawing
         class TitlePanelContent extends JPanel {
+            // Reused for every card shape, moved with setRoundRect
+            private final RoundRectangle2D.Double card = new RoundRectangle2D.Double();
+            
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
@@ -64,13 +76,6 @@ public class MainMenuPanel extends DPanel {
             
             private void drawCardShapes(Graphics2D g2d, int width, int height) {
                 // Draw some UNO-like card shapes in the background
-                Color[] cardColors = {
-                    new Color(220, 0, 0),    // Red
-                    new Color(0, 180, 0),    // Green
-                    new Color(0, 0, 220),    // Blue
-                    new Color(220, 180, 0)   // Yellow
-                };
-                
                 for (int i = 0; i < 6; i++) {
                     int x = (int) (Math.random() * width * 0.8);
                     int y = (int) (Math.random() * height * 0.7);
@@ -78,9 +83,8 @@ public class MainMenuPanel extends DPanel {
                     double angle = Math.random() * Math.PI * 2;
                     
                     g2d.rotate(angle, x + size/2, y + size/2);
-                    g2d.setColor(cardColors[i % cardColors.length]);
-                    RoundRectangle2D.Double card = new RoundRectangle2D.Double(
-                        x, y, size * 0.7, size, 10, 10);
+                    g2d.setColor(TITLE_CARD_COLORS[i % TITLE_CARD_COLORS.length]);
+                    card.setRoundRect(x, y, size * 0.7, size, 10, 10);
                     g2d.fill(card);
                     g2d.setColor(Color.WHITE);
                     g2d.draw(card);
@@ -120,10 +124,7 @@ public class MainMenuPanel extends DPanel {
                 int height = getHeight();
                 
                 // Draw gradient background
-                GradientPaint gp = new GradientPaint(
-                    0, 0, BACKGROUND_COLOR_TOP,
-                    0, height, BACKGROUND_COLOR_BOTTOM);
-                g2d.setPaint(gp);
+                g2d.setPaint(BACKGROUND_GRADIENT.getPaint(0, 0, 0, height));
                 g2d.fillRect(0, 0, width, height);
                 
                 g2d.dispose();
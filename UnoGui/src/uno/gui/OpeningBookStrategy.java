@@ -0,0 +1,32 @@
+package uno.gui;
+
+import uno.ai.OpeningBook;
+import uno.core.GameView;
+import uno.core.Player;
+
+/**
+ * AI strategy playing the first move of each player from an opening book,
+ * and leaving the other moves, and first moves the book does not know, to
+ * another strategy
+ */
+public class OpeningBookStrategy implements AITurnScheduler.Strategy {
+    private final OpeningBook book;
+    private final AITurnScheduler.Strategy fallback;
+
+    public OpeningBookStrategy(OpeningBook book, AITurnScheduler.Strategy fallback) {
+        this.book = book;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public AITurnScheduler.Move chooseMove(Player player, GameView view) {
+        int action = book.lookup(view);
+        if (action >= 0) {
+            AITurnScheduler.Move move = AITurnScheduler.Move.forAction(player, view, action);
+            if (move != null) {
+                return move;
+            }
+        }
+        return fallback.chooseMove(player, view);
+    }
+}
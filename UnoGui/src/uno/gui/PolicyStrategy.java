@@ -0,0 +1,35 @@
+package uno.gui;
+
+import uno.ai.BatchedInference;
+import uno.ai.FeatureEncoder;
+import uno.ai.PolicyNetwork;
+import uno.core.GameView;
+import uno.core.Player;
+
+/**
+ * AI strategy playing the legal action a policy network scores highest.
+ * Positions are evaluated by a shared inference engine, which batches the
+ * moves of every table using it.
+ */
+public class PolicyStrategy implements AITurnScheduler.Strategy {
+    private final BatchedInference inference;
+
+    public PolicyStrategy(BatchedInference inference) {
+        this.inference = inference;
+    }
+
+    @Override
+    public AITurnScheduler.Move chooseMove(Player player, GameView view) {
+        long legal = view.getLegalActions();
+        int action = Long.numberOfTrailingZeros(legal);
+        if (Long.bitCount(legal) > 1) {
+            action = PolicyNetwork.bestAction(inference.evaluate(FeatureEncoder.encode(view)), 0, legal);
+        }
+        AITurnScheduler.Move move = AITurnScheduler.Move.forAction(player, view, action);
+        if (move == null) {
+            System.err.println("Policy chose a card that cannot be played: " + action);
+            return AITurnScheduler.FIRST_PLAYABLE.chooseMove(player, view);
+        }
+        return move;
+    }
+}
@@ -1,17 +1,13 @@
 package uno.gui;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
-
-import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
+import uno.core.AudioMixer;
+import uno.core.SampleBank;
+import uno.core.SoundEffectManager;
+
 /**
  * Gestionnaire de sons pour le jeu UNO
  * Permet de charger et jouer des effets sonores
@@ -27,11 +23,18 @@ public class SoundManager {
     public static final String UNO_CALL = "uno_call";
     public static final String CARD_FLIP = "card_flip";
     
-    // Stockage des clips audio
-    private Map<String, Clip> sounds;
+    // Identifiants des sons dans le mixeur partagé
+    private Map<String, Integer> sounds;
     
-    // Volume global (0.0 à 1.0)
+    // Mixeur partagé avec SoundEffectManager
+    private final AudioMixer mixer;
+    
+    // Volume global (0.0 à 1.0) et niveau de gain correspondant dans le mixeur
     private float volume = 1.0f;
+    private int volumeLevel = AudioMixer.GAIN_LEVELS - 1;
+    
+    // Volume de la musique de fond (0.0 à 1.0)
+    private float musicVolume = 0.6f;
     
     // État de mute
     private boolean muted = false;
@@ -42,55 +45,26 @@ public class SoundManager {
     public SoundManager() {
         sounds = new HashMap<>();
         
-        // Nous utilisons une version silencieuse des sons pour éviter les erreurs
-        // Dans une version complète, ces sons seraient chargés depuis des fichiers
-        try {
-            // Créer des sons vides en mémoire
-            createEmptySound(CARD_SHUFFLE);
-            createEmptySound(CARD_PLACE);
-            createEmptySound(CARD_DRAW);
-            createEmptySound(GAME_START);
-            createEmptySound(GAME_WIN);
-            createEmptySound(UNO_CALL);
-            createEmptySound(CARD_FLIP);
-            
-            System.out.println("Sons initialisés avec succès (mode silencieux)");
-        } catch (Exception e) {
-            System.err.println("Error initializing sound effects: " + e.getMessage());
-        }
+        // Les sons viennent de la banque d'échantillons partagée, chargée en
+        // arrière-plan : la construction ne bloque jamais sur la synthèse
+        mixer = SoundEffectManager.getInstance().getMixer();
+        registerSound(CARD_SHUFFLE, SampleBank.CARD_SHUFFLE);
+        registerSound(CARD_PLACE, SampleBank.PLAY_CARD);
+        registerSound(CARD_DRAW, SampleBank.DRAW_CARD);
+        registerSound(GAME_START, SampleBank.GAME_START);
+        registerSound(GAME_WIN, SampleBank.GAME_WIN);
+        registerSound(UNO_CALL, SampleBank.UNO_CALL);
+        registerSound(CARD_FLIP, SampleBank.CARD_FLIP);
     }
     
     /**
-     * Crée un son vide en mémoire
-     * Cette version n'essaie pas d'initialiser un vrai clip pour éviter les erreurs
+     * Associe un nom de son à un échantillon de la banque
      */
-    private void createEmptySound(String name) {
-        // Au lieu de créer un vrai clip qui peut causer des erreurs,
-        // nous utilisons un objet null comme placeholder
-        // Les méthodes playSound et stopSound gèrent le cas où le clip est null
-        sounds.put(name, null);
-    }
-    
-    /**
-     * Charger un son depuis un fichier
-     */
-    private void loadSound(String name, String path) throws IOException, 
-            UnsupportedAudioFileException, LineUnavailableException {
-        
-        InputStream stream = getClass().getClassLoader().getResourceAsStream(path);
-        if (stream == null) {
-            System.err.println("Sound file not found: " + path);
-            return;
+    private void registerSound(String name, String sampleName) {
+        int soundId = SoundEffectManager.getInstance().registerSample(sampleName);
+        if (soundId >= 0) {
+            sounds.put(name, soundId);
         }
-        
-        AudioInputStream audioStream = AudioSystem.getAudioInputStream(stream);
-        Clip clip = AudioSystem.getClip();
-        clip.open(audioStream);
-        
-        // Ajuster le volume initial
-        setClipVolume(clip, volume);
-        
-        sounds.put(name, clip);
     }
     
     /**
@@ -99,68 +73,68 @@ public class SoundManager {
     public void playSound(String name) {
         if (muted) return;
         
-        try {
-            Clip clip = sounds.get(name);
-            if (clip != null && clip.isOpen()) {
-                // Si le son est déjà en cours, on le remet au début
-                clip.stop();
-                clip.setFramePosition(0);
-                clip.start();
-            } else {
-                // Gérer silencieusement le cas où le clip n'est pas initialisé
-                System.out.println("Son '" + name + "' joué (mode silencieux)");
-            }
-        } catch (Exception e) {
-            // Ignorer les erreurs de son - ne pas interrompre le jeu pour des sons
-            System.out.println("Erreur lors de la lecture du son '" + name + "': " + e.getMessage());
+        // Sans sortie audio, le mixeur ignore les déclenchements
+        Integer soundId = sounds.get(name);
+        if (soundId != null) {
+            mixer.playLevel(soundId, volumeLevel);
         }
     }
     
     /**
      * Arrêter un son
+     * Les voix du mixeur se terminent d'elles-mêmes ; les sons sont courts
      */
     public void stopSound(String name) {
-        Clip clip = sounds.get(name);
-        if (clip != null) {
-            clip.stop();
-        }
+        // Rien à faire
     }
     
     /**
      * Définir le volume global (0.0 à 1.0)
+     * Il s'applique aux sons joués ensuite
      */
     public void setVolume(float volume) {
         this.volume = Math.max(0.0f, Math.min(1.0f, volume));
-        
-        // Mettre à jour le volume de tous les clips
-        for (Clip clip : sounds.values()) {
-            if (clip != null) {
-                setClipVolume(clip, this.volume);
-            }
-        }
+        this.volumeLevel = AudioMixer.gainLevel(this.volume);
+    }
+    
+    /**
+     * Jouer une musique de fond en continu, en fondu enchaîné avec la précédente
+     * Le fichier est lu par morceaux : sa taille n'influe pas sur la mémoire utilisée
+     */
+    public void playMusic(String path) {
+        SoundEffectManager.getInstance().getMusicPlayer().play(Paths.get(path));
     }
     
     /**
-     * Définir le volume d'un clip individuel
+     * Arrêter la musique de fond en fondu
      */
-    private void setClipVolume(Clip clip, float volume) {
-        try {
-            if (clip != null && clip.isOpen() && clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                float dB = (float) (Math.log10(volume) * 20.0);
-                dB = Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB));
-                gainControl.setValue(dB);
-            }
-        } catch (Exception e) {
-            // Ignorer les erreurs de volume
+    public void stopMusic() {
+        SoundEffectManager.getInstance().getMusicPlayer().stop();
+    }
+    
+    /**
+     * Définir le volume de la musique (0.0 à 1.0)
+     */
+    public void setMusicVolume(float musicVolume) {
+        this.musicVolume = Math.max(0.0f, Math.min(1.0f, musicVolume));
+        if (!muted) {
+            SoundEffectManager.getInstance().getMusicPlayer().setVolume(this.musicVolume);
         }
     }
     
+    /**
+     * Obtenir le volume de la musique
+     */
+    public float getMusicVolume() {
+        return musicVolume;
+    }
+    
     /**
      * Activer/désactiver le son
      */
     public void setMuted(boolean muted) {
         this.muted = muted;
+        SoundEffectManager.getInstance().getMusicPlayer().setVolume(muted ? 0.0f : musicVolume);
         
         // Si on reactive le son et qu'un son était en cours, on ne le reprend pas
         if (!muted) {
@@ -184,17 +158,9 @@ public class SoundManager {
     
     /**
      * Libérer les ressources
+     * Le mixeur et la banque sont partagés et restent ouverts
      */
     public void dispose() {
-        for (Clip clip : sounds.values()) {
-            if (clip != null) {
-                try {
-                    clip.close();
-                } catch (Exception e) {
-                    // Ignorer les erreurs de fermeture
-                }
-            }
-        }
         sounds.clear();
     }
-}
\ No newline at end of file
+}
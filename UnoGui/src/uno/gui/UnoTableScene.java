@@ -0,0 +1,412 @@
+package uno.gui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import dgui.DGraphicsCache;
+import dgui.DSceneNode;
+import dgui.DTableCanvas;
+import dgui.DTextNode;
+import uno.core.Card;
+import uno.core.CardColor;
+import uno.core.CardValue;
+import uno.core.Game;
+import uno.core.Player;
+
+/**
+ * Builds and updates the scene graph of a UNO table on a {@link DTableCanvas}.
+ * Hands, piles, the direction indicator and the labels are all nodes of one
+ * canvas, so a full table costs a single Swing component. Hand nodes are kept
+ * per card (by identity) between updates and only moved when the layout changes.
+ * The piles and the opponents' hands only change between turns: they are
+ * cached in the canvas' static layer, under the human hand and the labels.
+ */
+public class UnoTableScene {
+    // Card dimensions
+    private static final int CARD_WIDTH = 80;
+    private static final int CARD_HEIGHT = 120;
+    private static final int HUMAN_CARD_STEP = 60;
+    private static final int OPPONENT_CARD_STEP = 25;
+    private static final int LABEL_HEIGHT = 20;
+
+    private final Game game;
+    private final DTableCanvas canvas;
+
+    // Layers, in paint order
+    private final DSceneNode tableLayer = new DSceneNode();
+    private final DSceneNode opponentLayer = new DSceneNode();
+    private final DSceneNode handLayer = new DSceneNode();
+    private final DSceneNode labelLayer = new DSceneNode();
+
+    // Table nodes
+    private final CardNode discardNode;
+    private final CardNode deckNode;
+    private final DirectionNode directionNode;
+    private final DTextNode statusNode;
+
+    // Hand nodes
+    private final Map<Card, CardNode> humanNodes = new IdentityHashMap<>();
+    private final List<CardNode> humanHand = new ArrayList<>();
+    private final Map<Player, List<CardNode>> opponentHands = new IdentityHashMap<>();
+    private final Map<Player, DTextNode> nameLabels = new IdentityHashMap<>();
+
+    private CardNode selectedNode = null;
+    private Consumer<Card> cardClickListener;
+    private Runnable deckClickListener;
+
+    /**
+     * Create a scene for the given game
+     */
+    public UnoTableScene(Game game) {
+        this.game = game;
+        this.canvas = new DTableCanvas();
+        canvas.setWoodBackground(DWoodPanel.DARK_WOOD);
+        canvas.setLayeredRendering(true);
+
+        DSceneNode root = canvas.getRoot();
+        tableLayer.setCached(true);
+        opponentLayer.setCached(true);
+        root.add(tableLayer);
+        root.add(opponentLayer);
+        root.add(handLayer);
+        root.add(labelLayer);
+
+        discardNode = new CardNode(new Card(CardColor.RED, CardValue.ZERO), true);
+        deckNode = new CardNode(new Card(CardColor.WILD, CardValue.WILD), false);
+        deckNode.setInteractive(true);
+        directionNode = new DirectionNode();
+        statusNode = new DTextNode("", DGraphicsCache.font("Arial", Font.ITALIC, 14), Color.WHITE);
+        tableLayer.add(discardNode);
+        tableLayer.add(deckNode);
+        tableLayer.add(directionNode);
+        labelLayer.add(statusNode);
+
+        canvas.setNodeClickListener(e -> handleClick((DSceneNode) e.getSource()));
+        canvas.getComponent().addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                canvas.setWoodBackground(DWoodPanel.DARK_WOOD);
+                layout();
+            }
+        });
+    }
+
+    /**
+     * Get the canvas showing the table
+     */
+    public DTableCanvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Set the listener notified when a card of the human hand is clicked
+     */
+    public void setCardClickListener(Consumer<Card> listener) {
+        this.cardClickListener = listener;
+    }
+
+    /**
+     * Set the listener notified when the draw pile is clicked
+     */
+    public void setDeckClickListener(Runnable listener) {
+        this.deckClickListener = listener;
+    }
+
+    /**
+     * Show a status message above the table
+     */
+    public void setStatus(String message) {
+        statusNode.setText(message);
+    }
+
+    /**
+     * Mark a card of the human hand as selected (null to clear)
+     */
+    public void setSelectedCard(Card card) {
+        if (selectedNode != null) {
+            selectedNode.setSelected(false);
+        }
+        selectedNode = card != null ? humanNodes.get(card) : null;
+        if (selectedNode != null) {
+            selectedNode.setSelected(true);
+        }
+        // The selected card is lifted out of the hand
+        layout();
+    }
+
+    /**
+     * Bring the scene in line with the game state
+     */
+    public void update() {
+        Card top = game.getTopCard();
+        if (top != null) {
+            discardNode.setCard(top);
+        }
+        directionNode.setClockwise(game.isClockwise());
+
+        Player human = null;
+        List<Player> opponents = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            if (!player.isAI() && human == null) {
+                human = player;
+            } else {
+                opponents.add(player);
+            }
+        }
+
+        syncHumanHand(human != null ? human.getHand() : new ArrayList<>());
+        for (Player opponent : opponents) {
+            syncOpponentHand(opponent);
+        }
+        if (human != null) {
+            syncLabel(human);
+        }
+
+        layout();
+    }
+
+    /**
+     * Diff the human hand nodes against the hand, by card identity
+     */
+    private void syncHumanHand(List<Card> hand) {
+        Map<Card, Boolean> inHand = new IdentityHashMap<>();
+        for (Card card : hand) {
+            inHand.put(card, Boolean.TRUE);
+        }
+        for (CardNode node : new ArrayList<>(humanHand)) {
+            if (!inHand.containsKey(node.getCard())) {
+                handLayer.remove(node);
+                humanNodes.remove(node.getCard());
+                if (node == selectedNode) {
+                    selectedNode = null;
+                }
+            }
+        }
+
+        humanHand.clear();
+        for (Card card : hand) {
+            CardNode node = humanNodes.get(card);
+            if (node == null) {
+                node = new CardNode(card, true);
+                node.setInteractive(true);
+                node.setUserData(card);
+                humanNodes.put(card, node);
+                handLayer.add(node);
+            }
+            humanHand.add(node);
+        }
+    }
+
+    /**
+     * Grow or shrink an opponent's face-down hand to its card count
+     */
+    private void syncOpponentHand(Player opponent) {
+        List<CardNode> nodes = opponentHands.computeIfAbsent(opponent, p -> new ArrayList<>());
+        while (nodes.size() > opponent.getHandSize()) {
+            opponentLayer.remove(nodes.remove(nodes.size() - 1));
+        }
+        while (nodes.size() < opponent.getHandSize()) {
+            CardNode node = new CardNode(new Card(CardColor.WILD, CardValue.WILD), false);
+            nodes.add(node);
+            opponentLayer.add(node);
+        }
+        syncLabel(opponent);
+    }
+
+    /**
+     * Create the name label of a player if needed and refresh its text
+     */
+    private void syncLabel(Player player) {
+        DTextNode label = nameLabels.get(player);
+        if (label == null) {
+            label = new DTextNode(player.getName(), DGraphicsCache.font("Arial", Font.BOLD, 14), Color.WHITE);
+            nameLabels.put(player, label);
+            labelLayer.add(label);
+        }
+        label.setColor(game.isGameStarted() && game.getCurrentPlayer() == player ? Color.YELLOW : Color.WHITE);
+    }
+
+    /**
+     * Position every node for the current canvas size.
+     * Nodes whose bounds do not change are not repainted.
+     */
+    private void layout() {
+        int width = Math.max(400, canvas.getWidth());
+        int height = Math.max(300, canvas.getHeight());
+        int centerX = width / 2;
+        int centerY = height / 2;
+
+        // Piles and direction indicator in the middle
+        discardNode.setBounds(centerX - CARD_WIDTH / 2, centerY - CARD_HEIGHT / 2, CARD_WIDTH, CARD_HEIGHT);
+        deckNode.setBounds(centerX + CARD_WIDTH, centerY - CARD_HEIGHT / 2, CARD_WIDTH, CARD_HEIGHT);
+        directionNode.setBounds(centerX - CARD_WIDTH * 2 - 20, centerY - 50, 100, 100);
+        statusNode.setBounds(0, centerY - CARD_HEIGHT / 2 - 30, width, LABEL_HEIGHT);
+
+        // Human hand along the bottom edge
+        int count = humanHand.size();
+        int step = count > 1 ? Math.min(HUMAN_CARD_STEP, (width - 40 - CARD_WIDTH) / (count - 1)) : 0;
+        int handWidth = CARD_WIDTH + step * Math.max(0, count - 1);
+        int startX = centerX - handWidth / 2;
+        int handY = height - CARD_HEIGHT - 20;
+        for (int i = 0; i < count; i++) {
+            CardNode node = humanHand.get(i);
+            int y = node.isSelected() ? handY - 20 : handY;
+            node.setBounds(startX + i * step, y, CARD_WIDTH, CARD_HEIGHT);
+        }
+
+        // Opponents around the table: left, top, right
+        List<Player> opponents = new ArrayList<>(opponentHands.keySet());
+        opponents.sort((a, b) -> Integer.compare(game.getPlayers().indexOf(a), game.getPlayers().indexOf(b)));
+        String[] seats = opponents.size() == 1 ? new String[] {"top"}
+                : opponents.size() == 2 ? new String[] {"left", "right"}
+                : new String[] {"left", "top", "right"};
+
+        for (int i = 0; i < opponents.size(); i++) {
+            Player opponent = opponents.get(i);
+            List<CardNode> nodes = opponentHands.get(opponent);
+            String seat = seats[Math.min(i, seats.length - 1)];
+            int n = nodes.size();
+
+            if (seat.equals("top")) {
+                int total = CARD_WIDTH + OPPONENT_CARD_STEP * Math.max(0, n - 1);
+                int x0 = centerX - total / 2;
+                for (int j = 0; j < n; j++) {
+                    nodes.get(j).setBounds(x0 + j * OPPONENT_CARD_STEP, 30, CARD_WIDTH, CARD_HEIGHT);
+                }
+                nameLabels.get(opponent).setBounds(centerX - 100, 5, 200, LABEL_HEIGHT);
+            } else {
+                int x0 = seat.equals("left") ? 20 : width - CARD_WIDTH - 20;
+                int total = CARD_HEIGHT + OPPONENT_CARD_STEP * Math.max(0, n - 1);
+                int y0 = Math.max(30, centerY - total / 2);
+                for (int j = 0; j < n; j++) {
+                    nodes.get(j).setBounds(x0, y0 + j * OPPONENT_CARD_STEP, CARD_WIDTH, CARD_HEIGHT);
+                }
+                nameLabels.get(opponent).setBounds(x0 - 40, y0 - LABEL_HEIGHT - 5, CARD_WIDTH + 80, LABEL_HEIGHT);
+            }
+        }
+
+        for (Map.Entry<Player, DTextNode> entry : nameLabels.entrySet()) {
+            if (!opponentHands.containsKey(entry.getKey())) {
+                entry.getValue().setBounds(centerX - 100, handY - 45, 200, LABEL_HEIGHT);
+            }
+        }
+    }
+
+    /**
+     * Dispatch a click on an interactive node
+     */
+    private void handleClick(DSceneNode node) {
+        if (node == deckNode) {
+            if (deckClickListener != null) {
+                deckClickListener.run();
+            }
+        } else if (node.getUserData() instanceof Card && cardClickListener != null) {
+            cardClickListener.accept((Card) node.getUserData());
+        }
+    }
+
+    /**
+     * Scene node drawing a UNO card.
+     * All card nodes share one detached DUnoCard used as a painting stamp.
+     */
+    private static class CardNode extends DSceneNode {
+        private static DUnoCard stamp;
+
+        private Card card;
+        private CardColor paintedColor;
+        private final boolean faceUp;
+        private boolean selected = false;
+
+        CardNode(Card card, boolean faceUp) {
+            this.card = card;
+            this.faceUp = faceUp;
+        }
+
+        Card getCard() {
+            return card;
+        }
+
+        void setCard(Card card) {
+            // The discard pile reuses its node; a wild card changes when its color is chosen
+            if (card != this.card || card.getChosenColor() != paintedColor) {
+                this.card = card;
+                this.paintedColor = card.getChosenColor();
+                repaint();
+            }
+        }
+
+        boolean isSelected() {
+            return selected;
+        }
+
+        void setSelected(boolean selected) {
+            if (this.selected != selected) {
+                this.selected = selected;
+                repaint();
+            }
+        }
+
+        @Override
+        protected void paintNode(Graphics2D g2d, int width, int height) {
+            if (stamp == null) {
+                stamp = new DUnoCard(card);
+            }
+            stamp.setCard(card);
+            stamp.setFaceUp(faceUp);
+            stamp.setSelected(selected);
+            stamp.setHovered(isHovered());
+            stamp.paintCard(g2d, width, height);
+        }
+    }
+
+    /**
+     * Scene node drawing the direction of play
+     */
+    private static class DirectionNode extends DSceneNode {
+        private boolean clockwise = true;
+
+        void setClockwise(boolean clockwise) {
+            if (this.clockwise != clockwise) {
+                this.clockwise = clockwise;
+                repaint();
+            }
+        }
+
+        @Override
+        protected void paintNode(Graphics2D g2d, int width, int height) {
+            g2d.setColor(DGraphicsCache.color(0, 100, 0));
+            g2d.fillOval(10, 10, width - 20, height - 20);
+            g2d.setColor(Color.WHITE);
+            g2d.setStroke(DGraphicsCache.stroke(3));
+
+            int centerX = width / 2;
+            int centerY = height / 2;
+            int radius = Math.min(width, height) / 2 - 15;
+            float startAngle = clockwise ? -90 : 90;
+            float endAngle = clockwise ? 180 : -180;
+            g2d.drawArc(centerX - radius, centerY - radius, radius * 2, radius * 2,
+                    (int) startAngle, (int) (endAngle - startAngle));
+
+            // Arrowhead at the end of the arc
+            double arrowAngle = Math.toRadians(endAngle);
+            int arrowX = centerX + (int) (radius * Math.cos(arrowAngle));
+            int arrowY = centerY + (int) (radius * Math.sin(arrowAngle));
+            double arrowDirAngle = arrowAngle + (clockwise ? -Math.PI / 2 : Math.PI / 2);
+            int arrowSize = 8;
+            g2d.drawLine(arrowX, arrowY,
+                    arrowX + (int) (arrowSize * Math.cos(arrowDirAngle + Math.PI / 4)),
+                    arrowY + (int) (arrowSize * Math.sin(arrowDirAngle + Math.PI / 4)));
+            g2d.drawLine(arrowX, arrowY,
+                    arrowX + (int) (arrowSize * Math.cos(arrowDirAngle - Math.PI / 4)),
+                    arrowY + (int) (arrowSize * Math.sin(arrowDirAngle - Math.PI / 4)));
+        }
+    }
+}